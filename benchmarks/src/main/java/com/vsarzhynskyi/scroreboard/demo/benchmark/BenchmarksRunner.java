@@ -0,0 +1,36 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Runs benchmarks matching provided regexp (all by default) for each thread count from {@code -Dbenchmark.threads}
+ * (default {@code 1,4}), always with GC allocation profiler attached.
+ */
+public class BenchmarksRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        var include = args.length > 0 ? args[0] : ".*Benchmark.*";
+        var threadCounts = Arrays.stream(System.getProperty("benchmark.threads", "1,4").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        for (var threads : threadCounts) {
+            var options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .result("jmh-result-" + threads + "-threads.json")
+                    .resultFormat(ResultFormatType.JSON)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
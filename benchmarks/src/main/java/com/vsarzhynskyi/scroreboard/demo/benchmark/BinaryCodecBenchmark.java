@@ -0,0 +1,114 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.codec.MatchBinaryCodec;
+import com.vsarzhynskyi.scroreboard.demo.codec.ScoreboardBinaryCodec;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of all matches, scoreboard snapshot and scoreboard delta after single score update,
+ * compared to UTF-8 encoding of scoreboard text. Encoded sizes are printed on setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryCodecBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int liveMatchesCount;
+
+    private MatchBinaryCodec matchBinaryCodec;
+    private ScoreboardBinaryCodec scoreboardBinaryCodec;
+    private List<MatchDetails> matches;
+    private MatchesScoreboardSummary baseScoreboardSummary;
+    private MatchesScoreboardSummary scoreboardSummary;
+    private ByteBuffer buffer;
+    private ByteBuffer encodedMatches;
+    private ByteBuffer encodedSnapshot;
+    private ByteBuffer encodedDelta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        var scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        matchBinaryCodec = new MatchBinaryCodec(fixture.getTeamRegistrar());
+        scoreboardBinaryCodec = new ScoreboardBinaryCodec(fixture.getTeamRegistrar());
+        matches = scoreboardAwareMatchRegistrar.getAllMatches();
+        baseScoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+        var matchIds = fixture.getMatchIds();
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchIds[matchIds.length / 2], 7, 0);
+        scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+        buffer = ByteBuffer.allocate(Math.max(MatchBinaryCodec.maxEncodedSize(liveMatchesCount), ScoreboardBinaryCodec.maxEncodedSize(liveMatchesCount)));
+
+        encodedMatches = copy(encodeMatches());
+        encodedSnapshot = copy(encodeScoreboardSnapshot());
+        encodedDelta = copy(encodeScoreboardDelta());
+        System.out.printf("%nencoded bytes: matches %d, scoreboard snapshot %d, scoreboard delta %d, scoreboard text %d%n",
+                encodedMatches.remaining(), encodedSnapshot.remaining(), encodedDelta.remaining(), encodeScoreboardText().length);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeMatches() {
+        matchBinaryCodec.encodeMatches(matches, buffer.clear());
+        return buffer.flip();
+    }
+
+    @Benchmark
+    public List<MatchDetails> decodeMatches() {
+        return matchBinaryCodec.decodeMatches(encodedMatches.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeScoreboardSnapshot() {
+        scoreboardBinaryCodec.encodeSnapshot(scoreboardSummary, buffer.clear());
+        return buffer.flip();
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary decodeScoreboardSnapshot() {
+        return scoreboardBinaryCodec.decode(null, encodedSnapshot.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeScoreboardDelta() {
+        scoreboardBinaryCodec.encodeDelta(baseScoreboardSummary, scoreboardSummary, buffer.clear());
+        return buffer.flip();
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary decodeScoreboardDelta() {
+        return scoreboardBinaryCodec.decode(baseScoreboardSummary, encodedDelta.duplicate());
+    }
+
+    @Benchmark
+    public byte[] encodeScoreboardText() {
+        return scoreboardSummary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        var copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer).flip();
+        return copy;
+    }
+
+}
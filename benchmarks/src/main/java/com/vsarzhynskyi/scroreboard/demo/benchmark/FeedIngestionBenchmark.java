@@ -0,0 +1,94 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redundant feeds, one per benchmark thread ({@code -t}), delivering the same stream of score updates, which is applied
+ * either blindly or with stale and duplicated updates dropped by feed sequence, both on bare registrar and through
+ * {@link DefaultScoreboardAwareMatchRegistrar}, which drops them before taking its locks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedIngestionBenchmark {
+
+    @Param({"GLOBAL_LOCK", "PER_MATCH"})
+    private MatchConcurrencyMode concurrencyMode;
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    private DefaultMatchRegistrar matchRegistrar;
+    private DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount, concurrencyMode);
+        matchRegistrar = fixture.getMatchRegistrar();
+        scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        matchIds = fixture.getMatchIds();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(FeedCursor feedCursor) {
+        var update = feedCursor.next();
+        return matchRegistrar.updateMatchScore(matchIds[update % matchIds.length], update % 10, update % 7);
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreIfNewer(FeedCursor feedCursor) {
+        var update = feedCursor.next();
+        return matchRegistrar.updateMatchScoreIfNewer(matchIds[update % matchIds.length], update / matchIds.length,
+                update % 10, update % 7);
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithScoreboard(FeedCursor feedCursor) {
+        var update = feedCursor.next();
+        return scoreboardAwareMatchRegistrar.updateMatchScore(matchIds[update % matchIds.length], update % 10, update % 7);
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreIfNewerWithScoreboard(FeedCursor feedCursor) {
+        var update = feedCursor.next();
+        return scoreboardAwareMatchRegistrar.updateMatchScoreIfNewer(matchIds[update % matchIds.length], update / matchIds.length,
+                update % 10, update % 7);
+    }
+
+    /**
+     * Position of feed in stream of updates, update {@code i} changes match {@code i % matches count}
+     * and its feed sequence is {@code i / matches count}.
+     */
+    @State(Scope.Thread)
+    public static class FeedCursor {
+
+        private int update;
+
+        int next() {
+            return update++ & Integer.MAX_VALUE;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.retention.FinishedMatchesEvictor;
+import com.vsarzhynskyi.scroreboard.demo.service.retention.FinishedMatchesRetentionPolicy;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Soak test of a season: every iteration plays {@code MATCHES_PER_ROUND} matches per thread from registration
+ * to finish, while finished matches are evicted in background according to retention. Iteration time shows
+ * whether mutations slow down as finished matches pile up, and after every iteration retained matches,
+ * used heap and time to scan all matches are printed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 15)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FinishedMatchesRetentionSoakBenchmark {
+
+    private static final int MATCHES_PER_ROUND = 100_000;
+    private static final int TEAMS_PER_THREAD = 2000;
+    private static final int MAX_THREADS = 8;
+
+    @Param({"UNBOUNDED", "MAX_RETAINED_10000"})
+    private String retention;
+
+    private int[] teamIds;
+    private DefaultMatchRegistrar matchRegistrar;
+    private ScheduledExecutorService evictionScheduler;
+    private FinishedMatchesEvictor finishedMatchesEvictor;
+    private LongAdder archivedMatchesCount;
+    private AtomicInteger threadSlices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        teamIds = new int[TEAMS_PER_THREAD * MAX_THREADS];
+        for (int i = 0; i < teamIds.length; i++) {
+            teamIds[i] = teamRegistrar.registerTeam("Team " + i).getId();
+        }
+        matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC));
+        var retentionPolicy = FinishedMatchesRetentionPolicy.builder()
+                .maxRetainedFinishedMatches(retention.equals("UNBOUNDED") ? Integer.MAX_VALUE : 10_000)
+                .evictionInterval(Duration.ofMillis(100))
+                .build();
+        archivedMatchesCount = new LongAdder();
+        evictionScheduler = Executors.newSingleThreadScheduledExecutor();
+        finishedMatchesEvictor = new FinishedMatchesEvictor(matchRegistrar, retentionPolicy,
+                finishedMatches -> archivedMatchesCount.add(finishedMatches.size()), Clock.system(ZoneOffset.UTC), evictionScheduler);
+        finishedMatchesEvictor.start();
+        threadSlices = new AtomicInteger();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRetainedMatches() {
+        var scanStartNanos = System.nanoTime();
+        var allMatchesCount = matchRegistrar.getAllMatches().size();
+        var scanNanos = System.nanoTime() - scanStartNanos;
+        System.gc();
+        var runtime = Runtime.getRuntime();
+        var usedHeapMegabytes = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        System.out.printf("%nretained matches: %d, archived matches: %d, used heap: %d MB, all matches scan: %.2f ms%n",
+                allMatchesCount, archivedMatchesCount.sum(), usedHeapMegabytes, scanNanos / 1_000_000.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        finishedMatchesEvictor.close();
+        evictionScheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public int playRound(SeasonSchedule seasonSchedule) {
+        var matchId = 0;
+        for (int i = 0; i < MATCHES_PER_ROUND; i++) {
+            seasonSchedule.nextFixture();
+            matchId = matchRegistrar.registerMatch(seasonSchedule.homeTeamId, seasonSchedule.awayTeamId).getMatchId();
+            matchRegistrar.startMatch(matchId);
+            matchRegistrar.updateMatchScoreWithoutSnapshot(matchId, 1, 0);
+            matchRegistrar.finishMatch(matchId);
+        }
+        return matchId;
+    }
+
+    /**
+     * Each thread plays its own slice of teams, going through every ordered pair of them once.
+     */
+    @State(Scope.Thread)
+    public static class SeasonSchedule {
+
+        private int[] teamIds;
+        private int teamsOffset;
+        private long fixtureIndex;
+        private int homeTeamId;
+        private int awayTeamId;
+
+        @Setup(Level.Trial)
+        public void setUp(FinishedMatchesRetentionSoakBenchmark benchmark) {
+            teamIds = benchmark.teamIds;
+            teamsOffset = (benchmark.threadSlices.getAndIncrement() % MAX_THREADS) * TEAMS_PER_THREAD;
+        }
+
+        private void nextFixture() {
+            var homeTeamIndex = (int) (fixtureIndex % TEAMS_PER_THREAD);
+            var awayTeamIndex = (int) ((homeTeamIndex + 1 + (fixtureIndex / TEAMS_PER_THREAD) % (TEAMS_PER_THREAD - 1)) % TEAMS_PER_THREAD);
+            homeTeamId = teamIds[teamsOffset + homeTeamIndex];
+            awayTeamId = teamIds[teamsOffset + awayTeamIndex];
+            fixtureIndex++;
+        }
+
+    }
+
+}
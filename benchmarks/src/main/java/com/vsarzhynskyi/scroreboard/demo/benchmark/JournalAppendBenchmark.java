@@ -0,0 +1,70 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.EventJournal;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalSyncMode;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journaled score updates, run with multiple threads ({@code -t}) to see how group commit shares forces between writers.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalAppendBenchmark {
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    @Param({"GROUP_COMMIT", "BATCHED"})
+    private JournalSyncMode syncMode;
+
+    private Path journalPath;
+    private EventJournal eventJournal;
+    private MatchRegistrar journalingMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        journalPath = Files.createTempFile("scoreboard-events", ".journal");
+        eventJournal = EventJournal.open(journalPath, syncMode);
+        journalingMatchRegistrar = new JournalingMatchRegistrar(fixture.getMatchRegistrar(), eventJournal);
+        matchIds = fixture.getMatchIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        eventJournal.close();
+        Files.deleteIfExists(journalPath);
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return journalingMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+}
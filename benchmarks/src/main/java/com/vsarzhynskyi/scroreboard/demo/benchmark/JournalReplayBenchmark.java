@@ -0,0 +1,87 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.service.journal.EventJournal;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalSyncMode;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time of startup recovery: opening journal (checksums verification) and replaying all its records
+ * into fresh registrars. Journal is populated once per trial with {@code eventsCount} records.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class JournalReplayBenchmark {
+
+    private static final int LIVE_MATCHES_COUNT = 1000;
+
+    @Param({"10000000"})
+    private int eventsCount;
+
+    private Path journalPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalPath = Files.createTempFile("scoreboard-events", ".journal");
+        try (var eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)) {
+            var teamRegistrar = new JournalingTeamRegistrar(new DefaultTeamRegistrar(new TeamIdGenerator()), eventJournal);
+            var matchRegistrar = new JournalingMatchRegistrar(
+                    new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC)), eventJournal);
+            var matchIds = new int[LIVE_MATCHES_COUNT];
+            for (int i = 0; i < LIVE_MATCHES_COUNT; i++) {
+                var homeTeam = teamRegistrar.registerTeam("Home Team " + i);
+                var awayTeam = teamRegistrar.registerTeam("Away Team " + i);
+                matchIds[i] = matchRegistrar.registerMatch(homeTeam.getId(), awayTeam.getId()).getMatchId();
+                matchRegistrar.startMatch(matchIds[i]);
+            }
+            var random = new SplittableRandom(eventsCount);
+            for (int i = 4 * LIVE_MATCHES_COUNT; i < eventsCount; i++) {
+                matchRegistrar.updateMatchScore(matchIds[random.nextInt(LIVE_MATCHES_COUNT)], random.nextInt(10), random.nextInt(10));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journalPath);
+    }
+
+    @Benchmark
+    public long openAndReplay() {
+        var teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        var matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC));
+        try (var eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)) {
+            return eventJournal.replay(teamRegistrar, matchRegistrar);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.TeamStanding;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.standings.LeagueStandings;
+import com.vsarzhynskyi.scroreboard.demo.service.standings.StandingsMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares score update of live match followed by reading live standings, maintained incrementally by {@link LeagueStandings},
+ * with recomputing standings by scanning all registered matches. League of {@code teamsCount} teams has
+ * {@code finishedRoundsCount} rounds of finished matches and round of matches in progress.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class LeagueStandingsBenchmark {
+
+    @Param({"20", "1000"})
+    private int teamsCount;
+
+    @Param({"18"})
+    private int finishedRoundsCount;
+
+    private DefaultMatchRegistrar matchRegistrar;
+    private StandingsMatchRegistrar standingsMatchRegistrar;
+    private LeagueStandings leagueStandings;
+    private int[] liveMatchIds;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC));
+        leagueStandings = new LeagueStandings();
+        standingsMatchRegistrar = new StandingsMatchRegistrar(matchRegistrar, leagueStandings);
+        var teamIds = new int[teamsCount];
+        for (int i = 0; i < teamsCount; i++) {
+            teamIds[i] = teamRegistrar.registerTeam("Team " + i).getId();
+        }
+        random = new SplittableRandom(teamsCount);
+        var liveMatchIdsList = new ArrayList<Integer>();
+        // round robin by circle method, where the last team is fixed and the others rotate
+        for (int round = 0; round <= finishedRoundsCount; round++) {
+            for (int i = 0; i < teamsCount / 2; i++) {
+                var homeTeamId = teamIds[i == 0 ? teamsCount - 1 : (round + i) % (teamsCount - 1)];
+                var awayTeamId = teamIds[(round + teamsCount - 1 - i) % (teamsCount - 1)];
+                var matchId = standingsMatchRegistrar.registerMatch(homeTeamId, awayTeamId).getMatchId();
+                standingsMatchRegistrar.startMatch(matchId);
+                standingsMatchRegistrar.updateMatchScore(matchId, random.nextInt(5), random.nextInt(5));
+                if (round < finishedRoundsCount) {
+                    standingsMatchRegistrar.finishMatch(matchId);
+                } else {
+                    liveMatchIdsList.add(matchId);
+                }
+            }
+        }
+        liveMatchIds = liveMatchIdsList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public List<?> updateScoreAndGetIncrementalLiveStandings() {
+        standingsMatchRegistrar.updateMatchScore(liveMatchIds[random.nextInt(liveMatchIds.length)], random.nextInt(5), random.nextInt(5));
+        return leagueStandings.getLiveStandings();
+    }
+
+    @Benchmark
+    public TeamStanding updateScoreAndGetIncrementalLiveTeamStanding() {
+        var updatedMatch = standingsMatchRegistrar.updateMatchScore(liveMatchIds[random.nextInt(liveMatchIds.length)],
+                random.nextInt(5), random.nextInt(5));
+        return leagueStandings.getLiveTeamStanding(updatedMatch.getHomeTeam().getId());
+    }
+
+    @Benchmark
+    public List<?> updateScoreAndRecomputeLiveStandings() {
+        matchRegistrar.updateMatchScore(liveMatchIds[random.nextInt(liveMatchIds.length)], random.nextInt(5), random.nextInt(5));
+        return recomputeLiveStandings(matchRegistrar.getAllMatches());
+    }
+
+    /**
+     * Baseline of rescanning all matches, aggregates per team are {@code [points, goals for, goals against, played]}.
+     */
+    private static List<int[]> recomputeLiveStandings(List<MatchDetails> matches) {
+        var teamAggregates = new HashMap<Integer, int[]>();
+        for (var match : matches) {
+            if (match.getMatchStatus() != MatchStatus.IN_PROGRESS && match.getMatchStatus() != MatchStatus.FINISHED) {
+                continue;
+            }
+            addTeamResult(teamAggregates.computeIfAbsent(match.getHomeTeam().getId(), teamId -> new int[4]),
+                    match.getHomeTeamScore(), match.getAwayTeamScore());
+            addTeamResult(teamAggregates.computeIfAbsent(match.getAwayTeam().getId(), teamId -> new int[4]),
+                    match.getAwayTeamScore(), match.getHomeTeamScore());
+        }
+        var standings = new ArrayList<>(teamAggregates.values());
+        standings.sort((aggregates1, aggregates2) -> aggregates1[0] != aggregates2[0]
+                ? Integer.compare(aggregates2[0], aggregates1[0])
+                : Integer.compare(aggregates2[1] - aggregates2[2], aggregates1[1] - aggregates1[2]));
+        return standings;
+    }
+
+    private static void addTeamResult(int[] aggregates, int teamScore, int opponentScore) {
+        aggregates[0] += teamScore > opponentScore ? 3 : teamScore == opponentScore ? 1 : 0;
+        aggregates[1] += teamScore;
+        aggregates[2] += opponentScore;
+        aggregates[3]++;
+    }
+
+}
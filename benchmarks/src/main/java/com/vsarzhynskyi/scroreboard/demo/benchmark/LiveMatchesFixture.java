@@ -0,0 +1,63 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import lombok.Getter;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+@Getter
+public class LiveMatchesFixture {
+
+    private final DefaultTeamRegistrar teamRegistrar;
+    private final DefaultMatchRegistrar matchRegistrar;
+    private final DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private final int[] matchIds;
+    private final String[] homeTeamNames;
+    private final String[] awayTeamNames;
+
+    public LiveMatchesFixture(int liveMatchesCount, MatchConcurrencyMode concurrencyMode, RegistrarMetrics registrarMetrics,
+                              Function<MatchRegistrar, DefaultScoreboardAwareMatchRegistrar> scoreboardAwareMatchRegistrarFactory) {
+        teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC),
+                concurrencyMode, registrarMetrics);
+        scoreboardAwareMatchRegistrar = scoreboardAwareMatchRegistrarFactory.apply(matchRegistrar);
+        matchIds = new int[liveMatchesCount];
+        homeTeamNames = new String[liveMatchesCount];
+        awayTeamNames = new String[liveMatchesCount];
+
+        var random = new SplittableRandom(liveMatchesCount);
+        for (int i = 0; i < liveMatchesCount; i++) {
+            var homeTeam = teamRegistrar.registerTeam("Home Team " + i);
+            var awayTeam = teamRegistrar.registerTeam("Away Team " + i);
+            matchIds[i] = scoreboardAwareMatchRegistrar.registerMatch(homeTeam.getId(), awayTeam.getId()).getMatchId();
+            homeTeamNames[i] = homeTeam.getName();
+            awayTeamNames[i] = awayTeam.getName();
+            scoreboardAwareMatchRegistrar.startMatch(matchIds[i]);
+            scoreboardAwareMatchRegistrar.updateMatchScore(matchIds[i], random.nextInt(5), random.nextInt(5));
+        }
+    }
+
+    public LiveMatchesFixture(int liveMatchesCount, MatchConcurrencyMode concurrencyMode,
+                              Function<MatchRegistrar, DefaultScoreboardAwareMatchRegistrar> scoreboardAwareMatchRegistrarFactory) {
+        this(liveMatchesCount, concurrencyMode, null, scoreboardAwareMatchRegistrarFactory);
+    }
+
+    public LiveMatchesFixture(int liveMatchesCount, MatchConcurrencyMode concurrencyMode) {
+        this(liveMatchesCount, concurrencyMode, DefaultScoreboardAwareMatchRegistrar::new);
+    }
+
+    public LiveMatchesFixture(int liveMatchesCount) {
+        this(liveMatchesCount, MatchConcurrencyMode.GLOBAL_LOCK);
+    }
+
+}
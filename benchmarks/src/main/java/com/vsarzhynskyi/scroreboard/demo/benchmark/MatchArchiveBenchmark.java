@@ -0,0 +1,127 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.archive.MatchArchive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures head-to-head and team history queries over archive of {@code matchesCount} finished matches,
+ * archived in batches of {@code segmentMatchesCount} matches as eviction would do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MatchArchiveBenchmark {
+
+    private static final int QUERIES_COUNT = 1024;
+    private static final int QUERY_LIMIT = 20;
+
+    @Param({"1000000"})
+    private int matchesCount;
+
+    @Param({"100000"})
+    private int segmentMatchesCount;
+
+    @Param({"1000"})
+    private int teamsCount;
+
+    private Path archiveDirectory;
+    private MatchArchive matchArchive;
+    private int[] queriedTeamIds;
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        archiveDirectory = Files.createTempDirectory("scoreboard-archive");
+        matchArchive = MatchArchive.open(archiveDirectory);
+        var teams = new Team[teamsCount];
+        for (int i = 0; i < teamsCount; i++) {
+            teams[i] = new Team(i + 1, "Team " + i);
+        }
+        var random = new SplittableRandom(matchesCount);
+        var finishTimestamp = Instant.parse("2020-01-01T00:00:00Z");
+        var segmentMatches = new ArrayList<MatchDetails>(segmentMatchesCount);
+        for (int matchId = 1; matchId <= matchesCount; matchId++) {
+            var homeTeamIndex = random.nextInt(teamsCount);
+            var awayTeamIndex = (homeTeamIndex + 1 + random.nextInt(teamsCount - 1)) % teamsCount;
+            finishTimestamp = finishTimestamp.plusSeconds(60);
+            segmentMatches.add(MatchDetails.builder()
+                    .matchId(matchId)
+                    .homeTeam(teams[homeTeamIndex])
+                    .homeTeamScore(random.nextInt(5))
+                    .awayTeam(teams[awayTeamIndex])
+                    .awayTeamScore(random.nextInt(5))
+                    .matchStatus(MatchStatus.FINISHED)
+                    .matchStartTimestamp(finishTimestamp.minusSeconds(5400))
+                    .lastUpdatedTimestamp(finishTimestamp)
+                    .build());
+            if (segmentMatches.size() == segmentMatchesCount || matchId == matchesCount) {
+                matchArchive.archive(segmentMatches);
+                segmentMatches.clear();
+            }
+        }
+        queriedTeamIds = random.ints(2 * QUERIES_COUNT, 1, teamsCount + 1).toArray();
+        for (int i = 0; i < QUERIES_COUNT; i++) {
+            if (queriedTeamIds[2 * i] == queriedTeamIds[2 * i + 1]) {
+                queriedTeamIds[2 * i + 1] = queriedTeamIds[2 * i] % teamsCount + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        matchArchive = null;
+        List<Path> archiveFiles;
+        try (var directoryFiles = Files.list(archiveDirectory)) {
+            archiveFiles = directoryFiles.collect(Collectors.toList());
+        }
+        for (var archiveFile : archiveFiles) {
+            Files.deleteIfExists(archiveFile);
+        }
+        Files.deleteIfExists(archiveDirectory);
+    }
+
+    @Benchmark
+    public List<MatchDetails> headToHeadMatches() {
+        var i = nextQueryIndex();
+        return matchArchive.getHeadToHeadMatches(queriedTeamIds[2 * i], queriedTeamIds[2 * i + 1], QUERY_LIMIT);
+    }
+
+    @Benchmark
+    public List<MatchDetails> teamMatches() {
+        return matchArchive.getTeamMatches(queriedTeamIds[2 * nextQueryIndex()], QUERY_LIMIT);
+    }
+
+    private int nextQueryIndex() {
+        queryIndex = (queryIndex + 1) & (QUERIES_COUNT - 1);
+        return queryIndex;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchRegistrarBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int liveMatchesCount;
+
+    @Param({"GLOBAL_LOCK"})
+    private MatchConcurrencyMode concurrencyMode;
+
+    private DefaultMatchRegistrar matchRegistrar;
+    private int[] matchIds;
+    private String[] homeTeamNames;
+    private String[] awayTeamNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount, concurrencyMode);
+        matchRegistrar = fixture.getMatchRegistrar();
+        matchIds = fixture.getMatchIds();
+        homeTeamNames = fixture.getHomeTeamNames();
+        awayTeamNames = fixture.getAwayTeamNames();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return matchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public void updateMatchScoreWithoutSnapshot(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        matchRegistrar.updateMatchScoreWithoutSnapshot(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreByTeamNames(ThreadRandom threadRandom) {
+        var matchIndex = threadRandom.nextInt(matchIds.length);
+        return matchRegistrar.updateMatchScore(homeTeamNames[matchIndex], threadRandom.nextInt(10), awayTeamNames[matchIndex], threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public boolean isMatchRegisteredByTeamNames(ThreadRandom threadRandom) {
+        var matchIndex = threadRandom.nextInt(matchIds.length);
+        return matchRegistrar.isMatchRegistered(homeTeamNames[matchIndex], awayTeamNames[matchIndex]);
+    }
+
+    @Benchmark
+    public List<MatchDetails> getActiveMatches() {
+        return matchRegistrar.getActiveMatches();
+    }
+
+    @Benchmark
+    public List<MatchDetails> getActiveMatchesAfterScoreUpdate(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        matchRegistrar.updateMatchScoreWithoutSnapshot(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+        return matchRegistrar.getActiveMatches();
+    }
+
+}
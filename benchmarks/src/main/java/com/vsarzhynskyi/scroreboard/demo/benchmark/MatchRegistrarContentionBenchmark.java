@@ -0,0 +1,65 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score update throughput of {@link DefaultMatchRegistrar} under contention, run with different thread counts
+ * (e.g. {@code -t 1}, {@code -t 4}, {@code -t max}) to compare scaling of concurrency modes,
+ * both on bare registrar and through {@link DefaultScoreboardAwareMatchRegistrar}, which also keeps scoreboard up to date.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchRegistrarContentionBenchmark {
+
+    @Param({"GLOBAL_LOCK", "PER_MATCH"})
+    private MatchConcurrencyMode concurrencyMode;
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    private DefaultMatchRegistrar matchRegistrar;
+    private DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount, concurrencyMode);
+        matchRegistrar = fixture.getMatchRegistrar();
+        scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        matchIds = fixture.getMatchIds();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return matchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithScoreboard(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return scoreboardAwareMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardAwareMatchRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares applying batch of score updates followed by scoreboard fetch
+ * through single {@code applyUpdates} call against per-update calls, result is reported per batch.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchUpdatesBatchBenchmark {
+
+    private static final int PREPARED_BATCHES_COUNT = 64;
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    @Param({"10", "100", "500"})
+    private int batchSize;
+
+    private ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private List<List<MatchUpdate>> preparedBatches;
+    private int nextBatchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        var matchIds = fixture.getMatchIds();
+
+        var random = new SplittableRandom(batchSize);
+        preparedBatches = new ArrayList<>(PREPARED_BATCHES_COUNT);
+        for (int i = 0; i < PREPARED_BATCHES_COUNT; i++) {
+            var batch = new ArrayList<MatchUpdate>(batchSize);
+            for (int j = 0; j < batchSize; j++) {
+                batch.add(MatchUpdate.updateScore(matchIds[random.nextInt(matchIds.length)], random.nextInt(10), random.nextInt(10)));
+            }
+            preparedBatches.add(batch);
+        }
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary perCallUpdates(Blackhole blackhole) {
+        for (var matchUpdate : nextBatch()) {
+            blackhole.consume(scoreboardAwareMatchRegistrar.updateMatchScore(
+                    matchUpdate.getMatchId(), matchUpdate.getHomeTeamScore(), matchUpdate.getAwayTeamScore()));
+        }
+        return scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary batchUpdates(Blackhole blackhole) {
+        blackhole.consume(scoreboardAwareMatchRegistrar.applyUpdates(nextBatch()));
+        return scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+    }
+
+    private List<MatchUpdate> nextBatch() {
+        var batch = preparedBatches.get(nextBatchIndex);
+        nextBatchIndex = (nextBatchIndex + 1) % PREPARED_BATCHES_COUNT;
+        return batch;
+    }
+
+}
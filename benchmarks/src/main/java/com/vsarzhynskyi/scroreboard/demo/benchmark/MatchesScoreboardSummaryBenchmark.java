@@ -0,0 +1,64 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchesScoreboardSummaryBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int liveMatchesCount;
+
+    private DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private MatchesScoreboardSummary scoreboardSummary;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+        matchIds = fixture.getMatchIds();
+    }
+
+    @Benchmark
+    public String scoreboardSummaryToString() {
+        return scoreboardSummary.toString();
+    }
+
+    @Benchmark
+    public RenderedScoreboard getRenderedScoreboard() {
+        return scoreboardAwareMatchRegistrar.getRenderedScoreboard();
+    }
+
+    /**
+     * Single score update moves few rows, so only them are formatted again and the rest of rows are copied from cache.
+     */
+    @Benchmark
+    public RenderedScoreboard getRenderedScoreboardAfterScoreUpdate(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(5), threadRandom.nextInt(5));
+        return scoreboardAwareMatchRegistrar.getRenderedScoreboard();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardMatchComparator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.InstrumentedScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoreboard aware registrar with and without metrics: operations decorator, timed locks and recompute timing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrarMetricsBenchmark {
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    @Param({"1", "16"})
+    private int latencySamplingPeriod;
+
+    private ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var registrarMetrics = instrumented ? new RegistrarMetrics(latencySamplingPeriod) : null;
+        var fixture = new LiveMatchesFixture(liveMatchesCount, MatchConcurrencyMode.GLOBAL_LOCK, registrarMetrics,
+                matchRegistrar -> new DefaultScoreboardAwareMatchRegistrar(matchRegistrar, new DefaultScoreboardMatchComparator(),
+                        null, null, registrarMetrics));
+        scoreboardAwareMatchRegistrar = instrumented
+                ? new InstrumentedScoreboardAwareMatchRegistrar(fixture.getScoreboardAwareMatchRegistrar(), registrarMetrics)
+                : fixture.getScoreboardAwareMatchRegistrar();
+        matchIds = fixture.getMatchIds();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return scoreboardAwareMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary getMatchesScoreboardSummary() {
+        return scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.snapshot.RegistrarsSnapshotFile;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing snapshot of registrars, and warm restart by loading it into fresh registrars.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RegistrarsSnapshotBenchmark {
+
+    /**
+     * Season of matches between {@code teamsCount} teams, where all matches except the last one
+     * per each home team are already finished.
+     */
+    @State(Scope.Benchmark)
+    public static class LiveRegistrarsState {
+
+        @Param({"1000000"})
+        private int matchesCount;
+
+        @Param({"1000"})
+        private int teamsCount;
+
+        private TeamIdGenerator teamIdGenerator;
+        private MatchIdGenerator matchIdGenerator;
+        private DefaultTeamRegistrar teamRegistrar;
+        private DefaultMatchRegistrar matchRegistrar;
+        private Path snapshotPath;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            teamIdGenerator = new TeamIdGenerator();
+            matchIdGenerator = new MatchIdGenerator();
+            teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator);
+            matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, Clock.system(ZoneOffset.UTC));
+            var teamIds = new int[teamsCount];
+            for (int i = 0; i < teamsCount; i++) {
+                teamIds[i] = teamRegistrar.registerTeam("Team " + i).getId();
+            }
+            var random = new SplittableRandom(matchesCount);
+            var registeredMatchesCount = 0;
+            for (int round = 1; round < teamsCount && registeredMatchesCount < matchesCount; round++) {
+                for (int i = 0; i < teamsCount && registeredMatchesCount < matchesCount; i++) {
+                    var matchId = matchRegistrar.registerMatch(teamIds[i], teamIds[(i + round) % teamsCount]).getMatchId();
+                    registeredMatchesCount++;
+                    if (round < teamsCount - 1 && registeredMatchesCount < matchesCount - teamsCount) {
+                        matchRegistrar.startMatch(matchId);
+                        matchRegistrar.updateMatchScore(matchId, random.nextInt(5), random.nextInt(5));
+                        matchRegistrar.finishMatch(matchId);
+                    }
+                }
+            }
+            snapshotPath = Files.createTempFile("scoreboard-registrars", ".snapshot");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(snapshotPath);
+        }
+
+        private void writeSnapshot() {
+            RegistrarsSnapshotFile.write(snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, 0);
+        }
+    }
+
+    /**
+     * Live registrars are dropped once snapshot is written, as on restart heap contains only loaded state.
+     */
+    @State(Scope.Benchmark)
+    public static class SnapshotFileState {
+
+        @Param({"1000000"})
+        private int matchesCount;
+
+        @Param({"1000"})
+        private int teamsCount;
+
+        private Path snapshotPath;
+        private DefaultMatchRegistrar loadedMatchRegistrar;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            var liveRegistrarsState = new LiveRegistrarsState();
+            liveRegistrarsState.matchesCount = matchesCount;
+            liveRegistrarsState.teamsCount = teamsCount;
+            liveRegistrarsState.setUp();
+            liveRegistrarsState.writeSnapshot();
+            snapshotPath = liveRegistrarsState.snapshotPath;
+        }
+
+        @Setup(Level.Iteration)
+        public void dropLoadedRegistrars() {
+            loadedMatchRegistrar = null;
+            System.gc();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(snapshotPath);
+        }
+    }
+
+    @Benchmark
+    public void writeSnapshot(LiveRegistrarsState liveRegistrarsState) {
+        liveRegistrarsState.writeSnapshot();
+    }
+
+    @Benchmark
+    public DefaultMatchRegistrar loadSnapshot(SnapshotFileState snapshotFileState) {
+        var teamIdGenerator = new TeamIdGenerator();
+        var matchIdGenerator = new MatchIdGenerator();
+        var teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator);
+        var matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, Clock.system(ZoneOffset.UTC));
+        RegistrarsSnapshotFile.load(snapshotFileState.snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator);
+        snapshotFileState.loadedMatchRegistrar = matchRegistrar;
+        return matchRegistrar;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicatingMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationFollower;
+import com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationLeader;
+import com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationLog;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score updates on leader with and without appending to replication log, and time until update is applied by follower
+ * connected over loopback.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplicationBenchmark {
+
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    private ReplicationLog replicationLog;
+    private ReplicationLeader replicationLeader;
+    private ReplicationFollower replicationFollower;
+    private MatchRegistrar matchRegistrar;
+    private MatchRegistrar replicatingMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        var clock = Clock.system(ZoneOffset.UTC);
+        replicationLog = new ReplicationLog(1 << 24, clock);
+        matchRegistrar = fixture.getMatchRegistrar();
+        replicatingMatchRegistrar = new ReplicatingMatchRegistrar(matchRegistrar, replicationLog);
+        matchIds = fixture.getMatchIds();
+        replicationLeader = ReplicationLeader.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                replicationLog, fixture.getTeamRegistrar(), matchRegistrar);
+
+        var followerTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        var followerMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), followerTeamRegistrar, clock);
+        replicationFollower = ReplicationFollower.start(replicationLeader.getAddress(), followerTeamRegistrar,
+                followerMatchRegistrar, new DefaultScoreboardAwareMatchRegistrar(followerMatchRegistrar), clock);
+        awaitFollower(replicationLog.getLatestSequence());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        replicationFollower.close();
+        replicationLeader.close();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithoutReplication(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return matchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithReplication(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return replicatingMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    /**
+     * End to end latency of replication, i.e. append on leader, send over socket and apply by follower.
+     */
+    @Benchmark
+    public boolean updateMatchScoreAndAwaitFollower(ThreadRandom threadRandom) throws InterruptedException {
+        updateMatchScoreWithReplication(threadRandom);
+        return awaitFollower(replicationLog.getLatestSequence());
+    }
+
+    private boolean awaitFollower(long sequence) throws InterruptedException {
+        if (!replicationFollower.awaitAppliedSequence(sequence, AWAIT_TIMEOUT)) {
+            throw new IllegalStateException("follower did not catch up with replication leader");
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardMatchComparator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardAwareMatchRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.nonNull;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardAwareMatchRegistrarBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int liveMatchesCount;
+
+    @Param({"0", "10", "50", "100"})
+    private int writePercentage;
+
+    /**
+     * 0 means scoreboard summary is recomputed on the first read after mutation,
+     * otherwise recompute is coalesced in background with specified max staleness.
+     */
+    @Param({"0", "50"})
+    private int maxStalenessMillis;
+
+    private ScheduledExecutorService scoreboardRecomputeScheduler;
+    private ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LiveMatchesFixture fixture;
+        if (maxStalenessMillis > 0) {
+            scoreboardRecomputeScheduler = Executors.newSingleThreadScheduledExecutor();
+            fixture = new LiveMatchesFixture(liveMatchesCount, MatchConcurrencyMode.GLOBAL_LOCK,
+                    matchRegistrar -> new DefaultScoreboardAwareMatchRegistrar(matchRegistrar, new DefaultScoreboardMatchComparator(),
+                            Duration.ofMillis(maxStalenessMillis), scoreboardRecomputeScheduler));
+        } else {
+            fixture = new LiveMatchesFixture(liveMatchesCount);
+        }
+        scoreboardAwareMatchRegistrar = fixture.getScoreboardAwareMatchRegistrar();
+        matchIds = fixture.getMatchIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (nonNull(scoreboardRecomputeScheduler)) {
+            scoreboardRecomputeScheduler.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary getMatchesScoreboardSummary() {
+        return scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return scoreboardAwareMatchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public Object readWriteMix(ThreadRandom threadRandom) {
+        if (threadRandom.nextInt(100) < writePercentage) {
+            return updateMatchScore(threadRandom);
+        }
+        return getMatchesScoreboardSummary();
+    }
+
+}
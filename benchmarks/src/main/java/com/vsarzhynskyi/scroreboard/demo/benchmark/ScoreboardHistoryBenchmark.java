@@ -0,0 +1,117 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardMatchComparator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures score updates recording every scoreboard version into {@link ScoreboardHistory} compared to updates without history,
+ * and point-in-time reads of top matches by version and by instant from history filled with {@code retainedVersionsCount} versions.
+ * Heap retained by filled history is printed on setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ScoreboardHistoryBenchmark {
+
+    private static final int TOP_MATCHES_COUNT = 10;
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    @Param({"100000"})
+    private int retainedVersionsCount;
+
+    private LiveMatchesFixture fixtureWithHistory;
+    private LiveMatchesFixture fixtureWithoutHistory;
+    private ScoreboardHistory scoreboardHistory;
+    private long oldestVersion;
+    private Instant oldestTimestamp;
+    private long retainedNanos;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var clock = Clock.system(ZoneOffset.UTC);
+        scoreboardHistory = new ScoreboardHistory(retainedVersionsCount, clock);
+        fixtureWithoutHistory = new LiveMatchesFixture(liveMatchesCount);
+        var heapBeforeHistory = usedHeap();
+        fixtureWithHistory = new LiveMatchesFixture(liveMatchesCount, MatchConcurrencyMode.GLOBAL_LOCK, matchRegistrar ->
+                new DefaultScoreboardAwareMatchRegistrar(matchRegistrar, new DefaultScoreboardMatchComparator(), null, null, null, scoreboardHistory));
+        random = new SplittableRandom(liveMatchesCount);
+        for (int i = 0; i < retainedVersionsCount; i++) {
+            updateRandomMatchScore(fixtureWithHistory);
+        }
+        var heapWithHistory = usedHeap();
+        System.out.printf("%nheap of %d live matches with %d retained scoreboard versions: %d KB (%d bytes per version)%n",
+                liveMatchesCount, scoreboardHistory.getRetainedVersionsCount(), (heapWithHistory - heapBeforeHistory) / 1024,
+                (heapWithHistory - heapBeforeHistory) / scoreboardHistory.getRetainedVersionsCount());
+
+        var oldestScoreboard = scoreboardHistory.getScoreboardAt(scoreboardHistory.getOldestRetainedVersion());
+        oldestVersion = oldestScoreboard.getVersion();
+        oldestTimestamp = oldestScoreboard.getPublishedTimestamp();
+        retainedNanos = Duration.between(oldestTimestamp, scoreboardHistory.getLatestScoreboard().getPublishedTimestamp()).toNanos();
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithHistory() {
+        return updateRandomMatchScore(fixtureWithHistory);
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScoreWithoutHistory() {
+        return updateRandomMatchScore(fixtureWithoutHistory);
+    }
+
+    @Benchmark
+    public MatchesScoreboardPage getTopMatchesAtVersion() {
+        return scoreboardHistory.getScoreboardAt(oldestVersion + random.nextInt(retainedVersionsCount / 2))
+                .getScoreboardPage(0, TOP_MATCHES_COUNT);
+    }
+
+    @Benchmark
+    public MatchesScoreboardPage getTopMatchesAtInstant() {
+        return scoreboardHistory.getScoreboardAt(oldestTimestamp.plusNanos(random.nextLong(retainedNanos / 2 + 1)))
+                .getScoreboardPage(0, TOP_MATCHES_COUNT);
+    }
+
+    private MatchDetails updateRandomMatchScore(LiveMatchesFixture fixture) {
+        var matchIds = fixture.getMatchIds();
+        return fixture.getScoreboardAwareMatchRegistrar()
+                .updateMatchScore(matchIds[random.nextInt(matchIds.length)], random.nextInt(10), random.nextInt(10));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
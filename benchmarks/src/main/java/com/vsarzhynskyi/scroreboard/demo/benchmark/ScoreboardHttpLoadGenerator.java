@@ -0,0 +1,142 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.server.ScoreboardHttpServer;
+import com.vsarzhynskyi.scroreboard.demo.util.VirtualThreads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Local load generation harness of {@link ScoreboardHttpServer}: starts server over {@link LiveMatchesFixture}
+ * and runs concurrent clients, each of them either updates score of random match or polls scoreboard
+ * with {@code If-None-Match} of the last received version, then prints throughput, latency percentiles
+ * and share of not modified responses.
+ * Usage: {@code java -cp benchmarks.jar ...ScoreboardHttpLoadGenerator [clients] [seconds] [liveMatches] [updatesPercent]}
+ */
+public class ScoreboardHttpLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        var clientsCount = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        var duration = Duration.ofSeconds(args.length > 1 ? Integer.parseInt(args[1]) : 10);
+        var liveMatchesCount = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        var updatesPercent = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        var clientsExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        try (var server = ScoreboardHttpServer.start(fixture.getScoreboardAwareMatchRegistrar(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), true)) {
+            var baseUri = "http://localhost:" + server.getAddress().getPort();
+            var httpClient = HttpClient.newBuilder().executor(clientsExecutor).build();
+            var deadlineNanos = System.nanoTime() + duration.toNanos();
+            var clients = new ArrayList<Callable<ClientResult>>(clientsCount);
+            for (int i = 0; i < clientsCount; i++) {
+                var random = new SplittableRandom(i);
+                clients.add(() -> runClient(httpClient, baseUri, fixture.getMatchIds(), updatesPercent, random, deadlineNanos));
+            }
+            var clientResults = new ArrayList<ClientResult>(clientsCount);
+            for (var clientResult : clientsExecutor.invokeAll(clients)) {
+                clientResults.add(clientResult.get());
+            }
+            printSummary(clientResults, duration, clientsCount, liveMatchesCount, updatesPercent);
+        } finally {
+            clientsExecutor.shutdownNow();
+        }
+    }
+
+    private static ClientResult runClient(HttpClient httpClient, String baseUri, int[] matchIds, int updatesPercent,
+                                          SplittableRandom random, long deadlineNanos) {
+        var clientResult = new ClientResult();
+        var entityTag = "\"-1\"";
+        while (System.nanoTime() < deadlineNanos) {
+            HttpRequest request;
+            if (random.nextInt(100) < updatesPercent) {
+                var matchId = matchIds[random.nextInt(matchIds.length)];
+                request = HttpRequest.newBuilder(URI.create(baseUri + "/matches/" + matchId + "/score?homeTeamScore="
+                                + random.nextInt(10) + "&awayTeamScore=" + random.nextInt(10)))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            } else {
+                request = HttpRequest.newBuilder(URI.create(baseUri + "/scoreboard"))
+                        .header("If-None-Match", entityTag)
+                        .build();
+            }
+
+            var startNanos = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return clientResult;
+            }
+            clientResult.record(System.nanoTime() - startNanos, response.statusCode());
+            entityTag = response.headers().firstValue("ETag").orElse(entityTag);
+        }
+        return clientResult;
+    }
+
+    private static void printSummary(List<ClientResult> clientResults, Duration duration, int clientsCount,
+                                     int liveMatchesCount, int updatesPercent) {
+        var requestsCount = clientResults.stream().mapToInt(clientResult -> clientResult.requestsCount).sum();
+        var latencies = new long[requestsCount];
+        var position = 0;
+        var notModifiedCount = 0;
+        var failedCount = 0;
+        for (var clientResult : clientResults) {
+            System.arraycopy(clientResult.latenciesNanos, 0, latencies, position, clientResult.requestsCount);
+            position += clientResult.requestsCount;
+            notModifiedCount += clientResult.notModifiedCount;
+            failedCount += clientResult.failedCount;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("runtime: Java %d, virtual threads: %s%n", Runtime.version().feature(), VirtualThreads.isSupported());
+        System.out.printf("clients: %d, live matches: %d, updates: %d%%, duration: %s%n", clientsCount, liveMatchesCount, updatesPercent, duration);
+        System.out.printf("requests: %d, throughput: %.0f req/s, not modified: %.1f%%, failed: %d%n",
+                requestsCount, requestsCount / (double) duration.toSeconds(), 100.0 * notModifiedCount / Math.max(1, requestsCount), failedCount);
+        System.out.printf("latency us: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), percentile(latencies, 1.0));
+    }
+
+    private static double percentile(long[] sortedLatencies, double quantile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(quantile * sortedLatencies.length) - 1);
+        return sortedLatencies[Math.max(0, index)] / 1000.0;
+    }
+
+    private static final class ClientResult {
+        private long[] latenciesNanos = new long[1024];
+        private int requestsCount;
+        private int notModifiedCount;
+        private int failedCount;
+
+        private void record(long latencyNanos, int statusCode) {
+            if (requestsCount == latenciesNanos.length) {
+                latenciesNanos = Arrays.copyOf(latenciesNanos, latenciesNanos.length * 2);
+            }
+            latenciesNanos[requestsCount++] = latencyNanos;
+            if (statusCode == 304) {
+                notModifiedCount++;
+            } else if (statusCode >= 400) {
+                failedCount++;
+            }
+        }
+    }
+
+}
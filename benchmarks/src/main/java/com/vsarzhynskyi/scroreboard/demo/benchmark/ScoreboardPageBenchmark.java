@@ -0,0 +1,59 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-N and page queries should cost about the same regardless of live matches count,
+ * as they walk only {@code O(log n + k)} nodes of scoreboard index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardPageBenchmark {
+
+    private static final int TOP_MATCHES_COUNT = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000", "1000000"})
+    private int liveMatchesCount;
+
+    private DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private int middlePageOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoreboardAwareMatchRegistrar = new LiveMatchesFixture(liveMatchesCount).getScoreboardAwareMatchRegistrar();
+        middlePageOffset = liveMatchesCount / 2;
+    }
+
+    @Benchmark
+    public List<MatchScoreboardPresentation> getTopMatches() {
+        return scoreboardAwareMatchRegistrar.getTopMatches(TOP_MATCHES_COUNT);
+    }
+
+    @Benchmark
+    public MatchesScoreboardPage getMiddleScoreboardPage() {
+        return scoreboardAwareMatchRegistrar.getScoreboardPage(middlePageOffset, PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ShardedScoreboardEngine;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score update throughput of {@link ShardedScoreboardEngine} with the same live matches spread over different shard counts,
+ * run with different thread counts (e.g. {@code -t 1}, {@code -t 4}, {@code -t max}) to compare scaling,
+ * and cost of global scoreboard queries merging shard scoreboards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardedScoreboardEngineBenchmark {
+
+    private static final int TOP_MATCHES_COUNT = 10;
+
+    @Param({"1", "16"})
+    private int shardsCount;
+
+    @Param({"10000"})
+    private int liveMatchesCount;
+
+    private ShardedScoreboardEngine<Integer> shardedScoreboardEngine;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        shardedScoreboardEngine = new ShardedScoreboardEngine<>(teamRegistrar, new MatchIdGenerator(), Clock.system(ZoneOffset.UTC));
+        matchIds = new int[liveMatchesCount];
+        var random = new SplittableRandom(liveMatchesCount);
+        for (int i = 0; i < liveMatchesCount; i++) {
+            var homeTeam = teamRegistrar.registerTeam("Home Team " + i);
+            var awayTeam = teamRegistrar.registerTeam("Away Team " + i);
+            matchIds[i] = shardedScoreboardEngine.registerMatch(i % shardsCount, homeTeam.getId(), awayTeam.getId()).getMatchId();
+            shardedScoreboardEngine.startMatch(matchIds[i]);
+            shardedScoreboardEngine.updateMatchScore(matchIds[i], random.nextInt(5), random.nextInt(5));
+        }
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return shardedScoreboardEngine.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    public List<MatchScoreboardPresentation> getGlobalTopMatches() {
+        return shardedScoreboardEngine.getGlobalTopMatches(TOP_MATCHES_COUNT);
+    }
+
+    @Benchmark
+    public MatchesScoreboardSummary getGlobalScoreboardSummary() {
+        return shardedScoreboardEngine.getGlobalScoreboardSummary();
+    }
+
+}
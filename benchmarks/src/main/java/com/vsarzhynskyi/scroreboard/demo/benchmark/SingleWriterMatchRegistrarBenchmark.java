@@ -0,0 +1,101 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.SingleWriterMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score update throughput of lock-based {@link DefaultMatchRegistrar} compared with {@link SingleWriterMatchRegistrar},
+ * run with different thread counts (e.g. {@code -t 1}, {@code -t 4}, {@code -t max}).
+ * Pipelined variant submits batch of updates before waiting for them, which only single writer registrar supports.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingleWriterMatchRegistrarBenchmark {
+
+    private static final int PIPELINED_UPDATES_COUNT = 64;
+
+    @Param({"LOCK_BASED", "SINGLE_WRITER"})
+    private String registrarType;
+
+    @Param({"1000"})
+    private int liveMatchesCount;
+
+    private MatchRegistrar matchRegistrar;
+    private int[] matchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        var clock = Clock.system(ZoneOffset.UTC);
+        matchRegistrar = "SINGLE_WRITER".equals(registrarType)
+                ? new SingleWriterMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock, 1024)
+                : new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock);
+        matchIds = new int[liveMatchesCount];
+        for (int i = 0; i < liveMatchesCount; i++) {
+            var homeTeam = teamRegistrar.registerTeam("Home Team " + i);
+            var awayTeam = teamRegistrar.registerTeam("Away Team " + i);
+            matchIds[i] = matchRegistrar.registerMatch(homeTeam.getId(), awayTeam.getId()).getMatchId();
+            matchRegistrar.startMatch(matchIds[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (matchRegistrar instanceof SingleWriterMatchRegistrar singleWriterMatchRegistrar) {
+            singleWriterMatchRegistrar.close();
+        }
+    }
+
+    @Benchmark
+    public MatchDetails updateMatchScore(ThreadRandom threadRandom) {
+        var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+        return matchRegistrar.updateMatchScore(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINED_UPDATES_COUNT)
+    public MatchDetails updateMatchScorePipelined(ThreadRandom threadRandom) {
+        if (!(matchRegistrar instanceof SingleWriterMatchRegistrar singleWriterMatchRegistrar)) {
+            MatchDetails lastUpdatedMatch = null;
+            for (int i = 0; i < PIPELINED_UPDATES_COUNT; i++) {
+                lastUpdatedMatch = updateMatchScore(threadRandom);
+            }
+            return lastUpdatedMatch;
+        }
+        CompletableFuture<MatchDetails> lastUpdate = null;
+        for (int i = 0; i < PIPELINED_UPDATES_COUNT; i++) {
+            var matchId = matchIds[threadRandom.nextInt(matchIds.length)];
+            lastUpdate = singleWriterMatchRegistrar.updateMatchScoreAsync(matchId, threadRandom.nextInt(10), threadRandom.nextInt(10));
+        }
+        return lastUpdate.join();
+    }
+
+}
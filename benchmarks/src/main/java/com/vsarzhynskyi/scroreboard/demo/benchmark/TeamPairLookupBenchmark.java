@@ -0,0 +1,69 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Compares previous {@code String.format} based team pair key against packed {@code long} key,
+ * run with {@code -prof gc} to see allocation rate per lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamPairLookupBenchmark {
+
+    @Param({"1000", "100000"})
+    private int liveMatchesCount;
+
+    private Map<String, Integer> concatenatedTeamIdsMapping;
+    private LongObjectHashMap<Integer> packedTeamIdsMapping;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        concatenatedTeamIdsMapping = new ConcurrentHashMap<>();
+        packedTeamIdsMapping = new LongObjectHashMap<>();
+        for (int i = 0; i < liveMatchesCount; i++) {
+            var homeTeamId = 2 * i + 1;
+            var awayTeamId = 2 * i + 2;
+            concatenatedTeamIdsMapping.put(format("%d_%d", homeTeamId, awayTeamId), i);
+            packedTeamIdsMapping.put(packTeamIds(homeTeamId, awayTeamId), i);
+        }
+    }
+
+    @Benchmark
+    public Integer stringFormatKeyLookup(ThreadRandom threadRandom) {
+        var matchIndex = threadRandom.nextInt(liveMatchesCount);
+        return concatenatedTeamIdsMapping.get(format("%d_%d", 2 * matchIndex + 1, 2 * matchIndex + 2));
+    }
+
+    @Benchmark
+    public Integer packedLongKeyLookup(ThreadRandom threadRandom) {
+        var matchIndex = threadRandom.nextInt(liveMatchesCount);
+        return packedTeamIdsMapping.get(packTeamIds(2 * matchIndex + 1, 2 * matchIndex + 2));
+    }
+
+    private static long packTeamIds(int homeTeamId, int awayTeamId) {
+        return ((long) homeTeamId << Integer.SIZE) | (awayTeamId & 0xFFFFFFFFL);
+    }
+
+}
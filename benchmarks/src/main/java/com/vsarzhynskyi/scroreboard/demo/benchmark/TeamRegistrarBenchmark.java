@@ -0,0 +1,68 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamRegistrarBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int liveMatchesCount;
+
+    private TeamRegistrar teamRegistrar;
+    private String[] teamNames;
+    private List<String> newTeamNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var fixture = new LiveMatchesFixture(liveMatchesCount);
+        teamRegistrar = fixture.getTeamRegistrar();
+        teamNames = fixture.getHomeTeamNames();
+        newTeamNames = Arrays.stream(teamNames).map(teamName -> "New " + teamName).toList();
+    }
+
+    @Benchmark
+    public Team getTeamByName(ThreadRandom threadRandom) {
+        return teamRegistrar.getTeam(teamNames[threadRandom.nextInt(teamNames.length)]);
+    }
+
+    @Benchmark
+    public TeamRegistrar registerTeamsOneByOne() {
+        var newTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        for (var teamName : newTeamNames) {
+            newTeamRegistrar.registerTeam(teamName);
+        }
+        return newTeamRegistrar;
+    }
+
+    @Benchmark
+    public TeamRegistrar registerTeamsInBulk() {
+        var newTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator());
+        newTeamRegistrar.registerTeams(newTeamNames);
+        return newTeamRegistrar;
+    }
+
+}
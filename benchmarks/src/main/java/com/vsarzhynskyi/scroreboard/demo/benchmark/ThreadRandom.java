@@ -0,0 +1,17 @@
+package com.vsarzhynskyi.scroreboard.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+@State(Scope.Thread)
+public class ThreadRandom {
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+}
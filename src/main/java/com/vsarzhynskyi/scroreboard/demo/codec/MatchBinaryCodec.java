@@ -0,0 +1,147 @@
+package com.vsarzhynskyi.scroreboard.demo.codec;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vsarzhynskyi.scroreboard.demo.codec.VarInts.MAX_VAR_INT_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.codec.VarInts.MAX_VAR_LONG_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.NO_TIMESTAMP;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+import static java.lang.String.format;
+
+/**
+ * Compact binary encoding of {@link MatchDetails} directly into and from {@link ByteBuffer}.
+ * Teams are encoded by ID only and resolved through {@link TeamRegistrar} on decoding, so both sides should share teams.
+ * Match layout: varint match ID, home and away team IDs, home and away scores, then byte of status ordinal
+ * with flags of present timestamps, match start timestamp as zigzag varint delta of epoch nanos from base timestamp
+ * and last update timestamp as delta from match start. Base timestamp is zero for single match, and last update of
+ * previous match for list of matches, so timestamps of matches updated closely in time take few bytes.
+ */
+public class MatchBinaryCodec {
+
+    static final int MAX_ENCODED_MATCH_SIZE = 5 * MAX_VAR_INT_SIZE + 1 + 2 * MAX_VAR_LONG_SIZE;
+
+    private static final MatchStatus[] MATCH_STATUSES = MatchStatus.values();
+    private static final int MATCH_STATUS_MASK = 0x0F;
+    private static final int HAS_MATCH_START_TIMESTAMP = 0x10;
+    private static final int HAS_LAST_UPDATED_TIMESTAMP = 0x20;
+
+    private final TeamRegistrar teamRegistrar;
+
+    public MatchBinaryCodec(TeamRegistrar teamRegistrar) {
+        this.teamRegistrar = teamRegistrar;
+    }
+
+    public static int maxEncodedSize(int matchesCount) {
+        return MAX_VAR_INT_SIZE + matchesCount * MAX_ENCODED_MATCH_SIZE;
+    }
+
+    public void encode(MatchDetails match, ByteBuffer buffer) {
+        encode(match, 0, buffer);
+    }
+
+    public MatchDetails decode(ByteBuffer buffer) {
+        return decode(0, buffer);
+    }
+
+    public void encodeMatches(List<MatchDetails> matches, ByteBuffer buffer) {
+        VarInts.putVarInt(buffer, matches.size());
+        var baseEpochNanos = 0L;
+        for (var match : matches) {
+            baseEpochNanos = encode(match, baseEpochNanos, buffer);
+        }
+    }
+
+    public List<MatchDetails> decodeMatches(ByteBuffer buffer) {
+        var matchesCount = VarInts.getVarInt(buffer);
+        if (matchesCount < 0 || matchesCount > buffer.remaining()) {
+            throw new IllegalStateException(format("invalid encoded matches count %d", matchesCount));
+        }
+        var matches = new ArrayList<MatchDetails>(matchesCount);
+        var baseEpochNanos = 0L;
+        for (int i = 0; i < matchesCount; i++) {
+            var match = decode(baseEpochNanos, buffer);
+            matches.add(match);
+            baseEpochNanos = nextBaseEpochNanos(baseEpochNanos, toEpochNanos(match.getMatchStartTimestamp()), toEpochNanos(match.getLastUpdatedTimestamp()));
+        }
+        return matches;
+    }
+
+    private static long encode(MatchDetails match, long baseEpochNanos, ByteBuffer buffer) {
+        VarInts.putVarInt(buffer, match.getMatchId());
+        VarInts.putVarInt(buffer, match.getHomeTeam().getId());
+        VarInts.putVarInt(buffer, match.getAwayTeam().getId());
+        VarInts.putVarInt(buffer, match.getHomeTeamScore());
+        VarInts.putVarInt(buffer, match.getAwayTeamScore());
+
+        var matchStartEpochNanos = toEpochNanos(match.getMatchStartTimestamp());
+        var lastUpdatedEpochNanos = toEpochNanos(match.getLastUpdatedTimestamp());
+        var flags = match.getMatchStatus().ordinal();
+        if (matchStartEpochNanos != NO_TIMESTAMP) {
+            flags |= HAS_MATCH_START_TIMESTAMP;
+        }
+        if (lastUpdatedEpochNanos != NO_TIMESTAMP) {
+            flags |= HAS_LAST_UPDATED_TIMESTAMP;
+        }
+        buffer.put((byte) flags);
+
+        var timestampBaseEpochNanos = baseEpochNanos;
+        if (matchStartEpochNanos != NO_TIMESTAMP) {
+            VarInts.putSignedVarLong(buffer, matchStartEpochNanos - timestampBaseEpochNanos);
+            timestampBaseEpochNanos = matchStartEpochNanos;
+        }
+        if (lastUpdatedEpochNanos != NO_TIMESTAMP) {
+            VarInts.putSignedVarLong(buffer, lastUpdatedEpochNanos - timestampBaseEpochNanos);
+        }
+        return nextBaseEpochNanos(baseEpochNanos, matchStartEpochNanos, lastUpdatedEpochNanos);
+    }
+
+    private MatchDetails decode(long baseEpochNanos, ByteBuffer buffer) {
+        var matchId = VarInts.getVarInt(buffer);
+        var homeTeamId = VarInts.getVarInt(buffer);
+        var awayTeamId = VarInts.getVarInt(buffer);
+        var homeTeamScore = VarInts.getVarInt(buffer);
+        var awayTeamScore = VarInts.getVarInt(buffer);
+        var flags = buffer.get();
+        var matchStatusOrdinal = flags & MATCH_STATUS_MASK;
+        if (matchStatusOrdinal >= MATCH_STATUSES.length) {
+            throw new IllegalStateException(format("invalid encoded status %d of match '%d'", matchStatusOrdinal, matchId));
+        }
+
+        var matchStartEpochNanos = NO_TIMESTAMP;
+        var timestampBaseEpochNanos = baseEpochNanos;
+        if ((flags & HAS_MATCH_START_TIMESTAMP) != 0) {
+            matchStartEpochNanos = timestampBaseEpochNanos + VarInts.getSignedVarLong(buffer);
+            timestampBaseEpochNanos = matchStartEpochNanos;
+        }
+        var lastUpdatedEpochNanos = NO_TIMESTAMP;
+        if ((flags & HAS_LAST_UPDATED_TIMESTAMP) != 0) {
+            lastUpdatedEpochNanos = timestampBaseEpochNanos + VarInts.getSignedVarLong(buffer);
+        }
+
+        return MatchDetails.builder()
+                .matchId(matchId)
+                .homeTeam(teamRegistrar.getTeam(homeTeamId))
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(teamRegistrar.getTeam(awayTeamId))
+                .awayTeamScore(awayTeamScore)
+                .matchStatus(MATCH_STATUSES[matchStatusOrdinal])
+                .matchStartTimestamp(toInstant(matchStartEpochNanos))
+                .lastUpdatedTimestamp(toInstant(lastUpdatedEpochNanos))
+                .build();
+    }
+
+    private static long nextBaseEpochNanos(long baseEpochNanos, long matchStartEpochNanos, long lastUpdatedEpochNanos) {
+        if (lastUpdatedEpochNanos != NO_TIMESTAMP) {
+            return lastUpdatedEpochNanos;
+        }
+        return matchStartEpochNanos != NO_TIMESTAMP ? matchStartEpochNanos : baseEpochNanos;
+    }
+
+}
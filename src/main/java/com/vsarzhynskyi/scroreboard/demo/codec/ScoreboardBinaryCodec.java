@@ -0,0 +1,247 @@
+package com.vsarzhynskyi.scroreboard.demo.codec;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vsarzhynskyi.scroreboard.demo.codec.VarInts.MAX_VAR_INT_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.codec.VarInts.MAX_VAR_LONG_SIZE;
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+/**
+ * Compact binary encoding of {@link MatchesScoreboardSummary} directly into and from {@link ByteBuffer}, either as
+ * snapshot or as delta from previous version of scoreboard. Teams are encoded by ID only and resolved through
+ * {@link TeamRegistrar} on decoding, ranks are implied by position of match.
+ * Snapshot layout: type byte, varint version, matches count and rows of varint match ID, home team ID, home score,
+ * away team ID and away score. Delta is encoded as edit of base scoreboard, so single score update takes few bytes
+ * regardless of how many ranks it shifted: type byte, varint base version, version increment, matches count,
+ * removed and inserted matches counts, base ranks of removed matches as gaps from previous removed rank, and
+ * ranks of inserted matches as gaps from previous inserted rank, each followed either by base rank and new scores of
+ * match present in base scoreboard, or by zero and full row of new match. The rest of base matches keep their order.
+ */
+public class ScoreboardBinaryCodec {
+
+    private static final byte SNAPSHOT = 0;
+    private static final byte DELTA = 1;
+    private static final int MAX_ENCODED_ROW_SIZE = 5 * MAX_VAR_INT_SIZE;
+    private static final int MAX_ENCODED_HEADER_SIZE = 1 + 2 * MAX_VAR_LONG_SIZE + 3 * MAX_VAR_INT_SIZE;
+
+    private final TeamRegistrar teamRegistrar;
+
+    public ScoreboardBinaryCodec(TeamRegistrar teamRegistrar) {
+        this.teamRegistrar = teamRegistrar;
+    }
+
+    /**
+     * Returns upper bound of encoded snapshot, or of delta between scoreboards each having at most given matches count.
+     */
+    public static int maxEncodedSize(int matchesCount) {
+        // removed base rank, inserted rank and base rank reference besides full row in the worst case of delta
+        return MAX_ENCODED_HEADER_SIZE + matchesCount * (3 * MAX_VAR_INT_SIZE + MAX_ENCODED_ROW_SIZE);
+    }
+
+    public void encodeSnapshot(MatchesScoreboardSummary scoreboardSummary, ByteBuffer buffer) {
+        var matches = scoreboardSummary.getMatches();
+        buffer.put(SNAPSHOT);
+        VarInts.putVarLong(buffer, scoreboardSummary.getVersion());
+        VarInts.putVarInt(buffer, matches.size());
+        for (var match : matches) {
+            putRow(match, buffer);
+        }
+    }
+
+    /**
+     * Encodes changes of {@code scoreboardSummary} since {@code baseScoreboardSummary}, which receiver should already have.
+     */
+    public void encodeDelta(MatchesScoreboardSummary baseScoreboardSummary, MatchesScoreboardSummary scoreboardSummary, ByteBuffer buffer) {
+        if (scoreboardSummary.getVersion() < baseScoreboardSummary.getVersion()) {
+            throw new IllegalArgumentException(format("scoreboard version %d precedes base version %d",
+                    scoreboardSummary.getVersion(), baseScoreboardSummary.getVersion()));
+        }
+        var baseMatches = baseScoreboardSummary.getMatches();
+        var matches = scoreboardSummary.getMatches();
+        var matchIdToBaseMatchMapping = new LongObjectHashMap<MatchScoreboardPresentation>(baseMatches.size());
+        for (var baseMatch : baseMatches) {
+            matchIdToBaseMatchMapping.put(baseMatch.getMatchId(), baseMatch);
+        }
+
+        // scoreboard is ordered by comparator of scores, so matches with unchanged scores keep their relative order
+        var isBaseRankKept = new boolean[baseMatches.size()];
+        var isRankKept = new boolean[matches.size()];
+        var keptMatchesCount = 0;
+        var lastKeptBaseRank = -1;
+        for (int rank = 0; rank < matches.size(); rank++) {
+            var match = matches.get(rank);
+            var baseMatch = matchIdToBaseMatchMapping.get(match.getMatchId());
+            if (isNull(baseMatch) || !hasSameScores(baseMatch, match) || baseMatch.getMatchScoreboardRank() - 1 <= lastKeptBaseRank) {
+                continue;
+            }
+            lastKeptBaseRank = baseMatch.getMatchScoreboardRank() - 1;
+            isBaseRankKept[lastKeptBaseRank] = true;
+            isRankKept[rank] = true;
+            keptMatchesCount++;
+        }
+
+        buffer.put(DELTA);
+        VarInts.putVarLong(buffer, baseScoreboardSummary.getVersion());
+        VarInts.putVarLong(buffer, scoreboardSummary.getVersion() - baseScoreboardSummary.getVersion());
+        VarInts.putVarInt(buffer, matches.size());
+        VarInts.putVarInt(buffer, baseMatches.size() - keptMatchesCount);
+        VarInts.putVarInt(buffer, matches.size() - keptMatchesCount);
+        var previousRemovedBaseRank = -1;
+        for (int baseRank = 0; baseRank < baseMatches.size(); baseRank++) {
+            if (!isBaseRankKept[baseRank]) {
+                VarInts.putVarInt(buffer, baseRank - previousRemovedBaseRank - 1);
+                previousRemovedBaseRank = baseRank;
+            }
+        }
+        var previousInsertedRank = -1;
+        for (int rank = 0; rank < matches.size(); rank++) {
+            if (isRankKept[rank]) {
+                continue;
+            }
+            VarInts.putVarInt(buffer, rank - previousInsertedRank - 1);
+            previousInsertedRank = rank;
+            var match = matches.get(rank);
+            var baseMatch = matchIdToBaseMatchMapping.get(match.getMatchId());
+            if (isNull(baseMatch)) {
+                VarInts.putVarInt(buffer, 0);
+                putRow(match, buffer);
+            } else {
+                VarInts.putVarInt(buffer, baseMatch.getMatchScoreboardRank());
+                VarInts.putVarInt(buffer, match.getHomeTeamScore());
+                VarInts.putVarInt(buffer, match.getAwayTeamScore());
+            }
+        }
+    }
+
+    /**
+     * Decodes snapshot, or delta applied to {@code baseScoreboardSummary}, which should be of delta base version.
+     * Matches which kept their rank are shared with base scoreboard.
+     */
+    public MatchesScoreboardSummary decode(MatchesScoreboardSummary baseScoreboardSummary, ByteBuffer buffer) {
+        var type = buffer.get();
+        if (type == SNAPSHOT) {
+            return decodeSnapshot(buffer);
+        }
+        if (type != DELTA) {
+            throw new IllegalStateException(format("invalid encoded scoreboard type %d", type));
+        }
+
+        var baseVersion = VarInts.getVarLong(buffer);
+        if (isNull(baseScoreboardSummary) || baseScoreboardSummary.getVersion() != baseVersion) {
+            throw new IllegalStateException(format("scoreboard delta is based on version %d, but base scoreboard version is %s",
+                    baseVersion, isNull(baseScoreboardSummary) ? "absent" : baseScoreboardSummary.getVersion()));
+        }
+        var baseMatches = baseScoreboardSummary.getMatches();
+        var version = baseVersion + VarInts.getVarLong(buffer);
+        var matchesCount = VarInts.getVarInt(buffer);
+        var removedMatchesCount = VarInts.getVarInt(buffer);
+        var insertedMatchesCount = VarInts.getVarInt(buffer);
+        if (removedMatchesCount < 0 || removedMatchesCount > baseMatches.size() || insertedMatchesCount < 0
+                || matchesCount != baseMatches.size() - removedMatchesCount + insertedMatchesCount) {
+            throw new IllegalStateException(format("invalid encoded scoreboard delta of %d matches with %d removed and %d inserted matches",
+                    matchesCount, removedMatchesCount, insertedMatchesCount));
+        }
+
+        var isBaseRankRemoved = new boolean[baseMatches.size()];
+        var removedBaseRank = -1;
+        for (int i = 0; i < removedMatchesCount; i++) {
+            removedBaseRank += VarInts.getVarInt(buffer) + 1;
+            getBaseMatch(baseMatches, removedBaseRank);
+            isBaseRankRemoved[removedBaseRank] = true;
+        }
+
+        var matches = new ArrayList<MatchScoreboardPresentation>(matchesCount);
+        var nextInsertedRank = insertedMatchesCount > 0 ? VarInts.getVarInt(buffer) : -1;
+        var insertedMatchesLeft = insertedMatchesCount;
+        var baseRank = 0;
+        for (int rank = 0; rank < matchesCount; rank++) {
+            if (rank == nextInsertedRank) {
+                matches.add(getInsertedRow(baseMatches, rank, buffer));
+                insertedMatchesLeft--;
+                nextInsertedRank = insertedMatchesLeft > 0 ? rank + 1 + VarInts.getVarInt(buffer) : -1;
+                continue;
+            }
+            while (baseRank < baseMatches.size() && isBaseRankRemoved[baseRank]) {
+                baseRank++;
+            }
+            var baseMatch = getBaseMatch(baseMatches, baseRank++);
+            matches.add(baseMatch.getMatchScoreboardRank() == rank + 1 ? baseMatch : withRank(baseMatch, rank, baseMatch.getHomeTeamScore(), baseMatch.getAwayTeamScore()));
+        }
+        if (insertedMatchesLeft != 0) {
+            throw new IllegalStateException(format("scoreboard delta inserts match at rank %d beyond %d matches", nextInsertedRank + 1, matchesCount));
+        }
+        return new MatchesScoreboardSummary(matches, version);
+    }
+
+    private MatchScoreboardPresentation getInsertedRow(List<MatchScoreboardPresentation> baseMatches, int rank, ByteBuffer buffer) {
+        var baseRank = VarInts.getVarInt(buffer) - 1;
+        if (baseRank < 0) {
+            return getRow(rank, buffer);
+        }
+        var baseMatch = getBaseMatch(baseMatches, baseRank);
+        return withRank(baseMatch, rank, VarInts.getVarInt(buffer), VarInts.getVarInt(buffer));
+    }
+
+    private static MatchScoreboardPresentation withRank(MatchScoreboardPresentation match, int rank, int homeTeamScore, int awayTeamScore) {
+        return MatchScoreboardPresentation.builder()
+                .matchId(match.getMatchId())
+                .matchScoreboardRank(rank + 1)
+                .homeTeam(match.getHomeTeam())
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(match.getAwayTeam())
+                .awayTeamScore(awayTeamScore)
+                .build();
+    }
+
+    private MatchesScoreboardSummary decodeSnapshot(ByteBuffer buffer) {
+        var version = VarInts.getVarLong(buffer);
+        var matchesCount = VarInts.getVarInt(buffer);
+        if (matchesCount < 0 || matchesCount > buffer.remaining()) {
+            throw new IllegalStateException(format("invalid encoded matches count %d", matchesCount));
+        }
+        var matches = new ArrayList<MatchScoreboardPresentation>(matchesCount);
+        for (int rank = 0; rank < matchesCount; rank++) {
+            matches.add(getRow(rank, buffer));
+        }
+        return new MatchesScoreboardSummary(matches, version);
+    }
+
+    private static MatchScoreboardPresentation getBaseMatch(List<MatchScoreboardPresentation> baseMatches, int baseRank) {
+        if (baseRank < 0 || baseRank >= baseMatches.size()) {
+            throw new IllegalStateException(format("scoreboard delta refers to rank %d absent in base scoreboard", baseRank + 1));
+        }
+        return baseMatches.get(baseRank);
+    }
+
+    private static boolean hasSameScores(MatchScoreboardPresentation baseMatch, MatchScoreboardPresentation match) {
+        return baseMatch.getHomeTeamScore() == match.getHomeTeamScore() && baseMatch.getAwayTeamScore() == match.getAwayTeamScore();
+    }
+
+    private static void putRow(MatchScoreboardPresentation match, ByteBuffer buffer) {
+        VarInts.putVarInt(buffer, match.getMatchId());
+        VarInts.putVarInt(buffer, match.getHomeTeam().getId());
+        VarInts.putVarInt(buffer, match.getHomeTeamScore());
+        VarInts.putVarInt(buffer, match.getAwayTeam().getId());
+        VarInts.putVarInt(buffer, match.getAwayTeamScore());
+    }
+
+    private MatchScoreboardPresentation getRow(int rank, ByteBuffer buffer) {
+        return MatchScoreboardPresentation.builder()
+                .matchId(VarInts.getVarInt(buffer))
+                .matchScoreboardRank(rank + 1)
+                .homeTeam(teamRegistrar.getTeam(VarInts.getVarInt(buffer)))
+                .homeTeamScore(VarInts.getVarInt(buffer))
+                .awayTeam(teamRegistrar.getTeam(VarInts.getVarInt(buffer)))
+                .awayTeamScore(VarInts.getVarInt(buffer))
+                .build();
+    }
+
+}
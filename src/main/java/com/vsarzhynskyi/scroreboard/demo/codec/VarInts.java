@@ -0,0 +1,75 @@
+package com.vsarzhynskyi.scroreboard.demo.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable length encoding of integers, 7 bits per byte with the highest bit set on all bytes except the last one,
+ * so small values take single byte. Signed values are zigzag encoded, so small negative values stay short too.
+ */
+final class VarInts {
+
+    static final int MAX_VAR_INT_SIZE = 5;
+    static final int MAX_VAR_LONG_SIZE = 10;
+
+    private VarInts() {
+    }
+
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        var value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            var b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("malformed variable length integer");
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        var value = 0L;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            var b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("malformed variable length long");
+    }
+
+    static void putSignedVarInt(ByteBuffer buffer, int value) {
+        putVarInt(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    static int getSignedVarInt(ByteBuffer buffer) {
+        var value = getVarInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putSignedVarLong(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    static long getSignedVarLong(ByteBuffer buffer) {
+        var value = getVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
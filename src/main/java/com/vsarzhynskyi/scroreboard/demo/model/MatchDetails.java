@@ -8,6 +8,12 @@ import java.time.Instant;
 @Value
 @Builder(toBuilder = true)
 public class MatchDetails {
+
+    /**
+     * Feed sequence of match which has not yet accepted any score update by feed sequence.
+     */
+    public static final long NO_FEED_SEQUENCE = Long.MIN_VALUE;
+
     int matchId;
     Team homeTeam;
     int homeTeamScore;
@@ -16,4 +22,10 @@ public class MatchDetails {
     MatchStatus matchStatus;
     Instant matchStartTimestamp;
     Instant lastUpdatedTimestamp;
+    /**
+     * Feed sequence of the latest score update accepted by feed sequence, kept on journal, snapshot and replication,
+     * so stale and duplicated feed updates are still dropped after restore.
+     */
+    @Builder.Default
+    long feedSequence = NO_FEED_SEQUENCE;
 }
@@ -3,14 +3,10 @@ package com.vsarzhynskyi.scroreboard.demo.model;
 import lombok.Builder;
 import lombok.Value;
 
-import static java.lang.String.format;
-
 @Value
 @Builder
 public class MatchScoreboardPresentation {
 
-    private static final String MATCH_PRESENTATION_TEMPLATE = "%d. %s %d - %s %d";
-
     int matchId;
     int matchScoreboardRank;
     Team homeTeam;
@@ -18,9 +14,19 @@ public class MatchScoreboardPresentation {
     Team awayTeam;
     int awayTeamScore;
 
+    /**
+     * Appends presentation in format {@code "<rank>. <home team> <home score> - <away team> <away score>"}.
+     */
+    public StringBuilder appendTo(StringBuilder stringBuilder) {
+        return stringBuilder.append(matchScoreboardRank).append(". ")
+                .append(homeTeam.getName()).append(' ').append(homeTeamScore)
+                .append(" - ")
+                .append(awayTeam.getName()).append(' ').append(awayTeamScore);
+    }
+
     @Override
     public String toString() {
-        return format(MATCH_PRESENTATION_TEMPLATE, matchScoreboardRank, homeTeam.getName(), homeTeamScore, awayTeam.getName(), awayTeamScore);
+        return appendTo(new StringBuilder()).toString();
     }
 
 }
@@ -0,0 +1,29 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class MatchUpdate {
+    MatchUpdateType updateType;
+    int matchId;
+    int homeTeamScore;
+    int awayTeamScore;
+
+    public static MatchUpdate start(int matchId) {
+        return new MatchUpdate(MatchUpdateType.START, matchId, 0, 0);
+    }
+
+    public static MatchUpdate updateScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return new MatchUpdate(MatchUpdateType.UPDATE_SCORE, matchId, homeTeamScore, awayTeamScore);
+    }
+
+    public static MatchUpdate finish(int matchId) {
+        return new MatchUpdate(MatchUpdateType.FINISH, matchId, 0, 0);
+    }
+
+    public static MatchUpdate unregister(int matchId) {
+        return new MatchUpdate(MatchUpdateType.UNREGISTER, matchId, 0, 0);
+    }
+}
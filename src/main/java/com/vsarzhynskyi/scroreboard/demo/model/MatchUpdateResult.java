@@ -0,0 +1,27 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Value;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Result of single update from batch: either match details after update, or failure which rejected update.
+ */
+@Value
+public class MatchUpdateResult {
+    MatchUpdate matchUpdate;
+    MatchDetails matchDetails;
+    RuntimeException failure;
+
+    public static MatchUpdateResult succeeded(MatchUpdate matchUpdate, MatchDetails matchDetails) {
+        return new MatchUpdateResult(matchUpdate, matchDetails, null);
+    }
+
+    public static MatchUpdateResult failed(MatchUpdate matchUpdate, RuntimeException failure) {
+        return new MatchUpdateResult(matchUpdate, null, failure);
+    }
+
+    public boolean isSucceeded() {
+        return isNull(failure);
+    }
+}
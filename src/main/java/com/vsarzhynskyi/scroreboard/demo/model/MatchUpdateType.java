@@ -0,0 +1,8 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+public enum MatchUpdateType {
+    START,
+    UPDATE_SCORE,
+    FINISH,
+    UNREGISTER
+}
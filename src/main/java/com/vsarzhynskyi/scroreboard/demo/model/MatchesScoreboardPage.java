@@ -0,0 +1,13 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class MatchesScoreboardPage {
+    List<MatchScoreboardPresentation> matches;
+    int offset;
+    int totalMatchesCount;
+    long version;
+}
@@ -7,12 +7,13 @@ import java.util.List;
 @Value
 public class MatchesScoreboardSummary {
     List<MatchScoreboardPresentation> matches;
+    long version;
 
     @Override
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder();
         for (var match: matches) {
-            stringBuilder.append(match).append('\n');
+            match.appendTo(stringBuilder).append('\n');
         }
         if (stringBuilder.length() != 0) {
             stringBuilder.deleteCharAt(stringBuilder.length() - 1);
@@ -0,0 +1,23 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scoreboard summary rendered once per version, text is the same as {@link MatchesScoreboardSummary#toString()}.
+ */
+@Value
+public class RenderedScoreboard {
+    long version;
+    String text;
+    ByteBuffer utf8Bytes;
+
+    /**
+     * Returns read-only view of direct buffer with UTF-8 encoded text, each invocation has own position,
+     * so it could be written to channel without copying.
+     */
+    public ByteBuffer getUtf8Bytes() {
+        return utf8Bytes.asReadOnlyBuffer();
+    }
+}
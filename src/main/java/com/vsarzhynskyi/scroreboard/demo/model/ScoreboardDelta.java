@@ -0,0 +1,30 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Single scoreboard change, ranks start from 1 and are 0 when match is absent on scoreboard before or after change.
+ * Ranks of matches between previous and new rank implicitly shift by one, so applying deltas in order
+ * as removal at previous rank and insertion at new rank reproduces scoreboard of the delta version.
+ * {@link ScoreboardDeltaType#SNAPSHOT} carries the whole scoreboard and replaces any state built from earlier deltas.
+ */
+@Value
+@Builder
+public class ScoreboardDelta {
+    long scoreboardVersion;
+    ScoreboardDeltaType deltaType;
+    int matchId;
+    int previousRank;
+    int rank;
+    MatchScoreboardPresentation match;
+    MatchesScoreboardSummary scoreboardSummary;
+
+    public static ScoreboardDelta snapshot(MatchesScoreboardSummary scoreboardSummary) {
+        return ScoreboardDelta.builder()
+                .scoreboardVersion(scoreboardSummary.getVersion())
+                .deltaType(ScoreboardDeltaType.SNAPSHOT)
+                .scoreboardSummary(scoreboardSummary)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+public enum ScoreboardDeltaType {
+    SNAPSHOT,
+    INSERTED,
+    MOVED,
+    SCORE_CHANGED,
+    REMOVED
+}
@@ -0,0 +1,24 @@
+package com.vsarzhynskyi.scroreboard.demo.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TeamStanding {
+
+    int position;
+    Team team;
+    int playedMatches;
+    int wins;
+    int draws;
+    int losses;
+    int goalsFor;
+    int goalsAgainst;
+    int points;
+
+    public int getGoalDifference() {
+        return goalsFor - goalsAgainst;
+    }
+
+}
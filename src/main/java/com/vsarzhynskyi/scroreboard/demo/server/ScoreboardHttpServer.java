@@ -0,0 +1,345 @@
+package com.vsarzhynskyi.scroreboard.demo.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchAlreadyRegisteredException;
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchInvalidUpdateException;
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException;
+import com.vsarzhynskyi.scroreboard.demo.exception.TeamNameInvalidException;
+import com.vsarzhynskyi.scroreboard.demo.exception.TeamNotRegisteredException;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.VirtualThreads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+/**
+ * Lightweight HTTP front end of {@link ScoreboardAwareMatchRegistrar} on top of JDK {@link HttpServer},
+ * every request is handled in own virtual thread on Java 21+ (see {@link VirtualThreads}). Endpoints:
+ * <ul>
+ *     <li>{@code POST /matches?homeTeam=..&awayTeam=..} registers match between registered teams</li>
+ *     <li>{@code POST /matches/{matchId}/start}, {@code POST /matches/{matchId}/finish} start and finish match</li>
+ *     <li>{@code POST /matches/{matchId}/score?homeTeamScore=..&awayTeamScore=..} updates match score</li>
+ *     <li>{@code DELETE /matches/{matchId}} unregisters match</li>
+ *     <li>{@code GET /scoreboard[?top=..]} returns scoreboard text with scoreboard version as {@code ETag}</li>
+ * </ul>
+ * Scoreboard request with {@code If-None-Match} of current version is answered with 304 without rendering scoreboard.
+ * Match commands respond with match details as {@code key=value} lines.
+ */
+public class ScoreboardHttpServer implements Closeable {
+
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+    private static final String MATCHES_PATH = "/matches";
+    private static final String SCOREBOARD_PATH = "/scoreboard";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private final HttpServer httpServer;
+    private final ExecutorService requestExecutor;
+
+    private ScoreboardHttpServer(ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                                 HttpServer httpServer,
+                                 ExecutorService requestExecutor) {
+        this.scoreboardAwareMatchRegistrar = scoreboardAwareMatchRegistrar;
+        this.httpServer = httpServer;
+        this.requestExecutor = requestExecutor;
+    }
+
+    /**
+     * Binds server to given address (port {@code 0} picks free port) and starts serving requests.
+     */
+    public static ScoreboardHttpServer start(ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar, InetSocketAddress address) {
+        return start(scoreboardAwareMatchRegistrar, address, false);
+    }
+
+    /**
+     * Binds server to given address (port {@code 0} picks free port) and starts serving requests.
+     *
+     * @param tcpNoDelay whether to disable Nagle's algorithm, so response body doesn't wait for delayed ACK of headers
+     *                   written separately. It's set by JVM-wide {@code sun.net.httpserver.nodelay} property read once
+     *                   by JDK server, so it only takes effect if property isn't set and no server was created before
+     */
+    public static ScoreboardHttpServer start(ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                                             InetSocketAddress address,
+                                             boolean tcpNoDelay) {
+        if (tcpNoDelay && isNull(System.getProperty(NO_DELAY_PROPERTY))) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        HttpServer httpServer;
+        try {
+            httpServer = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to bind scoreboard server to '%s'", address), e);
+        }
+        var requestExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        var scoreboardHttpServer = new ScoreboardHttpServer(scoreboardAwareMatchRegistrar, httpServer, requestExecutor);
+        httpServer.createContext(MATCHES_PATH, scoreboardHttpServer::handleMatchRequest);
+        httpServer.createContext(SCOREBOARD_PATH, scoreboardHttpServer::handleScoreboardRequest);
+        httpServer.setExecutor(requestExecutor);
+        httpServer.start();
+        return scoreboardHttpServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        requestExecutor.shutdown();
+    }
+
+    private void handleMatchRequest(HttpExchange exchange) throws IOException {
+        try {
+            var method = exchange.getRequestMethod();
+            var subPath = exchange.getRequestURI().getPath().substring(MATCHES_PATH.length());
+            if (!subPath.isEmpty() && !subPath.startsWith("/")) {
+                throw new ResourceNotFoundException(exchange.getRequestURI().getPath());
+            }
+            var pathSegments = subPath.split("/");
+            var queryParameters = parseQueryParameters(exchange.getRequestURI().getRawQuery());
+            // path without match ID is split into single empty segment, with match ID - into empty segment and the rest
+            if (pathSegments.length <= 1) {
+                requireMethod(method, "POST");
+                var match = scoreboardAwareMatchRegistrar.registerMatch(
+                        getRequiredParameter(queryParameters, "homeTeam"), getRequiredParameter(queryParameters, "awayTeam"));
+                sendMatch(exchange, 201, match);
+                return;
+            }
+
+            var matchId = parseInt(pathSegments[1], "match ID");
+            var command = pathSegments.length == 2 ? "" : pathSegments[2];
+            if (pathSegments.length > 3) {
+                throw new ResourceNotFoundException(exchange.getRequestURI().getPath());
+            }
+            var match = switch (command) {
+                case "" -> {
+                    requireMethod(method, "DELETE");
+                    yield scoreboardAwareMatchRegistrar.unregisterMatch(matchId);
+                }
+                case "start" -> {
+                    requireMethod(method, "POST");
+                    yield scoreboardAwareMatchRegistrar.startMatch(matchId);
+                }
+                case "score" -> {
+                    requireMethod(method, "POST");
+                    yield scoreboardAwareMatchRegistrar.updateMatchScore(matchId,
+                            parseInt(getRequiredParameter(queryParameters, "homeTeamScore"), "home team score"),
+                            parseInt(getRequiredParameter(queryParameters, "awayTeamScore"), "away team score"));
+                }
+                case "finish" -> {
+                    requireMethod(method, "POST");
+                    yield scoreboardAwareMatchRegistrar.finishMatch(matchId);
+                }
+                default -> throw new ResourceNotFoundException(exchange.getRequestURI().getPath());
+            };
+            sendMatch(exchange, 200, match);
+        } catch (RuntimeException e) {
+            sendError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleScoreboardRequest(HttpExchange exchange) throws IOException {
+        try {
+            requireMethod(exchange.getRequestMethod(), "GET");
+            if (!exchange.getRequestURI().getPath().equals(SCOREBOARD_PATH)) {
+                throw new ResourceNotFoundException(exchange.getRequestURI().getPath());
+            }
+            var topMatchesCount = parseQueryParameters(exchange.getRequestURI().getRawQuery()).get("top");
+            if (isNull(topMatchesCount)) {
+                sendScoreboard(exchange);
+            } else {
+                sendTopMatches(exchange, parseInt(topMatchesCount, "top matches count"));
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendScoreboard(HttpExchange exchange) throws IOException {
+        if (isNotModified(exchange, scoreboardAwareMatchRegistrar.getScoreboardVersion())) {
+            return;
+        }
+        var renderedScoreboard = scoreboardAwareMatchRegistrar.getRenderedScoreboard();
+        var utf8Bytes = renderedScoreboard.getUtf8Bytes();
+        setScoreboardHeaders(exchange, renderedScoreboard.getVersion());
+        sendResponse(exchange, 200, utf8Bytes);
+    }
+
+    private void sendTopMatches(HttpExchange exchange, int topMatchesCount) throws IOException {
+        if (topMatchesCount < 0) {
+            throw new IllegalArgumentException(format("top matches count should not be negative, but was %d", topMatchesCount));
+        }
+        var scoreboardPage = scoreboardAwareMatchRegistrar.getScoreboardPage(0, topMatchesCount);
+        if (isNotModified(exchange, scoreboardPage.getVersion())) {
+            return;
+        }
+        setScoreboardHeaders(exchange, scoreboardPage.getVersion());
+        sendResponse(exchange, 200, encode(renderMatches(scoreboardPage.getMatches())));
+    }
+
+    private static boolean isNotModified(HttpExchange exchange, long scoreboardVersion) throws IOException {
+        var ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (isNull(ifNoneMatch) || !matchesEntityTag(ifNoneMatch, toEntityTag(scoreboardVersion))) {
+            return false;
+        }
+        setScoreboardHeaders(exchange, scoreboardVersion);
+        sendResponseHeaders(exchange, 304, -1);
+        return true;
+    }
+
+    private static boolean matchesEntityTag(String ifNoneMatch, String entityTag) {
+        for (var requestedEntityTag : ifNoneMatch.split(",")) {
+            var trimmedEntityTag = requestedEntityTag.trim();
+            if (trimmedEntityTag.startsWith("W/")) {
+                trimmedEntityTag = trimmedEntityTag.substring(2);
+            }
+            if (trimmedEntityTag.equals("*") || trimmedEntityTag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setScoreboardHeaders(HttpExchange exchange, long scoreboardVersion) {
+        var responseHeaders = exchange.getResponseHeaders();
+        responseHeaders.set("ETag", toEntityTag(scoreboardVersion));
+        responseHeaders.set("Cache-Control", "no-cache");
+    }
+
+    private static String toEntityTag(long scoreboardVersion) {
+        return "\"" + scoreboardVersion + "\"";
+    }
+
+    private static String renderMatches(List<MatchScoreboardPresentation> matches) {
+        var sb = new StringBuilder();
+        for (var match : matches) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            match.appendTo(sb);
+        }
+        return sb.toString();
+    }
+
+    private static void sendMatch(HttpExchange exchange, int statusCode, MatchDetails match) throws IOException {
+        var body = "matchId=" + match.getMatchId() + '\n'
+                + "matchStatus=" + match.getMatchStatus() + '\n'
+                + "homeTeam=" + match.getHomeTeam().getName() + '\n'
+                + "homeTeamScore=" + match.getHomeTeamScore() + '\n'
+                + "awayTeam=" + match.getAwayTeam().getName() + '\n'
+                + "awayTeamScore=" + match.getAwayTeamScore() + '\n';
+        sendResponse(exchange, statusCode, encode(body));
+    }
+
+    private static void sendError(HttpExchange exchange, RuntimeException e) throws IOException {
+        sendResponse(exchange, toStatusCode(e), encode(String.valueOf(e.getMessage())));
+    }
+
+    private static int toStatusCode(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException || e instanceof MatchNotRegisteredException || e instanceof TeamNotRegisteredException) {
+            return 404;
+        }
+        if (e instanceof MethodNotAllowedException) {
+            return 405;
+        }
+        if (e instanceof MatchAlreadyRegisteredException || e instanceof MatchInvalidUpdateException) {
+            return 409;
+        }
+        if (e instanceof IllegalArgumentException || e instanceof TeamNameInvalidException) {
+            return 400;
+        }
+        return 500;
+    }
+
+    private static void sendResponse(HttpExchange exchange, int statusCode, ByteBuffer body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+        sendResponseHeaders(exchange, statusCode, body.remaining() == 0 ? -1 : body.remaining());
+        if (body.hasRemaining()) {
+            Channels.newChannel(exchange.getResponseBody()).write(body);
+        }
+    }
+
+    private static void sendResponseHeaders(HttpExchange exchange, int statusCode, long contentLength) throws IOException {
+        // exchange without response body isn't drained on close, and not fully read request makes server drop connection
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(statusCode, contentLength);
+    }
+
+    private static ByteBuffer encode(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void requireMethod(String method, String expectedMethod) {
+        if (!method.equals(expectedMethod)) {
+            throw new MethodNotAllowedException(format("method '%s' is not allowed, expected '%s'", method, expectedMethod));
+        }
+    }
+
+    private static Map<String, String> parseQueryParameters(String rawQuery) {
+        var queryParameters = new HashMap<String, String>();
+        if (isNull(rawQuery) || rawQuery.isEmpty()) {
+            return queryParameters;
+        }
+        for (var parameter : rawQuery.split("&")) {
+            var separatorIndex = parameter.indexOf('=');
+            var name = separatorIndex < 0 ? parameter : parameter.substring(0, separatorIndex);
+            var value = separatorIndex < 0 ? "" : parameter.substring(separatorIndex + 1);
+            queryParameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return queryParameters;
+    }
+
+    private static String getRequiredParameter(Map<String, String> queryParameters, String name) {
+        var value = queryParameters.get(name);
+        if (isNull(value)) {
+            throw new IllegalArgumentException(format("query parameter '%s' is required", name));
+        }
+        return value;
+    }
+
+    private static int parseInt(String value, String description) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("%s should be integer, but was '%s'", description, value));
+        }
+    }
+
+    private static class ResourceNotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private ResourceNotFoundException(String path) {
+            super(format("resource '%s' not found", path));
+        }
+    }
+
+    private static class MethodNotAllowedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private MethodNotAllowedException(String message) {
+            super(message);
+        }
+    }
+
+}
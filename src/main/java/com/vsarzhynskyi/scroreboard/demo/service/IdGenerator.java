@@ -4,4 +4,11 @@ public interface IdGenerator {
 
     int nextId();
 
+    int getLastGeneratedId();
+
+    /**
+     * Makes sure that further generated identifiers are greater than specified one, e.g. on restoring state.
+     */
+    void advanceTo(int generatedId);
+
 }
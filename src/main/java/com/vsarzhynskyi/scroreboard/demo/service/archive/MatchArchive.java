@@ -0,0 +1,195 @@
+package com.vsarzhynskyi.scroreboard.demo.service.archive;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.service.retention.FinishedMatchesArchiveSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static java.util.Objects.nonNull;
+
+/**
+ * Archive of finished matches on disk, intended to be used as sink of {@code FinishedMatchesEvictor}.
+ * Each archived batch is written as immutable columnar segment with team pair and team indexes, which is memory mapped,
+ * so head-to-head and team history queries binary search indexes and read only matched rows, without loading archive onto the heap.
+ * Queries don't block archiving and see segments published before they started.
+ */
+public class MatchArchive implements FinishedMatchesArchiveSink {
+
+    private static final String SEGMENT_FILE_NAME_PATTERN = "segment-%010d.seg";
+    private static final Pattern SEGMENT_FILE_NAME_REGEX = Pattern.compile("segment-(\\d{10})\\.seg");
+
+    private final Path directory;
+    private final Lock writeLock;
+    private volatile List<MatchArchiveSegment> segments;
+    private long lastSegmentNumber;
+
+    private MatchArchive(Path directory, List<MatchArchiveSegment> segments, long lastSegmentNumber) {
+        this.directory = directory;
+        this.segments = segments;
+        this.lastSegmentNumber = lastSegmentNumber;
+        writeLock = new ReentrantLock();
+    }
+
+    /**
+     * Opens archive stored in directory, creating directory if it doesn't exist. Segments left partially written
+     * by interrupted archiving are removed.
+     */
+    public static MatchArchive open(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            List<Path> directoryPaths;
+            try (var directoryFiles = Files.list(directory)) {
+                directoryPaths = directoryFiles.sorted().collect(Collectors.toList());
+            }
+            var segmentPaths = new ArrayList<Path>();
+            for (var path : directoryPaths) {
+                var fileName = path.getFileName().toString();
+                if (SEGMENT_FILE_NAME_REGEX.matcher(fileName).matches()) {
+                    segmentPaths.add(path);
+                } else if (fileName.endsWith(".seg.tmp")) {
+                    Files.delete(path);
+                }
+            }
+            var segments = segmentPaths.stream()
+                    .map(MatchArchiveSegment::open)
+                    .collect(Collectors.toUnmodifiableList());
+            var lastSegmentNumber = segmentPaths.isEmpty() ? 0 : segmentNumber(segmentPaths.get(segmentPaths.size() - 1));
+            return new MatchArchive(directory, segments, lastSegmentNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to open match archive in '%s'", directory), e);
+        }
+    }
+
+    /**
+     * Writes finished matches as new segment, which is visible to queries once this method returns.
+     */
+    @Override
+    public void archive(List<MatchDetails> finishedMatches) {
+        for (var match : finishedMatches) {
+            if (match.getMatchStatus() != MatchStatus.FINISHED) {
+                throw new IllegalArgumentException(format("match '%d' could not be archived in status %s",
+                        match.getMatchId(), match.getMatchStatus()));
+            }
+        }
+        if (finishedMatches.isEmpty()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            var segmentPath = directory.resolve(format(SEGMENT_FILE_NAME_PATTERN, lastSegmentNumber + 1));
+            MatchArchiveSegment.write(segmentPath, finishedMatches);
+            lastSegmentNumber++;
+            var updatedSegments = new ArrayList<>(segments);
+            updatedSegments.add(MatchArchiveSegment.open(segmentPath));
+            segments = List.copyOf(updatedSegments);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} latest finished matches between both teams, regardless of which of them played at home,
+     * the latest match first.
+     */
+    public List<MatchDetails> getHeadToHeadMatches(int teamId1, int teamId2, int limit) {
+        return getLatestMatches(segment -> segment.findHeadToHeadMatches(teamId1, teamId2), limit);
+    }
+
+    /**
+     * Returns up to {@code limit} latest finished matches of team, the latest match first.
+     */
+    public List<MatchDetails> getTeamMatches(int teamId, int limit) {
+        return getLatestMatches(segment -> segment.findTeamMatches(teamId), limit);
+    }
+
+    public long getMatchesCount() {
+        return segments.stream().mapToLong(MatchArchiveSegment::getMatchesCount).sum();
+    }
+
+    public int getSegmentsCount() {
+        return segments.size();
+    }
+
+    /**
+     * Merges cursors of all segments by finish timestamp, segments are written in archiving order,
+     * so on equal timestamps match of the later segment goes first.
+     */
+    private List<MatchDetails> getLatestMatches(Function<MatchArchiveSegment, MatchArchiveSegment.Cursor> cursorLookup, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(format("limit should be non-negative, but was %d", limit));
+        }
+        var currentSegments = segments;
+        var cursors = new PriorityQueue<SegmentCursor>(Math.max(1, currentSegments.size()),
+                Comparator.comparingLong(SegmentCursor::getFinishedEpochNanos).reversed()
+                        .thenComparing(Comparator.comparingInt(SegmentCursor::getSegmentIndex).reversed()));
+        for (int i = 0; i < currentSegments.size() && limit > 0; i++) {
+            var cursor = cursorLookup.apply(currentSegments.get(i));
+            if (nonNull(cursor)) {
+                cursors.add(new SegmentCursor(i, cursor));
+            }
+        }
+
+        var latestMatches = new ArrayList<MatchDetails>(Math.min(limit, 1024));
+        while (latestMatches.size() < limit && !cursors.isEmpty()) {
+            var segmentCursor = cursors.poll();
+            latestMatches.add(segmentCursor.cursor.getCurrentMatch());
+            if (segmentCursor.advance()) {
+                cursors.add(segmentCursor);
+            }
+        }
+        return latestMatches;
+    }
+
+    private static long segmentNumber(Path segmentPath) {
+        var matcher = SEGMENT_FILE_NAME_REGEX.matcher(segmentPath.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalStateException(format("file '%s' is not an archive segment", segmentPath));
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static final class SegmentCursor {
+        private final int segmentIndex;
+        private final MatchArchiveSegment.Cursor cursor;
+        private long finishedEpochNanos;
+
+        private SegmentCursor(int segmentIndex, MatchArchiveSegment.Cursor cursor) {
+            this.segmentIndex = segmentIndex;
+            this.cursor = cursor;
+            finishedEpochNanos = cursor.getCurrentFinishedEpochNanos();
+        }
+
+        private int getSegmentIndex() {
+            return segmentIndex;
+        }
+
+        private long getFinishedEpochNanos() {
+            return finishedEpochNanos;
+        }
+
+        private boolean advance() {
+            cursor.advance();
+            if (!cursor.hasCurrent()) {
+                return false;
+            }
+            finishedEpochNanos = cursor.getCurrentFinishedEpochNanos();
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,408 @@
+package com.vsarzhynskyi.scroreboard.demo.service.archive;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Immutable file of finished matches in columnar layout, read through {@link java.nio.MappedByteBuffer}, so queries
+ * touch only pages of index entries and rows they need. Rows are ordered by finish timestamp, layout is:
+ * 32 bytes header, columns of match IDs, home team IDs, away team IDs, home scores, away scores (4 bytes per row each),
+ * match start and finish epoch nanos (8 bytes per row each), team pairs index of 16 bytes entries (pair key, first posting
+ * and postings count) sorted by pair key, followed by pair postings (row per match), teams index of 20 bytes entries
+ * (team ID, first posting, postings count, name offset and length) sorted by team ID, followed by team postings
+ * (row per match of team), and UTF-8 team names. Postings of each pair and team are in row order, so chronological.
+ */
+final class MatchArchiveSegment {
+
+    private static final int MAGIC = 0x53434153;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int CHECKSUM_OFFSET = 24;
+    private static final int PAIR_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    private static final int TEAM_ENTRY_SIZE = 5 * Integer.BYTES;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Layout layout;
+
+    private MatchArchiveSegment(Path path, ByteBuffer buffer, Layout layout) {
+        this.path = path;
+        this.buffer = buffer;
+        this.layout = layout;
+    }
+
+    /**
+     * Writes segment of finished matches into temporary file and atomically moves it to {@code segmentPath}.
+     */
+    static void write(Path segmentPath, List<MatchDetails> finishedMatches) {
+        var matches = new ArrayList<>(finishedMatches);
+        matches.sort(Comparator.comparingLong((MatchDetails match) -> toEpochNanos(match.getLastUpdatedTimestamp()))
+                .thenComparingInt(MatchDetails::getMatchId));
+        var matchesCount = matches.size();
+
+        var rowPairKeys = new long[matchesCount];
+        var allTeamIds = new int[2 * matchesCount];
+        for (int row = 0; row < matchesCount; row++) {
+            var match = matches.get(row);
+            rowPairKeys[row] = teamPairKey(match.getHomeTeam().getId(), match.getAwayTeam().getId());
+            allTeamIds[2 * row] = match.getHomeTeam().getId();
+            allTeamIds[2 * row + 1] = match.getAwayTeam().getId();
+        }
+        var pairKeys = distinctSorted(rowPairKeys);
+        var teamIds = distinctSorted(allTeamIds);
+
+        // counting sort of rows by pair and team keeps postings of each of them in row order
+        var pairPostingsCounts = new int[pairKeys.length];
+        var rowPairIndexes = new int[matchesCount];
+        for (int row = 0; row < matchesCount; row++) {
+            rowPairIndexes[row] = Arrays.binarySearch(pairKeys, rowPairKeys[row]);
+            pairPostingsCounts[rowPairIndexes[row]]++;
+        }
+        var pairFirstPostings = prefixSums(pairPostingsCounts);
+        var pairPostings = new int[matchesCount];
+        var pairNextPostings = pairFirstPostings.clone();
+        for (int row = 0; row < matchesCount; row++) {
+            pairPostings[pairNextPostings[rowPairIndexes[row]]++] = row;
+        }
+
+        var teamPostingsCounts = new int[teamIds.length];
+        var teams = new Team[teamIds.length];
+        for (int i = 0; i < allTeamIds.length; i++) {
+            var teamIndex = Arrays.binarySearch(teamIds, allTeamIds[i]);
+            teamPostingsCounts[teamIndex]++;
+            var match = matches.get(i / 2);
+            teams[teamIndex] = i % 2 == 0 ? match.getHomeTeam() : match.getAwayTeam();
+        }
+        var teamFirstPostings = prefixSums(teamPostingsCounts);
+        var teamPostings = new int[allTeamIds.length];
+        var teamNextPostings = teamFirstPostings.clone();
+        for (int i = 0; i < allTeamIds.length; i++) {
+            teamPostings[teamNextPostings[Arrays.binarySearch(teamIds, allTeamIds[i])]++] = i / 2;
+        }
+
+        var teamNames = new byte[teams.length][];
+        var teamNamesSize = 0L;
+        for (int i = 0; i < teams.length; i++) {
+            teamNames[i] = teams[i].getName().getBytes(StandardCharsets.UTF_8);
+            teamNamesSize += teamNames[i].length;
+        }
+        var fileSize = Layout.fileSize(matchesCount, pairKeys.length, teamIds.length, teamNamesSize);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("archive segment of %d bytes exceeds max supported size", fileSize));
+        }
+        var layout = new Layout(matchesCount, pairKeys.length, teamIds.length, (int) teamNamesSize);
+
+        var temporarySegmentPath = segmentPath.resolveSibling(segmentPath.getFileName() + ".tmp");
+        try (var fileChannel = FileChannel.open(temporarySegmentPath, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            var buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putInt(matchesCount);
+            buffer.putInt(pairKeys.length);
+            buffer.putInt(teamIds.length);
+            buffer.putInt((int) teamNamesSize);
+            buffer.position(HEADER_SIZE);
+
+            matches.forEach(match -> buffer.putInt(match.getMatchId()));
+            matches.forEach(match -> buffer.putInt(match.getHomeTeam().getId()));
+            matches.forEach(match -> buffer.putInt(match.getAwayTeam().getId()));
+            matches.forEach(match -> buffer.putInt(match.getHomeTeamScore()));
+            matches.forEach(match -> buffer.putInt(match.getAwayTeamScore()));
+            matches.forEach(match -> buffer.putLong(toEpochNanos(match.getMatchStartTimestamp())));
+            matches.forEach(match -> buffer.putLong(toEpochNanos(match.getLastUpdatedTimestamp())));
+
+            for (int i = 0; i < pairKeys.length; i++) {
+                buffer.putLong(pairKeys[i]);
+                buffer.putInt(pairFirstPostings[i]);
+                buffer.putInt(pairPostingsCounts[i]);
+            }
+            for (var row : pairPostings) {
+                buffer.putInt(row);
+            }
+            var teamNameOffset = 0;
+            for (int i = 0; i < teamIds.length; i++) {
+                buffer.putInt(teamIds[i]);
+                buffer.putInt(teamFirstPostings[i]);
+                buffer.putInt(teamPostingsCounts[i]);
+                buffer.putInt(teamNameOffset);
+                buffer.putInt(teamNames[i].length);
+                teamNameOffset += teamNames[i].length;
+            }
+            for (var row : teamPostings) {
+                buffer.putInt(row);
+            }
+            for (var teamName : teamNames) {
+                buffer.put(teamName);
+            }
+            buffer.putInt(CHECKSUM_OFFSET, bodyChecksum(buffer));
+            buffer.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to write archive segment '%s'", temporarySegmentPath), e);
+        }
+
+        try {
+            Files.move(temporarySegmentPath, segmentPath, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to move archive segment into '%s'", segmentPath), e);
+        }
+    }
+
+    static MatchArchiveSegment open(Path segmentPath) {
+        ByteBuffer buffer;
+        try (var fileChannel = FileChannel.open(segmentPath, READ)) {
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to read archive segment '%s'", segmentPath), e);
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException(format("file '%s' is not an archive segment of supported format", segmentPath));
+        }
+        var layout = new Layout(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16), buffer.getInt(20));
+        if (layout.matchesCount < 0 || layout.pairsCount < 0 || layout.teamsCount < 0 || layout.teamNamesSize < 0
+                || buffer.limit() != Layout.fileSize(layout.matchesCount, layout.pairsCount, layout.teamsCount, layout.teamNamesSize)
+                || buffer.getInt(CHECKSUM_OFFSET) != bodyChecksum(buffer)) {
+            throw new IllegalStateException(format("archive segment '%s' is corrupted", segmentPath));
+        }
+        return new MatchArchiveSegment(segmentPath, buffer, layout);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getMatchesCount() {
+        return layout.matchesCount;
+    }
+
+    /**
+     * Returns cursor over matches between both teams regardless of which of them played at home, or {@code null} if there are none.
+     */
+    Cursor findHeadToHeadMatches(int teamId1, int teamId2) {
+        var pairKey = teamPairKey(teamId1, teamId2);
+        var low = 0;
+        var high = layout.pairsCount - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var entryOffset = layout.pairsOffset + middle * PAIR_ENTRY_SIZE;
+            var comparison = Long.compare(buffer.getLong(entryOffset), pairKey);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return new Cursor(layout.pairPostingsOffset, buffer.getInt(entryOffset + Long.BYTES), buffer.getInt(entryOffset + Long.BYTES + Integer.BYTES));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns cursor over matches of team, or {@code null} if there are none.
+     */
+    Cursor findTeamMatches(int teamId) {
+        var teamEntryOffset = findTeamEntry(teamId);
+        if (teamEntryOffset < 0) {
+            return null;
+        }
+        return new Cursor(layout.teamPostingsOffset, buffer.getInt(teamEntryOffset + 4), buffer.getInt(teamEntryOffset + 8));
+    }
+
+    private int findTeamEntry(int teamId) {
+        var low = 0;
+        var high = layout.teamsCount - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var entryOffset = layout.teamsOffset + middle * TEAM_ENTRY_SIZE;
+            var comparison = Integer.compare(buffer.getInt(entryOffset), teamId);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return entryOffset;
+            }
+        }
+        return -1;
+    }
+
+    private long getFinishedEpochNanos(int row) {
+        return buffer.getLong(layout.finishedEpochNanosOffset + row * Long.BYTES);
+    }
+
+    private MatchDetails getMatch(int row) {
+        var intColumnOffset = row * Integer.BYTES;
+        return MatchDetails.builder()
+                .matchId(buffer.getInt(layout.matchIdsOffset + intColumnOffset))
+                .homeTeam(getTeam(buffer.getInt(layout.homeTeamIdsOffset + intColumnOffset)))
+                .awayTeam(getTeam(buffer.getInt(layout.awayTeamIdsOffset + intColumnOffset)))
+                .homeTeamScore(buffer.getInt(layout.homeTeamScoresOffset + intColumnOffset))
+                .awayTeamScore(buffer.getInt(layout.awayTeamScoresOffset + intColumnOffset))
+                .matchStatus(MatchStatus.FINISHED)
+                .matchStartTimestamp(toInstant(buffer.getLong(layout.matchStartEpochNanosOffset + row * Long.BYTES)))
+                .lastUpdatedTimestamp(toInstant(getFinishedEpochNanos(row)))
+                .build();
+    }
+
+    private Team getTeam(int teamId) {
+        var teamEntryOffset = findTeamEntry(teamId);
+        if (teamEntryOffset < 0) {
+            throw new IllegalStateException(format("archive segment '%s' has no name of team '%d'", path, teamId));
+        }
+        var teamName = new byte[buffer.getInt(teamEntryOffset + 16)];
+        buffer.get(layout.teamNamesOffset + buffer.getInt(teamEntryOffset + 12), teamName);
+        return new Team(teamId, new String(teamName, StandardCharsets.UTF_8));
+    }
+
+    static long teamPairKey(int teamId1, int teamId2) {
+        return ((long) Math.min(teamId1, teamId2) << Integer.SIZE) | (Math.max(teamId1, teamId2) & 0xFFFFFFFFL);
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        var sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+        var distinctCount = 0;
+        for (int i = 0; i < sortedValues.length; i++) {
+            if (i == 0 || sortedValues[i] != sortedValues[i - 1]) {
+                sortedValues[distinctCount++] = sortedValues[i];
+            }
+        }
+        return Arrays.copyOf(sortedValues, distinctCount);
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        var sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+        var distinctCount = 0;
+        for (int i = 0; i < sortedValues.length; i++) {
+            if (i == 0 || sortedValues[i] != sortedValues[i - 1]) {
+                sortedValues[distinctCount++] = sortedValues[i];
+            }
+        }
+        return Arrays.copyOf(sortedValues, distinctCount);
+    }
+
+    private static int[] prefixSums(int[] counts) {
+        var sums = new int[counts.length];
+        for (int i = 1; i < counts.length; i++) {
+            sums[i] = sums[i - 1] + counts[i - 1];
+        }
+        return sums;
+    }
+
+    private static int bodyChecksum(ByteBuffer buffer) {
+        var checksum = new CRC32C();
+        checksum.update(buffer.slice(0, CHECKSUM_OFFSET));
+        checksum.update(buffer.slice(CHECKSUM_OFFSET + Integer.BYTES, buffer.limit() - CHECKSUM_OFFSET - Integer.BYTES));
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Iterates postings of team pair or team from the latest finished match to the earliest one.
+     */
+    final class Cursor {
+        private final int postingsOffset;
+        private final int firstPosting;
+        private int posting;
+
+        private Cursor(int postingsOffset, int firstPosting, int postingsCount) {
+            this.postingsOffset = postingsOffset;
+            this.firstPosting = firstPosting;
+            posting = firstPosting + postingsCount - 1;
+            if (firstPosting < 0 || postingsCount <= 0 || posting >= (postingsOffset == layout.pairPostingsOffset ? layout.matchesCount : 2 * layout.matchesCount)) {
+                throw new IllegalStateException(format("archive segment '%s' has invalid postings range", path));
+            }
+        }
+
+        boolean hasCurrent() {
+            return posting >= firstPosting;
+        }
+
+        long getCurrentFinishedEpochNanos() {
+            return getFinishedEpochNanos(currentRow());
+        }
+
+        MatchDetails getCurrentMatch() {
+            return getMatch(currentRow());
+        }
+
+        void advance() {
+            posting--;
+        }
+
+        private int currentRow() {
+            var row = buffer.getInt(postingsOffset + posting * Integer.BYTES);
+            if (row < 0 || row >= layout.matchesCount) {
+                throw new IllegalStateException(format("archive segment '%s' refers to row %d out of %d rows", path, row, layout.matchesCount));
+            }
+            return row;
+        }
+    }
+
+    private static final class Layout {
+        private final int matchesCount;
+        private final int pairsCount;
+        private final int teamsCount;
+        private final int teamNamesSize;
+        private final int matchIdsOffset;
+        private final int homeTeamIdsOffset;
+        private final int awayTeamIdsOffset;
+        private final int homeTeamScoresOffset;
+        private final int awayTeamScoresOffset;
+        private final int matchStartEpochNanosOffset;
+        private final int finishedEpochNanosOffset;
+        private final int pairsOffset;
+        private final int pairPostingsOffset;
+        private final int teamsOffset;
+        private final int teamPostingsOffset;
+        private final int teamNamesOffset;
+
+        private Layout(int matchesCount, int pairsCount, int teamsCount, int teamNamesSize) {
+            this.matchesCount = matchesCount;
+            this.pairsCount = pairsCount;
+            this.teamsCount = teamsCount;
+            this.teamNamesSize = teamNamesSize;
+            matchIdsOffset = HEADER_SIZE;
+            homeTeamIdsOffset = matchIdsOffset + matchesCount * Integer.BYTES;
+            awayTeamIdsOffset = homeTeamIdsOffset + matchesCount * Integer.BYTES;
+            homeTeamScoresOffset = awayTeamIdsOffset + matchesCount * Integer.BYTES;
+            awayTeamScoresOffset = homeTeamScoresOffset + matchesCount * Integer.BYTES;
+            matchStartEpochNanosOffset = awayTeamScoresOffset + matchesCount * Integer.BYTES;
+            finishedEpochNanosOffset = matchStartEpochNanosOffset + matchesCount * Long.BYTES;
+            pairsOffset = finishedEpochNanosOffset + matchesCount * Long.BYTES;
+            pairPostingsOffset = pairsOffset + pairsCount * PAIR_ENTRY_SIZE;
+            teamsOffset = pairPostingsOffset + matchesCount * Integer.BYTES;
+            teamPostingsOffset = teamsOffset + teamsCount * TEAM_ENTRY_SIZE;
+            teamNamesOffset = teamPostingsOffset + 2 * matchesCount * Integer.BYTES;
+        }
+
+        private static long fileSize(long matchesCount, long pairsCount, long teamsCount, long teamNamesSize) {
+            return HEADER_SIZE + matchesCount * (8 * Integer.BYTES + 2 * Long.BYTES)
+                    + pairsCount * PAIR_ENTRY_SIZE + teamsCount * TEAM_ENTRY_SIZE + teamNamesSize;
+        }
+    }
+
+}
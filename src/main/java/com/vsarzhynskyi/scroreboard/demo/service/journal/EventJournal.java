@@ -0,0 +1,475 @@
+package com.vsarzhynskyi.scroreboard.demo.service.journal;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32C;
+
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Append-only binary journal of team and match mutations.
+ * Each record is {@code [int length][byte event type][payload][int CRC32C of event type and payload]},
+ * where length covers event type and payload, so torn tail left after crash is detected and truncated on open.
+ * Match records keep full match state, therefore replay of the same record is idempotent.
+ * Records are buffered in memory, and written with single force per group of records.
+ * Journaling registrars append record after mutation is applied, so once append fails (e.g. buffer couldn't be flushed)
+ * registrars state is ahead of journal, and journal fails closed: further mutations are rejected until it is reopened and replayed.
+ * Failed write of already appended records doesn't fail journal, they are kept and written again by the next flush.
+ */
+public class EventJournal implements Closeable {
+
+    private static final byte TEAM_REGISTERED = 1;
+    private static final byte TEAM_UNREGISTERED = 2;
+    // written before feed sequence of match was journaled, only replayed
+    private static final byte MATCH_UPDATED_WITHOUT_FEED_SEQUENCE = 3;
+    private static final byte MATCH_UPDATED = 4;
+
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int RECORD_OVERHEAD = LENGTH_SIZE + Byte.BYTES + CHECKSUM_SIZE;
+    private static final int TEAM_REGISTERED_PAYLOAD_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int TEAM_UNREGISTERED_PAYLOAD_SIZE = Integer.BYTES;
+    private static final int MATCH_UPDATED_PAYLOAD_SIZE = 5 * Integer.BYTES + Byte.BYTES + 3 * Long.BYTES;
+    private static final int MAX_TEAM_NAME_BYTES = 0xFFFF;
+    private static final int BUFFER_CAPACITY = 1 << 20;
+    private static final MatchStatus[] MATCH_STATUSES = MatchStatus.values();
+
+    private final FileChannel fileChannel;
+    private final JournalSyncMode syncMode;
+    private final Lock mutationLock;
+    private final Lock appendLock;
+    private final Lock flushLock;
+    private final CRC32C appendChecksum;
+
+    private ByteBuffer appendBuffer;
+    private ByteBuffer spareBuffer;
+    private long appendedPosition;
+    private long spareRecordsEndPosition;
+    private volatile long durablePosition;
+    private volatile RuntimeException appendFailure;
+
+    private EventJournal(FileChannel fileChannel, JournalSyncMode syncMode, long validRecordsEndPosition) {
+        this.fileChannel = fileChannel;
+        this.syncMode = syncMode;
+        mutationLock = new ReentrantLock();
+        appendLock = new ReentrantLock();
+        flushLock = new ReentrantLock();
+        appendChecksum = new CRC32C();
+        appendBuffer = ByteBuffer.allocate(BUFFER_CAPACITY);
+        spareBuffer = ByteBuffer.allocate(BUFFER_CAPACITY);
+        appendedPosition = validRecordsEndPosition;
+        spareRecordsEndPosition = validRecordsEndPosition;
+        durablePosition = validRecordsEndPosition;
+    }
+
+    /**
+     * Opens journal file (creates it if absent), verifies checksums of existing records and truncates torn tail.
+     */
+    public static EventJournal open(Path journalPath, JournalSyncMode syncMode) {
+        FileChannel fileChannel = null;
+        try {
+            fileChannel = FileChannel.open(journalPath, CREATE, READ, WRITE);
+            var validRecordsEndPosition = scanRecords(fileChannel, 0, fileChannel.size(), true, null);
+            if (validRecordsEndPosition < fileChannel.size()) {
+                fileChannel.truncate(validRecordsEndPosition);
+                fileChannel.force(true);
+            }
+            return new EventJournal(fileChannel, syncMode, validRecordsEndPosition);
+        } catch (IOException e) {
+            closeQuietly(fileChannel);
+            throw new UncheckedIOException(format("failed to open journal '%s'", journalPath), e);
+        }
+    }
+
+    /**
+     * Replays all records which were present on open into specified registrars, as well as their ID generators.
+     *
+     * @return number of replayed records
+     */
+    public long replay(DefaultTeamRegistrar teamRegistrar, DefaultMatchRegistrar matchRegistrar) {
+        return replay(teamRegistrar, matchRegistrar, 0);
+    }
+
+    /**
+     * Replays records starting from specified position, which should be a position returned by journal before,
+     * e.g. one stored in snapshot, so only records appended after snapshot was taken are replayed on top of it.
+     *
+     * @return number of replayed records
+     */
+    public long replay(DefaultTeamRegistrar teamRegistrar, DefaultMatchRegistrar matchRegistrar, long fromPosition) {
+        var journalReplayer = new JournalReplayer(teamRegistrar, matchRegistrar);
+        flushLock.lock();
+        try {
+            scanRecords(fileChannel, fromPosition, durablePosition, false, journalReplayer);
+            return journalReplayer.replayedRecordsCount;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to replay journal", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public long appendTeamRegistered(Team team) {
+        var teamName = encodeTeamName(team.getName());
+        appendLock.lock();
+        try {
+            var recordStart = beginRecord(TEAM_REGISTERED, TEAM_REGISTERED_PAYLOAD_SIZE + teamName.length);
+            appendBuffer.putInt(team.getId());
+            appendBuffer.putShort((short) teamName.length);
+            appendBuffer.put(teamName);
+            return completeRecord(recordStart);
+        } catch (RuntimeException e) {
+            throw failAppend(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long appendTeamUnregistered(int teamId) {
+        appendLock.lock();
+        try {
+            var recordStart = beginRecord(TEAM_UNREGISTERED, TEAM_UNREGISTERED_PAYLOAD_SIZE);
+            appendBuffer.putInt(teamId);
+            return completeRecord(recordStart);
+        } catch (RuntimeException e) {
+            throw failAppend(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long appendMatchUpdated(MatchDetails matchDetails) {
+        appendLock.lock();
+        try {
+            var recordStart = beginRecord(MATCH_UPDATED, MATCH_UPDATED_PAYLOAD_SIZE);
+            appendBuffer.putInt(matchDetails.getMatchId());
+            appendBuffer.putInt(matchDetails.getHomeTeam().getId());
+            appendBuffer.putInt(matchDetails.getAwayTeam().getId());
+            appendBuffer.put((byte) matchDetails.getMatchStatus().ordinal());
+            appendBuffer.putInt(matchDetails.getHomeTeamScore());
+            appendBuffer.putInt(matchDetails.getAwayTeamScore());
+            appendBuffer.putLong(toEpochNanos(matchDetails.getMatchStartTimestamp()));
+            appendBuffer.putLong(toEpochNanos(matchDetails.getLastUpdatedTimestamp()));
+            appendBuffer.putLong(matchDetails.getFeedSequence());
+            return completeRecord(recordStart);
+        } catch (RuntimeException e) {
+            throw failAppend(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * In {@link JournalSyncMode#GROUP_COMMIT} mode waits until journal is durable up to specified position,
+     * which is returned by append methods. Single invoker writes and forces all appended records
+     * while concurrent invokers wait for it, so they share single force.
+     */
+    public void sync(long position) {
+        if (syncMode == JournalSyncMode.GROUP_COMMIT && durablePosition < position) {
+            flushLock.lock();
+            try {
+                if (durablePosition < position) {
+                    writeAppendedRecords();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            writeAppendedRecords();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Should be invoked under mutation lock before mutation is applied, so it's rejected once journal failed closed.
+     */
+    void ensureAppendable() {
+        var failure = appendFailure;
+        if (nonNull(failure)) {
+            throw new IllegalStateException("journal append failed, mutations are rejected until journal is reopened", failure);
+        }
+    }
+
+    /**
+     * Validates team name before team is registered, so team which couldn't be journaled is never applied.
+     */
+    void ensureTeamNameAppendable(String teamName) {
+        encodeTeamName(teamName);
+    }
+
+    /**
+     * Lock which should be held while mutation is applied to registrars and appended to journal,
+     * single for team and match mutations, so their records are ordered as they were applied.
+     */
+    Lock getMutationLock() {
+        return mutationLock;
+    }
+
+    /**
+     * Invokes action with appended position of journal while mutations journaled through it are paused, so action
+     * observes state of registrars reflecting exactly the records up to that position, e.g. to take snapshot.
+     */
+    public <T> T withMutationsPaused(LongFunction<T> action) {
+        mutationLock.lock();
+        try {
+            return action.apply(getAppendedPosition());
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    public long getDurablePosition() {
+        return durablePosition;
+    }
+
+    public long getAppendedPosition() {
+        appendLock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to close journal", e);
+        }
+    }
+
+    private RuntimeException failAppend(RuntimeException failure) {
+        if (isNull(appendFailure)) {
+            appendFailure = failure;
+        }
+        return failure;
+    }
+
+    private static byte[] encodeTeamName(String teamName) {
+        var encodedTeamName = teamName.getBytes(StandardCharsets.UTF_8);
+        if (encodedTeamName.length > MAX_TEAM_NAME_BYTES) {
+            throw new IllegalArgumentException(format("team name of %d bytes is too long to be journaled", encodedTeamName.length));
+        }
+        return encodedTeamName;
+    }
+
+    private int beginRecord(byte eventType, int payloadSize) {
+        var recordSize = RECORD_OVERHEAD + payloadSize;
+        while (appendBuffer.remaining() < recordSize) {
+            appendLock.unlock();
+            try {
+                flush();
+            } finally {
+                appendLock.lock();
+            }
+        }
+        var recordStart = appendBuffer.position();
+        appendBuffer.putInt(Byte.BYTES + payloadSize);
+        appendBuffer.put(eventType);
+        return recordStart;
+    }
+
+    private long completeRecord(int recordStart) {
+        var checksumStart = recordStart + LENGTH_SIZE;
+        appendChecksum.reset();
+        appendChecksum.update(appendBuffer.array(), checksumStart, appendBuffer.position() - checksumStart);
+        appendBuffer.putInt((int) appendChecksum.getValue());
+        appendedPosition += appendBuffer.position() - recordStart;
+        return appendedPosition;
+    }
+
+    /**
+     * Records of failed write are kept in spare buffer and written again, before newer records, by the next flush.
+     */
+    private void writeAppendedRecords() {
+        if (spareRecordsEndPosition > durablePosition) {
+            writeRecords(spareBuffer, spareRecordsEndPosition);
+        }
+
+        ByteBuffer recordsBuffer;
+        long recordsEndPosition;
+        appendLock.lock();
+        try {
+            recordsBuffer = appendBuffer;
+            recordsEndPosition = appendedPosition;
+            appendBuffer = spareBuffer;
+            spareBuffer = recordsBuffer;
+        } finally {
+            appendLock.unlock();
+        }
+        if (recordsEndPosition == durablePosition) {
+            return;
+        }
+        recordsBuffer.flip();
+        spareRecordsEndPosition = recordsEndPosition;
+        writeRecords(recordsBuffer, recordsEndPosition);
+    }
+
+    private void writeRecords(ByteBuffer recordsBuffer, long recordsEndPosition) {
+        try {
+            var writePosition = durablePosition;
+            while (recordsBuffer.hasRemaining()) {
+                writePosition += fileChannel.write(recordsBuffer, writePosition);
+            }
+            fileChannel.force(false);
+        } catch (IOException e) {
+            // records partially written past durable position are overwritten by the next attempt
+            recordsBuffer.rewind();
+            throw new UncheckedIOException("failed to write journal records", e);
+        }
+        recordsBuffer.clear();
+        durablePosition = recordsEndPosition;
+    }
+
+    private static long scanRecords(FileChannel fileChannel, long fromPosition, long toPosition,
+                                    boolean verifyChecksum, JournalReplayer journalReplayer) throws IOException {
+        var readBuffer = ByteBuffer.allocate(BUFFER_CAPACITY);
+        var checksum = new CRC32C();
+        var readPosition = fromPosition;
+        var validRecordsEndPosition = fromPosition;
+        readBuffer.limit(0);
+        while (true) {
+            if (readBuffer.remaining() >= LENGTH_SIZE) {
+                var recordStart = readBuffer.position();
+                var recordLength = readBuffer.getInt(recordStart);
+                if (recordLength < Byte.BYTES || recordLength > BUFFER_CAPACITY - RECORD_OVERHEAD) {
+                    return validRecordsEndPosition;
+                }
+                if (readBuffer.remaining() >= LENGTH_SIZE + recordLength + CHECKSUM_SIZE) {
+                    var checksumStart = recordStart + LENGTH_SIZE;
+                    if (verifyChecksum) {
+                        checksum.reset();
+                        checksum.update(readBuffer.array(), checksumStart, recordLength);
+                        if ((int) checksum.getValue() != readBuffer.getInt(checksumStart + recordLength)) {
+                            return validRecordsEndPosition;
+                        }
+                    }
+                    if (nonNull(journalReplayer)) {
+                        readBuffer.position(checksumStart + Byte.BYTES);
+                        journalReplayer.replay(readBuffer.get(checksumStart), readBuffer);
+                    }
+                    readBuffer.position(checksumStart + recordLength + CHECKSUM_SIZE);
+                    validRecordsEndPosition += LENGTH_SIZE + recordLength + CHECKSUM_SIZE;
+                    continue;
+                }
+            }
+
+            readBuffer.compact();
+            readBuffer.limit((int) Math.min(readBuffer.capacity(), readBuffer.position() + toPosition - readPosition));
+            var readBytes = readBuffer.hasRemaining() ? fileChannel.read(readBuffer, readPosition) : -1;
+            readBuffer.flip();
+            if (readBytes <= 0) {
+                return validRecordsEndPosition;
+            }
+            readPosition += readBytes;
+        }
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        if (nonNull(fileChannel)) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignored) {
+                // original failure is more relevant
+            }
+        }
+    }
+
+    private static final class JournalReplayer {
+
+        private final DefaultTeamRegistrar teamRegistrar;
+        private final DefaultMatchRegistrar matchRegistrar;
+        private final LongObjectHashMap<Team> teamIdToTeamMapping;
+        private long replayedRecordsCount;
+
+        private JournalReplayer(DefaultTeamRegistrar teamRegistrar, DefaultMatchRegistrar matchRegistrar) {
+            this.teamRegistrar = teamRegistrar;
+            this.matchRegistrar = matchRegistrar;
+            teamIdToTeamMapping = new LongObjectHashMap<>();
+        }
+
+        private void replay(byte eventType, ByteBuffer payload) {
+            switch (eventType) {
+                case TEAM_REGISTERED -> replayTeamRegistered(payload);
+                case TEAM_UNREGISTERED -> replayTeamUnregistered(payload.getInt());
+                case MATCH_UPDATED_WITHOUT_FEED_SEQUENCE -> replayMatchUpdated(payload, false);
+                case MATCH_UPDATED -> replayMatchUpdated(payload, true);
+                default -> throw new IllegalStateException(format("unknown journal event type '%d'", eventType));
+            }
+            replayedRecordsCount++;
+        }
+
+        private void replayTeamRegistered(ByteBuffer payload) {
+            var teamId = payload.getInt();
+            var teamNameLength = payload.getShort() & 0xFFFF;
+            var teamName = new String(payload.array(), payload.position(), teamNameLength, StandardCharsets.UTF_8);
+            var team = new Team(teamId, teamName);
+            teamIdToTeamMapping.put(teamId, team);
+            teamRegistrar.restoreTeam(team);
+        }
+
+        private void replayTeamUnregistered(int teamId) {
+            // team might be already unregistered in snapshot which was taken after record was appended
+            if (teamRegistrar.isTeamRegistered(teamId)) {
+                teamRegistrar.unregisterTeam(teamId);
+            }
+        }
+
+        private void replayMatchUpdated(ByteBuffer payload, boolean hasFeedSequence) {
+            var matchDetailsBuilder = MatchDetails.builder()
+                    .matchId(payload.getInt())
+                    .homeTeam(getTeam(payload.getInt()))
+                    .awayTeam(getTeam(payload.getInt()))
+                    .matchStatus(MATCH_STATUSES[payload.get()])
+                    .homeTeamScore(payload.getInt())
+                    .awayTeamScore(payload.getInt())
+                    .matchStartTimestamp(toInstant(payload.getLong()))
+                    .lastUpdatedTimestamp(toInstant(payload.getLong()));
+            if (hasFeedSequence) {
+                matchDetailsBuilder.feedSequence(payload.getLong());
+            }
+            matchRegistrar.restoreMatch(matchDetailsBuilder.build());
+        }
+
+        private Team getTeam(int teamId) {
+            var team = teamIdToTeamMapping.get(teamId);
+            if (isNull(team)) {
+                team = teamRegistrar.getTeam(teamId);
+                teamIdToTeamMapping.put(teamId, team);
+            }
+            return team;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.vsarzhynskyi.scroreboard.demo.service.journal;
+
+public enum JournalSyncMode {
+    /**
+     * Mutation returns only when its journal record is forced to storage,
+     * records of concurrent mutations are written and forced together.
+     */
+    GROUP_COMMIT,
+    /**
+     * Records are written and forced when in-memory buffer is full, or on explicit flush and close.
+     */
+    BATCHED
+}
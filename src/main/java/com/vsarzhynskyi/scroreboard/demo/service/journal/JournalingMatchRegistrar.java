@@ -0,0 +1,179 @@
+package com.vsarzhynskyi.scroreboard.demo.service.journal;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Appends state of each successfully mutated match to {@link EventJournal},
+ * mutations are serialized by mutation lock of journal, shared with {@link JournalingTeamRegistrar},
+ * to keep journal order the same as order in which team and match mutations were applied.
+ * Mutations are rejected once journal failed closed after failed append.
+ */
+public class JournalingMatchRegistrar implements MatchRegistrar {
+
+    private final MatchRegistrar matchRegistrar;
+    private final EventJournal eventJournal;
+    private final Lock journalLock;
+
+    public JournalingMatchRegistrar(MatchRegistrar matchRegistrar, EventJournal eventJournal) {
+        this.matchRegistrar = matchRegistrar;
+        this.eventJournal = eventJournal;
+        journalLock = eventJournal.getMutationLock();
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return journalMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return journalMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return journalMatchUpdate(() -> matchRegistrar.startMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return journalMatchUpdate(() -> matchRegistrar.startMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return journalMatchUpdate(() -> matchRegistrar.startMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return journalMatchUpdate(() -> matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return journalMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return journalMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (matchRegistrar.isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        return journalMatchUpdate(() -> matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return journalMatchUpdate(() -> matchRegistrar.finishMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return journalMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return journalMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return journalMatchUpdate(() -> matchRegistrar.unregisterMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return journalMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return journalMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        List<MatchUpdateResult> matchUpdateResults;
+        var journalPosition = 0L;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            matchUpdateResults = matchRegistrar.applyUpdates(matchUpdates);
+            for (var matchUpdateResult : matchUpdateResults) {
+                if (matchUpdateResult.isSucceeded()) {
+                    journalPosition = eventJournal.appendMatchUpdated(matchUpdateResult.getMatchDetails());
+                }
+            }
+        } finally {
+            journalLock.unlock();
+        }
+        eventJournal.sync(journalPosition);
+        return matchUpdateResults;
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return matchRegistrar.getAllMatches();
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return matchRegistrar.getActiveMatches();
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return matchRegistrar.isMatchRegistered(matchId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return matchRegistrar.isMatchRegistered(homeTeamName, awayTeamName);
+    }
+
+    private MatchDetails journalMatchUpdate(Supplier<MatchDetails> matchUpdate) {
+        MatchDetails matchDetails;
+        long journalPosition;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            matchDetails = matchUpdate.get();
+            if (isNull(matchDetails)) {
+                // dropped stale update is not journaled
+                return null;
+            }
+            journalPosition = eventJournal.appendMatchUpdated(matchDetails);
+        } finally {
+            journalLock.unlock();
+        }
+        eventJournal.sync(journalPosition);
+        return matchDetails;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.vsarzhynskyi.scroreboard.demo.service.journal;
+
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Appends each successful team mutation to {@link EventJournal}, mutations are serialized by mutation lock of journal,
+ * shared with {@link JournalingMatchRegistrar}, to keep journal order of team and match mutations.
+ * Team names are validated to be journalable before teams are registered,
+ * and mutations are rejected once journal failed closed after failed append.
+ */
+public class JournalingTeamRegistrar implements TeamRegistrar {
+
+    private final TeamRegistrar teamRegistrar;
+    private final EventJournal eventJournal;
+    private final Lock journalLock;
+
+    public JournalingTeamRegistrar(TeamRegistrar teamRegistrar, EventJournal eventJournal) {
+        this.teamRegistrar = teamRegistrar;
+        this.eventJournal = eventJournal;
+        journalLock = eventJournal.getMutationLock();
+    }
+
+    @Override
+    public Team registerTeam(String teamName) {
+        Team team;
+        long journalPosition;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            eventJournal.ensureTeamNameAppendable(teamName);
+            team = teamRegistrar.registerTeam(teamName);
+            journalPosition = eventJournal.appendTeamRegistered(team);
+        } finally {
+            journalLock.unlock();
+        }
+        eventJournal.sync(journalPosition);
+        return team;
+    }
+
+    @Override
+    public List<Team> registerTeams(Collection<String> teamNames) {
+        List<Team> teams;
+        var journalPosition = 0L;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            teamNames.forEach(eventJournal::ensureTeamNameAppendable);
+            teams = teamRegistrar.registerTeams(teamNames);
+            for (var team : teams) {
+                journalPosition = eventJournal.appendTeamRegistered(team);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+        // single sync covers all appended events
+        eventJournal.sync(journalPosition);
+        return teams;
+    }
+
+    @Override
+    public void unregisterTeam(String teamName) {
+        long journalPosition;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            var team = teamRegistrar.getTeam(teamName);
+            teamRegistrar.unregisterTeam(teamName);
+            journalPosition = eventJournal.appendTeamUnregistered(team.getId());
+        } finally {
+            journalLock.unlock();
+        }
+        eventJournal.sync(journalPosition);
+    }
+
+    @Override
+    public void unregisterTeam(int teamId) {
+        long journalPosition;
+        journalLock.lock();
+        try {
+            eventJournal.ensureAppendable();
+            teamRegistrar.unregisterTeam(teamId);
+            journalPosition = eventJournal.appendTeamUnregistered(teamId);
+        } finally {
+            journalLock.unlock();
+        }
+        eventJournal.sync(journalPosition);
+    }
+
+    @Override
+    public boolean isTeamRegistered(String teamName) {
+        return teamRegistrar.isTeamRegistered(teamName);
+    }
+
+    @Override
+    public boolean isTeamRegistered(int teamId) {
+        return teamRegistrar.isTeamRegistered(teamId);
+    }
+
+    @Override
+    public Team getTeam(String teamName) {
+        return teamRegistrar.getTeam(teamName);
+    }
+
+    @Override
+    public Team getTeam(int teamId) {
+        return teamRegistrar.getTeam(teamId);
+    }
+
+    @Override
+    public List<Team> getAllTeams() {
+        return teamRegistrar.getAllTeams();
+    }
+
+}
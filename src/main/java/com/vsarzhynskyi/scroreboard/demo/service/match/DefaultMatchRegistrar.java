@@ -5,48 +5,95 @@ import com.vsarzhynskyi.scroreboard.demo.exception.MatchInvalidUpdateException;
 import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException;
 import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
 import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
 import com.vsarzhynskyi.scroreboard.demo.model.Team;
 import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics;
 import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.EpochNanos;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+import com.vsarzhynskyi.scroreboard.demo.util.PersistentOrderStatisticTree;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
-
+import static java.util.Objects.nonNull;
+
+/**
+ * Match registrar guarding its state by read-write lock, or, in {@link MatchConcurrencyMode#PER_MATCH} mode,
+ * updating scores of distinct matches without global lock. Every mutation publishes updated match into persistent trees
+ * of all and active matches ordered by match ID in {@code O(log n)}, so lists of all and active matches are immutable
+ * views of published trees, returned without locking and without scanning matches.
+ */
 public class DefaultMatchRegistrar implements MatchRegistrar {
 
-    private static final String CONCATENATED_TEAM_IDS_TEMPLATE = "%d_%d";
+    private static final Set<MatchStatus> REGISTERED_STATUSES = EnumSet.of(MatchStatus.REGISTERED);
+    private static final Set<MatchStatus> IN_PROGRESS_STATUSES = EnumSet.of(MatchStatus.IN_PROGRESS);
+    private static final Set<MatchStatus> UNREGISTRABLE_STATUSES = EnumSet.of(MatchStatus.REGISTERED, MatchStatus.FINISHED);
+    private static final Comparator<MatchDetails> MATCH_ID_ORDER = Comparator.comparingInt(MatchDetails::getMatchId);
 
     private final IdGenerator matchIdGenerator;
     private final TeamRegistrar teamRegistrar;
     private final Clock clock;
+    private final MatchConcurrencyMode concurrencyMode;
 
     private final ReadWriteLock readWriteLock;
-    private final Map<Integer, MatchDetails> matchIdToMatchDetailsMapping;
-    private final Map<String, MatchDetails> matchTeamIdsToMatchDetailsMapping;
+    private final LongObjectHashMap<MatchState> matchIdToMatchStateMapping;
+    private final LongObjectHashMap<MatchState> matchTeamIdsToMatchStateMapping;
     private final Set<Integer> inProgressPlayingTeamIdsSet;
+    private final LongObjectHashMap<MatchState> activeMatchIdToMatchStateMapping;
+    private final LinkedHashMap<Integer, MatchState> finishedMatchIdToMatchStateMapping;
+    private final AtomicReference<PublishedMatches> publishedMatches;
 
+    /**
+     * Creates registrar, which records wait and hold time of its write lock into {@code registrarMetrics} if they are specified.
+     */
     public DefaultMatchRegistrar(IdGenerator matchIdGenerator,
                                  TeamRegistrar teamRegistrar,
-                                 Clock clock) {
+                                 Clock clock,
+                                 MatchConcurrencyMode concurrencyMode,
+                                 RegistrarMetrics registrarMetrics) {
         this.matchIdGenerator = matchIdGenerator;
         this.teamRegistrar = teamRegistrar;
         this.clock = clock;
+        this.concurrencyMode = concurrencyMode;
 
-        readWriteLock = new ReentrantReadWriteLock();
-        matchIdToMatchDetailsMapping = new ConcurrentHashMap<>();
-        matchTeamIdsToMatchDetailsMapping = new ConcurrentHashMap<>();
+        readWriteLock = isNull(registrarMetrics)
+                ? new ReentrantReadWriteLock()
+                : registrarMetrics.timedRegistrarLock(new ReentrantReadWriteLock());
+        matchIdToMatchStateMapping = new LongObjectHashMap<>();
+        matchTeamIdsToMatchStateMapping = new LongObjectHashMap<>();
         inProgressPlayingTeamIdsSet = ConcurrentHashMap.newKeySet();
+        activeMatchIdToMatchStateMapping = new LongObjectHashMap<>();
+        finishedMatchIdToMatchStateMapping = new LinkedHashMap<>();
+        var emptyMatches = PersistentOrderStatisticTree.empty(MATCH_ID_ORDER);
+        publishedMatches = new AtomicReference<>(new PublishedMatches(emptyMatches, emptyMatches.asList(), emptyMatches, emptyMatches.asList()));
+    }
+
+    public DefaultMatchRegistrar(IdGenerator matchIdGenerator,
+                                 TeamRegistrar teamRegistrar,
+                                 Clock clock,
+                                 MatchConcurrencyMode concurrencyMode) {
+        this(matchIdGenerator, teamRegistrar, clock, concurrencyMode, null);
+    }
+
+    public DefaultMatchRegistrar(IdGenerator matchIdGenerator,
+                                 TeamRegistrar teamRegistrar,
+                                 Clock clock) {
+        this(matchIdGenerator, teamRegistrar, clock, MatchConcurrencyMode.GLOBAL_LOCK);
     }
 
     @Override
@@ -68,21 +115,16 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         writeLock.lock();
         try {
             var concatenateTeamIds = concatenateTeamIds(homeTeam, awayTeam);
-            if (matchTeamIdsToMatchDetailsMapping.containsKey(concatenateTeamIds)) {
+            if (matchTeamIdsToMatchStateMapping.containsKey(concatenateTeamIds)) {
                 throw new MatchAlreadyRegisteredException(homeTeam.getName(), awayTeam.getName());
             }
 
             var matchId = matchIdGenerator.nextId();
-            var matchDetails = MatchDetails.builder()
-                    .matchId(matchId)
-                    .homeTeam(homeTeam)
-                    .awayTeam(awayTeam)
-                    .matchStatus(MatchStatus.REGISTERED)
-                    .lastUpdatedTimestamp(Instant.now(clock))
-                    .build();
-            matchIdToMatchDetailsMapping.put(matchId, matchDetails);
-            matchTeamIdsToMatchDetailsMapping.put(concatenateTeamIds, matchDetails);
-            return matchDetails;
+            var matchState = new MatchState(matchId, homeTeam, awayTeam, currentEpochNanos());
+            matchIdToMatchStateMapping.put(matchId, matchState);
+            matchTeamIdsToMatchStateMapping.put(concatenateTeamIds, matchState);
+            publishMatch(matchState);
+            return matchState.toMatchDetails();
         } finally {
             writeLock.unlock();
         }
@@ -93,78 +135,131 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
-            verifyMatchIdRegisteredWithCurrentStatus(matchId, EnumSet.of(MatchStatus.REGISTERED));
-            var match = matchIdToMatchDetailsMapping.get(matchId);
-            verifyTeamInProgressPlayingOnlyInSingleMatch(match.getHomeTeam().getId());
-            verifyTeamInProgressPlayingOnlyInSingleMatch(match.getAwayTeam().getId());
-            var updatedMatch = match.toBuilder()
-                    .matchStatus(MatchStatus.IN_PROGRESS)
-                    .matchStartTimestamp(Instant.now(clock))
-                    .lastUpdatedTimestamp(Instant.now(clock))
-                    .build();
-            matchIdToMatchDetailsMapping.put(matchId, updatedMatch);
-            var concatenatedTeamIds = concatenateTeamIds(match.getHomeTeam(), match.getAwayTeam());
-            matchTeamIdsToMatchDetailsMapping.put(concatenatedTeamIds, updatedMatch);
-            inProgressPlayingTeamIdsSet.add(match.getHomeTeam().getId());
-            inProgressPlayingTeamIdsSet.add(match.getAwayTeam().getId());
-            return updatedMatch;
+            return startMatchWithoutGlobalLock(matchId, currentEpochNanos()).toMatchDetails();
         } finally {
             writeLock.unlock();
         }
     }
 
+    private MatchState startMatchWithoutGlobalLock(int matchId, long updatedEpochNanos) {
+        var matchState = getMatchStateWithCurrentStatusOrThrowException(matchId, REGISTERED_STATUSES);
+        verifyTeamInProgressPlayingOnlyInSingleMatch(matchState.getHomeTeam().getId());
+        verifyTeamInProgressPlayingOnlyInSingleMatch(matchState.getAwayTeam().getId());
+        changeMatchStatus(matchState, REGISTERED_STATUSES, MatchStatus.IN_PROGRESS, updatedEpochNanos);
+        inProgressPlayingTeamIdsSet.add(matchState.getHomeTeam().getId());
+        inProgressPlayingTeamIdsSet.add(matchState.getAwayTeam().getId());
+        activeMatchIdToMatchStateMapping.put(matchId, matchState);
+        publishMatch(matchState);
+        return matchState;
+    }
+
     @Override
     public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
         var homeTeam = teamRegistrar.getTeam(homeTeamId);
         var awayTeam = teamRegistrar.getTeam(awayTeamId);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return startMatch(match.getMatchId());
+        return startMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
     @Override
     public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
         var homeTeam = teamRegistrar.getTeam(homeTeamName);
         var awayTeam = teamRegistrar.getTeam(awayTeamName);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return startMatch(match.getMatchId());
+        return startMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
     @Override
     public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return applyMatchScore(matchId, homeTeamScore, awayTeamScore).toMatchDetails();
+    }
+
+    /**
+     * Same as {@link #updateMatchScore(int, int, int)}, but doesn't build another {@link MatchDetails} snapshot
+     * of updated match besides published one, for callers not interested in result.
+     */
+    public void updateMatchScoreWithoutSnapshot(int matchId, int homeTeamScore, int awayTeamScore) {
+        applyMatchScore(matchId, homeTeamScore, awayTeamScore);
+    }
+
+    private MatchState applyMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        if (concurrencyMode == MatchConcurrencyMode.PER_MATCH) {
+            return applyMatchScoreWithoutGlobalLock(matchId, homeTeamScore, awayTeamScore, currentEpochNanos());
+        }
+
+        var writeLock = readWriteLock.writeLock();
+        writeLock.lock();
+        try {
+            return applyMatchScoreWithoutGlobalLock(matchId, homeTeamScore, awayTeamScore, currentEpochNanos());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private MatchState applyMatchScoreWithoutGlobalLock(int matchId, int homeTeamScore, int awayTeamScore, long updatedEpochNanos) {
+        var matchState = getMatchStateWithCurrentStatusOrThrowException(matchId, IN_PROGRESS_STATUSES);
+        verifyUpdateMatchScoresNonNegative(matchId, homeTeamScore, awayTeamScore);
+        if (!matchState.updateScore(homeTeamScore, awayTeamScore, updatedEpochNanos)) {
+            throw matchInvalidStatusException(matchId, IN_PROGRESS_STATUSES);
+        }
+        publishMatch(matchState);
+        return matchState;
+    }
+
+    /**
+     * Stale and duplicated updates are dropped by comparing feed sequence of match without global lock, so only updates
+     * newer than the latest accepted one are applied (under global lock unless in {@link MatchConcurrencyMode#PER_MATCH} mode),
+     * where they are compared again under write of match state.
+     */
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        if (concurrencyMode == MatchConcurrencyMode.PER_MATCH) {
+            return applyMatchScoreIfNewerWithoutGlobalLock(matchId, feedSequence, homeTeamScore, awayTeamScore, currentEpochNanos());
+        }
+
         var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
-            verifyMatchIdRegisteredWithCurrentStatus(matchId, EnumSet.of(MatchStatus.IN_PROGRESS));
-            verifyUpdateMatchScoresNonNegative(matchId, homeTeamScore, awayTeamScore);
-            var matchDetails = matchIdToMatchDetailsMapping.get(matchId);
-            var updatedMatchDetails = matchDetails.toBuilder()
-                    .homeTeamScore(homeTeamScore)
-                    .awayTeamScore(awayTeamScore)
-                    .lastUpdatedTimestamp(Instant.now(clock))
-                    .build();
-            var concatenatedTeamIds = concatenateTeamIds(matchDetails.getHomeTeam(), matchDetails.getAwayTeam());
-            matchIdToMatchDetailsMapping.put(matchId, updatedMatchDetails);
-            matchTeamIdsToMatchDetailsMapping.put(concatenatedTeamIds, updatedMatchDetails);
-            return updatedMatchDetails;
+            return applyMatchScoreIfNewerWithoutGlobalLock(matchId, feedSequence, homeTeamScore, awayTeamScore, currentEpochNanos());
         } finally {
             writeLock.unlock();
         }
     }
 
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        var matchState = matchIdToMatchStateMapping.get(matchId);
+        return nonNull(matchState) && feedSequence <= matchState.getFeedSequence();
+    }
+
+    private MatchDetails applyMatchScoreIfNewerWithoutGlobalLock(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore,
+                                                                 long updatedEpochNanos) {
+        var matchState = getMatchStateWithCurrentStatusOrThrowException(matchId, IN_PROGRESS_STATUSES);
+        verifyUpdateMatchScoresNonNegative(matchId, homeTeamScore, awayTeamScore);
+        var feedUpdateOutcome = matchState.updateScoreIfNewer(feedSequence, homeTeamScore, awayTeamScore, updatedEpochNanos);
+        if (feedUpdateOutcome == MatchState.FeedUpdateOutcome.STALE) {
+            return null;
+        }
+        if (feedUpdateOutcome == MatchState.FeedUpdateOutcome.INVALID_STATUS) {
+            throw matchInvalidStatusException(matchId, IN_PROGRESS_STATUSES);
+        }
+        publishMatch(matchState);
+        return matchState.toMatchDetails();
+    }
+
     @Override
     public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
         var homeTeam = teamRegistrar.getTeam(homeTeamId);
         var awayTeam = teamRegistrar.getTeam(awayTeamId);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return updateMatchScore(match.getMatchId(), homeTeamScore, awayTeamScore);
+        return updateMatchScore(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId(), homeTeamScore, awayTeamScore);
     }
 
     @Override
     public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
         var homeTeam = teamRegistrar.getTeam(homeTeamName);
         var awayTeam = teamRegistrar.getTeam(awayTeamName);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return updateMatchScore(match.getMatchId(), homeTeamScore, awayTeamScore);
+        return updateMatchScore(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId(), homeTeamScore, awayTeamScore);
     }
 
     @Override
@@ -172,37 +267,35 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
-            verifyMatchIdRegisteredWithCurrentStatus(matchId, EnumSet.of(MatchStatus.IN_PROGRESS));
-            var match = matchIdToMatchDetailsMapping.get(matchId);
-            var updatedMatch = match.toBuilder()
-                    .matchStatus(MatchStatus.FINISHED)
-                    .lastUpdatedTimestamp(Instant.now(clock))
-                    .build();
-            matchIdToMatchDetailsMapping.put(matchId, updatedMatch);
-            var concatenatedTeamIds = concatenateTeamIds(match.getHomeTeam(), match.getAwayTeam());
-            matchTeamIdsToMatchDetailsMapping.put(concatenatedTeamIds, updatedMatch);
-            inProgressPlayingTeamIdsSet.remove(match.getHomeTeam().getId());
-            inProgressPlayingTeamIdsSet.remove(match.getAwayTeam().getId());
-            return updatedMatch;
+            return finishMatchWithoutGlobalLock(matchId, currentEpochNanos()).toMatchDetails();
         } finally {
             writeLock.unlock();
         }
     }
 
+    private MatchState finishMatchWithoutGlobalLock(int matchId, long updatedEpochNanos) {
+        var matchState = getMatchStateWithCurrentStatusOrThrowException(matchId, IN_PROGRESS_STATUSES);
+        changeMatchStatus(matchState, IN_PROGRESS_STATUSES, MatchStatus.FINISHED, updatedEpochNanos);
+        inProgressPlayingTeamIdsSet.remove(matchState.getHomeTeam().getId());
+        inProgressPlayingTeamIdsSet.remove(matchState.getAwayTeam().getId());
+        activeMatchIdToMatchStateMapping.remove(matchId);
+        finishedMatchIdToMatchStateMapping.put(matchId, matchState);
+        publishMatch(matchState);
+        return matchState;
+    }
+
     @Override
     public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
         var homeTeam = teamRegistrar.getTeam(homeTeamId);
         var awayTeam = teamRegistrar.getTeam(awayTeamId);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return finishMatch(match.getMatchId());
+        return finishMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
     @Override
     public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
         var homeTeam = teamRegistrar.getTeam(homeTeamName);
         var awayTeam = teamRegistrar.getTeam(awayTeamName);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return finishMatch(match.getMatchId());
+        return finishMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
     @Override
@@ -210,61 +303,178 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
-            verifyMatchIdRegisteredWithCurrentStatus(matchId, EnumSet.of(MatchStatus.REGISTERED, MatchStatus.FINISHED));
-            var removedMatch = matchIdToMatchDetailsMapping.remove(matchId);
-            var concatenatedTeamIds = concatenateTeamIds(removedMatch.getHomeTeam(), removedMatch.getAwayTeam());
-            matchTeamIdsToMatchDetailsMapping.remove(concatenatedTeamIds);
-            return removedMatch.toBuilder()
-                    .matchStatus(MatchStatus.UNREGISTERED)
-                    .lastUpdatedTimestamp(Instant.now(clock))
-                    .build();
+            return unregisterMatchWithoutGlobalLock(matchId, currentEpochNanos()).toMatchDetails();
         } finally {
             writeLock.unlock();
         }
     }
 
+    private MatchState unregisterMatchWithoutGlobalLock(int matchId, long updatedEpochNanos) {
+        var matchState = getMatchStateWithCurrentStatusOrThrowException(matchId, UNREGISTRABLE_STATUSES);
+        changeMatchStatus(matchState, UNREGISTRABLE_STATUSES, MatchStatus.UNREGISTERED, updatedEpochNanos);
+        removeMatchState(matchState);
+        publishMatch(matchState);
+        return matchState;
+    }
+
     @Override
     public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
         var homeTeam = teamRegistrar.getTeam(homeTeamId);
         var awayTeam = teamRegistrar.getTeam(awayTeamId);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return unregisterMatch(match.getMatchId());
+        return unregisterMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
     @Override
     public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
         var homeTeam = teamRegistrar.getTeam(homeTeamName);
         var awayTeam = teamRegistrar.getTeam(awayTeamName);
-        var match = getMatchDetailsOrThrowException(homeTeam, awayTeam);
-        return unregisterMatch(match.getMatchId());
+        return unregisterMatch(getMatchStateOrThrowException(homeTeam, awayTeam).getMatchId());
     }
 
+    /**
+     * Validates and applies all updates in specified order under single lock acquisition,
+     * rejected update doesn't prevent the rest of batch from being applied. Any exception of single update,
+     * not only validation one, is returned as its failed result, so decorators see outcome of every update.
+     */
     @Override
-    public List<MatchDetails> getAllMatches() {
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        var matchUpdateResults = new ArrayList<MatchUpdateResult>(matchUpdates.size());
+        var writeLock = readWriteLock.writeLock();
+        writeLock.lock();
+        try {
+            var updatedEpochNanos = currentEpochNanos();
+            for (var matchUpdate : matchUpdates) {
+                matchUpdateResults.add(applyUpdateWithoutGlobalLock(matchUpdate, updatedEpochNanos));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return matchUpdateResults;
+    }
+
+    private MatchUpdateResult applyUpdateWithoutGlobalLock(MatchUpdate matchUpdate, long updatedEpochNanos) {
+        var matchId = matchUpdate.getMatchId();
+        try {
+            var matchState = switch (matchUpdate.getUpdateType()) {
+                case START -> startMatchWithoutGlobalLock(matchId, updatedEpochNanos);
+                case UPDATE_SCORE -> applyMatchScoreWithoutGlobalLock(matchId, matchUpdate.getHomeTeamScore(), matchUpdate.getAwayTeamScore(), updatedEpochNanos);
+                case FINISH -> finishMatchWithoutGlobalLock(matchId, updatedEpochNanos);
+                case UNREGISTER -> unregisterMatchWithoutGlobalLock(matchId, updatedEpochNanos);
+            };
+            return MatchUpdateResult.succeeded(matchUpdate, matchState.toMatchDetails());
+        } catch (RuntimeException e) {
+            return MatchUpdateResult.failed(matchUpdate, e);
+        }
+    }
+
+    /**
+     * Restores match as is (status, scores and timestamps), bypassing status transfer verifications,
+     * e.g. on journal replay or snapshot load. Match in {@link MatchStatus#UNREGISTERED} status is removed.
+     */
+    public void restoreMatch(MatchDetails matchDetails) {
+        var writeLock = readWriteLock.writeLock();
+        writeLock.lock();
+        try {
+            var matchId = matchDetails.getMatchId();
+            matchIdGenerator.advanceTo(matchId);
+            var matchState = matchIdToMatchStateMapping.get(matchId);
+            var isInProgress = matchDetails.getMatchStatus() == MatchStatus.IN_PROGRESS;
+            var wasInProgress = nonNull(matchState) && matchState.getMatchStatus() == MatchStatus.IN_PROGRESS;
+            if (wasInProgress && !isInProgress) {
+                inProgressPlayingTeamIdsSet.remove(matchState.getHomeTeam().getId());
+                inProgressPlayingTeamIdsSet.remove(matchState.getAwayTeam().getId());
+                activeMatchIdToMatchStateMapping.remove(matchId);
+            }
+
+            if (matchDetails.getMatchStatus() == MatchStatus.UNREGISTERED) {
+                if (nonNull(matchState)) {
+                    removeMatchState(matchState);
+                }
+                publishedMatches.updateAndGet(published -> published.withMatch(matchDetails));
+                return;
+            }
+
+            if (isNull(matchState)) {
+                matchState = new MatchState(matchId, matchDetails.getHomeTeam(), matchDetails.getAwayTeam(), 0);
+                matchIdToMatchStateMapping.put(matchId, matchState);
+                matchTeamIdsToMatchStateMapping.put(concatenateTeamIds(matchDetails.getHomeTeam(), matchDetails.getAwayTeam()), matchState);
+            }
+            matchState.restore(matchDetails);
+            if (isInProgress && !wasInProgress) {
+                inProgressPlayingTeamIdsSet.add(matchState.getHomeTeam().getId());
+                inProgressPlayingTeamIdsSet.add(matchState.getAwayTeam().getId());
+                activeMatchIdToMatchStateMapping.put(matchId, matchState);
+            }
+            if (matchDetails.getMatchStatus() == MatchStatus.FINISHED) {
+                finishedMatchIdToMatchStateMapping.putIfAbsent(matchId, matchState);
+            } else {
+                finishedMatchIdToMatchStateMapping.remove(matchId);
+            }
+            publishMatch(matchState);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int getFinishedMatchesCount() {
         var readLock = readWriteLock.readLock();
         readLock.lock();
-        var allMatches = new ArrayList<>(matchIdToMatchDetailsMapping.values());
-        readLock.unlock();
-        return allMatches;
+        try {
+            return finishedMatchIdToMatchStateMapping.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    @Override
-    public List<MatchDetails> getActiveMatches() {
+    /**
+     * Returns finished matches in order they were finished, which should be evicted to satisfy given retention:
+     * finished before {@code finishedBefore} or exceeding {@code maxRetainedFinishedMatches} most recently finished ones.
+     * Matches are only selected here, so they could be archived before they are evicted by batch of
+     * {@link MatchUpdate#unregister(int)} updates, applied through decorators of this registrar.
+     */
+    public List<MatchDetails> getEvictableFinishedMatches(Instant finishedBefore, int maxRetainedFinishedMatches) {
         var readLock = readWriteLock.readLock();
         readLock.lock();
-        var activeMatches = matchIdToMatchDetailsMapping.values()
-                .stream()
-                .filter(match -> match.getMatchStatus() == MatchStatus.IN_PROGRESS)
-                .toList();
-        readLock.unlock();
-        return activeMatches;
+        try {
+            var exceedingMatchesCount = finishedMatchIdToMatchStateMapping.size() - maxRetainedFinishedMatches;
+            var evictableMatches = new ArrayList<MatchDetails>(Math.max(0, exceedingMatchesCount));
+            for (var matchState : finishedMatchIdToMatchStateMapping.values()) {
+                var match = matchState.toMatchDetails();
+                var finishedTimestamp = match.getLastUpdatedTimestamp();
+                if (evictableMatches.size() >= exceedingMatchesCount
+                        && (isNull(finishedTimestamp) || !finishedTimestamp.isBefore(finishedBefore))) {
+                    break;
+                }
+                evictableMatches.add(match);
+            }
+            return evictableMatches;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns immutable list of all matches ordered by match ID, published list is reused until any match changes.
+     */
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return publishedMatches.get().allMatches();
+    }
+
+    /**
+     * Returns immutable list of matches in {@link MatchStatus#IN_PROGRESS} status ordered by match ID,
+     * published list is reused until any active match changes.
+     */
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return publishedMatches.get().activeMatches();
     }
 
     @Override
     public boolean isMatchRegistered(int matchId) {
         var readLock = readWriteLock.readLock();
         readLock.lock();
-        var isRegistered = matchIdToMatchDetailsMapping.containsKey(matchId);
+        var isRegistered = matchIdToMatchStateMapping.containsKey(matchId);
         readLock.unlock();
         return isRegistered;
     }
@@ -287,22 +497,52 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         var readLock = readWriteLock.readLock();
         readLock.lock();
         var concatenatedTeamIds = concatenateTeamIds(homeTeam, awayTeam);
-        var isRegistered = matchTeamIdsToMatchDetailsMapping.containsKey(concatenatedTeamIds);
+        var isRegistered = matchTeamIdsToMatchStateMapping.containsKey(concatenatedTeamIds);
         readLock.unlock();
         return isRegistered;
     }
 
-    private String concatenateTeamIds(Team homeTeam, Team awayTeam) {
-        return format(CONCATENATED_TEAM_IDS_TEMPLATE, homeTeam.getId(), awayTeam.getId());
+    /**
+     * Publishes current state of match, which is read on every attempt, so concurrent per match score updates
+     * of the same match can't publish stale state over newer one.
+     */
+    private void publishMatch(MatchState matchState) {
+        publishedMatches.updateAndGet(published -> published.withMatch(matchState.toMatchDetails()));
+    }
+
+    private void removeMatchState(MatchState matchState) {
+        matchIdToMatchStateMapping.remove(matchState.getMatchId());
+        matchTeamIdsToMatchStateMapping.remove(concatenateTeamIds(matchState.getHomeTeam(), matchState.getAwayTeam()));
+        finishedMatchIdToMatchStateMapping.remove(matchState.getMatchId());
+    }
+
+    private static long concatenateTeamIds(Team homeTeam, Team awayTeam) {
+        return ((long) homeTeam.getId() << Integer.SIZE) | (awayTeam.getId() & 0xFFFFFFFFL);
     }
 
-    private void verifyMatchIdRegisteredWithCurrentStatus(int matchId, Set<MatchStatus> expectedValidStatuses) {
-        if (!matchIdToMatchDetailsMapping.containsKey(matchId)) {
+    private MatchState getMatchStateWithCurrentStatusOrThrowException(int matchId, Set<MatchStatus> expectedValidStatuses) {
+        var matchState = matchIdToMatchStateMapping.get(matchId);
+        if (isNull(matchState)) {
             throw new MatchNotRegisteredException(matchId);
         }
-        if (!expectedValidStatuses.contains(matchIdToMatchDetailsMapping.get(matchId).getMatchStatus())) {
-            throw new MatchInvalidUpdateException(format("match '%d' should be in one of statuses '%s' to proceed with update", matchId, expectedValidStatuses));
+        if (!expectedValidStatuses.contains(matchState.getMatchStatus())) {
+            throw matchInvalidStatusException(matchId, expectedValidStatuses);
         }
+        return matchState;
+    }
+
+    private void changeMatchStatus(MatchState matchState, Set<MatchStatus> expectedValidStatuses, MatchStatus matchStatus, long updatedEpochNanos) {
+        if (!matchState.changeStatus(expectedValidStatuses, matchStatus, updatedEpochNanos)) {
+            throw matchInvalidStatusException(matchState.getMatchId(), expectedValidStatuses);
+        }
+    }
+
+    private long currentEpochNanos() {
+        return EpochNanos.toEpochNanos(Instant.now(clock));
+    }
+
+    private MatchInvalidUpdateException matchInvalidStatusException(int matchId, Set<MatchStatus> expectedValidStatuses) {
+        return new MatchInvalidUpdateException(format("match '%d' should be in one of statuses '%s' to proceed with update", matchId, expectedValidStatuses));
     }
 
     private void verifyUpdateMatchScoresNonNegative(int matchId, int homeTeamScore, int awayTeamScore) {
@@ -317,13 +557,31 @@ public class DefaultMatchRegistrar implements MatchRegistrar {
         }
     }
 
-    private MatchDetails getMatchDetailsOrThrowException(Team homeTeam, Team awayTeam) {
+    private MatchState getMatchStateOrThrowException(Team homeTeam, Team awayTeam) {
         var concatenatedTeamIds = concatenateTeamIds(homeTeam, awayTeam);
-        var matchDetails = matchTeamIdsToMatchDetailsMapping.get(concatenatedTeamIds);
-        if (isNull(matchDetails)) {
+        var matchState = matchTeamIdsToMatchStateMapping.get(concatenatedTeamIds);
+        if (isNull(matchState)) {
             throw new MatchNotRegisteredException(homeTeam.getName(), awayTeam.getName());
         }
-        return matchDetails;
+        return matchState;
+    }
+
+    private record PublishedMatches(PersistentOrderStatisticTree<MatchDetails> allMatchesTree,
+                                    List<MatchDetails> allMatches,
+                                    PersistentOrderStatisticTree<MatchDetails> activeMatchesTree,
+                                    List<MatchDetails> activeMatches) {
+
+        private PublishedMatches withMatch(MatchDetails match) {
+            var updatedAllMatchesTree = match.getMatchStatus() == MatchStatus.UNREGISTERED
+                    ? allMatchesTree.remove(match)
+                    : allMatchesTree.insert(match);
+            var updatedActiveMatchesTree = match.getMatchStatus() == MatchStatus.IN_PROGRESS
+                    ? activeMatchesTree.insert(match)
+                    : activeMatchesTree.remove(match);
+            return new PublishedMatches(
+                    updatedAllMatchesTree, updatedAllMatchesTree == allMatchesTree ? allMatches : updatedAllMatchesTree.asList(),
+                    updatedActiveMatchesTree, updatedActiveMatchesTree == activeMatchesTree ? activeMatches : updatedActiveMatchesTree.asList());
+        }
     }
 
 }
@@ -2,24 +2,115 @@ package com.vsarzhynskyi.scroreboard.demo.service.match;
 
 import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
 import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
 import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics;
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardDeltaPublisher;
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardSubscriptionOptions;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Match registrar keeping scoreboard index of active matches up to date on every mutation. Score updates by match ID
+ * of distinct matches reach underlying registrar in parallel, as they are serialized only by lock striped by match ID,
+ * while other mutations, e.g. status changes, are exclusive, so each match is applied to index in order it was changed.
+ * Scoreboard lock is held only while index is updated, and scoreboard deltas are dispatched to subscribers after
+ * all locks are released.
+ */
 public class DefaultScoreboardAwareMatchRegistrar implements ScoreboardAwareMatchRegistrar {
 
+    private static final int MATCH_UPDATE_LOCK_STRIPES_COUNT = 64;
+
     private final MatchRegistrar matchRegistrar;
-    private final Comparator<MatchDetails> scoreboardMatchComparator;
+    private final ReadWriteLock matchesUpdateLock;
+    private final Lock[] matchUpdateLockStripes;
+    private final Lock scoreboardLock;
+    private final ScoreboardIndex scoreboardIndex;
+    private final ScoreboardDeltaPublisher scoreboardDeltaPublisher;
+    private final ScoreboardRenderer scoreboardRenderer;
+    private final ScheduledExecutorService scoreboardRecomputeScheduler;
+    private final RegistrarMetrics registrarMetrics;
+    private final ScoreboardHistory scoreboardHistory;
+    private final long maxStalenessNanos;
+    private final AtomicBoolean scoreboardRecomputeScheduled;
     private volatile MatchesScoreboardSummary calculatedScoreboardSummary;
+    private boolean scoreboardDirty;
 
+    /**
+     * Creates registrar which doesn't recompute scoreboard summary on mutations, but only marks it dirty,
+     * and single recompute is scheduled on {@code scoreboardRecomputeScheduler} to publish new summary
+     * not later than {@code maxStaleness} after the first unpublished mutation.
+     * {@link #getFreshMatchesScoreboardSummary()} could be used to get strictly fresh summary.
+     * Wait and hold time of scoreboard lock and scoreboard recompute time are recorded into {@code registrarMetrics} if they are specified.
+     * Every scoreboard version is recorded into {@code scoreboardHistory} if it's specified, for point-in-time reads.
+     */
     public DefaultScoreboardAwareMatchRegistrar(MatchRegistrar matchRegistrar,
-                                                Comparator<MatchDetails> scoreboardMatchComparator) {
+                                                Comparator<MatchDetails> scoreboardMatchComparator,
+                                                Duration maxStaleness,
+                                                ScheduledExecutorService scoreboardRecomputeScheduler,
+                                                RegistrarMetrics registrarMetrics,
+                                                ScoreboardHistory scoreboardHistory) {
         this.matchRegistrar = matchRegistrar;
-        this.scoreboardMatchComparator = scoreboardMatchComparator;
-        calculatedScoreboardSummary = new MatchesScoreboardSummary(List.of());
+        this.scoreboardRecomputeScheduler = scoreboardRecomputeScheduler;
+        this.registrarMetrics = registrarMetrics;
+        this.scoreboardHistory = scoreboardHistory;
+        maxStalenessNanos = isNull(maxStaleness) ? 0 : maxStaleness.toNanos();
+        matchesUpdateLock = new ReentrantReadWriteLock();
+        matchUpdateLockStripes = new Lock[MATCH_UPDATE_LOCK_STRIPES_COUNT];
+        for (int i = 0; i < matchUpdateLockStripes.length; i++) {
+            matchUpdateLockStripes[i] = new ReentrantLock();
+        }
+        scoreboardLock = isNull(registrarMetrics) ? new ReentrantLock() : registrarMetrics.timedScoreboardLock(new ReentrantLock());
+        scoreboardIndex = new ScoreboardIndex(scoreboardMatchComparator);
+        scoreboardDeltaPublisher = new ScoreboardDeltaPublisher(
+                () -> ScoreboardDelta.snapshot(calculateMatchesScoreboardSummary(scoreboardIndex.getView())));
+        scoreboardRenderer = new ScoreboardRenderer();
+        scoreboardRecomputeScheduled = new AtomicBoolean();
+        calculatedScoreboardSummary = new MatchesScoreboardSummary(List.of(), 0);
+        if (nonNull(scoreboardHistory)) {
+            scoreboardHistory.record(scoreboardIndex.getView());
+        }
+    }
+
+    public DefaultScoreboardAwareMatchRegistrar(MatchRegistrar matchRegistrar,
+                                                Comparator<MatchDetails> scoreboardMatchComparator,
+                                                Duration maxStaleness,
+                                                ScheduledExecutorService scoreboardRecomputeScheduler,
+                                                RegistrarMetrics registrarMetrics) {
+        this(matchRegistrar, scoreboardMatchComparator, maxStaleness, scoreboardRecomputeScheduler, registrarMetrics, null);
+    }
+
+    public DefaultScoreboardAwareMatchRegistrar(MatchRegistrar matchRegistrar,
+                                                Comparator<MatchDetails> scoreboardMatchComparator,
+                                                Duration maxStaleness,
+                                                ScheduledExecutorService scoreboardRecomputeScheduler) {
+        this(matchRegistrar, scoreboardMatchComparator, maxStaleness, scoreboardRecomputeScheduler, null);
+    }
+
+    public DefaultScoreboardAwareMatchRegistrar(MatchRegistrar matchRegistrar,
+                                                Comparator<MatchDetails> scoreboardMatchComparator) {
+        this(matchRegistrar, scoreboardMatchComparator, null, null);
     }
 
     public DefaultScoreboardAwareMatchRegistrar(MatchRegistrar matchRegistrar) {
@@ -38,65 +129,60 @@ public class DefaultScoreboardAwareMatchRegistrar implements ScoreboardAwareMatc
 
     @Override
     public MatchDetails startMatch(int matchId) {
-        var matchDetails = matchRegistrar.startMatch(matchId);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.startMatch(matchId));
     }
 
     @Override
     public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
-        var matchDetails = matchRegistrar.startMatch(homeTeamId, awayTeamId);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.startMatch(homeTeamId, awayTeamId));
     }
 
     @Override
     public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
-        var matchDetails = matchRegistrar.startMatch(homeTeamName, awayTeamName);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.startMatch(homeTeamName, awayTeamName));
     }
 
     @Override
     public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
-        var matchDetails = matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchScoreboard(matchId, () -> matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore));
     }
 
     @Override
     public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
-        var matchDetails = matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore));
     }
 
     @Override
     public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
-        var matchDetails = matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (matchRegistrar.isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        return updateMatchScoreboard(matchId, () -> matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
     }
 
     @Override
     public MatchDetails finishMatch(int matchId) {
-        var matchDetails = matchRegistrar.finishMatch(matchId);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.finishMatch(matchId));
     }
 
     @Override
     public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
-        var matchDetails = matchRegistrar.finishMatch(homeTeamId, awayTeamId);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.finishMatch(homeTeamId, awayTeamId));
     }
 
     @Override
     public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
-        var matchDetails = matchRegistrar.finishMatch(homeTeamName, awayTeamName);
-        updateMatchesScoreboardSummary();
-        return matchDetails;
+        return updateMatchesScoreboard(() -> matchRegistrar.finishMatch(homeTeamName, awayTeamName));
     }
 
     @Override
@@ -114,6 +200,17 @@ public class DefaultScoreboardAwareMatchRegistrar implements ScoreboardAwareMatc
         return matchRegistrar.unregisterMatch(homeTeamName, awayTeamName);
     }
 
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        return updateMatchesScoreboard(() -> matchRegistrar.applyUpdates(matchUpdates), matchUpdateResults -> {
+            for (var matchUpdateResult : matchUpdateResults) {
+                if (matchUpdateResult.isSucceeded()) {
+                    applyToScoreboard(matchUpdateResult.getMatchDetails());
+                }
+            }
+        });
+    }
+
     @Override
     public List<MatchDetails> getAllMatches() {
         return matchRegistrar.getAllMatches();
@@ -141,28 +238,195 @@ public class DefaultScoreboardAwareMatchRegistrar implements ScoreboardAwareMatc
 
     @Override
     public MatchesScoreboardSummary getMatchesScoreboardSummary() {
-        return calculatedScoreboardSummary;
+        var scoreboardSummary = calculatedScoreboardSummary;
+        if (nonNull(scoreboardSummary)) {
+            return scoreboardSummary;
+        }
+        return getFreshMatchesScoreboardSummary();
+    }
+
+    @Override
+    public MatchesScoreboardSummary getFreshMatchesScoreboardSummary() {
+        scoreboardLock.lock();
+        try {
+            if (isNull(calculatedScoreboardSummary) || scoreboardDirty) {
+                calculatedScoreboardSummary = calculateMatchesScoreboardSummary(scoreboardIndex.getView());
+                scoreboardDirty = false;
+            }
+            return calculatedScoreboardSummary;
+        } finally {
+            scoreboardLock.unlock();
+        }
+    }
+
+    /**
+     * Returns version of scoreboard {@link #getMatchesScoreboardSummary()} would return, without building it,
+     * so callers could find out whether scoreboard they already have is still current.
+     */
+    @Override
+    public long getScoreboardVersion() {
+        var scoreboardSummary = calculatedScoreboardSummary;
+        return nonNull(scoreboardSummary) ? scoreboardSummary.getVersion() : scoreboardIndex.getView().getVersion();
+    }
+
+    /**
+     * Returns text and UTF-8 bytes of {@link #getMatchesScoreboardSummary()}, which are rendered once per scoreboard version,
+     * so repeated reads of unchanged scoreboard don't format anything.
+     */
+    @Override
+    public RenderedScoreboard getRenderedScoreboard() {
+        return scoreboardRenderer.render(getMatchesScoreboardSummary());
     }
 
-    private void updateMatchesScoreboardSummary() {
-        var activeMatches = new ArrayList<>(getActiveMatches());
-        activeMatches.sort(scoreboardMatchComparator);
+    /**
+     * Returns top matches of current scoreboard in {@code O(log n + matchesCount)} without building whole summary.
+     */
+    @Override
+    public List<MatchScoreboardPresentation> getTopMatches(int matchesCount) {
+        return getScoreboardPage(0, matchesCount).getMatches();
+    }
+
+    /**
+     * Returns page of current scoreboard in {@code O(log n + limit)} without building whole summary,
+     * {@code offset} is zero-based position of the first match on scoreboard.
+     */
+    @Override
+    public MatchesScoreboardPage getScoreboardPage(int offset, int limit) {
+        var scoreboardView = scoreboardIndex.getView();
+        var pageMatches = scoreboardView.getOrderedMatches(offset, limit);
+        var matchScoreboardPresentations = IntStream.range(0, pageMatches.size())
+                .mapToObj(order -> ScoreboardIndex.toScoreboardPresentation(pageMatches.get(order), offset + order + 1))
+                .toList();
+        return new MatchesScoreboardPage(matchScoreboardPresentations, offset, scoreboardView.size(), scoreboardView.getVersion());
+    }
+
+    ScoreboardView getScoreboardView() {
+        return scoreboardIndex.getView();
+    }
+
+    Comparator<MatchDetails> getScoreboardMatchComparator() {
+        return scoreboardIndex.getScoreboardMatchComparator();
+    }
+
+    /**
+     * Rebuilds scoreboard from active matches of underlying registrar,
+     * should be invoked when its state was restored not through this registrar, e.g. on journal replay.
+     */
+    public void rebuildScoreboard() {
+        updateMatchesScoreboard(matchRegistrar::getActiveMatches, activeMatches -> {
+            scoreboardIndex.clear();
+            activeMatches.forEach(scoreboardIndex::apply);
+            scoreboardDeltaPublisher.publishSnapshot();
+            if (nonNull(scoreboardHistory)) {
+                scoreboardHistory.record(scoreboardIndex.getView());
+            }
+        });
+    }
+
+    /**
+     * Applies current state of match, which was restored into underlying registrar not through this registrar,
+     * e.g. by replication follower, to scoreboard incrementally, unlike {@link #rebuildScoreboard()}.
+     */
+    public void applyRestoredMatch(MatchDetails match) {
+        updateMatchesScoreboard(() -> match, this::applyToScoreboard);
+    }
+
+    /**
+     * Subscribes to scoreboard deltas computed on every mutation, subscriber firstly receives snapshot of scoreboard.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber, ScoreboardSubscriptionOptions subscriptionOptions) {
+        scoreboardDeltaPublisher.subscribe(subscriber, subscriptionOptions);
+    }
+
+    private MatchDetails updateMatchesScoreboard(Supplier<MatchDetails> matchUpdate) {
+        return updateMatchesScoreboard(matchUpdate, this::applyToScoreboard);
+    }
+
+    private void applyToScoreboard(MatchDetails match) {
+        var scoreboardDelta = scoreboardIndex.apply(match);
+        if (nonNull(scoreboardDelta)) {
+            scoreboardDeltaPublisher.enqueue(scoreboardDelta);
+            if (nonNull(scoreboardHistory)) {
+                scoreboardHistory.record(scoreboardIndex.getView());
+            }
+        }
+    }
+
+    /**
+     * Applies update of single match, which could run concurrently with updates of other matches.
+     * Update returning {@code null}, i.e. dropped one, doesn't change scoreboard.
+     */
+    private MatchDetails updateMatchScoreboard(int matchId, Supplier<MatchDetails> matchUpdate) {
+        var readLock = matchesUpdateLock.readLock();
+        var matchUpdateLock = matchUpdateLockStripes[Math.floorMod(matchId, matchUpdateLockStripes.length)];
+        readLock.lock();
+        matchUpdateLock.lock();
+        try {
+            var match = matchUpdate.get();
+            return isNull(match) ? null : updateScoreboardIndex(match, this::applyToScoreboard);
+        } finally {
+            matchUpdateLock.unlock();
+            readLock.unlock();
+            scoreboardDeltaPublisher.dispatch();
+        }
+    }
+
+    private <T> T updateMatchesScoreboard(Supplier<T> matchesUpdate, Consumer<T> scoreboardIndexUpdate) {
+        var writeLock = matchesUpdateLock.writeLock();
+        writeLock.lock();
+        try {
+            return updateScoreboardIndex(matchesUpdate.get(), scoreboardIndexUpdate);
+        } finally {
+            writeLock.unlock();
+            scoreboardDeltaPublisher.dispatch();
+        }
+    }
+
+    private <T> T updateScoreboardIndex(T updateResult, Consumer<T> scoreboardIndexUpdate) {
+        scoreboardLock.lock();
+        try {
+            scoreboardIndexUpdate.accept(updateResult);
+            if (isNull(scoreboardRecomputeScheduler)) {
+                calculatedScoreboardSummary = null;
+            } else {
+                scoreboardDirty = true;
+            }
+        } finally {
+            scoreboardLock.unlock();
+        }
+        scheduleScoreboardRecompute();
+        return updateResult;
+    }
+
+    private void scheduleScoreboardRecompute() {
+        if (isNull(scoreboardRecomputeScheduler) || !scoreboardRecomputeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scoreboardRecomputeScheduler.schedule(this::recomputeScoreboardSummary, maxStalenessNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // scheduler is shut down, fall back to recompute on the next read
+            scoreboardRecomputeScheduled.set(false);
+            calculatedScoreboardSummary = null;
+        }
+    }
+
+    private void recomputeScoreboardSummary() {
+        scoreboardRecomputeScheduled.set(false);
+        getFreshMatchesScoreboardSummary();
+    }
 
+    private MatchesScoreboardSummary calculateMatchesScoreboardSummary(ScoreboardView scoreboardView) {
+        var startNanos = isNull(registrarMetrics) ? 0 : System.nanoTime();
+        var activeMatches = scoreboardView.getOrderedMatches();
         var matchScoreboardPresentations = IntStream.range(0, activeMatches.size())
-                .mapToObj(order -> convertMatchDetailsIntoScoreboardPresentation(activeMatches.get(order), order + 1))
+                .mapToObj(order -> ScoreboardIndex.toScoreboardPresentation(activeMatches.get(order), order + 1))
                 .toList();
-        calculatedScoreboardSummary = new MatchesScoreboardSummary(matchScoreboardPresentations);
-    }
-
-    private MatchScoreboardPresentation convertMatchDetailsIntoScoreboardPresentation(MatchDetails match, int matchRank) {
-        return MatchScoreboardPresentation.builder()
-                .matchId(match.getMatchId())
-                .matchScoreboardRank(matchRank)
-                .homeTeam(match.getHomeTeam())
-                .homeTeamScore(match.getHomeTeamScore())
-                .awayTeam(match.getAwayTeam())
-                .awayTeamScore(match.getAwayTeamScore())
-                .build();
+        if (nonNull(registrarMetrics)) {
+            registrarMetrics.recordScoreboardRecompute(startNanos);
+        }
+        return new MatchesScoreboardSummary(matchScoreboardPresentations, scoreboardView.getVersion());
     }
 
 }
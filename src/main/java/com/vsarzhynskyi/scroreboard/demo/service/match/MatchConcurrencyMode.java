@@ -0,0 +1,6 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+public enum MatchConcurrencyMode {
+    GLOBAL_LOCK,
+    PER_MATCH
+}
@@ -13,4 +13,14 @@ public class MatchIdGenerator implements IdGenerator {
         return incrementor.incrementAndGet();
     }
 
+    @Override
+    public int getLastGeneratedId() {
+        return incrementor.get();
+    }
+
+    @Override
+    public void advanceTo(int generatedId) {
+        incrementor.accumulateAndGet(generatedId, Math::max);
+    }
+
 }
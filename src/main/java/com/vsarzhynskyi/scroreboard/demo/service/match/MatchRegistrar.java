@@ -1,6 +1,8 @@
 package com.vsarzhynskyi.scroreboard.demo.service.match;
 
 import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
 
 import java.util.List;
 
@@ -14,12 +16,24 @@ public interface MatchRegistrar {
     MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore);
     MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore);
     MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore);
+    /**
+     * Updates score only if {@code feedSequence}, per match sequence number or provider timestamp, is greater than the one
+     * of the latest update accepted by this method, so redundant feeds could write concurrently. Returns updated match,
+     * or {@code null} if update is stale or duplicated and was dropped.
+     */
+    MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore);
+    /**
+     * Returns {@code true} if score update with {@code feedSequence} would be dropped by {@link #updateMatchScoreIfNewer}.
+     * Checked without locks, so decorators drop stale and duplicated updates before taking their own locks.
+     */
+    boolean isFeedUpdateStale(int matchId, long feedSequence);
     MatchDetails finishMatch(int matchId);
     MatchDetails finishMatch(int homeTeamId, int awayTeamId);
     MatchDetails finishMatch(String homeTeamName, String awayTeamName);
     MatchDetails unregisterMatch(int matchId);
     MatchDetails unregisterMatch(int homeTeamId, int awayTeamId);
     MatchDetails unregisterMatch(String homeTeamName, String awayTeamName);
+    List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates);
     List<MatchDetails> getAllMatches();
     List<MatchDetails> getActiveMatches();
     boolean isMatchRegistered(int matchId);
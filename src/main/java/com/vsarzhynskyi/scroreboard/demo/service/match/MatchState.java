@@ -0,0 +1,224 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Set;
+
+import static com.vsarzhynskyi.scroreboard.demo.model.MatchDetails.NO_FEED_SEQUENCE;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.NO_TIMESTAMP;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+
+/**
+ * Mutable state of a single match guarded by version stamp (odd while being written, even when stable),
+ * writers acquire it by CAS and readers validate it, so updates do not allocate
+ * and immutable {@link MatchDetails} is built only on read and cached until next change.
+ */
+class MatchState {
+
+    private static final MatchStatus[] MATCH_STATUSES = MatchStatus.values();
+    private static final VarHandle VERSION_HANDLE;
+
+    static {
+        try {
+            VERSION_HANDLE = MethodHandles.lookup().findVarHandle(MatchState.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int matchId;
+    private final Team homeTeam;
+    private final Team awayTeam;
+
+    private volatile long version;
+    private volatile long feedSequence;
+    private int homeTeamScore;
+    private int awayTeamScore;
+    private int matchStatusOrdinal;
+    private long matchStartEpochNanos;
+    private long lastUpdatedEpochNanos;
+
+    private volatile MatchSnapshot cachedSnapshot;
+
+    MatchState(int matchId, Team homeTeam, Team awayTeam, long registeredEpochNanos) {
+        this.matchId = matchId;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        matchStatusOrdinal = MatchStatus.REGISTERED.ordinal();
+        matchStartEpochNanos = NO_TIMESTAMP;
+        lastUpdatedEpochNanos = registeredEpochNanos;
+        feedSequence = NO_FEED_SEQUENCE;
+    }
+
+    int getMatchId() {
+        return matchId;
+    }
+
+    Team getHomeTeam() {
+        return homeTeam;
+    }
+
+    Team getAwayTeam() {
+        return awayTeam;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns feed sequence of the latest score update accepted by {@link #updateScoreIfNewer(long, int, int, long)}.
+     */
+    long getFeedSequence() {
+        return feedSequence;
+    }
+
+    MatchStatus getMatchStatus() {
+        while (true) {
+            var stableVersion = awaitStableVersion();
+            var matchStatus = MATCH_STATUSES[matchStatusOrdinal];
+            VarHandle.loadLoadFence();
+            if (version == stableVersion) {
+                return matchStatus;
+            }
+        }
+    }
+
+    boolean updateScore(int homeTeamScore, int awayTeamScore, long updatedEpochNanos) {
+        var stableVersion = beginWrite();
+        if (matchStatusOrdinal != MatchStatus.IN_PROGRESS.ordinal()) {
+            abortWrite(stableVersion);
+            return false;
+        }
+        this.homeTeamScore = homeTeamScore;
+        this.awayTeamScore = awayTeamScore;
+        lastUpdatedEpochNanos = updatedEpochNanos;
+        endWrite(stableVersion);
+        return true;
+    }
+
+    /**
+     * Updates score only if {@code feedSequence} is greater than the one of the latest accepted update,
+     * compared after write is acquired, so concurrent updates of the same match are ordered by feed sequence.
+     */
+    FeedUpdateOutcome updateScoreIfNewer(long feedSequence, int homeTeamScore, int awayTeamScore, long updatedEpochNanos) {
+        var stableVersion = beginWrite();
+        if (feedSequence <= this.feedSequence) {
+            abortWrite(stableVersion);
+            return FeedUpdateOutcome.STALE;
+        }
+        if (matchStatusOrdinal != MatchStatus.IN_PROGRESS.ordinal()) {
+            abortWrite(stableVersion);
+            return FeedUpdateOutcome.INVALID_STATUS;
+        }
+        this.homeTeamScore = homeTeamScore;
+        this.awayTeamScore = awayTeamScore;
+        lastUpdatedEpochNanos = updatedEpochNanos;
+        this.feedSequence = feedSequence;
+        endWrite(stableVersion);
+        return FeedUpdateOutcome.APPLIED;
+    }
+
+    boolean changeStatus(Set<MatchStatus> expectedValidStatuses, MatchStatus matchStatus, long updatedEpochNanos) {
+        var stableVersion = beginWrite();
+        if (!expectedValidStatuses.contains(MATCH_STATUSES[matchStatusOrdinal])) {
+            abortWrite(stableVersion);
+            return false;
+        }
+        matchStatusOrdinal = matchStatus.ordinal();
+        if (matchStatus == MatchStatus.IN_PROGRESS) {
+            matchStartEpochNanos = updatedEpochNanos;
+        }
+        lastUpdatedEpochNanos = updatedEpochNanos;
+        endWrite(stableVersion);
+        return true;
+    }
+
+    void restore(MatchDetails matchDetails) {
+        var stableVersion = beginWrite();
+        homeTeamScore = matchDetails.getHomeTeamScore();
+        awayTeamScore = matchDetails.getAwayTeamScore();
+        matchStatusOrdinal = matchDetails.getMatchStatus().ordinal();
+        matchStartEpochNanos = toEpochNanos(matchDetails.getMatchStartTimestamp());
+        lastUpdatedEpochNanos = toEpochNanos(matchDetails.getLastUpdatedTimestamp());
+        feedSequence = matchDetails.getFeedSequence();
+        endWrite(stableVersion);
+    }
+
+    MatchDetails toMatchDetails() {
+        while (true) {
+            var stableVersion = awaitStableVersion();
+            var snapshot = cachedSnapshot;
+            if (snapshot != null && snapshot.version == stableVersion) {
+                return snapshot.matchDetails;
+            }
+
+            var currentHomeTeamScore = homeTeamScore;
+            var currentAwayTeamScore = awayTeamScore;
+            var currentMatchStatusOrdinal = matchStatusOrdinal;
+            var currentMatchStartEpochNanos = matchStartEpochNanos;
+            var currentLastUpdatedEpochNanos = lastUpdatedEpochNanos;
+            var currentFeedSequence = feedSequence;
+            VarHandle.loadLoadFence();
+            if (version != stableVersion) {
+                continue;
+            }
+
+            var matchDetails = MatchDetails.builder()
+                    .matchId(matchId)
+                    .homeTeam(homeTeam)
+                    .homeTeamScore(currentHomeTeamScore)
+                    .awayTeam(awayTeam)
+                    .awayTeamScore(currentAwayTeamScore)
+                    .matchStatus(MATCH_STATUSES[currentMatchStatusOrdinal])
+                    .matchStartTimestamp(toInstant(currentMatchStartEpochNanos))
+                    .lastUpdatedTimestamp(toInstant(currentLastUpdatedEpochNanos))
+                    .feedSequence(currentFeedSequence)
+                    .build();
+            cachedSnapshot = new MatchSnapshot(stableVersion, matchDetails);
+            return matchDetails;
+        }
+    }
+
+    private long awaitStableVersion() {
+        var currentVersion = version;
+        while ((currentVersion & 1) != 0) {
+            Thread.onSpinWait();
+            currentVersion = version;
+        }
+        return currentVersion;
+    }
+
+    private long beginWrite() {
+        while (true) {
+            var stableVersion = awaitStableVersion();
+            if (VERSION_HANDLE.compareAndSet(this, stableVersion, stableVersion + 1)) {
+                VarHandle.storeStoreFence();
+                return stableVersion;
+            }
+        }
+    }
+
+    private void endWrite(long stableVersion) {
+        version = stableVersion + 2;
+    }
+
+    private void abortWrite(long stableVersion) {
+        version = stableVersion;
+    }
+
+    enum FeedUpdateOutcome {
+        APPLIED,
+        STALE,
+        INVALID_STATUS
+    }
+
+    private record MatchSnapshot(long version, MatchDetails matchDetails) {
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+/**
+ * Scoreboard retained by {@link ScoreboardHistory} together with version and timestamp it was published at.
+ */
+public final class PublishedScoreboard {
+
+    private final Instant publishedTimestamp;
+    private final ScoreboardView view;
+
+    PublishedScoreboard(Instant publishedTimestamp, ScoreboardView view) {
+        this.publishedTimestamp = publishedTimestamp;
+        this.view = view;
+    }
+
+    public long getVersion() {
+        return view.getVersion();
+    }
+
+    public Instant getPublishedTimestamp() {
+        return publishedTimestamp;
+    }
+
+    public ScoreboardView getView() {
+        return view;
+    }
+
+    /**
+     * Returns page of scoreboard in {@code O(log n + limit)}, {@code offset} is zero-based position of the first match on scoreboard.
+     */
+    public MatchesScoreboardPage getScoreboardPage(int offset, int limit) {
+        var pageMatches = view.getOrderedMatches(offset, limit);
+        var matchScoreboardPresentations = IntStream.range(0, pageMatches.size())
+                .mapToObj(order -> ScoreboardIndex.toScoreboardPresentation(pageMatches.get(order), offset + order + 1))
+                .toList();
+        return new MatchesScoreboardPage(matchScoreboardPresentations, offset, view.size(), view.getVersion());
+    }
+
+    public MatchesScoreboardSummary getMatchesScoreboardSummary() {
+        var activeMatches = view.getOrderedMatches();
+        var matchScoreboardPresentations = IntStream.range(0, activeMatches.size())
+                .mapToObj(order -> ScoreboardIndex.toScoreboardPresentation(activeMatches.get(order), order + 1))
+                .toList();
+        return new MatchesScoreboardSummary(matchScoreboardPresentations, view.getVersion());
+    }
+
+}
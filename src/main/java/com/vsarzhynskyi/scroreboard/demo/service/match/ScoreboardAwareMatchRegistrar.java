@@ -1,9 +1,23 @@
 package com.vsarzhynskyi.scroreboard.demo.service.match;
 
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
 import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardSubscriptionOptions;
+
+import java.util.List;
+import java.util.concurrent.Flow;
 
 public interface ScoreboardAwareMatchRegistrar extends MatchRegistrar {
 
     MatchesScoreboardSummary getMatchesScoreboardSummary();
+    MatchesScoreboardSummary getFreshMatchesScoreboardSummary();
+    long getScoreboardVersion();
+    RenderedScoreboard getRenderedScoreboard();
+    List<MatchScoreboardPresentation> getTopMatches(int matchesCount);
+    MatchesScoreboardPage getScoreboardPage(int offset, int limit);
+    void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber, ScoreboardSubscriptionOptions subscriptionOptions);
 
 }
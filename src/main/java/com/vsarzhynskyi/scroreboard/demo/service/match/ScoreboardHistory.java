@@ -0,0 +1,160 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+import static java.lang.String.format;
+
+/**
+ * Bounded history of scoreboards published by {@link DefaultScoreboardAwareMatchRegistrar}, each with its version and
+ * publish timestamp, kept in ring buffer of the latest {@code maxRetainedVersions} versions. Retained scoreboards are
+ * {@link ScoreboardView}s backed by persistent tree, so consecutive versions share all nodes except path to changed matches,
+ * and history costs {@code O(log n)} nodes per version rather than copy of scoreboard. Scoreboard as of version or instant
+ * is found by binary search over retained versions.
+ */
+public class ScoreboardHistory {
+
+    private final Clock clock;
+    private final ReadWriteLock lock;
+    private final long[] versions;
+    private final long[] publishedEpochNanos;
+    private final ScoreboardView[] views;
+    private int oldestIndex;
+    private int size;
+
+    public ScoreboardHistory(int maxRetainedVersions, Clock clock) {
+        if (maxRetainedVersions <= 0) {
+            throw new IllegalArgumentException(format("max retained versions should be positive, but was %d", maxRetainedVersions));
+        }
+        this.clock = clock;
+        lock = new ReentrantReadWriteLock();
+        versions = new long[maxRetainedVersions];
+        publishedEpochNanos = new long[maxRetainedVersions];
+        views = new ScoreboardView[maxRetainedVersions];
+    }
+
+    /**
+     * Records published scoreboard, views should be recorded in order of their versions.
+     * Publish timestamp never precedes timestamp of previous version, even if clock goes backwards.
+     */
+    void record(ScoreboardView view) {
+        lock.writeLock().lock();
+        try {
+            var epochNanos = toEpochNanos(clock.instant());
+            if (size > 0) {
+                var latestIndex = index(size - 1);
+                if (view.getVersion() <= versions[latestIndex]) {
+                    throw new IllegalArgumentException(format("scoreboard version %d is not newer than recorded version %d",
+                            view.getVersion(), versions[latestIndex]));
+                }
+                epochNanos = Math.max(epochNanos, publishedEpochNanos[latestIndex]);
+            }
+            int recordIndex;
+            if (size == views.length) {
+                recordIndex = oldestIndex;
+                oldestIndex = index(1);
+            } else {
+                recordIndex = index(size++);
+            }
+            versions[recordIndex] = view.getVersion();
+            publishedEpochNanos[recordIndex] = epochNanos;
+            views[recordIndex] = view;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns scoreboard as of {@code version}, i.e. the latest published scoreboard of version not greater than it,
+     * or {@code null} if it's older than the oldest retained version.
+     */
+    public PublishedScoreboard getScoreboardAt(long version) {
+        lock.readLock().lock();
+        try {
+            return toPublishedScoreboard(findLatestNotAfter(versions, version));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns scoreboard published the latest not after {@code instant},
+     * or {@code null} if it's earlier than publish timestamp of the oldest retained version.
+     */
+    public PublishedScoreboard getScoreboardAt(Instant instant) {
+        lock.readLock().lock();
+        try {
+            return toPublishedScoreboard(findLatestNotAfter(publishedEpochNanos, toEpochNanos(instant)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PublishedScoreboard getLatestScoreboard() {
+        lock.readLock().lock();
+        try {
+            return toPublishedScoreboard(size - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the oldest retained version, or {@code -1} if nothing is recorded yet.
+     */
+    public long getOldestRetainedVersion() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? -1 : versions[oldestIndex];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRetainedVersionsCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns position (from the oldest entry) of the latest entry with key not greater than {@code key},
+     * keys are non-decreasing from the oldest entry to the latest one.
+     */
+    private int findLatestNotAfter(long[] keys, long key) {
+        var low = 0;
+        var high = size - 1;
+        var found = -1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            if (keys[index(middle)] <= key) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private PublishedScoreboard toPublishedScoreboard(int position) {
+        if (position < 0) {
+            return null;
+        }
+        var index = index(position);
+        return new PublishedScoreboard(toInstant(publishedEpochNanos[index]), views[index]);
+    }
+
+    private int index(int position) {
+        var index = oldestIndex + position;
+        return index < views.length ? index : index - views.length;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDeltaType;
+import com.vsarzhynskyi.scroreboard.demo.util.PersistentOrderStatisticTree;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Incrementally maintained ordering of active matches, ties of scoreboard comparator are resolved by match ID.
+ * Every change publishes new {@link ScoreboardView} with incremented version and is described by {@link ScoreboardDelta}.
+ * Mutations are not thread-safe and should be guarded by invoker, while {@link #getView()} is safe to call concurrently.
+ */
+public class ScoreboardIndex {
+
+    private final Comparator<MatchDetails> scoreboardMatchComparator;
+    private final Map<Integer, MatchDetails> matchIdToIndexedMatchMapping;
+    private volatile ScoreboardView view;
+
+    public ScoreboardIndex(Comparator<MatchDetails> scoreboardMatchComparator) {
+        this.scoreboardMatchComparator = scoreboardMatchComparator;
+        view = new ScoreboardView(0, PersistentOrderStatisticTree.empty(matchesOrder(scoreboardMatchComparator)));
+        matchIdToIndexedMatchMapping = new HashMap<>();
+    }
+
+    /**
+     * Returns order of indexed matches, which is scoreboard comparator with ties resolved by match ID.
+     */
+    static Comparator<MatchDetails> matchesOrder(Comparator<MatchDetails> scoreboardMatchComparator) {
+        return scoreboardMatchComparator.thenComparing(Comparator.comparingInt(MatchDetails::getMatchId).reversed());
+    }
+
+    /**
+     * Applies current state of match and returns change of scoreboard, or {@code null} if match neither was
+     * nor became active.
+     */
+    public ScoreboardDelta apply(MatchDetails match) {
+        var orderedActiveMatches = view.getOrderedMatchesTree();
+        var indexedMatch = matchIdToIndexedMatchMapping.remove(match.getMatchId());
+        var previousRank = 0;
+        if (nonNull(indexedMatch)) {
+            previousRank = orderedActiveMatches.rankOf(indexedMatch) + 1;
+            orderedActiveMatches = orderedActiveMatches.remove(indexedMatch);
+        }
+        var rank = 0;
+        if (match.getMatchStatus() == MatchStatus.IN_PROGRESS) {
+            orderedActiveMatches = orderedActiveMatches.insert(match);
+            matchIdToIndexedMatchMapping.put(match.getMatchId(), match);
+            rank = orderedActiveMatches.rankOf(match) + 1;
+        }
+        if (previousRank == 0 && rank == 0) {
+            return null;
+        }
+
+        var version = view.getVersion() + 1;
+        view = new ScoreboardView(version, orderedActiveMatches);
+        return ScoreboardDelta.builder()
+                .scoreboardVersion(version)
+                .deltaType(deltaType(previousRank, rank))
+                .matchId(match.getMatchId())
+                .previousRank(previousRank)
+                .rank(rank)
+                .match(rank == 0 ? null : toScoreboardPresentation(match, rank))
+                .build();
+    }
+
+    public void clear() {
+        matchIdToIndexedMatchMapping.clear();
+        view = new ScoreboardView(view.getVersion() + 1, view.getOrderedMatchesTree().clear());
+    }
+
+    public ScoreboardView getView() {
+        return view;
+    }
+
+    Comparator<MatchDetails> getScoreboardMatchComparator() {
+        return scoreboardMatchComparator;
+    }
+
+    public List<MatchDetails> getOrderedMatches() {
+        return view.getOrderedMatches();
+    }
+
+    public int size() {
+        return view.size();
+    }
+
+    static MatchScoreboardPresentation toScoreboardPresentation(MatchDetails match, int matchRank) {
+        return MatchScoreboardPresentation.builder()
+                .matchId(match.getMatchId())
+                .matchScoreboardRank(matchRank)
+                .homeTeam(match.getHomeTeam())
+                .homeTeamScore(match.getHomeTeamScore())
+                .awayTeam(match.getAwayTeam())
+                .awayTeamScore(match.getAwayTeamScore())
+                .build();
+    }
+
+    private static ScoreboardDeltaType deltaType(int previousRank, int rank) {
+        if (previousRank == 0) {
+            return ScoreboardDeltaType.INSERTED;
+        }
+        if (rank == 0) {
+            return ScoreboardDeltaType.REMOVED;
+        }
+        return previousRank == rank ? ScoreboardDeltaType.SCORE_CHANGED : ScoreboardDeltaType.MOVED;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Renders scoreboard summary into text and UTF-8 bytes once per summary version,
+ * rows are cached by match and re-rendered only when rank or score of match changed.
+ */
+class ScoreboardRenderer {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final Lock renderLock;
+    private final Map<Integer, RenderedRow> matchIdToRenderedRowMapping;
+    private volatile RenderedScoreboard renderedScoreboard;
+    private long renderGeneration;
+
+    ScoreboardRenderer() {
+        renderLock = new ReentrantLock();
+        matchIdToRenderedRowMapping = new HashMap<>();
+    }
+
+    RenderedScoreboard render(MatchesScoreboardSummary scoreboardSummary) {
+        var rendered = renderedScoreboard;
+        if (nonNull(rendered) && rendered.getVersion() >= scoreboardSummary.getVersion()) {
+            return rendered;
+        }
+        renderLock.lock();
+        try {
+            rendered = renderedScoreboard;
+            if (isNull(rendered) || rendered.getVersion() < scoreboardSummary.getVersion()) {
+                rendered = renderSummary(scoreboardSummary);
+                renderedScoreboard = rendered;
+            }
+            return rendered;
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    private RenderedScoreboard renderSummary(MatchesScoreboardSummary scoreboardSummary) {
+        var generation = ++renderGeneration;
+        var matches = scoreboardSummary.getMatches();
+        var renderedRows = new RenderedRow[matches.size()];
+        var textLength = 0;
+        var bytesLength = 0;
+        for (int i = 0; i < renderedRows.length; i++) {
+            var match = matches.get(i);
+            var renderedRow = matchIdToRenderedRowMapping.get(match.getMatchId());
+            if (isNull(renderedRow) || !renderedRow.matches(match)) {
+                renderedRow = new RenderedRow(match);
+                matchIdToRenderedRowMapping.put(match.getMatchId(), renderedRow);
+            }
+            renderedRow.generation = generation;
+            renderedRows[i] = renderedRow;
+            textLength += renderedRow.text.length();
+            bytesLength += renderedRow.utf8Bytes.length;
+        }
+        if (matchIdToRenderedRowMapping.size() > renderedRows.length) {
+            matchIdToRenderedRowMapping.values().removeIf(renderedRow -> renderedRow.generation != generation);
+        }
+
+        var separatorsCount = Math.max(0, renderedRows.length - 1);
+        var text = new StringBuilder(textLength + separatorsCount);
+        var utf8Bytes = ByteBuffer.allocateDirect(bytesLength + separatorsCount);
+        for (int i = 0; i < renderedRows.length; i++) {
+            if (i > 0) {
+                text.append((char) LINE_SEPARATOR);
+                utf8Bytes.put(LINE_SEPARATOR);
+            }
+            text.append(renderedRows[i].text);
+            utf8Bytes.put(renderedRows[i].utf8Bytes);
+        }
+        return new RenderedScoreboard(scoreboardSummary.getVersion(), text.toString(), utf8Bytes.flip());
+    }
+
+    private static final class RenderedRow {
+        private final int matchScoreboardRank;
+        private final int homeTeamScore;
+        private final int awayTeamScore;
+        private final String text;
+        private final byte[] utf8Bytes;
+        private long generation;
+
+        private RenderedRow(MatchScoreboardPresentation match) {
+            matchScoreboardRank = match.getMatchScoreboardRank();
+            homeTeamScore = match.getHomeTeamScore();
+            awayTeamScore = match.getAwayTeamScore();
+            text = match.toString();
+            utf8Bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private boolean matches(MatchScoreboardPresentation match) {
+            return matchScoreboardRank == match.getMatchScoreboardRank()
+                    && homeTeamScore == match.getHomeTeamScore()
+                    && awayTeamScore == match.getAwayTeamScore();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.util.PersistentOrderStatisticTree;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable ordering of active matches at given scoreboard version, published by {@link ScoreboardIndex}
+ * on every change and safe to read without locking.
+ */
+public final class ScoreboardView {
+
+    private final long version;
+    private final PersistentOrderStatisticTree<MatchDetails> orderedMatches;
+
+    ScoreboardView(long version, PersistentOrderStatisticTree<MatchDetails> orderedMatches) {
+        this.version = version;
+        this.orderedMatches = orderedMatches;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return orderedMatches.size();
+    }
+
+    public List<MatchDetails> getOrderedMatches() {
+        return orderedMatches.toList();
+    }
+
+    /**
+     * Returns up to {@code limit} matches starting from zero-based {@code offset} in scoreboard order.
+     */
+    public List<MatchDetails> getOrderedMatches(int offset, int limit) {
+        return orderedMatches.range(offset, limit);
+    }
+
+    /**
+     * Returns total order of matches on scoreboard, including tie-break by match ID.
+     */
+    public Comparator<? super MatchDetails> getMatchesOrder() {
+        return orderedMatches.comparator();
+    }
+
+    PersistentOrderStatisticTree<MatchDetails> getOrderedMatchesTree() {
+        return orderedMatches;
+    }
+
+}
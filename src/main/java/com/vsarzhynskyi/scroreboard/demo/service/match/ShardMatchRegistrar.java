@@ -0,0 +1,203 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardSubscriptionOptions;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Registrar of {@link ShardedScoreboardEngine} shard, which records mapping of registered match ID to the shard
+ * and removes it once match is unregistered, so matches registered through shard itself are routed by engine as well.
+ */
+class ShardMatchRegistrar implements ScoreboardAwareMatchRegistrar {
+
+    private final DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private final Map<Integer, ShardMatchRegistrar> matchIdToShardMapping;
+
+    ShardMatchRegistrar(DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                        Map<Integer, ShardMatchRegistrar> matchIdToShardMapping) {
+        this.scoreboardAwareMatchRegistrar = scoreboardAwareMatchRegistrar;
+        this.matchIdToShardMapping = matchIdToShardMapping;
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return mapMatch(scoreboardAwareMatchRegistrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return mapMatch(scoreboardAwareMatchRegistrar.registerMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return scoreboardAwareMatchRegistrar.startMatch(matchId);
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return scoreboardAwareMatchRegistrar.startMatch(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return scoreboardAwareMatchRegistrar.startMatch(homeTeamName, awayTeamName);
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return scoreboardAwareMatchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore);
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return scoreboardAwareMatchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore);
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return scoreboardAwareMatchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore);
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        return scoreboardAwareMatchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore);
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return scoreboardAwareMatchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return scoreboardAwareMatchRegistrar.finishMatch(matchId);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return scoreboardAwareMatchRegistrar.finishMatch(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return scoreboardAwareMatchRegistrar.finishMatch(homeTeamName, awayTeamName);
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return unmapMatch(scoreboardAwareMatchRegistrar.unregisterMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return unmapMatch(scoreboardAwareMatchRegistrar.unregisterMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return unmapMatch(scoreboardAwareMatchRegistrar.unregisterMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        var matchUpdateResults = scoreboardAwareMatchRegistrar.applyUpdates(matchUpdates);
+        for (var matchUpdateResult : matchUpdateResults) {
+            if (matchUpdateResult.isSucceeded() && matchUpdateResult.getMatchDetails().getMatchStatus() == MatchStatus.UNREGISTERED) {
+                unmapMatch(matchUpdateResult.getMatchDetails());
+            }
+        }
+        return matchUpdateResults;
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return scoreboardAwareMatchRegistrar.getAllMatches();
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return scoreboardAwareMatchRegistrar.getActiveMatches();
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return scoreboardAwareMatchRegistrar.isMatchRegistered(matchId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return scoreboardAwareMatchRegistrar.isMatchRegistered(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return scoreboardAwareMatchRegistrar.isMatchRegistered(homeTeamName, awayTeamName);
+    }
+
+    @Override
+    public MatchesScoreboardSummary getMatchesScoreboardSummary() {
+        return scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary();
+    }
+
+    @Override
+    public MatchesScoreboardSummary getFreshMatchesScoreboardSummary() {
+        return scoreboardAwareMatchRegistrar.getFreshMatchesScoreboardSummary();
+    }
+
+    @Override
+    public long getScoreboardVersion() {
+        return scoreboardAwareMatchRegistrar.getScoreboardVersion();
+    }
+
+    @Override
+    public RenderedScoreboard getRenderedScoreboard() {
+        return scoreboardAwareMatchRegistrar.getRenderedScoreboard();
+    }
+
+    @Override
+    public List<MatchScoreboardPresentation> getTopMatches(int matchesCount) {
+        return scoreboardAwareMatchRegistrar.getTopMatches(matchesCount);
+    }
+
+    @Override
+    public MatchesScoreboardPage getScoreboardPage(int offset, int limit) {
+        return scoreboardAwareMatchRegistrar.getScoreboardPage(offset, limit);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber, ScoreboardSubscriptionOptions subscriptionOptions) {
+        scoreboardAwareMatchRegistrar.subscribe(subscriber, subscriptionOptions);
+    }
+
+    ScoreboardView getScoreboardView() {
+        return scoreboardAwareMatchRegistrar.getScoreboardView();
+    }
+
+    Comparator<MatchDetails> getScoreboardMatchComparator() {
+        return scoreboardAwareMatchRegistrar.getScoreboardMatchComparator();
+    }
+
+    private MatchDetails mapMatch(MatchDetails registeredMatch) {
+        matchIdToShardMapping.put(registeredMatch.getMatchId(), this);
+        return registeredMatch;
+    }
+
+    private MatchDetails unmapMatch(MatchDetails unregisteredMatch) {
+        matchIdToShardMapping.remove(unregisteredMatch.getMatchId());
+        return unregisteredMatch;
+    }
+
+}
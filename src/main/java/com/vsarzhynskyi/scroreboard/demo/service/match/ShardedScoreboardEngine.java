@@ -0,0 +1,194 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Scoreboard of multiple competitions, matches are partitioned by shard key (e.g. competition) and each shard
+ * has own match registrar, lock and scoreboard index, so mutations of different shards don't contend.
+ * Match IDs are unique across shards as all of them share match ID generator, and mutations by match ID
+ * are routed to the owning shard. Global scoreboard is computed by k-way merge of shard scoreboards,
+ * so all shards are created with scoreboard comparator of engine, and shard using another one is rejected.
+ * Rule that team could play single match at a time is verified within shard only.
+ */
+public class ShardedScoreboardEngine<K> {
+
+    private final Comparator<MatchDetails> scoreboardMatchComparator;
+    private final Comparator<MatchDetails> matchesOrder;
+    private final BiFunction<K, Comparator<MatchDetails>, DefaultScoreboardAwareMatchRegistrar> shardFactory;
+    private final Map<K, ShardMatchRegistrar> shardKeyToShardMapping;
+    private final Map<Integer, ShardMatchRegistrar> matchIdToShardMapping;
+    private volatile MatchesScoreboardSummary globalScoreboardSummary;
+
+    /**
+     * @param shardFactory creates registrar of shard by shard key and scoreboard comparator of engine, which it should use
+     */
+    public ShardedScoreboardEngine(Comparator<MatchDetails> scoreboardMatchComparator,
+                                   BiFunction<K, Comparator<MatchDetails>, DefaultScoreboardAwareMatchRegistrar> shardFactory) {
+        this.scoreboardMatchComparator = scoreboardMatchComparator;
+        this.shardFactory = shardFactory;
+        matchesOrder = ScoreboardIndex.matchesOrder(scoreboardMatchComparator);
+        shardKeyToShardMapping = new ConcurrentHashMap<>();
+        matchIdToShardMapping = new ConcurrentHashMap<>();
+        globalScoreboardSummary = new MatchesScoreboardSummary(List.of(), 0);
+    }
+
+    public ShardedScoreboardEngine(TeamRegistrar teamRegistrar, IdGenerator matchIdGenerator, Clock clock,
+                                   Comparator<MatchDetails> scoreboardMatchComparator) {
+        this(scoreboardMatchComparator, (shardKey, shardMatchComparator) -> new DefaultScoreboardAwareMatchRegistrar(
+                new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock), shardMatchComparator));
+    }
+
+    public ShardedScoreboardEngine(TeamRegistrar teamRegistrar, IdGenerator matchIdGenerator, Clock clock) {
+        this(teamRegistrar, matchIdGenerator, clock, new DefaultScoreboardMatchComparator());
+    }
+
+    public MatchDetails registerMatch(K shardKey, int homeTeamId, int awayTeamId) {
+        return getOrCreateShard(shardKey).registerMatch(homeTeamId, awayTeamId);
+    }
+
+    public MatchDetails registerMatch(K shardKey, String homeTeamName, String awayTeamName) {
+        return getOrCreateShard(shardKey).registerMatch(homeTeamName, awayTeamName);
+    }
+
+    public MatchDetails startMatch(int matchId) {
+        return getShardOrThrowException(matchId).startMatch(matchId);
+    }
+
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return getShardOrThrowException(matchId).updateMatchScore(matchId, homeTeamScore, awayTeamScore);
+    }
+
+    public MatchDetails finishMatch(int matchId) {
+        return getShardOrThrowException(matchId).finishMatch(matchId);
+    }
+
+    public MatchDetails unregisterMatch(int matchId) {
+        return getShardOrThrowException(matchId).unregisterMatch(matchId);
+    }
+
+    /**
+     * Returns registrar of shard, which could be used for any operation within shard, including shard scoreboard.
+     * Matches registered and unregistered through it are mapped to the shard, so they are routed by match ID as well.
+     */
+    public ScoreboardAwareMatchRegistrar getShard(K shardKey) {
+        return shardKeyToShardMapping.get(shardKey);
+    }
+
+    public MatchesScoreboardSummary getShardScoreboardSummary(K shardKey) {
+        var shard = shardKeyToShardMapping.get(shardKey);
+        return isNull(shard) ? new MatchesScoreboardSummary(List.of(), 0) : shard.getMatchesScoreboardSummary();
+    }
+
+    /**
+     * Returns scoreboard of all shards merged in scoreboard order, its version is sum of shard scoreboard versions,
+     * so merged summary is reused until any shard changes.
+     */
+    public MatchesScoreboardSummary getGlobalScoreboardSummary() {
+        var shardViews = getShardViews();
+        var version = shardViews.stream().mapToLong(ScoreboardView::getVersion).sum();
+        var scoreboardSummary = globalScoreboardSummary;
+        if (scoreboardSummary.getVersion() == version) {
+            return scoreboardSummary;
+        }
+        var totalMatchesCount = shardViews.stream().mapToInt(ScoreboardView::size).sum();
+        scoreboardSummary = new MatchesScoreboardSummary(mergeShardScoreboards(shardViews, totalMatchesCount), version);
+        globalScoreboardSummary = scoreboardSummary;
+        return scoreboardSummary;
+    }
+
+    /**
+     * Returns top matches across all shards, merging only top {@code matchesCount} matches of each shard.
+     */
+    public List<MatchScoreboardPresentation> getGlobalTopMatches(int matchesCount) {
+        return mergeShardScoreboards(getShardViews(), matchesCount);
+    }
+
+    private List<ScoreboardView> getShardViews() {
+        var shardViews = new ArrayList<ScoreboardView>(shardKeyToShardMapping.size());
+        for (var shard : shardKeyToShardMapping.values()) {
+            shardViews.add(shard.getScoreboardView());
+        }
+        return shardViews;
+    }
+
+    private List<MatchScoreboardPresentation> mergeShardScoreboards(List<ScoreboardView> shardViews, int matchesCount) {
+        if (shardViews.isEmpty() || matchesCount == 0) {
+            return List.of();
+        }
+        var shardCursors = new PriorityQueue<ShardCursor>(shardViews.size(),
+                (cursor1, cursor2) -> matchesOrder.compare(cursor1.current(), cursor2.current()));
+        for (var shardView : shardViews) {
+            var shardMatches = shardView.getOrderedMatches(0, matchesCount);
+            if (!shardMatches.isEmpty()) {
+                shardCursors.add(new ShardCursor(shardMatches));
+            }
+        }
+
+        var mergedMatches = new ArrayList<MatchScoreboardPresentation>();
+        while (mergedMatches.size() < matchesCount && !shardCursors.isEmpty()) {
+            var shardCursor = shardCursors.poll();
+            mergedMatches.add(ScoreboardIndex.toScoreboardPresentation(shardCursor.current(), mergedMatches.size() + 1));
+            if (shardCursor.advance()) {
+                shardCursors.add(shardCursor);
+            }
+        }
+        return mergedMatches;
+    }
+
+    private ShardMatchRegistrar getOrCreateShard(K shardKey) {
+        return shardKeyToShardMapping.computeIfAbsent(shardKey, this::createShard);
+    }
+
+    private ShardMatchRegistrar createShard(K shardKey) {
+        var shard = new ShardMatchRegistrar(shardFactory.apply(shardKey, scoreboardMatchComparator), matchIdToShardMapping);
+        if (shard.getScoreboardMatchComparator() != scoreboardMatchComparator) {
+            throw new IllegalArgumentException(format(
+                    "shard '%s' should use scoreboard comparator of engine, which orders merged scoreboard", shardKey));
+        }
+        return shard;
+    }
+
+    private ShardMatchRegistrar getShardOrThrowException(int matchId) {
+        var shard = matchIdToShardMapping.get(matchId);
+        if (nonNull(shard)) {
+            return shard;
+        }
+        throw new MatchNotRegisteredException(matchId);
+    }
+
+    private static final class ShardCursor {
+        private final List<MatchDetails> matches;
+        private int position;
+
+        private ShardCursor(List<MatchDetails> matches) {
+            this.matches = matches;
+        }
+
+        private MatchDetails current() {
+            return matches.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < matches.size();
+        }
+    }
+
+}
@@ -0,0 +1,379 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Match registrar where all mutations are funneled through pre-allocated ring buffer into single writer thread,
+ * which owns match state and applies commands in batches, so callers never contend on registrar lock.
+ * Producers claim ring slots with CAS, callers get {@link CompletableFuture} completed by writer thread
+ * (dependent actions without explicit executor run on writer thread, so they should be short and never wait for other commands),
+ * while synchronous {@link MatchRegistrar} methods wait for it.
+ * Readers are served from immutable all and active matches trees published by wrapped {@link DefaultMatchRegistrar}
+ * on each applied command, so they are visible before its future is completed and writer keeps no copy of them.
+ */
+public class SingleWriterMatchRegistrar implements MatchRegistrar, Closeable {
+
+    private static final VarHandle PUBLISHED_SEQUENCES_HANDLE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long CLOSED_BIT = Long.MIN_VALUE;
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final DefaultMatchRegistrar matchRegistrar;
+    private final Command[] commands;
+    private final long[] publishedSequences;
+    private final int mask;
+    private final AtomicLong claimedSequence;
+    private final Thread writerThread;
+    private volatile long consumedSequence;
+    private volatile boolean writerParked;
+
+    /**
+     * @param ringBufferCapacity max count of pending commands, should be power of two
+     */
+    public SingleWriterMatchRegistrar(IdGenerator matchIdGenerator, TeamRegistrar teamRegistrar, Clock clock, int ringBufferCapacity) {
+        if (ringBufferCapacity <= 0 || Integer.bitCount(ringBufferCapacity) != 1) {
+            throw new IllegalArgumentException(format("ring buffer capacity should be power of two, but was %d", ringBufferCapacity));
+        }
+        matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock);
+        commands = new Command[ringBufferCapacity];
+        Arrays.setAll(commands, index -> new Command());
+        publishedSequences = new long[ringBufferCapacity];
+        Arrays.fill(publishedSequences, -1);
+        mask = ringBufferCapacity - 1;
+        claimedSequence = new AtomicLong();
+        writerThread = new Thread(this::runWriter, "match-registrar-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public CompletableFuture<MatchDetails> registerMatchAsync(int homeTeamId, int awayTeamId) {
+        return submit(registrar -> registrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    public CompletableFuture<MatchDetails> startMatchAsync(int matchId) {
+        return submit(CommandType.START, matchId, 0, 0);
+    }
+
+    public CompletableFuture<MatchDetails> updateMatchScoreAsync(int matchId, int homeTeamScore, int awayTeamScore) {
+        return submit(CommandType.UPDATE_SCORE, matchId, homeTeamScore, awayTeamScore);
+    }
+
+    public CompletableFuture<MatchDetails> finishMatchAsync(int matchId) {
+        return submit(CommandType.FINISH, matchId, 0, 0);
+    }
+
+    public CompletableFuture<MatchDetails> unregisterMatchAsync(int matchId) {
+        return submit(registrar -> registrar.unregisterMatch(matchId));
+    }
+
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<MatchUpdateResult>> applyUpdatesAsync(List<MatchUpdate> matchUpdates) {
+        var command = claimCommand();
+        command.commandType = CommandType.APPLY_UPDATES;
+        command.matchUpdates = matchUpdates;
+        return (CompletableFuture<List<MatchUpdateResult>>) (CompletableFuture<?>) publishCommand(command);
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return await(registerMatchAsync(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return await(submit(registrar -> registrar.registerMatch(homeTeamName, awayTeamName)));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return await(startMatchAsync(matchId));
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return await(submit(registrar -> registrar.startMatch(homeTeamId, awayTeamId)));
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return await(submit(registrar -> registrar.startMatch(homeTeamName, awayTeamName)));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return await(updateMatchScoreAsync(matchId, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return await(submit(registrar -> registrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore)));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return await(submit(registrar -> registrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore)));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (matchRegistrar.isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        return await(submit(registrar -> registrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore)));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return await(finishMatchAsync(matchId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return await(submit(registrar -> registrar.finishMatch(homeTeamId, awayTeamId)));
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return await(submit(registrar -> registrar.finishMatch(homeTeamName, awayTeamName)));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return await(unregisterMatchAsync(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return await(submit(registrar -> registrar.unregisterMatch(homeTeamId, awayTeamId)));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return await(submit(registrar -> registrar.unregisterMatch(homeTeamName, awayTeamName)));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        return await(applyUpdatesAsync(matchUpdates));
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return matchRegistrar.getAllMatches();
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return matchRegistrar.getActiveMatches();
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return matchRegistrar.isMatchRegistered(matchId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return matchRegistrar.isMatchRegistered(homeTeamName, awayTeamName);
+    }
+
+    /**
+     * Rejects further commands, waits until writer applies already submitted ones and stops it.
+     */
+    @Override
+    public void close() {
+        claimedSequence.getAndUpdate(sequence -> sequence | CLOSED_BIT);
+        LockSupport.unpark(writerThread);
+        var interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<MatchDetails> submit(CommandType commandType, int matchId, int homeTeamScore, int awayTeamScore) {
+        var command = claimCommand();
+        command.commandType = commandType;
+        command.matchId = matchId;
+        command.homeTeamScore = homeTeamScore;
+        command.awayTeamScore = awayTeamScore;
+        return publishCommand(command);
+    }
+
+    private CompletableFuture<MatchDetails> submit(Function<MatchRegistrar, MatchDetails> matchCommand) {
+        var command = claimCommand();
+        command.commandType = CommandType.MATCH_COMMAND;
+        command.matchCommand = matchCommand;
+        return publishCommand(command);
+    }
+
+    private Command claimCommand() {
+        long sequence;
+        while (true) {
+            sequence = claimedSequence.get();
+            if ((sequence & CLOSED_BIT) != 0) {
+                throw new IllegalStateException("match registrar is closed");
+            }
+            if (claimedSequence.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        while (sequence - consumedSequence >= commands.length) {
+            // ring buffer is full, wait until writer releases slot
+            Thread.yield();
+        }
+        var command = commands[(int) sequence & mask];
+        command.sequence = sequence;
+        return command;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> publishCommand(Command command) {
+        var future = new CompletableFuture<>();
+        command.future = future;
+        PUBLISHED_SEQUENCES_HANDLE.setVolatile(publishedSequences, (int) command.sequence & mask, command.sequence);
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+        return (CompletableFuture<T>) future;
+    }
+
+    private void runWriter() {
+        var nextSequence = 0L;
+        var idleSpins = 0;
+        while (true) {
+            if (!isPublished(nextSequence)) {
+                var claimed = claimedSequence.get();
+                if ((claimed & CLOSED_BIT) != 0 && (claimed & ~CLOSED_BIT) == nextSequence) {
+                    return;
+                }
+                if (idleSpins++ < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    writerParked = true;
+                    if (!isPublished(nextSequence) && (claimedSequence.get() & CLOSED_BIT) == 0) {
+                        LockSupport.park(this);
+                    }
+                    writerParked = false;
+                }
+                continue;
+            }
+            idleSpins = 0;
+
+            var batchEndSequence = nextSequence;
+            while (batchEndSequence - nextSequence < commands.length && isPublished(batchEndSequence)) {
+                applyCommand(commands[(int) batchEndSequence & mask]);
+                batchEndSequence++;
+            }
+            for (var sequence = nextSequence; sequence < batchEndSequence; sequence++) {
+                commands[(int) sequence & mask].complete();
+            }
+            nextSequence = batchEndSequence;
+            consumedSequence = nextSequence;
+        }
+    }
+
+    private boolean isPublished(long sequence) {
+        return (long) PUBLISHED_SEQUENCES_HANDLE.getVolatile(publishedSequences, (int) sequence & mask) == sequence;
+    }
+
+    private void applyCommand(Command command) {
+        try {
+            switch (command.commandType) {
+                case START -> command.result = matchRegistrar.startMatch(command.matchId);
+                case UPDATE_SCORE -> command.result =
+                        matchRegistrar.updateMatchScore(command.matchId, command.homeTeamScore, command.awayTeamScore);
+                case FINISH -> command.result = matchRegistrar.finishMatch(command.matchId);
+                case MATCH_COMMAND -> command.result = command.matchCommand.apply(matchRegistrar);
+                case APPLY_UPDATES -> command.result = matchRegistrar.applyUpdates(command.matchUpdates);
+            }
+        } catch (RuntimeException e) {
+            command.failure = e;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private enum CommandType {
+        START,
+        UPDATE_SCORE,
+        FINISH,
+        MATCH_COMMAND,
+        APPLY_UPDATES
+    }
+
+    /**
+     * Pre-allocated ring slot, written by producer which claimed its sequence and read by writer after publication.
+     */
+    private static final class Command {
+        private long sequence;
+        private CommandType commandType;
+        private int matchId;
+        private int homeTeamScore;
+        private int awayTeamScore;
+        private Function<MatchRegistrar, MatchDetails> matchCommand;
+        private List<MatchUpdate> matchUpdates;
+        private CompletableFuture<Object> future;
+        private Object result;
+        private RuntimeException failure;
+
+        private void complete() {
+            var completedFuture = future;
+            var completedResult = result;
+            var completedFailure = failure;
+            matchCommand = null;
+            matchUpdates = null;
+            future = null;
+            result = null;
+            failure = null;
+            if (completedFailure != null) {
+                completedFuture.completeExceptionally(completedFailure);
+            } else {
+                completedFuture.complete(completedResult);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records count and failures of each operation of decorated registrar, and latency of timed ones, into {@link RegistrarMetrics},
+ * operation failed if it threw exception.
+ */
+public class InstrumentedMatchRegistrar implements MatchRegistrar {
+
+    private final MatchRegistrar matchRegistrar;
+    private final RegistrarMetrics registrarMetrics;
+
+    public InstrumentedMatchRegistrar(MatchRegistrar matchRegistrar, RegistrarMetrics registrarMetrics) {
+        this.matchRegistrar = matchRegistrar;
+        this.registrarMetrics = registrarMetrics;
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return record(RegistrarOperation.REGISTER_MATCH, () -> matchRegistrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return record(RegistrarOperation.REGISTER_MATCH, () -> matchRegistrar.registerMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return record(RegistrarOperation.START_MATCH, () -> matchRegistrar.startMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return record(RegistrarOperation.START_MATCH, () -> matchRegistrar.startMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return record(RegistrarOperation.START_MATCH, () -> matchRegistrar.startMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return record(RegistrarOperation.UPDATE_MATCH_SCORE, () -> matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return record(RegistrarOperation.UPDATE_MATCH_SCORE, () -> matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return record(RegistrarOperation.UPDATE_MATCH_SCORE, () -> matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        return record(RegistrarOperation.UPDATE_MATCH_SCORE, () -> matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return record(RegistrarOperation.FINISH_MATCH, () -> matchRegistrar.finishMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return record(RegistrarOperation.FINISH_MATCH, () -> matchRegistrar.finishMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return record(RegistrarOperation.FINISH_MATCH, () -> matchRegistrar.finishMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return record(RegistrarOperation.UNREGISTER_MATCH, () -> matchRegistrar.unregisterMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return record(RegistrarOperation.UNREGISTER_MATCH, () -> matchRegistrar.unregisterMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return record(RegistrarOperation.UNREGISTER_MATCH, () -> matchRegistrar.unregisterMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        return record(RegistrarOperation.APPLY_UPDATES, () -> matchRegistrar.applyUpdates(matchUpdates));
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return record(RegistrarOperation.GET_MATCHES, () -> matchRegistrar.getAllMatches());
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return record(RegistrarOperation.GET_MATCHES, () -> matchRegistrar.getActiveMatches());
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return record(RegistrarOperation.IS_MATCH_REGISTERED, () -> matchRegistrar.isMatchRegistered(matchId));
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return record(RegistrarOperation.IS_MATCH_REGISTERED, () -> matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return record(RegistrarOperation.IS_MATCH_REGISTERED, () -> matchRegistrar.isMatchRegistered(homeTeamName, awayTeamName));
+    }
+
+    protected <T> T record(RegistrarOperation operation, Supplier<T> operationInvocation) {
+        var startNanos = registrarMetrics.startOperation(operation);
+        T result;
+        try {
+            result = operationInvocation.get();
+        } catch (RuntimeException e) {
+            registrarMetrics.recordOperation(operation, startNanos, true);
+            throw e;
+        }
+        registrarMetrics.recordOperation(operation, startNanos, false);
+        return result;
+    }
+
+}
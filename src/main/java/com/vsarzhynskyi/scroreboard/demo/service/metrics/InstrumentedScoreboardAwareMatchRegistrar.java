@@ -0,0 +1,62 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardPage;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary;
+import com.vsarzhynskyi.scroreboard.demo.model.RenderedScoreboard;
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+import com.vsarzhynskyi.scroreboard.demo.service.match.ScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardSubscriptionOptions;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * {@link InstrumentedMatchRegistrar} which also counts scoreboard reads, version checks and subscriptions are not recorded.
+ */
+public class InstrumentedScoreboardAwareMatchRegistrar extends InstrumentedMatchRegistrar implements ScoreboardAwareMatchRegistrar {
+
+    private final ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+
+    public InstrumentedScoreboardAwareMatchRegistrar(ScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                                                     RegistrarMetrics registrarMetrics) {
+        super(scoreboardAwareMatchRegistrar, registrarMetrics);
+        this.scoreboardAwareMatchRegistrar = scoreboardAwareMatchRegistrar;
+    }
+
+    @Override
+    public MatchesScoreboardSummary getMatchesScoreboardSummary() {
+        return record(RegistrarOperation.GET_SCOREBOARD_SUMMARY, scoreboardAwareMatchRegistrar::getMatchesScoreboardSummary);
+    }
+
+    @Override
+    public MatchesScoreboardSummary getFreshMatchesScoreboardSummary() {
+        return record(RegistrarOperation.GET_SCOREBOARD_SUMMARY, scoreboardAwareMatchRegistrar::getFreshMatchesScoreboardSummary);
+    }
+
+    @Override
+    public long getScoreboardVersion() {
+        return scoreboardAwareMatchRegistrar.getScoreboardVersion();
+    }
+
+    @Override
+    public RenderedScoreboard getRenderedScoreboard() {
+        return record(RegistrarOperation.GET_RENDERED_SCOREBOARD, scoreboardAwareMatchRegistrar::getRenderedScoreboard);
+    }
+
+    @Override
+    public List<MatchScoreboardPresentation> getTopMatches(int matchesCount) {
+        return record(RegistrarOperation.GET_SCOREBOARD_PAGE, () -> scoreboardAwareMatchRegistrar.getTopMatches(matchesCount));
+    }
+
+    @Override
+    public MatchesScoreboardPage getScoreboardPage(int offset, int limit) {
+        return record(RegistrarOperation.GET_SCOREBOARD_PAGE, () -> scoreboardAwareMatchRegistrar.getScoreboardPage(offset, limit));
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber, ScoreboardSubscriptionOptions subscriptionOptions) {
+        scoreboardAwareMatchRegistrar.subscribe(subscriber, subscriptionOptions);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of nanosecond latencies with log-linear buckets, similar to HdrHistogram:
+ * values below 64 are counted exactly, and each further power of two range is split into 32 buckets,
+ * so recorded value is reported with relative error below 1/32. Recording is single atomic increment of bucket count,
+ * mean and max are derived from buckets as well.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_VALUES_COUNT = 2 * SUB_BUCKETS_COUNT;
+    private static final int BUCKETS_COUNT = EXACT_VALUES_COUNT + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS_COUNT;
+
+    private final AtomicLongArray bucketCounts;
+
+    public LatencyHistogram() {
+        bucketCounts = new AtomicLongArray(BUCKETS_COUNT);
+    }
+
+    /**
+     * Records latency, negative values (e.g. caused by clock adjustment) are recorded as zero.
+     */
+    public void record(long nanos) {
+        bucketCounts.incrementAndGet(bucketIndex(Math.max(0, nanos)));
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns snapshot of recorded latencies, recordings concurrent with it may be reflected only partially.
+     */
+    public LatencyHistogramSnapshot snapshot() {
+        var counts = new long[BUCKETS_COUNT];
+        var count = 0L;
+        var totalNanos = 0d;
+        var maxBucketIndex = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] = bucketCounts.get(i);
+            if (counts[i] > 0) {
+                count += counts[i];
+                totalNanos += (double) counts[i] * middleBucketValue(i);
+                maxBucketIndex = i;
+            }
+        }
+        if (count == 0) {
+            return LatencyHistogramSnapshot.EMPTY;
+        }
+        return LatencyHistogramSnapshot.builder()
+                .count(count)
+                .meanNanos(totalNanos / count)
+                .p50Nanos(valueAtPercentile(counts, count, 50))
+                .p90Nanos(valueAtPercentile(counts, count, 90))
+                .p99Nanos(valueAtPercentile(counts, count, 99))
+                .p999Nanos(valueAtPercentile(counts, count, 99.9))
+                .maxNanos(highestBucketValue(maxBucketIndex))
+                .build();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            bucketCounts.set(i, 0);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_VALUES_COUNT) {
+            return (int) value;
+        }
+        var shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        var subBucket = (int) (value >>> shift) - SUB_BUCKETS_COUNT;
+        return EXACT_VALUES_COUNT + (shift - 1) * SUB_BUCKETS_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the highest value counted in bucket, so percentiles are never underestimated.
+     */
+    static long highestBucketValue(int bucketIndex) {
+        if (bucketIndex < EXACT_VALUES_COUNT) {
+            return bucketIndex;
+        }
+        var shift = (bucketIndex - EXACT_VALUES_COUNT) / SUB_BUCKETS_COUNT + 1;
+        var subBucket = (bucketIndex - EXACT_VALUES_COUNT) % SUB_BUCKETS_COUNT + SUB_BUCKETS_COUNT;
+        var nextBucketLowestValue = (long) (subBucket + 1) << shift;
+        return nextBucketLowestValue <= 0 ? Long.MAX_VALUE : nextBucketLowestValue - 1;
+    }
+
+    private static long lowestBucketValue(int bucketIndex) {
+        return bucketIndex == 0 ? 0 : highestBucketValue(bucketIndex - 1) + 1;
+    }
+
+    private static double middleBucketValue(int bucketIndex) {
+        return lowestBucketValue(bucketIndex) / 2d + highestBucketValue(bucketIndex) / 2d;
+    }
+
+    private static long valueAtPercentile(long[] counts, long count, double percentile) {
+        var rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        var accumulatedCount = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            accumulatedCount += counts[i];
+            if (accumulatedCount >= rank) {
+                return highestBucketValue(i);
+            }
+        }
+        return highestBucketValue(counts.length - 1);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Latencies recorded by {@link LatencyHistogram}, percentiles and max are upper bounds of histogram buckets they fall into,
+ * and mean is computed from middles of buckets.
+ */
+@Value
+@Builder
+public class LatencyHistogramSnapshot {
+
+    public static final LatencyHistogramSnapshot EMPTY = LatencyHistogramSnapshot.builder().build();
+
+    long count;
+    double meanNanos;
+    long p50Nanos;
+    long p90Nanos;
+    long p99Nanos;
+    long p999Nanos;
+    long maxNanos;
+}
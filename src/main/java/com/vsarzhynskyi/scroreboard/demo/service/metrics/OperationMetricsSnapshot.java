@@ -0,0 +1,13 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import lombok.Value;
+
+@Value
+public class OperationMetricsSnapshot {
+    long count;
+    long failuresCount;
+    /**
+     * Empty for operations, which are not {@link RegistrarOperation#isTimed() timed}, and covers only sampled operations otherwise.
+     */
+    LatencyHistogramSnapshot latency;
+}
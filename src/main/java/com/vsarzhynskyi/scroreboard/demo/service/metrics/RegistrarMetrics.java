@@ -0,0 +1,169 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import static java.lang.String.format;
+
+/**
+ * Counts and latencies of registrar operations, lock wait and hold times and scoreboard recompute times.
+ * Operations are recorded by {@link InstrumentedMatchRegistrar} and {@link InstrumentedScoreboardAwareMatchRegistrar} decorators,
+ * while locks and recompute are recorded by {@code DefaultMatchRegistrar} and {@code DefaultScoreboardAwareMatchRegistrar}
+ * created with the same metrics. Recording doesn't allocate. Counts are exact, while latencies could be sampled
+ * to bound overhead of reading the clock, which may take tens of nanoseconds on virtualized hosts.
+ */
+public class RegistrarMetrics implements RegistrarMetricsMXBean {
+
+    private static final String OBJECT_NAME_PATTERN = "com.vsarzhynskyi.scroreboard.demo:type=RegistrarMetrics,name=%s";
+    private static final RegistrarOperation[] OPERATIONS = RegistrarOperation.values();
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final int latencySamplingPeriod;
+
+    private final LongAdder[] operationCounts;
+    private final LongAdder[] operationFailuresCounts;
+    private final LatencyHistogram[] operationLatencies;
+    private final LatencyHistogram registrarLockWait;
+    private final LatencyHistogram registrarLockHold;
+    private final LatencyHistogram scoreboardLockWait;
+    private final LatencyHistogram scoreboardLockHold;
+    private final LatencyHistogram scoreboardRecompute;
+
+    /**
+     * @param latencySamplingPeriod latency is recorded for one of {@code latencySamplingPeriod} operations and lock holds on average,
+     *                              chosen randomly, contended lock waits are always recorded
+     */
+    public RegistrarMetrics(int latencySamplingPeriod) {
+        if (latencySamplingPeriod <= 0) {
+            throw new IllegalArgumentException(format("latency sampling period should be positive, but was %d", latencySamplingPeriod));
+        }
+        this.latencySamplingPeriod = latencySamplingPeriod;
+        operationCounts = new LongAdder[OPERATIONS.length];
+        operationFailuresCounts = new LongAdder[OPERATIONS.length];
+        operationLatencies = new LatencyHistogram[OPERATIONS.length];
+        for (var operation : OPERATIONS) {
+            operationCounts[operation.ordinal()] = new LongAdder();
+            operationFailuresCounts[operation.ordinal()] = new LongAdder();
+            if (operation.isTimed()) {
+                operationLatencies[operation.ordinal()] = new LatencyHistogram();
+            }
+        }
+        registrarLockWait = new LatencyHistogram();
+        registrarLockHold = new LatencyHistogram();
+        scoreboardLockWait = new LatencyHistogram();
+        scoreboardLockHold = new LatencyHistogram();
+        scoreboardRecompute = new LatencyHistogram();
+    }
+
+    /**
+     * Creates metrics recording latency of every operation and lock hold.
+     */
+    public RegistrarMetrics() {
+        this(1);
+    }
+
+    /**
+     * Returns start of operation to be passed to {@link #recordOperation}, the clock is read only if operation latency is sampled.
+     */
+    public long startOperation(RegistrarOperation operation) {
+        return operation.isTimed() && isLatencySampled() ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records completed operation, {@code startNanos} should be returned by {@link #startOperation} for the same operation.
+     */
+    public void recordOperation(RegistrarOperation operation, long startNanos, boolean failed) {
+        operationCounts[operation.ordinal()].increment();
+        if (failed) {
+            operationFailuresCounts[operation.ordinal()].increment();
+        }
+        if (startNanos != NOT_TIMED) {
+            operationLatencies[operation.ordinal()].recordSince(startNanos);
+        }
+    }
+
+    public void recordScoreboardRecompute(long startNanos) {
+        scoreboardRecompute.recordSince(startNanos);
+    }
+
+    /**
+     * Wraps lock of match registrar to record time its write lock is waited for and held.
+     */
+    public ReadWriteLock timedRegistrarLock(ReadWriteLock readWriteLock) {
+        return new TimedReadWriteLock(readWriteLock, new TimedLock(readWriteLock.writeLock(), this, registrarLockWait, registrarLockHold));
+    }
+
+    /**
+     * Wraps lock of scoreboard to record time it's waited for and held.
+     */
+    public Lock timedScoreboardLock(Lock lock) {
+        return new TimedLock(lock, this, scoreboardLockWait, scoreboardLockHold);
+    }
+
+    @Override
+    public RegistrarMetricsSnapshot getSnapshot() {
+        var operations = new EnumMap<RegistrarOperation, OperationMetricsSnapshot>(RegistrarOperation.class);
+        for (var operation : OPERATIONS) {
+            var latency = operation.isTimed() ? operationLatencies[operation.ordinal()].snapshot() : LatencyHistogramSnapshot.EMPTY;
+            operations.put(operation, new OperationMetricsSnapshot(operationCounts[operation.ordinal()].sum(),
+                    operationFailuresCounts[operation.ordinal()].sum(), latency));
+        }
+        return RegistrarMetricsSnapshot.builder()
+                .operations(Collections.unmodifiableMap(operations))
+                .registrarLockWait(registrarLockWait.snapshot())
+                .registrarLockHold(registrarLockHold.snapshot())
+                .scoreboardLockWait(scoreboardLockWait.snapshot())
+                .scoreboardLockHold(scoreboardLockHold.snapshot())
+                .scoreboardRecompute(scoreboardRecompute.snapshot())
+                .build();
+    }
+
+    @Override
+    public void reset() {
+        for (var operation : OPERATIONS) {
+            operationCounts[operation.ordinal()].reset();
+            operationFailuresCounts[operation.ordinal()].reset();
+            if (operation.isTimed()) {
+                operationLatencies[operation.ordinal()].reset();
+            }
+        }
+        registrarLockWait.reset();
+        registrarLockHold.reset();
+        scoreboardLockWait.reset();
+        scoreboardLockHold.reset();
+        scoreboardRecompute.reset();
+    }
+
+    boolean isLatencySampled() {
+        return latencySamplingPeriod == 1 || ThreadLocalRandom.current().nextInt(latencySamplingPeriod) == 0;
+    }
+
+    /**
+     * Registers these metrics in platform MBean server under {@code name} key of returned object name.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            var objectName = new ObjectName(format(OBJECT_NAME_PATTERN, ObjectName.quote(name)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(format("failed to register registrar metrics MBean '%s'", name), e);
+        }
+    }
+
+    public void unregisterMBean(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException(format("failed to unregister registrar metrics MBean '%s'", objectName), e);
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+/**
+ * JMX view of {@link RegistrarMetrics}, snapshot is exposed as composite data of the same structure as {@link RegistrarMetricsSnapshot}.
+ */
+public interface RegistrarMetricsMXBean {
+
+    RegistrarMetricsSnapshot getSnapshot();
+    void reset();
+
+}
@@ -0,0 +1,25 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+@Builder
+public class RegistrarMetricsSnapshot {
+    Map<RegistrarOperation, OperationMetricsSnapshot> operations;
+    /**
+     * Time spent waiting for write lock of match registrar by contended acquisitions,
+     * so count of uncontended acquisitions is difference of hold and wait counts.
+     */
+    LatencyHistogramSnapshot registrarLockWait;
+    LatencyHistogramSnapshot registrarLockHold;
+    /**
+     * Time spent waiting for lock of scoreboard by contended acquisitions,
+     * the lock serializes scoreboard index updates and summary recompute.
+     */
+    LatencyHistogramSnapshot scoreboardLockWait;
+    LatencyHistogramSnapshot scoreboardLockHold;
+    LatencyHistogramSnapshot scoreboardRecompute;
+}
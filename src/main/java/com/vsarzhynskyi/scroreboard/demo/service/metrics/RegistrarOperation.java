@@ -0,0 +1,30 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+/**
+ * Operations of registrar tracked by {@link RegistrarMetrics}, overloads by match ID, team IDs and team names are tracked together.
+ * Latency is recorded for mutations only, while reads, which mostly return already published results, are just counted.
+ */
+public enum RegistrarOperation {
+    REGISTER_MATCH(true),
+    START_MATCH(true),
+    UPDATE_MATCH_SCORE(true),
+    FINISH_MATCH(true),
+    UNREGISTER_MATCH(true),
+    APPLY_UPDATES(true),
+    GET_MATCHES(false),
+    IS_MATCH_REGISTERED(false),
+    GET_SCOREBOARD_SUMMARY(false),
+    GET_RENDERED_SCOREBOARD(false),
+    GET_SCOREBOARD_PAGE(false),
+    EVICT_FINISHED_MATCHES(true);
+
+    private final boolean timed;
+
+    RegistrarOperation(boolean timed) {
+        this.timed = timed;
+    }
+
+    public boolean isTimed() {
+        return timed;
+    }
+}
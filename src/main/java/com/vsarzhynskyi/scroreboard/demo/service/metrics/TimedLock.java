@@ -0,0 +1,94 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Exclusive lock recording time spent waiting for it by contended acquisitions and time it's held, if hold is sampled by
+ * {@link RegistrarMetrics}. Uncontended and reentrant acquisitions don't wait and are not recorded as waits.
+ */
+class TimedLock implements Lock {
+
+    private final Lock lock;
+    private final RegistrarMetrics registrarMetrics;
+    private final LatencyHistogram waitHistogram;
+    private final LatencyHistogram holdHistogram;
+    // accessed only by thread holding the lock
+    private int holdCount;
+    private long acquiredNanos;
+
+    TimedLock(Lock lock, RegistrarMetrics registrarMetrics, LatencyHistogram waitHistogram, LatencyHistogram holdHistogram) {
+        this.lock = lock;
+        this.registrarMetrics = registrarMetrics;
+        this.waitHistogram = waitHistogram;
+        this.holdHistogram = holdHistogram;
+    }
+
+    @Override
+    public void lock() {
+        // uncontended acquisition doesn't read the clock before locking, which is costly on some hosts
+        if (lock.tryLock()) {
+            onAcquired();
+            return;
+        }
+        var startNanos = System.nanoTime();
+        lock.lock();
+        onAcquired(startNanos);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        var startNanos = System.nanoTime();
+        lock.lockInterruptibly();
+        onAcquired(startNanos);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        onAcquired();
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        var startNanos = System.nanoTime();
+        if (!lock.tryLock(time, unit)) {
+            return false;
+        }
+        onAcquired(startNanos);
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (holdCount == 1 && acquiredNanos != RegistrarMetrics.NOT_TIMED) {
+            holdHistogram.recordSince(acquiredNanos);
+        }
+        holdCount--;
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return lock.newCondition();
+    }
+
+    private void onAcquired() {
+        if (holdCount++ == 0) {
+            acquiredNanos = registrarMetrics.isLatencySampled() ? System.nanoTime() : RegistrarMetrics.NOT_TIMED;
+        }
+    }
+
+    private void onAcquired(long startNanos) {
+        if (holdCount++ == 0) {
+            var nowNanos = System.nanoTime();
+            waitHistogram.record(nowNanos - startNanos);
+            acquiredNanos = registrarMetrics.isLatencySampled() ? nowNanos : RegistrarMetrics.NOT_TIMED;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Read-write lock with {@link TimedLock timed} write lock, read lock is not timed as readers don't block each other.
+ */
+class TimedReadWriteLock implements ReadWriteLock {
+
+    private final ReadWriteLock readWriteLock;
+    private final TimedLock writeLock;
+
+    TimedReadWriteLock(ReadWriteLock readWriteLock, TimedLock writeLock) {
+        this.readWriteLock = readWriteLock;
+        this.writeLock = writeLock;
+    }
+
+    @Override
+    public Lock readLock() {
+        return readWriteLock.readLock();
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Replication progress of follower connected to {@link ReplicationLeader}.
+ */
+@Value
+@Builder
+public class FollowerStatus {
+    String followerAddress;
+    long sentSequence;
+    long acknowledgedSequence;
+    /**
+     * Count of log records appended after the sequence acknowledged by follower as applied.
+     */
+    long lagRecords;
+    long sentSnapshotsCount;
+}
@@ -0,0 +1,167 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Appends state of each successfully mutated match to {@link ReplicationLog}, mutations are serialized
+ * by mutation lock of log, which is shared with {@link ReplicatingTeamRegistrar}, to keep log order.
+ */
+public class ReplicatingMatchRegistrar implements MatchRegistrar {
+
+    private final MatchRegistrar matchRegistrar;
+    private final ReplicationLog replicationLog;
+    private final Lock mutationLock;
+
+    public ReplicatingMatchRegistrar(MatchRegistrar matchRegistrar, ReplicationLog replicationLog) {
+        this.matchRegistrar = matchRegistrar;
+        this.replicationLog = replicationLog;
+        mutationLock = replicationLog.getMutationLock();
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return replicateMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return replicateMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return replicateMatchUpdate(() -> matchRegistrar.startMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return replicateMatchUpdate(() -> matchRegistrar.startMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return replicateMatchUpdate(() -> matchRegistrar.startMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return replicateMatchUpdate(() -> matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return replicateMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return replicateMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (matchRegistrar.isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        return replicateMatchUpdate(() -> matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return replicateMatchUpdate(() -> matchRegistrar.finishMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return replicateMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return replicateMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return replicateMatchUpdate(() -> matchRegistrar.unregisterMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return replicateMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return replicateMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        mutationLock.lock();
+        try {
+            var matchUpdateResults = matchRegistrar.applyUpdates(matchUpdates);
+            for (var matchUpdateResult : matchUpdateResults) {
+                if (matchUpdateResult.isSucceeded()) {
+                    replicationLog.appendMatchUpdated(matchUpdateResult.getMatchDetails());
+                }
+            }
+            return matchUpdateResults;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return matchRegistrar.getAllMatches();
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return matchRegistrar.getActiveMatches();
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return matchRegistrar.isMatchRegistered(matchId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return matchRegistrar.isMatchRegistered(homeTeamName, awayTeamName);
+    }
+
+    private MatchDetails replicateMatchUpdate(Supplier<MatchDetails> matchUpdate) {
+        mutationLock.lock();
+        try {
+            var matchDetails = matchUpdate.get();
+            if (nonNull(matchDetails)) {
+                replicationLog.appendMatchUpdated(matchDetails);
+            }
+            return matchDetails;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Appends each successful team mutation to {@link ReplicationLog}, mutations are serialized
+ * by mutation lock of log, which is shared with {@link ReplicatingMatchRegistrar}, to keep log order.
+ */
+public class ReplicatingTeamRegistrar implements TeamRegistrar {
+
+    private final TeamRegistrar teamRegistrar;
+    private final ReplicationLog replicationLog;
+    private final Lock mutationLock;
+
+    public ReplicatingTeamRegistrar(TeamRegistrar teamRegistrar, ReplicationLog replicationLog) {
+        this.teamRegistrar = teamRegistrar;
+        this.replicationLog = replicationLog;
+        mutationLock = replicationLog.getMutationLock();
+    }
+
+    @Override
+    public Team registerTeam(String teamName) {
+        mutationLock.lock();
+        try {
+            var team = teamRegistrar.registerTeam(teamName);
+            replicationLog.appendTeamRegistered(team);
+            return team;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Team> registerTeams(Collection<String> teamNames) {
+        mutationLock.lock();
+        try {
+            var teams = teamRegistrar.registerTeams(teamNames);
+            for (var team : teams) {
+                replicationLog.appendTeamRegistered(team);
+            }
+            return teams;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public void unregisterTeam(String teamName) {
+        mutationLock.lock();
+        try {
+            var team = teamRegistrar.getTeam(teamName);
+            teamRegistrar.unregisterTeam(teamName);
+            replicationLog.appendTeamUnregistered(team.getId());
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public void unregisterTeam(int teamId) {
+        mutationLock.lock();
+        try {
+            teamRegistrar.unregisterTeam(teamId);
+            replicationLog.appendTeamUnregistered(teamId);
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTeamRegistered(String teamName) {
+        return teamRegistrar.isTeamRegistered(teamName);
+    }
+
+    @Override
+    public boolean isTeamRegistered(int teamId) {
+        return teamRegistrar.isTeamRegistered(teamId);
+    }
+
+    @Override
+    public Team getTeam(String teamName) {
+        return teamRegistrar.getTeam(teamName);
+    }
+
+    @Override
+    public Team getTeam(int teamId) {
+        return teamRegistrar.getTeam(teamId);
+    }
+
+    @Override
+    public List<Team> getAllTeams() {
+        return teamRegistrar.getAllTeams();
+    }
+
+}
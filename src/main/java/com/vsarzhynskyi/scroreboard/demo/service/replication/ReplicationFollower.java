@@ -0,0 +1,351 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+import com.vsarzhynskyi.scroreboard.demo.util.VirtualThreads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.ACKNOWLEDGE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.BATCH_BUFFER_CAPACITY;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.HEARTBEAT;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.LENGTH_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.LOG_ID_RECORD_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.MATCH_UPDATED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SNAPSHOT_FINISHED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SNAPSHOT_STARTED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SUBSCRIBE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.TEAM_REGISTERED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.TEAM_UNREGISTERED;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Replica of registrars of {@link ReplicationLeader}, which applies records streamed by leader into own
+ * {@link DefaultTeamRegistrar} and {@link DefaultMatchRegistrar}, those should be only read by others.
+ * Matches are also applied incrementally to {@code scoreboardAwareMatchRegistrar} if it's specified.
+ * Follower subscribes from its applied sequence, so after reconnect it resumes from the next record if leader still retains it,
+ * and otherwise it's caught up from snapshot, which replaces teams and matches of replica once it's fully received.
+ * Applied sequence is acknowledged to leader after each received batch of records.
+ * Failure of connection or of record apply is reported by {@link #getReplicationStatus()} and followed by reconnect.
+ */
+public class ReplicationFollower implements Closeable {
+
+    private static final long RECONNECT_DELAY_MILLIS = 100;
+
+    private final InetSocketAddress leaderAddress;
+    private final DefaultTeamRegistrar teamRegistrar;
+    private final DefaultMatchRegistrar matchRegistrar;
+    private final DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar;
+    private final Clock clock;
+    private final ExecutorService replicationExecutor;
+    private final LongObjectHashMap<Team> teamIdToTeamMapping;
+    private final Lock appliedSequenceLock;
+    private final Condition sequenceApplied;
+    private long logId;
+    private PendingSnapshot pendingSnapshot;
+    private volatile SocketChannel socketChannel;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lastApplyDelayNanos;
+    private volatile long appliedSnapshotsCount;
+    private volatile long failuresCount;
+    private volatile Exception lastFailure;
+
+    private ReplicationFollower(InetSocketAddress leaderAddress,
+                                DefaultTeamRegistrar teamRegistrar,
+                                DefaultMatchRegistrar matchRegistrar,
+                                DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                                Clock clock) {
+        this.leaderAddress = leaderAddress;
+        this.teamRegistrar = teamRegistrar;
+        this.matchRegistrar = matchRegistrar;
+        this.scoreboardAwareMatchRegistrar = scoreboardAwareMatchRegistrar;
+        this.clock = clock;
+        replicationExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        teamIdToTeamMapping = new LongObjectHashMap<>();
+        appliedSequenceLock = new ReentrantLock();
+        sequenceApplied = appliedSequenceLock.newCondition();
+    }
+
+    /**
+     * Starts replicating from leader into registrars, which should be empty, and reconnects to leader whenever connection is lost.
+     *
+     * @param scoreboardAwareMatchRegistrar registrar over {@code matchRegistrar} to keep scoreboard of replica, or {@code null}
+     */
+    public static ReplicationFollower start(InetSocketAddress leaderAddress,
+                                            DefaultTeamRegistrar teamRegistrar,
+                                            DefaultMatchRegistrar matchRegistrar,
+                                            DefaultScoreboardAwareMatchRegistrar scoreboardAwareMatchRegistrar,
+                                            Clock clock) {
+        var replicationFollower = new ReplicationFollower(leaderAddress, teamRegistrar, matchRegistrar, scoreboardAwareMatchRegistrar, clock);
+        replicationFollower.replicationExecutor.execute(replicationFollower::replicate);
+        return replicationFollower;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Waits until records up to {@code sequence} of leader log are applied, e.g. to read own writes made through leader.
+     *
+     * @return whether sequence is applied before timeout elapsed
+     */
+    public boolean awaitAppliedSequence(long sequence, Duration timeout) throws InterruptedException {
+        var remainingNanos = timeout.toNanos();
+        appliedSequenceLock.lock();
+        try {
+            while (appliedSequence < sequence) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = sequenceApplied.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            appliedSequenceLock.unlock();
+        }
+    }
+
+    public ReplicationStatus getReplicationStatus() {
+        var currentAppliedSequence = appliedSequence;
+        var currentLeaderSequence = Math.max(leaderSequence, currentAppliedSequence);
+        return ReplicationStatus.builder()
+                .connected(connected)
+                .appliedSequence(currentAppliedSequence)
+                .leaderSequence(currentLeaderSequence)
+                .lagRecords(currentLeaderSequence - currentAppliedSequence)
+                .lastApplyDelay(Duration.ofNanos(lastApplyDelayNanos))
+                .appliedSnapshotsCount(appliedSnapshotsCount)
+                .failuresCount(failuresCount)
+                .lastFailure(lastFailure)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        var currentSocketChannel = socketChannel;
+        if (nonNull(currentSocketChannel)) {
+            try {
+                currentSocketChannel.close();
+            } catch (IOException ignored) {
+                // replication is stopped anyway
+            }
+        }
+        replicationExecutor.shutdownNow();
+    }
+
+    private void replicate() {
+        var buffer = ByteBuffer.allocate(BATCH_BUFFER_CAPACITY);
+        var acknowledgement = ByteBuffer.allocate(LOG_ID_RECORD_SIZE);
+        while (!closed) {
+            try (var currentSocketChannel = SocketChannel.open()) {
+                socketChannel = currentSocketChannel;
+                if (closed) {
+                    return;
+                }
+                currentSocketChannel.connect(leaderAddress);
+                currentSocketChannel.socket().setTcpNoDelay(true);
+                acknowledgement.clear();
+                ReplicationProtocol.putLogIdRecord(acknowledgement, SUBSCRIBE, appliedSequence, currentEpochNanos(), logId);
+                ReplicationProtocol.writeFully(currentSocketChannel, acknowledgement.flip());
+                connected = true;
+
+                pendingSnapshot = null;
+                buffer.clear();
+                while (currentSocketChannel.read(buffer) >= 0) {
+                    buffer.flip();
+                    var previousAppliedSequence = appliedSequence;
+                    applyRecords(buffer);
+                    buffer.compact();
+                    if (appliedSequence != previousAppliedSequence) {
+                        acknowledgement.clear();
+                        ReplicationProtocol.putControlRecord(acknowledgement, ACKNOWLEDGE, appliedSequence, currentEpochNanos());
+                        ReplicationProtocol.writeFully(currentSocketChannel, acknowledgement.flip());
+                        signalSequenceApplied();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // leader is unavailable, sent invalid record or record failed to be applied,
+                // replication is resumed from applied sequence on reconnect
+                if (!closed) {
+                    failuresCount++;
+                    lastFailure = e;
+                }
+            } finally {
+                connected = false;
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyRecords(ByteBuffer buffer) {
+        while (ReplicationProtocol.hasCompleteRecord(buffer)) {
+            var recordStart = buffer.position();
+            var recordLength = buffer.getInt();
+            var recordType = buffer.get();
+            var sequence = buffer.getLong();
+            var epochNanos = buffer.getLong();
+            switch (recordType) {
+                case TEAM_REGISTERED, TEAM_UNREGISTERED, MATCH_UPDATED -> {
+                    if (nonNull(pendingSnapshot)) {
+                        pendingSnapshot.add(recordType, buffer);
+                    } else {
+                        applyMutation(recordType, sequence, epochNanos, buffer);
+                    }
+                }
+                case HEARTBEAT -> leaderSequence = sequence;
+                case SNAPSHOT_STARTED -> pendingSnapshot = new PendingSnapshot(buffer.getLong());
+                case SNAPSHOT_FINISHED -> applySnapshot(sequence);
+                default -> throw new IllegalStateException(format("unexpected replication record type '%d'", recordType));
+            }
+            buffer.position(recordStart + LENGTH_SIZE + recordLength);
+        }
+    }
+
+    private void applyMutation(byte recordType, long sequence, long epochNanos, ByteBuffer payload) {
+        if (sequence != appliedSequence + 1) {
+            throw new IllegalStateException(format("replication record %d doesn't follow applied record %d", sequence, appliedSequence));
+        }
+        switch (recordType) {
+            case TEAM_REGISTERED -> {
+                var team = ReplicationProtocol.getTeam(payload);
+                teamIdToTeamMapping.put(team.getId(), team);
+                teamRegistrar.restoreTeam(team);
+            }
+            case TEAM_UNREGISTERED -> {
+                var teamId = payload.getInt();
+                if (teamRegistrar.isTeamRegistered(teamId)) {
+                    teamRegistrar.unregisterTeam(teamId);
+                }
+            }
+            default -> {
+                var match = ReplicationProtocol.getMatch(payload, this::getTeam);
+                matchRegistrar.restoreMatch(match);
+                if (nonNull(scoreboardAwareMatchRegistrar)) {
+                    scoreboardAwareMatchRegistrar.applyRestoredMatch(match);
+                }
+            }
+        }
+        appliedSequence = sequence;
+        lastApplyDelayNanos = Math.max(0, currentEpochNanos() - epochNanos);
+    }
+
+    /**
+     * Removes teams and matches of replica absent in snapshot, then restores all teams and matches of snapshot.
+     */
+    private void applySnapshot(long sequence) {
+        if (isNull(pendingSnapshot)) {
+            throw new IllegalStateException(format("end of replication snapshot %d without its start", sequence));
+        }
+        var snapshot = pendingSnapshot;
+        pendingSnapshot = null;
+
+        for (var match : matchRegistrar.getAllMatches()) {
+            var snapshotMatch = snapshot.matchIdToMatchMapping.get(match.getMatchId());
+            if (isNull(snapshotMatch) || !snapshotMatch.getHomeTeam().equals(match.getHomeTeam())
+                    || !snapshotMatch.getAwayTeam().equals(match.getAwayTeam())) {
+                matchRegistrar.restoreMatch(match.toBuilder().matchStatus(MatchStatus.UNREGISTERED).build());
+            }
+        }
+        for (var team : teamRegistrar.getAllTeams()) {
+            if (!team.equals(snapshot.teamIdToRegisteredTeamMapping.get(team.getId()))) {
+                teamRegistrar.unregisterTeam(team.getId());
+            }
+        }
+
+        snapshot.teamIdToRegisteredTeamMapping.forEachValue(teamRegistrar::restoreTeam);
+        snapshot.matchIdToMatchMapping.forEachValue(matchRegistrar::restoreMatch);
+        if (nonNull(scoreboardAwareMatchRegistrar)) {
+            scoreboardAwareMatchRegistrar.rebuildScoreboard();
+        }
+        logId = snapshot.logId;
+        appliedSequence = sequence;
+        leaderSequence = sequence;
+        lastApplyDelayNanos = 0;
+        appliedSnapshotsCount++;
+    }
+
+    private Team getTeam(int teamId) {
+        var team = teamIdToTeamMapping.get(teamId);
+        if (isNull(team)) {
+            team = teamRegistrar.getTeam(teamId);
+            teamIdToTeamMapping.put(teamId, team);
+        }
+        return team;
+    }
+
+    private void signalSequenceApplied() {
+        appliedSequenceLock.lock();
+        try {
+            sequenceApplied.signalAll();
+        } finally {
+            appliedSequenceLock.unlock();
+        }
+    }
+
+    private long currentEpochNanos() {
+        return toEpochNanos(clock.instant());
+    }
+
+    /**
+     * Snapshot being received, replica keeps its previous state until snapshot is received fully.
+     * Unregistered teams are sent only if they are referenced by matches of snapshot.
+     */
+    private final class PendingSnapshot {
+
+        private final long logId;
+        private final LongObjectHashMap<Team> teamIdToRegisteredTeamMapping;
+        private final LongObjectHashMap<MatchDetails> matchIdToMatchMapping;
+
+        private PendingSnapshot(long logId) {
+            this.logId = logId;
+            teamIdToRegisteredTeamMapping = new LongObjectHashMap<>();
+            matchIdToMatchMapping = new LongObjectHashMap<>();
+        }
+
+        private void add(byte recordType, ByteBuffer payload) {
+            switch (recordType) {
+                case TEAM_REGISTERED -> {
+                    var team = ReplicationProtocol.getTeam(payload);
+                    teamIdToTeamMapping.put(team.getId(), team);
+                    teamIdToRegisteredTeamMapping.put(team.getId(), team);
+                }
+                case TEAM_UNREGISTERED -> teamIdToRegisteredTeamMapping.remove(payload.getInt());
+                default -> {
+                    var match = ReplicationProtocol.getMatch(payload, ReplicationFollower.this::getTeam);
+                    matchIdToMatchMapping.put(match.getMatchId(), match);
+                }
+            }
+        }
+    }
+
+}
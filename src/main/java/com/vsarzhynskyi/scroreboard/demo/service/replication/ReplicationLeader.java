@@ -0,0 +1,288 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+import com.vsarzhynskyi.scroreboard.demo.util.VirtualThreads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.ACKNOWLEDGE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.BATCH_BUFFER_CAPACITY;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.HEARTBEAT;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.LENGTH_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.LOG_ID_RECORD_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.MAX_RECORD_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.RECORD_HEADER_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SNAPSHOT_FINISHED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SNAPSHOT_STARTED;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.SUBSCRIBE;
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+/**
+ * Streams {@link ReplicationLog} to {@link ReplicationFollower}s connected over TCP, each follower is served by own tasks
+ * sending records and reading acknowledgements on {@link VirtualThreads} executor. Records appended since the previous batch
+ * are copied from log into socket as is, followed by heartbeat with the latest sequence of log, which is also sent
+ * when log is idle. Follower subscribing from sequence of another log, or from record which is already overwritten in log,
+ * is caught up from snapshot of {@code teamRegistrar} and {@code matchRegistrar} taken at the latest sequence of log.
+ */
+public class ReplicationLeader implements Closeable {
+
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ReplicationLog replicationLog;
+    private final TeamRegistrar teamRegistrar;
+    private final MatchRegistrar matchRegistrar;
+    private final ServerSocketChannel serverSocketChannel;
+    private final ExecutorService replicationExecutor;
+    private final Set<FollowerSession> followerSessions;
+    private final CountDownLatch followersAcceptStopped;
+    private volatile boolean closed;
+
+    private ReplicationLeader(ReplicationLog replicationLog,
+                              TeamRegistrar teamRegistrar,
+                              MatchRegistrar matchRegistrar,
+                              ServerSocketChannel serverSocketChannel) {
+        this.replicationLog = replicationLog;
+        this.teamRegistrar = teamRegistrar;
+        this.matchRegistrar = matchRegistrar;
+        this.serverSocketChannel = serverSocketChannel;
+        replicationExecutor = VirtualThreads.newThreadPerTaskExecutor();
+        followerSessions = ConcurrentHashMap.newKeySet();
+        followersAcceptStopped = new CountDownLatch(1);
+    }
+
+    /**
+     * Binds leader to given address (port {@code 0} picks free port) and starts accepting followers.
+     * Registrars should be the ones whose mutations are appended to {@code replicationLog}.
+     */
+    public static ReplicationLeader start(InetSocketAddress address, ReplicationLog replicationLog,
+                                          TeamRegistrar teamRegistrar, MatchRegistrar matchRegistrar) {
+        ServerSocketChannel serverSocketChannel;
+        try {
+            // leader restarted on the same address shouldn't wait for connections of previous one to leave TIME_WAIT
+            serverSocketChannel = ServerSocketChannel.open().setOption(StandardSocketOptions.SO_REUSEADDR, true).bind(address);
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to bind replication leader to '%s'", address), e);
+        }
+        var replicationLeader = new ReplicationLeader(replicationLog, teamRegistrar, matchRegistrar, serverSocketChannel);
+        replicationLeader.replicationExecutor.execute(replicationLeader::acceptFollowers);
+        return replicationLeader;
+    }
+
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverSocketChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to get replication leader address", e);
+        }
+    }
+
+    public List<FollowerStatus> getFollowersStatus() {
+        var latestSequence = replicationLog.getLatestSequence();
+        return followerSessions.stream()
+                .map(followerSession -> FollowerStatus.builder()
+                        .followerAddress(followerSession.followerAddress)
+                        .sentSequence(followerSession.sentSequence)
+                        .acknowledgedSequence(followerSession.acknowledgedSequence)
+                        .lagRecords(latestSequence - followerSession.acknowledgedSequence)
+                        .sentSnapshotsCount(followerSession.sentSnapshotsCount)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Disconnects followers and waits until accepting of followers stops, as socket closed while being blocked
+     * in accept is released only after it, so leader could be restarted on the same address right after close.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(serverSocketChannel);
+        followerSessions.forEach(followerSession -> closeQuietly(followerSession.socketChannel));
+        replicationExecutor.shutdownNow();
+        var interrupted = false;
+        while (followersAcceptStopped.getCount() > 0) {
+            try {
+                followersAcceptStopped.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptFollowers() {
+        try {
+            acceptFollowersUntilClosed();
+        } finally {
+            followersAcceptStopped.countDown();
+        }
+    }
+
+    private void acceptFollowersUntilClosed() {
+        while (!closed) {
+            try {
+                var socketChannel = serverSocketChannel.accept();
+                socketChannel.socket().setTcpNoDelay(true);
+                var followerSession = new FollowerSession(socketChannel, String.valueOf(socketChannel.getRemoteAddress()));
+                followerSessions.add(followerSession);
+                if (closed) {
+                    closeQuietly(socketChannel);
+                    return;
+                }
+                replicationExecutor.execute(() -> serveFollower(followerSession));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // failure of single connection shouldn't stop accepting others
+            }
+        }
+    }
+
+    private void serveFollower(FollowerSession followerSession) {
+        var socketChannel = followerSession.socketChannel;
+        try (socketChannel) {
+            var subscription = ByteBuffer.allocate(LOG_ID_RECORD_SIZE);
+            ReplicationProtocol.readFully(socketChannel, subscription);
+            subscription.flip();
+            var recordType = subscription.get(LENGTH_SIZE);
+            if (subscription.getInt(0) != LOG_ID_RECORD_SIZE - LENGTH_SIZE || recordType != SUBSCRIBE) {
+                throw new IllegalStateException(format("unexpected replication record type '%d' instead of subscription", recordType));
+            }
+            var appliedSequence = subscription.getLong(LENGTH_SIZE + Byte.BYTES);
+            var followerLogId = subscription.getLong(RECORD_HEADER_SIZE);
+            var resumable = followerLogId == replicationLog.getLogId() && appliedSequence <= replicationLog.getLatestSequence();
+            followerSession.acknowledgedSequence = resumable ? appliedSequence : 0;
+            replicationExecutor.execute(() -> readAcknowledgements(followerSession));
+
+            var buffer = ByteBuffer.allocate(BATCH_BUFFER_CAPACITY);
+            var nextSequence = resumable ? appliedSequence + 1 : sendSnapshot(followerSession, buffer);
+            while (!closed) {
+                buffer.clear();
+                buffer.limit(buffer.capacity() - RECORD_HEADER_SIZE);
+                var recordsCount = replicationLog.read(nextSequence, buffer, HEARTBEAT_INTERVAL_NANOS);
+                if (recordsCount < 0) {
+                    nextSequence = sendSnapshot(followerSession, buffer);
+                    continue;
+                }
+                nextSequence += recordsCount;
+                buffer.limit(buffer.capacity());
+                ReplicationProtocol.putControlRecord(buffer, HEARTBEAT, replicationLog.getLatestSequence(), replicationLog.currentEpochNanos());
+                buffer.flip();
+                ReplicationProtocol.writeFully(socketChannel, buffer);
+                followerSession.sentSequence = nextSequence - 1;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // follower is disconnected or sent invalid record, it's expected to reconnect
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followerSessions.remove(followerSession);
+        }
+    }
+
+    /**
+     * Sends teams and matches of registrars at the latest sequence of log, including unregistered teams of registered matches.
+     *
+     * @return sequence of the first log record to be sent after snapshot
+     */
+    private long sendSnapshot(FollowerSession followerSession, ByteBuffer buffer) throws IOException {
+        var snapshot = replicationLog.takeSnapshot(teamRegistrar, matchRegistrar);
+        var sequence = snapshot.sequence();
+        var epochNanos = replicationLog.currentEpochNanos();
+        buffer.clear();
+        ReplicationProtocol.putLogIdRecord(buffer, SNAPSHOT_STARTED, sequence, epochNanos, replicationLog.getLogId());
+
+        var teamIdToSentMapping = new LongObjectHashMap<Boolean>(snapshot.teams().size());
+        for (var team : snapshot.teams()) {
+            ensureRemaining(followerSession.socketChannel, buffer);
+            ReplicationProtocol.putTeamRegistered(buffer, sequence, epochNanos, team.getId(), ReplicationProtocol.encodeTeamName(team));
+            teamIdToSentMapping.put(team.getId(), Boolean.TRUE);
+        }
+        for (var match : snapshot.matches()) {
+            for (var team : List.of(match.getHomeTeam(), match.getAwayTeam())) {
+                if (isNull(teamIdToSentMapping.put(team.getId(), Boolean.TRUE))) {
+                    ensureRemaining(followerSession.socketChannel, buffer);
+                    ReplicationProtocol.putTeamRegistered(buffer, sequence, epochNanos, team.getId(), ReplicationProtocol.encodeTeamName(team));
+                    ReplicationProtocol.putTeamUnregistered(buffer, sequence, epochNanos, team.getId());
+                }
+            }
+            ensureRemaining(followerSession.socketChannel, buffer);
+            ReplicationProtocol.putMatchUpdated(buffer, sequence, epochNanos, match);
+        }
+        ensureRemaining(followerSession.socketChannel, buffer);
+        ReplicationProtocol.putControlRecord(buffer, SNAPSHOT_FINISHED, sequence, epochNanos);
+        buffer.flip();
+        ReplicationProtocol.writeFully(followerSession.socketChannel, buffer);
+        followerSession.sentSequence = sequence;
+        followerSession.sentSnapshotsCount++;
+        return sequence + 1;
+    }
+
+    private static void ensureRemaining(SocketChannel socketChannel, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 2 * MAX_RECORD_SIZE) {
+            buffer.flip();
+            ReplicationProtocol.writeFully(socketChannel, buffer);
+            buffer.clear();
+        }
+    }
+
+    private void readAcknowledgements(FollowerSession followerSession) {
+        var buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        try {
+            while (!closed) {
+                buffer.clear();
+                ReplicationProtocol.readFully(followerSession.socketChannel, buffer);
+                var recordType = buffer.get(LENGTH_SIZE);
+                if (buffer.getInt(0) != RECORD_HEADER_SIZE - LENGTH_SIZE || recordType != ACKNOWLEDGE) {
+                    throw new IllegalStateException(format("unexpected replication record type '%d' instead of acknowledgement", recordType));
+                }
+                followerSession.acknowledgedSequence = buffer.getLong(LENGTH_SIZE + Byte.BYTES);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // sender task finds out that follower is disconnected on the next write
+            closeQuietly(followerSession.socketChannel);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // channel is abandoned anyway
+        }
+    }
+
+    private static final class FollowerSession {
+
+        private final SocketChannel socketChannel;
+        private final String followerAddress;
+        private volatile long sentSequence;
+        private volatile long acknowledgedSequence;
+        private volatile long sentSnapshotsCount;
+
+        private FollowerSession(SocketChannel socketChannel, String followerAddress) {
+            this.socketChannel = socketChannel;
+            this.followerAddress = followerAddress;
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.MAX_RECORD_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.service.replication.ReplicationProtocol.MIN_MUTATION_RECORD_SIZE;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static java.lang.String.format;
+
+/**
+ * Bounded in-memory log of team and match mutations, which {@link ReplicationLeader} streams to followers.
+ * Mutations are appended by {@link ReplicatingTeamRegistrar} and {@link ReplicatingMatchRegistrar} under single mutation lock,
+ * so records are ordered the same way mutations were applied, and each record gets the next sequence starting from 1.
+ * Records are encoded once on append into ring buffer of {@code capacityBytes}, overwriting the oldest records,
+ * and are copied to followers as is. Log is identified by random ID, so followers can't resume from sequence of another log.
+ */
+public class ReplicationLog {
+
+    private final Clock clock;
+    private final long logId;
+    private final Lock mutationLock;
+    private final Condition recordsAppended;
+    private final ByteBuffer recordBuffer;
+    private final byte[] records;
+    private final long[] recordPositions;
+    private long appendedPosition;
+    private long oldestSequence;
+    private volatile long latestSequence;
+
+    public ReplicationLog(int capacityBytes, Clock clock) {
+        if (capacityBytes < MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException(format("replication log capacity should be at least %d bytes, but was %d",
+                    MAX_RECORD_SIZE, capacityBytes));
+        }
+        this.clock = clock;
+        logId = generateLogId();
+        mutationLock = new ReentrantLock();
+        recordsAppended = mutationLock.newCondition();
+        recordBuffer = ByteBuffer.allocate(MAX_RECORD_SIZE);
+        records = new byte[capacityBytes];
+        recordPositions = new long[capacityBytes / MIN_MUTATION_RECORD_SIZE + 1];
+        oldestSequence = 1;
+    }
+
+    public long getLogId() {
+        return logId;
+    }
+
+    /**
+     * Returns sequence of the latest appended record, or {@code 0} if nothing is appended yet.
+     */
+    public long getLatestSequence() {
+        return latestSequence;
+    }
+
+    /**
+     * Returns sequence of the oldest retained record, which is greater than the latest sequence if log is empty.
+     */
+    public long getOldestSequence() {
+        mutationLock.lock();
+        try {
+            return oldestSequence;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Lock which should be held while mutation is applied to registrars and appended to log.
+     */
+    Lock getMutationLock() {
+        return mutationLock;
+    }
+
+    long currentEpochNanos() {
+        return toEpochNanos(clock.instant());
+    }
+
+    long appendTeamRegistered(Team team) {
+        var teamName = ReplicationProtocol.encodeTeamName(team);
+        recordBuffer.clear();
+        ReplicationProtocol.putTeamRegistered(recordBuffer, latestSequence + 1, currentEpochNanos(), team.getId(), teamName);
+        return appendRecord();
+    }
+
+    long appendTeamUnregistered(int teamId) {
+        recordBuffer.clear();
+        ReplicationProtocol.putTeamUnregistered(recordBuffer, latestSequence + 1, currentEpochNanos(), teamId);
+        return appendRecord();
+    }
+
+    long appendMatchUpdated(MatchDetails matchDetails) {
+        recordBuffer.clear();
+        ReplicationProtocol.putMatchUpdated(recordBuffer, latestSequence + 1, currentEpochNanos(), matchDetails);
+        return appendRecord();
+    }
+
+    /**
+     * Copies records starting from {@code fromSequence} which fit into {@code buffer}, waiting up to {@code timeoutNanos}
+     * for the record of {@code fromSequence} to be appended if log doesn't have it yet.
+     *
+     * @return number of copied records, or {@code -1} if record of {@code fromSequence} is already overwritten
+     */
+    int read(long fromSequence, ByteBuffer buffer, long timeoutNanos) throws InterruptedException {
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException(format("buffer should have at least %d bytes remaining to fit any record", MAX_RECORD_SIZE));
+        }
+        mutationLock.lock();
+        try {
+            if (fromSequence > latestSequence + 1) {
+                throw new IllegalArgumentException(format("sequence %d is after the latest sequence %d", fromSequence, latestSequence));
+            }
+            var remainingNanos = timeoutNanos;
+            while (fromSequence > latestSequence && remainingNanos > 0) {
+                remainingNanos = recordsAppended.awaitNanos(remainingNanos);
+            }
+            if (fromSequence < oldestSequence) {
+                return -1;
+            }
+            if (fromSequence > latestSequence) {
+                return 0;
+            }
+
+            var fromPosition = recordPosition(fromSequence);
+            var toSequence = fromSequence;
+            while (toSequence <= latestSequence && recordEndPosition(toSequence) - fromPosition <= buffer.remaining()) {
+                toSequence++;
+            }
+            copyRecords(fromPosition, recordEndPosition(toSequence - 1), buffer);
+            return (int) (toSequence - fromSequence);
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    /**
+     * Copies teams and matches of registrars while mutations are paused, so they reflect exactly the latest sequence of log.
+     */
+    Snapshot takeSnapshot(TeamRegistrar teamRegistrar, MatchRegistrar matchRegistrar) {
+        mutationLock.lock();
+        try {
+            return new Snapshot(latestSequence, teamRegistrar.getAllTeams(), matchRegistrar.getAllMatches());
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    private long appendRecord() {
+        recordBuffer.flip();
+        var recordSize = recordBuffer.remaining();
+        var sequence = latestSequence + 1;
+        while (oldestSequence < sequence && (appendedPosition + recordSize - recordPosition(oldestSequence) > records.length
+                || sequence - oldestSequence >= recordPositions.length)) {
+            oldestSequence++;
+        }
+
+        var offset = (int) (appendedPosition % records.length);
+        var headSize = Math.min(recordSize, records.length - offset);
+        recordBuffer.get(records, offset, headSize);
+        recordBuffer.get(records, 0, recordSize - headSize);
+        recordPositions[positionIndex(sequence)] = appendedPosition;
+        appendedPosition += recordSize;
+        latestSequence = sequence;
+        recordsAppended.signalAll();
+        return sequence;
+    }
+
+    private void copyRecords(long fromPosition, long toPosition, ByteBuffer buffer) {
+        var offset = (int) (fromPosition % records.length);
+        var size = (int) (toPosition - fromPosition);
+        var headSize = Math.min(size, records.length - offset);
+        buffer.put(records, offset, headSize);
+        buffer.put(records, 0, size - headSize);
+    }
+
+    private long recordPosition(long sequence) {
+        return recordPositions[positionIndex(sequence)];
+    }
+
+    private long recordEndPosition(long sequence) {
+        return sequence == latestSequence ? appendedPosition : recordPosition(sequence + 1);
+    }
+
+    private int positionIndex(long sequence) {
+        return (int) (sequence % recordPositions.length);
+    }
+
+    private static long generateLogId() {
+        long logId;
+        do {
+            logId = ThreadLocalRandom.current().nextLong();
+        } while (logId == 0);
+        return logId;
+    }
+
+    record Snapshot(long sequence, List<Team> teams, List<MatchDetails> matches) {
+    }
+
+}
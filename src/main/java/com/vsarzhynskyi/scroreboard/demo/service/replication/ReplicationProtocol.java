@@ -0,0 +1,161 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+import static java.lang.String.format;
+
+/**
+ * Records kept in {@link ReplicationLog} and exchanged between {@link ReplicationLeader} and {@link ReplicationFollower}.
+ * Each record is {@code [int length][byte record type][long sequence][long epoch nanos][payload]}, where length covers
+ * everything after it. Mutation records carry their sequence in log and timestamp of append by leader, snapshot records
+ * carry sequence of log the snapshot was taken at, and heartbeat carries the latest sequence of log.
+ */
+final class ReplicationProtocol {
+
+    static final byte TEAM_REGISTERED = 1;
+    static final byte TEAM_UNREGISTERED = 2;
+    static final byte MATCH_UPDATED = 3;
+    static final byte HEARTBEAT = 4;
+    static final byte SNAPSHOT_STARTED = 5;
+    static final byte SNAPSHOT_FINISHED = 6;
+    static final byte SUBSCRIBE = 7;
+    static final byte ACKNOWLEDGE = 8;
+
+    static final int LENGTH_SIZE = Integer.BYTES;
+    static final int RECORD_HEADER_SIZE = LENGTH_SIZE + Byte.BYTES + 2 * Long.BYTES;
+    static final int LOG_ID_RECORD_SIZE = RECORD_HEADER_SIZE + Long.BYTES;
+    static final int MAX_TEAM_NAME_BYTES = 0xFFFF;
+    static final int MAX_RECORD_SIZE = RECORD_HEADER_SIZE + Integer.BYTES + Short.BYTES + MAX_TEAM_NAME_BYTES;
+    static final int MIN_MUTATION_RECORD_SIZE = RECORD_HEADER_SIZE + Integer.BYTES;
+    static final int BATCH_BUFFER_CAPACITY = 1 << 18;
+
+    private static final int MATCH_UPDATED_PAYLOAD_SIZE = 5 * Integer.BYTES + Byte.BYTES + 3 * Long.BYTES;
+    private static final MatchStatus[] MATCH_STATUSES = MatchStatus.values();
+
+    private ReplicationProtocol() {
+    }
+
+    static byte[] encodeTeamName(Team team) {
+        var teamName = team.getName().getBytes(StandardCharsets.UTF_8);
+        if (teamName.length > MAX_TEAM_NAME_BYTES) {
+            throw new IllegalArgumentException(format("team '%d' name is too long to be replicated", team.getId()));
+        }
+        return teamName;
+    }
+
+    static void putTeamRegistered(ByteBuffer buffer, long sequence, long epochNanos, int teamId, byte[] teamName) {
+        putRecordHeader(buffer, TEAM_REGISTERED, Integer.BYTES + Short.BYTES + teamName.length, sequence, epochNanos);
+        buffer.putInt(teamId);
+        buffer.putShort((short) teamName.length);
+        buffer.put(teamName);
+    }
+
+    static void putTeamUnregistered(ByteBuffer buffer, long sequence, long epochNanos, int teamId) {
+        putRecordHeader(buffer, TEAM_UNREGISTERED, Integer.BYTES, sequence, epochNanos);
+        buffer.putInt(teamId);
+    }
+
+    static void putMatchUpdated(ByteBuffer buffer, long sequence, long epochNanos, MatchDetails matchDetails) {
+        putRecordHeader(buffer, MATCH_UPDATED, MATCH_UPDATED_PAYLOAD_SIZE, sequence, epochNanos);
+        buffer.putInt(matchDetails.getMatchId());
+        buffer.putInt(matchDetails.getHomeTeam().getId());
+        buffer.putInt(matchDetails.getAwayTeam().getId());
+        buffer.put((byte) matchDetails.getMatchStatus().ordinal());
+        buffer.putInt(matchDetails.getHomeTeamScore());
+        buffer.putInt(matchDetails.getAwayTeamScore());
+        buffer.putLong(toEpochNanos(matchDetails.getMatchStartTimestamp()));
+        buffer.putLong(toEpochNanos(matchDetails.getLastUpdatedTimestamp()));
+        buffer.putLong(matchDetails.getFeedSequence());
+    }
+
+    /**
+     * Puts record without payload, i.e. heartbeat, acknowledgement or end of snapshot.
+     */
+    static void putControlRecord(ByteBuffer buffer, byte recordType, long sequence, long epochNanos) {
+        putRecordHeader(buffer, recordType, 0, sequence, epochNanos);
+    }
+
+    /**
+     * Puts record with ID of replication log as payload, i.e. subscription or start of snapshot.
+     */
+    static void putLogIdRecord(ByteBuffer buffer, byte recordType, long sequence, long epochNanos, long logId) {
+        putRecordHeader(buffer, recordType, Long.BYTES, sequence, epochNanos);
+        buffer.putLong(logId);
+    }
+
+    static Team getTeam(ByteBuffer payload) {
+        var teamId = payload.getInt();
+        var teamNameLength = payload.getShort() & 0xFFFF;
+        var teamName = new String(payload.array(), payload.arrayOffset() + payload.position(), teamNameLength, StandardCharsets.UTF_8);
+        payload.position(payload.position() + teamNameLength);
+        return new Team(teamId, teamName);
+    }
+
+    static MatchDetails getMatch(ByteBuffer payload, IntFunction<Team> teamResolver) {
+        var matchId = payload.getInt();
+        var homeTeamId = payload.getInt();
+        var awayTeamId = payload.getInt();
+        var matchStatusOrdinal = payload.get();
+        if (matchStatusOrdinal < 0 || matchStatusOrdinal >= MATCH_STATUSES.length) {
+            throw new IllegalStateException(format("invalid replicated status %d of match '%d'", matchStatusOrdinal, matchId));
+        }
+        return MatchDetails.builder()
+                .matchId(matchId)
+                .homeTeam(teamResolver.apply(homeTeamId))
+                .awayTeam(teamResolver.apply(awayTeamId))
+                .matchStatus(MATCH_STATUSES[matchStatusOrdinal])
+                .homeTeamScore(payload.getInt())
+                .awayTeamScore(payload.getInt())
+                .matchStartTimestamp(toInstant(payload.getLong()))
+                .lastUpdatedTimestamp(toInstant(payload.getLong()))
+                .feedSequence(payload.getLong())
+                .build();
+    }
+
+    /**
+     * Returns whether buffer has complete record from its position, length of record is verified to be valid.
+     */
+    static boolean hasCompleteRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_SIZE) {
+            return false;
+        }
+        var recordLength = buffer.getInt(buffer.position());
+        if (recordLength < RECORD_HEADER_SIZE - LENGTH_SIZE || recordLength > MAX_RECORD_SIZE - LENGTH_SIZE) {
+            throw new IllegalStateException(format("invalid replication record length %d", recordLength));
+        }
+        return buffer.remaining() >= LENGTH_SIZE + recordLength;
+    }
+
+    static void readFully(SocketChannel socketChannel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (socketChannel.read(buffer) < 0) {
+                throw new EOFException("replication connection is closed by peer");
+            }
+        }
+    }
+
+    static void writeFully(SocketChannel socketChannel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            socketChannel.write(buffer);
+        }
+    }
+
+    private static void putRecordHeader(ByteBuffer buffer, byte recordType, int payloadSize, long sequence, long epochNanos) {
+        buffer.putInt(RECORD_HEADER_SIZE - LENGTH_SIZE + payloadSize);
+        buffer.put(recordType);
+        buffer.putLong(sequence);
+        buffer.putLong(epochNanos);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Replication progress of {@link ReplicationFollower}.
+ */
+@Value
+@Builder
+public class ReplicationStatus {
+    boolean connected;
+    long appliedSequence;
+    /**
+     * The latest sequence of leader log known from the latest received heartbeat.
+     */
+    long leaderSequence;
+    long lagRecords;
+    /**
+     * Time between append of the last applied record by leader and its apply by follower, by clocks of each of them.
+     */
+    Duration lastApplyDelay;
+    long appliedSnapshotsCount;
+    /**
+     * Count of connection or record apply failures, each of them is followed by reconnect to leader.
+     */
+    long failuresCount;
+    /**
+     * The latest failure, or {@code null} if there was none.
+     */
+    Exception lastFailure;
+}
@@ -0,0 +1,19 @@
+package com.vsarzhynskyi.scroreboard.demo.service.retention;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface FinishedMatchesArchiveSink {
+
+    FinishedMatchesArchiveSink NONE = finishedMatches -> {
+    };
+
+    /**
+     * Invoked with finished matches before they are evicted, if it throws exception matches are retained
+     * and will be offered again on the next eviction.
+     */
+    void archive(List<MatchDetails> finishedMatches);
+
+}
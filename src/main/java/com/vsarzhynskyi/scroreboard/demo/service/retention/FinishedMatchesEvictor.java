@@ -0,0 +1,197 @@
+package com.vsarzhynskyi.scroreboard.demo.service.retention;
+
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics;
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarOperation;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Evicts finished matches of registrar according to retention policy, handing them to archive sink first,
+ * so heap and scans of all matches don't grow across a season. Eviction could be invoked directly
+ * or periodically in background after {@link #start()}.
+ * Matches are evicted by batch of unregister updates applied through evicting registrar, i.e. top of decorators stack,
+ * so evictions are journaled, replicated and removed from scoreboard like any other unregistration.
+ * Match archived, but failed to be unregistered, is remembered and only unregistered on the next eviction,
+ * so it isn't archived twice. Failures of background eviction and of single unregistrations are handed
+ * to eviction failure handler, by default uncaught exception handler of evicting thread.
+ */
+public class FinishedMatchesEvictor implements Closeable {
+
+    private final DefaultMatchRegistrar matchRegistrar;
+    private final MatchRegistrar evictingMatchRegistrar;
+    private final FinishedMatchesRetentionPolicy retentionPolicy;
+    private final FinishedMatchesArchiveSink archiveSink;
+    private final Clock clock;
+    private final ScheduledExecutorService evictionScheduler;
+    private final RegistrarMetrics registrarMetrics;
+    private final Consumer<RuntimeException> evictionFailureHandler;
+    private final ReentrantLock evictionLock;
+    private final Set<Integer> archivedMatchIds;
+    private ScheduledFuture<?> scheduledEviction;
+
+    /**
+     * @param matchRegistrar         registrar finished matches are selected from
+     * @param evictingMatchRegistrar outermost decorator of {@code matchRegistrar} through which matches are evicted
+     * @param registrarMetrics       metrics counting evictions and their failures, or {@code null}
+     * @param evictionFailureHandler handler of background eviction failures and of failed unregistrations of matches
+     */
+    public FinishedMatchesEvictor(DefaultMatchRegistrar matchRegistrar,
+                                  MatchRegistrar evictingMatchRegistrar,
+                                  FinishedMatchesRetentionPolicy retentionPolicy,
+                                  FinishedMatchesArchiveSink archiveSink,
+                                  Clock clock,
+                                  ScheduledExecutorService evictionScheduler,
+                                  RegistrarMetrics registrarMetrics,
+                                  Consumer<RuntimeException> evictionFailureHandler) {
+        if (retentionPolicy.getMaxRetainedFinishedMatches() < 0) {
+            throw new IllegalArgumentException(format("max retained finished matches should not be negative, but was %d",
+                    retentionPolicy.getMaxRetainedFinishedMatches()));
+        }
+        this.matchRegistrar = matchRegistrar;
+        this.evictingMatchRegistrar = evictingMatchRegistrar;
+        this.retentionPolicy = retentionPolicy;
+        this.archiveSink = archiveSink;
+        this.clock = clock;
+        this.evictionScheduler = evictionScheduler;
+        this.registrarMetrics = registrarMetrics;
+        this.evictionFailureHandler = evictionFailureHandler;
+        evictionLock = new ReentrantLock();
+        archivedMatchIds = new HashSet<>();
+    }
+
+    /**
+     * Creates evictor of registrar which isn't decorated, so matches are evicted from it directly.
+     */
+    public FinishedMatchesEvictor(DefaultMatchRegistrar matchRegistrar,
+                                  FinishedMatchesRetentionPolicy retentionPolicy,
+                                  FinishedMatchesArchiveSink archiveSink,
+                                  Clock clock,
+                                  ScheduledExecutorService evictionScheduler) {
+        this(matchRegistrar, matchRegistrar, retentionPolicy, archiveSink, clock, evictionScheduler, null,
+                FinishedMatchesEvictor::handleUncaughtException);
+    }
+
+    public synchronized void start() {
+        if (nonNull(scheduledEviction)) {
+            return;
+        }
+        var evictionIntervalNanos = retentionPolicy.getEvictionInterval().toNanos();
+        scheduledEviction = evictionScheduler.scheduleWithFixedDelay(this::evictFinishedMatchesInBackground,
+                evictionIntervalNanos, evictionIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Archives and evicts finished matches exceeding retention, returns evicted matches as they were archived.
+     * Failed unregistrations of matches are handed to eviction failure handler and retried on the next eviction.
+     */
+    public List<MatchDetails> evictFinishedMatches() {
+        var startNanos = isNull(registrarMetrics) ? 0L : registrarMetrics.startOperation(RegistrarOperation.EVICT_FINISHED_MATCHES);
+        var failed = true;
+        try {
+            evictionLock.lock();
+            try {
+                var eviction = archiveAndEvictFinishedMatches();
+                failed = eviction.failedMatchesCount() > 0;
+                return eviction.evictedMatches();
+            } finally {
+                evictionLock.unlock();
+            }
+        } finally {
+            if (nonNull(registrarMetrics)) {
+                registrarMetrics.recordOperation(RegistrarOperation.EVICT_FINISHED_MATCHES, startNanos, failed);
+            }
+        }
+    }
+
+    private Eviction archiveAndEvictFinishedMatches() {
+        var timeToLive = retentionPolicy.getTimeToLive();
+        var finishedBefore = isNull(timeToLive) ? Instant.MIN : Instant.now(clock).minus(timeToLive);
+        var evictableMatches = matchRegistrar.getEvictableFinishedMatches(finishedBefore, retentionPolicy.getMaxRetainedFinishedMatches());
+        // archived match stays evictable until it's unregistered, otherwise it was unregistered by someone else
+        var evictableMatchIds = new HashSet<Integer>(evictableMatches.size());
+        evictableMatches.forEach(match -> evictableMatchIds.add(match.getMatchId()));
+        archivedMatchIds.retainAll(evictableMatchIds);
+        if (evictableMatches.isEmpty()) {
+            return new Eviction(evictableMatches, 0);
+        }
+
+        var notArchivedMatches = new ArrayList<MatchDetails>(evictableMatches.size());
+        for (var match : evictableMatches) {
+            if (!archivedMatchIds.contains(match.getMatchId())) {
+                notArchivedMatches.add(match);
+            }
+        }
+        if (!notArchivedMatches.isEmpty()) {
+            archiveSink.archive(notArchivedMatches);
+            notArchivedMatches.forEach(match -> archivedMatchIds.add(match.getMatchId()));
+        }
+
+        var matchUpdates = new ArrayList<MatchUpdate>(evictableMatches.size());
+        evictableMatches.forEach(match -> matchUpdates.add(MatchUpdate.unregister(match.getMatchId())));
+        var matchUpdateResults = evictingMatchRegistrar.applyUpdates(matchUpdates);
+        var evictedMatches = new ArrayList<MatchDetails>(evictableMatches.size());
+        var failedMatchesCount = 0;
+        for (int i = 0; i < evictableMatches.size(); i++) {
+            var match = evictableMatches.get(i);
+            var matchUpdateResult = matchUpdateResults.get(i);
+            if (matchUpdateResult.isSucceeded()) {
+                archivedMatchIds.remove(match.getMatchId());
+                evictedMatches.add(match);
+            } else if (matchUpdateResult.getFailure() instanceof MatchNotRegisteredException) {
+                // match unregistered concurrently after it was selected is not evicted again
+                archivedMatchIds.remove(match.getMatchId());
+            } else {
+                failedMatchesCount++;
+                evictionFailureHandler.accept(matchUpdateResult.getFailure());
+            }
+        }
+        return new Eviction(evictedMatches, failedMatchesCount);
+    }
+
+    private void evictFinishedMatchesInBackground() {
+        try {
+            evictFinishedMatches();
+        } catch (RuntimeException e) {
+            // matches failed to be archived are retained and retried on the next scheduled eviction,
+            // while exception escaping periodic task would cancel further evictions
+            evictionFailureHandler.accept(e);
+        }
+    }
+
+    private static void handleUncaughtException(RuntimeException e) {
+        var currentThread = Thread.currentThread();
+        currentThread.getUncaughtExceptionHandler().uncaughtException(currentThread, e);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (nonNull(scheduledEviction)) {
+            scheduledEviction.cancel(false);
+            scheduledEviction = null;
+        }
+    }
+
+    private record Eviction(List<MatchDetails> evictedMatches, int failedMatchesCount) {
+    }
+
+}
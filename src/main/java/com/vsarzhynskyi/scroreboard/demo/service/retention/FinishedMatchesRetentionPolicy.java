@@ -0,0 +1,23 @@
+package com.vsarzhynskyi.scroreboard.demo.service.retention;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Retention of finished matches, match is evicted once it's finished longer than {@code timeToLive} ago
+ * or once more than {@code maxRetainedFinishedMatches} matches finished after it.
+ */
+@Value
+@Builder
+public class FinishedMatchesRetentionPolicy {
+    /**
+     * Finished matches are not evicted by age if it's not specified.
+     */
+    Duration timeToLive;
+    @Builder.Default
+    int maxRetainedFinishedMatches = Integer.MAX_VALUE;
+    @Builder.Default
+    Duration evictionInterval = Duration.ofMinutes(1);
+}
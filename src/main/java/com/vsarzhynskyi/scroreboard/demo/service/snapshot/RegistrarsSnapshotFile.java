@@ -0,0 +1,253 @@
+package com.vsarzhynskyi.scroreboard.demo.service.snapshot;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator;
+import com.vsarzhynskyi.scroreboard.demo.service.journal.EventJournal;
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static com.vsarzhynskyi.scroreboard.demo.model.MatchDetails.NO_FEED_SEQUENCE;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toEpochNanos;
+import static com.vsarzhynskyi.scroreboard.demo.util.EpochNanos.toInstant;
+
+/**
+ * Snapshot of teams, matches and ID generators positions in fixed layout binary file:
+ * 64 bytes header, then 16 bytes record per team, 48 bytes record per match, and UTF-8 team names.
+ * Snapshots of format version 1 have 40 bytes match records without feed sequence, and are still loaded.
+ * File is written to temporary file and atomically moved, and is loaded through {@link java.nio.MappedByteBuffer}.
+ */
+public class RegistrarsSnapshotFile {
+
+    private static final int MAGIC = 0x53434253;
+    private static final int FORMAT_VERSION = 2;
+    private static final int FORMAT_VERSION_WITHOUT_FEED_SEQUENCE = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int TEAM_RECORD_SIZE = 4 * Integer.BYTES;
+    private static final int MATCH_RECORD_SIZE = 6 * Integer.BYTES + 3 * Long.BYTES;
+    private static final int MATCH_RECORD_WITHOUT_FEED_SEQUENCE_SIZE = 6 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final MatchStatus[] MATCH_STATUSES = MatchStatus.values();
+
+    private RegistrarsSnapshotFile() {
+    }
+
+    /**
+     * Writes snapshot of registrars journaled by specified journal. Journal position, teams, matches and ID generators
+     * positions are captured while journaled mutations are paused, so snapshot is a consistent cut of journal,
+     * encoding and writing happen after writers are resumed.
+     */
+    public static void write(Path snapshotPath,
+                             TeamRegistrar teamRegistrar, IdGenerator teamIdGenerator,
+                             MatchRegistrar matchRegistrar, IdGenerator matchIdGenerator,
+                             EventJournal eventJournal) {
+        write(snapshotPath, eventJournal.withMutationsPaused(journalPosition ->
+                captureRegistrarsState(teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, journalPosition)));
+    }
+
+    /**
+     * Writes snapshot of registrars. Writers are paused only while each registrar copies its current state,
+     * so snapshot isn't a consistent cut and might already contain mutations journaled after {@code journalPosition}.
+     * Replay of journal from that position after load is still correct, as match records carry full match state
+     * and team records are restored idempotently.
+     *
+     * @param journalPosition position of journal taken before snapshot, to replay only further records after load,
+     *                        or {@code 0} if journal isn't used
+     */
+    public static void write(Path snapshotPath,
+                             TeamRegistrar teamRegistrar, IdGenerator teamIdGenerator,
+                             MatchRegistrar matchRegistrar, IdGenerator matchIdGenerator,
+                             long journalPosition) {
+        write(snapshotPath, captureRegistrarsState(teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, journalPosition));
+    }
+
+    private static RegistrarsState captureRegistrarsState(TeamRegistrar teamRegistrar, IdGenerator teamIdGenerator,
+                                                          MatchRegistrar matchRegistrar, IdGenerator matchIdGenerator,
+                                                          long journalPosition) {
+        return new RegistrarsState(teamRegistrar.getAllTeams(), matchRegistrar.getAllMatches(),
+                teamIdGenerator.getLastGeneratedId(), matchIdGenerator.getLastGeneratedId(), journalPosition);
+    }
+
+    private static void write(Path snapshotPath, RegistrarsState registrarsState) {
+        var registeredTeams = registrarsState.registeredTeams();
+        var matches = registrarsState.matches();
+
+        // teams unregistered after copying teams list are still needed to restore matches of them
+        var teams = new ArrayList<Team>(registeredTeams.size());
+        var teamIdToRegisteredMapping = new LongObjectHashMap<Boolean>(registeredTeams.size());
+        registeredTeams.forEach(team -> addTeam(team, true, teams, teamIdToRegisteredMapping));
+        for (var match : matches) {
+            addTeam(match.getHomeTeam(), false, teams, teamIdToRegisteredMapping);
+            addTeam(match.getAwayTeam(), false, teams, teamIdToRegisteredMapping);
+        }
+        var teamNames = new byte[teams.size()][];
+        var teamNamesSize = 0L;
+        for (int i = 0; i < teams.size(); i++) {
+            teamNames[i] = teams.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            teamNamesSize += teamNames[i].length;
+        }
+
+        var fileSize = HEADER_SIZE + (long) teams.size() * TEAM_RECORD_SIZE + (long) matches.size() * MATCH_RECORD_SIZE + teamNamesSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException(format("snapshot of %d bytes exceeds max supported size", fileSize));
+        }
+
+        var temporarySnapshotPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (var fileChannel = FileChannel.open(temporarySnapshotPath, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            var buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            buffer.putInt(registrarsState.teamIdGeneratorPosition());
+            buffer.putInt(registrarsState.matchIdGeneratorPosition());
+            buffer.putLong(registrarsState.journalPosition());
+            buffer.putInt(teams.size());
+            buffer.putInt(matches.size());
+            buffer.putInt((int) teamNamesSize);
+            buffer.position(HEADER_SIZE);
+
+            var teamNameOffset = 0;
+            for (int i = 0; i < teams.size(); i++) {
+                var team = teams.get(i);
+                buffer.putInt(team.getId());
+                buffer.putInt(teamIdToRegisteredMapping.get(team.getId()) ? 1 : 0);
+                buffer.putInt(teamNameOffset);
+                buffer.putInt(teamNames[i].length);
+                teamNameOffset += teamNames[i].length;
+            }
+            for (var match : matches) {
+                buffer.putInt(match.getMatchId());
+                buffer.putInt(match.getHomeTeam().getId());
+                buffer.putInt(match.getAwayTeam().getId());
+                buffer.putInt(match.getMatchStatus().ordinal());
+                buffer.putInt(match.getHomeTeamScore());
+                buffer.putInt(match.getAwayTeamScore());
+                buffer.putLong(toEpochNanos(match.getMatchStartTimestamp()));
+                buffer.putLong(toEpochNanos(match.getLastUpdatedTimestamp()));
+                buffer.putLong(match.getFeedSequence());
+            }
+            for (var teamName : teamNames) {
+                buffer.put(teamName);
+            }
+            buffer.putInt(CHECKSUM_OFFSET, bodyChecksum(buffer));
+            buffer.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to write snapshot '%s'", temporarySnapshotPath), e);
+        }
+
+        try {
+            Files.move(temporarySnapshotPath, snapshotPath, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to move snapshot into '%s'", snapshotPath), e);
+        }
+    }
+
+    /**
+     * Loads snapshot into empty registrars and advances ID generators to their positions at snapshot time.
+     *
+     * @return journal position stored in snapshot
+     */
+    public static long load(Path snapshotPath,
+                            DefaultTeamRegistrar teamRegistrar, IdGenerator teamIdGenerator,
+                            DefaultMatchRegistrar matchRegistrar, IdGenerator matchIdGenerator) {
+        ByteBuffer buffer;
+        try (var fileChannel = FileChannel.open(snapshotPath, READ)) {
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(format("failed to read snapshot '%s'", snapshotPath), e);
+        }
+
+        var formatVersion = buffer.limit() < HEADER_SIZE ? 0 : buffer.getInt(4);
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                || (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_FEED_SEQUENCE)) {
+            throw new IllegalStateException(format("file '%s' is not a snapshot of supported format", snapshotPath));
+        }
+        var hasFeedSequence = formatVersion == FORMAT_VERSION;
+        var matchRecordSize = hasFeedSequence ? MATCH_RECORD_SIZE : MATCH_RECORD_WITHOUT_FEED_SEQUENCE_SIZE;
+        var teamIdGeneratorPosition = buffer.getInt(8);
+        var matchIdGeneratorPosition = buffer.getInt(12);
+        var journalPosition = buffer.getLong(16);
+        var teamsCount = buffer.getInt(24);
+        var matchesCount = buffer.getInt(28);
+        var teamNamesSize = buffer.getInt(32);
+        var matchesOffset = HEADER_SIZE + teamsCount * TEAM_RECORD_SIZE;
+        var teamNamesOffset = matchesOffset + matchesCount * matchRecordSize;
+        if (buffer.limit() != teamNamesOffset + teamNamesSize || buffer.getInt(CHECKSUM_OFFSET) != bodyChecksum(buffer)) {
+            throw new IllegalStateException(format("snapshot '%s' is corrupted", snapshotPath));
+        }
+
+        var teamIdToTeamMapping = new LongObjectHashMap<Team>(teamsCount);
+        var teamNameBytes = new byte[0];
+        for (int i = 0; i < teamsCount; i++) {
+            var teamRecordOffset = HEADER_SIZE + i * TEAM_RECORD_SIZE;
+            var teamNameLength = buffer.getInt(teamRecordOffset + 12);
+            if (teamNameBytes.length < teamNameLength) {
+                teamNameBytes = new byte[teamNameLength];
+            }
+            buffer.get(teamNamesOffset + buffer.getInt(teamRecordOffset + 8), teamNameBytes, 0, teamNameLength);
+            var team = new Team(buffer.getInt(teamRecordOffset), new String(teamNameBytes, 0, teamNameLength, StandardCharsets.UTF_8));
+            teamIdToTeamMapping.put(team.getId(), team);
+            if (buffer.getInt(teamRecordOffset + 4) == 1) {
+                teamRegistrar.restoreTeam(team);
+            }
+        }
+
+        for (int i = 0; i < matchesCount; i++) {
+            var matchRecordOffset = matchesOffset + i * matchRecordSize;
+            matchRegistrar.restoreMatch(MatchDetails.builder()
+                    .matchId(buffer.getInt(matchRecordOffset))
+                    .homeTeam(teamIdToTeamMapping.get(buffer.getInt(matchRecordOffset + 4)))
+                    .awayTeam(teamIdToTeamMapping.get(buffer.getInt(matchRecordOffset + 8)))
+                    .matchStatus(MATCH_STATUSES[buffer.getInt(matchRecordOffset + 12)])
+                    .homeTeamScore(buffer.getInt(matchRecordOffset + 16))
+                    .awayTeamScore(buffer.getInt(matchRecordOffset + 20))
+                    .matchStartTimestamp(toInstant(buffer.getLong(matchRecordOffset + 24)))
+                    .lastUpdatedTimestamp(toInstant(buffer.getLong(matchRecordOffset + 32)))
+                    .feedSequence(hasFeedSequence ? buffer.getLong(matchRecordOffset + 40) : NO_FEED_SEQUENCE)
+                    .build());
+        }
+
+        teamIdGenerator.advanceTo(teamIdGeneratorPosition);
+        matchIdGenerator.advanceTo(matchIdGeneratorPosition);
+        return journalPosition;
+    }
+
+    private static void addTeam(Team team, boolean isRegistered, ArrayList<Team> teams, LongObjectHashMap<Boolean> teamIdToRegisteredMapping) {
+        if (!teamIdToRegisteredMapping.containsKey(team.getId())) {
+            teamIdToRegisteredMapping.put(team.getId(), isRegistered);
+            teams.add(team);
+        }
+    }
+
+    private static int bodyChecksum(ByteBuffer buffer) {
+        var checksum = new CRC32C();
+        checksum.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE));
+        return (int) checksum.getValue();
+    }
+
+    private record RegistrarsState(List<Team> registeredTeams, List<MatchDetails> matches,
+                                   int teamIdGeneratorPosition, int matchIdGeneratorPosition, long journalPosition) {
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.vsarzhynskyi.scroreboard.demo.service.standings;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.model.TeamStanding;
+import com.vsarzhynskyi.scroreboard.demo.util.LongObjectHashMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * League table (points, wins, draws, losses and goals) maintained incrementally from match transitions,
+ * usually reported by {@link StandingsMatchRegistrar}. Final standings count finished matches only, while live standings
+ * also count matches in progress with their current score, as if they finished now. Each transition updates
+ * aggregates of two teams and moves them within ranking, so it doesn't depend on number of matches played.
+ * Unregistering finished match (e.g. by eviction) keeps its result in standings.
+ * Standings lists are built on first read after change and reused by following reads.
+ */
+public class LeagueStandings {
+
+    private final Lock lock;
+    private final StandingsTable finalTable;
+    private final StandingsTable liveTable;
+    private final LongObjectHashMap<MatchDetails> matchesInProgress;
+    private Team[] teams;
+    private volatile List<TeamStanding> finalStandings;
+    private volatile List<TeamStanding> liveStandings;
+
+    public LeagueStandings() {
+        lock = new ReentrantLock();
+        finalTable = new StandingsTable();
+        liveTable = new StandingsTable();
+        matchesInProgress = new LongObjectHashMap<>();
+        teams = new Team[0];
+        finalStandings = List.of();
+        liveStandings = List.of();
+    }
+
+    /**
+     * Applies state of match after its transition, transitions of the same match should be reported in order they were applied.
+     */
+    public void onMatchUpdated(MatchDetails match) {
+        lock.lock();
+        try {
+            switch (match.getMatchStatus()) {
+                case IN_PROGRESS:
+                    addLiveResult(matchesInProgress.put(match.getMatchId(), match), match);
+                    break;
+                case FINISHED:
+                    addLiveResult(matchesInProgress.remove(match.getMatchId()), match);
+                    finalTable.addResult(match.getHomeTeam().getId(), match.getHomeTeamScore(),
+                            match.getAwayTeam().getId(), match.getAwayTeamScore());
+                    finalStandings = null;
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns standings counting finished matches only.
+     */
+    public List<TeamStanding> getStandings() {
+        var standings = finalStandings;
+        if (nonNull(standings)) {
+            return standings;
+        }
+        lock.lock();
+        try {
+            if (isNull(finalStandings)) {
+                finalStandings = Collections.unmodifiableList(finalTable.toStandings(teams));
+            }
+            return finalStandings;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns standings counting both finished matches and matches in progress with their current score.
+     */
+    public List<TeamStanding> getLiveStandings() {
+        var standings = liveStandings;
+        if (nonNull(standings)) {
+            return standings;
+        }
+        lock.lock();
+        try {
+            if (isNull(liveStandings)) {
+                liveStandings = Collections.unmodifiableList(liveTable.toStandings(teams));
+            }
+            return liveStandings;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns standing of team counting finished matches only, or {@code null} if team hasn't finished any match.
+     */
+    public TeamStanding getTeamStanding(int teamId) {
+        lock.lock();
+        try {
+            return finalTable.toStanding(teamId, teams);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns standing of team counting matches in progress as well, or {@code null} if team hasn't played any match.
+     */
+    public TeamStanding getLiveTeamStanding(int teamId) {
+        lock.lock();
+        try {
+            return liveTable.toStanding(teamId, teams);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds result of match to live standings, replacing result of the same match in progress added before, if any.
+     */
+    private void addLiveResult(MatchDetails previousMatch, MatchDetails match) {
+        registerTeam(match.getHomeTeam());
+        registerTeam(match.getAwayTeam());
+        if (isNull(previousMatch)) {
+            liveTable.addResult(match.getHomeTeam().getId(), match.getHomeTeamScore(), match.getAwayTeam().getId(), match.getAwayTeamScore());
+        } else {
+            liveTable.replaceResult(match.getHomeTeam().getId(), previousMatch.getHomeTeamScore(), match.getHomeTeamScore(),
+                    match.getAwayTeam().getId(), previousMatch.getAwayTeamScore(), match.getAwayTeamScore());
+        }
+        liveStandings = null;
+    }
+
+    private void registerTeam(Team team) {
+        if (team.getId() >= teams.length) {
+            teams = Arrays.copyOf(teams, Math.max(team.getId() + 1, 2 * teams.length));
+        }
+        teams[team.getId()] = team;
+    }
+
+}
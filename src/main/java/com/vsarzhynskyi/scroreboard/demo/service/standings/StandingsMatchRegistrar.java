@@ -0,0 +1,168 @@
+package com.vsarzhynskyi.scroreboard.demo.service.standings;
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate;
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult;
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Reports state of each successfully mutated match to {@link LeagueStandings},
+ * mutations are serialized to report transitions of each match in order in which they were applied.
+ */
+public class StandingsMatchRegistrar implements MatchRegistrar {
+
+    private final MatchRegistrar matchRegistrar;
+    private final LeagueStandings leagueStandings;
+    private final Lock standingsLock;
+
+    public StandingsMatchRegistrar(MatchRegistrar matchRegistrar, LeagueStandings leagueStandings) {
+        this.matchRegistrar = matchRegistrar;
+        this.leagueStandings = leagueStandings;
+        standingsLock = new ReentrantLock();
+    }
+
+    @Override
+    public MatchDetails registerMatch(int homeTeamId, int awayTeamId) {
+        return reportMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails registerMatch(String homeTeamName, String awayTeamName) {
+        return reportMatchUpdate(() -> matchRegistrar.registerMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails startMatch(int matchId) {
+        return reportMatchUpdate(() -> matchRegistrar.startMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails startMatch(int homeTeamId, int awayTeamId) {
+        return reportMatchUpdate(() -> matchRegistrar.startMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails startMatch(String homeTeamName, String awayTeamName) {
+        return reportMatchUpdate(() -> matchRegistrar.startMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+        return reportMatchUpdate(() -> matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        return reportMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamId, homeTeamScore, awayTeamId, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScore(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        return reportMatchUpdate(() -> matchRegistrar.updateMatchScore(homeTeamName, homeTeamScore, awayTeamName, awayTeamScore));
+    }
+
+    @Override
+    public MatchDetails updateMatchScoreIfNewer(int matchId, long feedSequence, int homeTeamScore, int awayTeamScore) {
+        if (matchRegistrar.isFeedUpdateStale(matchId, feedSequence)) {
+            return null;
+        }
+        return reportMatchUpdate(() -> matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, homeTeamScore, awayTeamScore));
+    }
+
+    @Override
+    public boolean isFeedUpdateStale(int matchId, long feedSequence) {
+        return matchRegistrar.isFeedUpdateStale(matchId, feedSequence);
+    }
+
+    @Override
+    public MatchDetails finishMatch(int matchId) {
+        return reportMatchUpdate(() -> matchRegistrar.finishMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(int homeTeamId, int awayTeamId) {
+        return reportMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails finishMatch(String homeTeamName, String awayTeamName) {
+        return reportMatchUpdate(() -> matchRegistrar.finishMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int matchId) {
+        return reportMatchUpdate(() -> matchRegistrar.unregisterMatch(matchId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(int homeTeamId, int awayTeamId) {
+        return reportMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamId, awayTeamId));
+    }
+
+    @Override
+    public MatchDetails unregisterMatch(String homeTeamName, String awayTeamName) {
+        return reportMatchUpdate(() -> matchRegistrar.unregisterMatch(homeTeamName, awayTeamName));
+    }
+
+    @Override
+    public List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+        standingsLock.lock();
+        try {
+            var matchUpdateResults = matchRegistrar.applyUpdates(matchUpdates);
+            for (var matchUpdateResult : matchUpdateResults) {
+                if (matchUpdateResult.isSucceeded()) {
+                    leagueStandings.onMatchUpdated(matchUpdateResult.getMatchDetails());
+                }
+            }
+            return matchUpdateResults;
+        } finally {
+            standingsLock.unlock();
+        }
+    }
+
+    @Override
+    public List<MatchDetails> getAllMatches() {
+        return matchRegistrar.getAllMatches();
+    }
+
+    @Override
+    public List<MatchDetails> getActiveMatches() {
+        return matchRegistrar.getActiveMatches();
+    }
+
+    @Override
+    public boolean isMatchRegistered(int matchId) {
+        return matchRegistrar.isMatchRegistered(matchId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(int homeTeamId, int awayTeamId) {
+        return matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId);
+    }
+
+    @Override
+    public boolean isMatchRegistered(String homeTeamName, String awayTeamName) {
+        return matchRegistrar.isMatchRegistered(homeTeamName, awayTeamName);
+    }
+
+    private MatchDetails reportMatchUpdate(Supplier<MatchDetails> matchUpdate) {
+        standingsLock.lock();
+        try {
+            var matchDetails = matchUpdate.get();
+            if (nonNull(matchDetails)) {
+                leagueStandings.onMatchUpdated(matchDetails);
+            }
+            return matchDetails;
+        } finally {
+            standingsLock.unlock();
+        }
+    }
+
+}
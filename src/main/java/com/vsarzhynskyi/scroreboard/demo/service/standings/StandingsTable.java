@@ -0,0 +1,170 @@
+package com.vsarzhynskyi.scroreboard.demo.service.standings;
+
+import com.vsarzhynskyi.scroreboard.demo.model.Team;
+import com.vsarzhynskyi.scroreboard.demo.model.TeamStanding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregates of teams in primitive arrays indexed by team ID, together with array of team IDs in ranking order
+ * (points, goal difference, goals scored, then team ID). Team changed by match result is moved to its new position
+ * by swapping with neighbours, so update costs number of teams it overtakes rather than sorting the whole table.
+ * Not thread safe.
+ */
+final class StandingsTable {
+
+    private static final int POINTS_FOR_WIN = 3;
+    private static final int POINTS_FOR_DRAW = 1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NOT_RANKED = -1;
+
+    private int[] playedMatches;
+    private int[] wins;
+    private int[] draws;
+    private int[] losses;
+    private int[] goalsFor;
+    private int[] goalsAgainst;
+    private int[] points;
+    private int[] teamPositions;
+    private int[] rankedTeamIds;
+    private int rankedTeamsCount;
+
+    StandingsTable() {
+        playedMatches = new int[INITIAL_CAPACITY];
+        wins = new int[INITIAL_CAPACITY];
+        draws = new int[INITIAL_CAPACITY];
+        losses = new int[INITIAL_CAPACITY];
+        goalsFor = new int[INITIAL_CAPACITY];
+        goalsAgainst = new int[INITIAL_CAPACITY];
+        points = new int[INITIAL_CAPACITY];
+        teamPositions = new int[INITIAL_CAPACITY];
+        Arrays.fill(teamPositions, NOT_RANKED);
+        rankedTeamIds = new int[INITIAL_CAPACITY];
+    }
+
+    void addResult(int homeTeamId, int homeTeamScore, int awayTeamId, int awayTeamScore) {
+        ensureCapacity(Math.max(homeTeamId, awayTeamId));
+        addTeamResult(homeTeamId, homeTeamScore, awayTeamScore, 1);
+        updateRanking(homeTeamId);
+        addTeamResult(awayTeamId, awayTeamScore, homeTeamScore, 1);
+        updateRanking(awayTeamId);
+    }
+
+    /**
+     * Replaces previously added result of match, e.g. when score of match in progress changes. Each team is moved
+     * within ranking once its aggregates are updated, before the other team is updated, so ranking of all other teams
+     * is consistent while team is moved.
+     */
+    void replaceResult(int homeTeamId, int previousHomeTeamScore, int homeTeamScore,
+                       int awayTeamId, int previousAwayTeamScore, int awayTeamScore) {
+        addTeamResult(homeTeamId, previousHomeTeamScore, previousAwayTeamScore, -1);
+        addTeamResult(homeTeamId, homeTeamScore, awayTeamScore, 1);
+        updateRanking(homeTeamId);
+        addTeamResult(awayTeamId, previousAwayTeamScore, previousHomeTeamScore, -1);
+        addTeamResult(awayTeamId, awayTeamScore, homeTeamScore, 1);
+        updateRanking(awayTeamId);
+    }
+
+    /**
+     * Returns standings in ranking order, {@code teams} are indexed by team ID.
+     */
+    List<TeamStanding> toStandings(Team[] teams) {
+        var standings = new ArrayList<TeamStanding>(rankedTeamsCount);
+        for (int position = 0; position < rankedTeamsCount; position++) {
+            standings.add(toStanding(rankedTeamIds[position], teams));
+        }
+        return standings;
+    }
+
+    /**
+     * Returns standing of team, or {@code null} if team has no played matches.
+     */
+    TeamStanding toStanding(int teamId, Team[] teams) {
+        if (teamId < 0 || teamId >= teamPositions.length || teamPositions[teamId] == NOT_RANKED) {
+            return null;
+        }
+        return TeamStanding.builder()
+                .position(teamPositions[teamId] + 1)
+                .team(teams[teamId])
+                .playedMatches(playedMatches[teamId])
+                .wins(wins[teamId])
+                .draws(draws[teamId])
+                .losses(losses[teamId])
+                .goalsFor(goalsFor[teamId])
+                .goalsAgainst(goalsAgainst[teamId])
+                .points(points[teamId])
+                .build();
+    }
+
+    private void addTeamResult(int teamId, int teamScore, int opponentScore, int sign) {
+        playedMatches[teamId] += sign;
+        goalsFor[teamId] += sign * teamScore;
+        goalsAgainst[teamId] += sign * opponentScore;
+        if (teamScore > opponentScore) {
+            wins[teamId] += sign;
+            points[teamId] += sign * POINTS_FOR_WIN;
+        } else if (teamScore == opponentScore) {
+            draws[teamId] += sign;
+            points[teamId] += sign * POINTS_FOR_DRAW;
+        } else {
+            losses[teamId] += sign;
+        }
+    }
+
+    private void updateRanking(int teamId) {
+        if (teamPositions[teamId] == NOT_RANKED) {
+            placeTeam(teamId, rankedTeamsCount++);
+        }
+        var position = teamPositions[teamId];
+        while (position > 0 && ranksHigher(teamId, rankedTeamIds[position - 1])) {
+            placeTeam(rankedTeamIds[position - 1], position);
+            position--;
+        }
+        while (position < rankedTeamsCount - 1 && ranksHigher(rankedTeamIds[position + 1], teamId)) {
+            placeTeam(rankedTeamIds[position + 1], position);
+            position++;
+        }
+        placeTeam(teamId, position);
+    }
+
+    private void placeTeam(int teamId, int position) {
+        rankedTeamIds[position] = teamId;
+        teamPositions[teamId] = position;
+    }
+
+    private boolean ranksHigher(int teamId, int otherTeamId) {
+        if (points[teamId] != points[otherTeamId]) {
+            return points[teamId] > points[otherTeamId];
+        }
+        var goalDifference = goalsFor[teamId] - goalsAgainst[teamId];
+        var otherGoalDifference = goalsFor[otherTeamId] - goalsAgainst[otherTeamId];
+        if (goalDifference != otherGoalDifference) {
+            return goalDifference > otherGoalDifference;
+        }
+        if (goalsFor[teamId] != goalsFor[otherTeamId]) {
+            return goalsFor[teamId] > goalsFor[otherTeamId];
+        }
+        return teamId < otherTeamId;
+    }
+
+    private void ensureCapacity(int teamId) {
+        if (teamId < teamPositions.length) {
+            return;
+        }
+        var capacity = Math.max(teamId + 1, 2 * teamPositions.length);
+        playedMatches = Arrays.copyOf(playedMatches, capacity);
+        wins = Arrays.copyOf(wins, capacity);
+        draws = Arrays.copyOf(draws, capacity);
+        losses = Arrays.copyOf(losses, capacity);
+        goalsFor = Arrays.copyOf(goalsFor, capacity);
+        goalsAgainst = Arrays.copyOf(goalsAgainst, capacity);
+        points = Arrays.copyOf(points, capacity);
+        var previousCapacity = teamPositions.length;
+        teamPositions = Arrays.copyOf(teamPositions, capacity);
+        Arrays.fill(teamPositions, previousCapacity, capacity, NOT_RANKED);
+        rankedTeamIds = Arrays.copyOf(rankedTeamIds, capacity);
+    }
+
+}
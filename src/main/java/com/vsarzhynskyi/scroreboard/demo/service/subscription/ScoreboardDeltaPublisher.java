@@ -0,0 +1,266 @@
+package com.vsarzhynskyi.scroreboard.demo.service.subscription;
+
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Delivers scoreboard deltas to subscribers, each of them has own bounded buffer drained on its delivery executor
+ * according to requested demand, so slow subscriber doesn't delay others unless {@link SlowSubscriberPolicy#BLOCK} is used.
+ * Deltas are enqueued in order of scoreboard versions under lock guarding scoreboard mutations, and are offered to
+ * subscribers by {@link #dispatch()} after that lock is released, so even blocked publisher doesn't hold any registrar lock.
+ * Every subscriber first receives scoreboard snapshot and then only deltas with later versions.
+ */
+public class ScoreboardDeltaPublisher implements Flow.Publisher<ScoreboardDelta> {
+
+    private final Supplier<ScoreboardDelta> scoreboardSnapshotSupplier;
+    private final List<ScoreboardSubscription> subscriptions;
+    private final ConcurrentLinkedQueue<ScoreboardDelta> pendingDeltas;
+    private final Lock dispatchLock;
+
+    /**
+     * @param scoreboardSnapshotSupplier supplies {@link com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDeltaType#SNAPSHOT}
+     *                                   delta of current scoreboard, invoked on delivery executors, so should not block
+     */
+    public ScoreboardDeltaPublisher(Supplier<ScoreboardDelta> scoreboardSnapshotSupplier) {
+        this.scoreboardSnapshotSupplier = scoreboardSnapshotSupplier;
+        subscriptions = new CopyOnWriteArrayList<>();
+        pendingDeltas = new ConcurrentLinkedQueue<>();
+        dispatchLock = new ReentrantLock();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber) {
+        subscribe(subscriber, ScoreboardSubscriptionOptions.defaults());
+    }
+
+    public void subscribe(Flow.Subscriber<? super ScoreboardDelta> subscriber, ScoreboardSubscriptionOptions subscriptionOptions) {
+        requireNonNull(subscriber);
+        if (subscriptionOptions.getMaxBufferedDeltas() <= 0) {
+            throw new IllegalArgumentException(format("max buffered deltas should be positive, but was %d",
+                    subscriptionOptions.getMaxBufferedDeltas()));
+        }
+        var subscription = new ScoreboardSubscription(subscriber, subscriptionOptions);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.scheduleDrain();
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Enqueues and dispatches delta, should be invoked in order of scoreboard versions.
+     */
+    public void publish(ScoreboardDelta delta) {
+        enqueue(delta);
+        dispatch();
+    }
+
+    /**
+     * Enqueues delta without offering it to subscribers, should be invoked in order of scoreboard versions,
+     * e.g. under lock guarding scoreboard mutations, and followed by {@link #dispatch()} once that lock is released.
+     */
+    public void enqueue(ScoreboardDelta delta) {
+        if (!subscriptions.isEmpty()) {
+            pendingDeltas.add(delta);
+        }
+    }
+
+    /**
+     * Offers enqueued deltas to subscribers in order they were enqueued. With {@link SlowSubscriberPolicy#BLOCK}
+     * it waits for slow subscriber, and so do other threads dispatching meanwhile, so it should not be invoked under locks.
+     */
+    public void dispatch() {
+        if (pendingDeltas.isEmpty()) {
+            return;
+        }
+        dispatchLock.lock();
+        try {
+            ScoreboardDelta delta;
+            while ((delta = pendingDeltas.poll()) != null) {
+                for (var subscription : subscriptions) {
+                    subscription.offer(delta);
+                }
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * Discards buffered deltas of all subscribers and makes them resync from snapshot,
+     * should be invoked when scoreboard was changed as a whole.
+     */
+    public void publishSnapshot() {
+        for (var subscription : subscriptions) {
+            subscription.requireSnapshot();
+        }
+    }
+
+    private final class ScoreboardSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super ScoreboardDelta> subscriber;
+        private final Executor deliveryExecutor;
+        private final int maxBufferedDeltas;
+        private final SlowSubscriberPolicy slowSubscriberPolicy;
+        private final Lock bufferLock;
+        private final Condition bufferNotFull;
+        private final ArrayDeque<ScoreboardDelta> bufferedDeltas;
+        private final AtomicLong demand;
+        private final AtomicInteger pendingDrains;
+        private volatile boolean cancelled;
+        private boolean snapshotRequired;
+        private long deliveredVersion;
+
+        private ScoreboardSubscription(Flow.Subscriber<? super ScoreboardDelta> subscriber,
+                                       ScoreboardSubscriptionOptions subscriptionOptions) {
+            this.subscriber = subscriber;
+            deliveryExecutor = subscriptionOptions.getDeliveryExecutor();
+            maxBufferedDeltas = subscriptionOptions.getMaxBufferedDeltas();
+            slowSubscriberPolicy = subscriptionOptions.getSlowSubscriberPolicy();
+            bufferLock = new ReentrantLock();
+            bufferNotFull = bufferLock.newCondition();
+            bufferedDeltas = new ArrayDeque<>();
+            demand = new AtomicLong();
+            pendingDrains = new AtomicInteger();
+            snapshotRequired = true;
+            deliveredVersion = -1;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException(format("requested demand should be positive, but was %d", n)));
+                return;
+            }
+            demand.accumulateAndGet(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            bufferLock.lock();
+            try {
+                bufferedDeltas.clear();
+                bufferNotFull.signalAll();
+            } finally {
+                bufferLock.unlock();
+            }
+        }
+
+        private void offer(ScoreboardDelta delta) {
+            bufferLock.lock();
+            try {
+                while (!cancelled && bufferedDeltas.size() >= maxBufferedDeltas) {
+                    if (slowSubscriberPolicy == SlowSubscriberPolicy.BLOCK) {
+                        bufferNotFull.awaitUninterruptibly();
+                    } else {
+                        bufferedDeltas.clear();
+                        snapshotRequired = true;
+                    }
+                }
+                if (cancelled) {
+                    return;
+                }
+                bufferedDeltas.add(delta);
+            } finally {
+                bufferLock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        private void requireSnapshot() {
+            bufferLock.lock();
+            try {
+                bufferedDeltas.clear();
+                snapshotRequired = true;
+                bufferNotFull.signalAll();
+            } finally {
+                bufferLock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancel();
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            var drains = 1;
+            do {
+                while (!cancelled && demand.get() > 0) {
+                    var delta = nextDelta();
+                    if (isNull(delta)) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(delta);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                }
+                drains = pendingDrains.addAndGet(-drains);
+            } while (drains != 0);
+        }
+
+        private ScoreboardDelta nextDelta() {
+            bufferLock.lock();
+            try {
+                if (!snapshotRequired) {
+                    var delta = bufferedDeltas.poll();
+                    // deltas already reflected in delivered snapshot are skipped
+                    while (delta != null && delta.getScoreboardVersion() <= deliveredVersion) {
+                        delta = bufferedDeltas.poll();
+                    }
+                    bufferNotFull.signalAll();
+                    if (delta != null) {
+                        deliveredVersion = delta.getScoreboardVersion();
+                    }
+                    return delta;
+                }
+                snapshotRequired = false;
+                bufferNotFull.signalAll();
+            } finally {
+                bufferLock.unlock();
+            }
+            var snapshot = scoreboardSnapshotSupplier.get();
+            deliveredVersion = snapshot.getScoreboardVersion();
+            return snapshot;
+        }
+
+    }
+
+}
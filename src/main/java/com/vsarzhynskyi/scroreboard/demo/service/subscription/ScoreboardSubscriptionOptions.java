@@ -0,0 +1,22 @@
+package com.vsarzhynskyi.scroreboard.demo.service.subscription;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+@Value
+@Builder
+public class ScoreboardSubscriptionOptions {
+    @Builder.Default
+    Executor deliveryExecutor = ForkJoinPool.commonPool();
+    @Builder.Default
+    int maxBufferedDeltas = 256;
+    @Builder.Default
+    SlowSubscriberPolicy slowSubscriberPolicy = SlowSubscriberPolicy.DROP_TO_SNAPSHOT;
+
+    public static ScoreboardSubscriptionOptions defaults() {
+        return ScoreboardSubscriptionOptions.builder().build();
+    }
+}
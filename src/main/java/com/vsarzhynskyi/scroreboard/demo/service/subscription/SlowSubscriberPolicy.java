@@ -0,0 +1,18 @@
+package com.vsarzhynskyi.scroreboard.demo.service.subscription;
+
+/**
+ * Behaviour of publisher when buffer of subscriber is full.
+ */
+public enum SlowSubscriberPolicy {
+    /**
+     * Buffered deltas are discarded and subscriber receives scoreboard snapshot instead, publisher is never blocked.
+     */
+    DROP_TO_SNAPSHOT,
+    /**
+     * Publishing mutation waits until subscriber frees space in its buffer, so every delta is delivered.
+     * Mutation is already applied and releases registrar locks before it waits, so reads aren't blocked,
+     * but every mutation of registrar doesn't return until subscriber requests more deltas, and subscriber
+     * mutating registrar from its {@code onNext} never returns once its buffer is full.
+     */
+    BLOCK
+}
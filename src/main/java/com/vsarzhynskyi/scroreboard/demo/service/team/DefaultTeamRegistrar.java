@@ -7,28 +7,34 @@ import com.vsarzhynskyi.scroreboard.demo.model.Team;
 import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.regex.Pattern;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Objects.isNull;
 
+/**
+ * Team lookups are lock-free reads of concurrent maps, while mutations are serialized by write lock,
+ * so check for already registered name and update of both mappings are atomic for writers.
+ */
 public class DefaultTeamRegistrar implements TeamRegistrar {
 
-    private static final String VALID_TEAM_NAME_PATTERN = "[a-zA-Z0-9\\- ]+";
+    // names are validated in parallel only for bulk registration large enough to amortize fork-join overhead
+    private static final int PARALLEL_VALIDATION_THRESHOLD = 10_000;
 
     private final IdGenerator teamIdGenerator;
 
     private final Map<Integer, Team> teamIdToTeamMapping;
     private final Map<String, Team> teamNameToIdMapping;
-    private final ReadWriteLock readWriteLock;
+    private final Lock writeLock;
 
     public DefaultTeamRegistrar(IdGenerator teamIdGenerator) {
         this.teamIdGenerator = teamIdGenerator;
-        this.readWriteLock = new ReentrantReadWriteLock();
+        this.writeLock = new ReentrantLock();
 
         teamIdToTeamMapping = new ConcurrentHashMap<>();
         teamNameToIdMapping = new ConcurrentHashMap<>();
@@ -37,21 +43,56 @@ public class DefaultTeamRegistrar implements TeamRegistrar {
     @Override
     public Team registerTeam(String teamName) {
         verifyTeamNameValid(teamName);
-        var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
             if (teamNameToIdMapping.containsKey(teamName)) {
                 throw new TeamAlreadyRegisteredException(teamName);
             }
+            return addTeam(teamName);
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
-            var teamId = teamIdGenerator.nextId();
-            var team = Team.builder()
-                    .id(teamId)
-                    .name(teamName)
-                    .build();
-            teamIdToTeamMapping.put(teamId, team);
-            teamNameToIdMapping.put(teamName, team);
-            return team;
+    /**
+     * Registers all teams or none of them: names are validated before acquiring write lock, in parallel for large batches,
+     * and all teams are inserted under single write lock acquisition.
+     */
+    @Override
+    public List<Team> registerTeams(Collection<String> teamNames) {
+        var teamNamesStream = teamNames.size() >= PARALLEL_VALIDATION_THRESHOLD ? teamNames.parallelStream() : teamNames.stream();
+        if (teamNamesStream.anyMatch(teamName -> !isTeamNameValid(teamName))) {
+            // rescanned sequentially to report the first invalid name in collection order
+            teamNames.forEach(DefaultTeamRegistrar::verifyTeamNameValid);
+        }
+
+        var registeredTeams = new ArrayList<Team>(teamNames.size());
+        writeLock.lock();
+        try {
+            var uniqueTeamNames = new HashSet<String>(teamNames.size() * 2);
+            for (var teamName : teamNames) {
+                if (!uniqueTeamNames.add(teamName) || teamNameToIdMapping.containsKey(teamName)) {
+                    throw new TeamAlreadyRegisteredException(teamName);
+                }
+            }
+            for (var teamName : teamNames) {
+                registeredTeams.add(addTeam(teamName));
+            }
+            return registeredTeams;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Restores team with already assigned ID, bypassing name verification, e.g. on journal replay or snapshot load.
+     */
+    public void restoreTeam(Team team) {
+        writeLock.lock();
+        try {
+            teamIdGenerator.advanceTo(team.getId());
+            teamIdToTeamMapping.put(team.getId(), team);
+            teamNameToIdMapping.put(team.getName(), team);
         } finally {
             writeLock.unlock();
         }
@@ -59,7 +100,6 @@ public class DefaultTeamRegistrar implements TeamRegistrar {
 
     @Override
     public void unregisterTeam(String teamName) {
-        var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
             if (!teamNameToIdMapping.containsKey(teamName)) {
@@ -74,7 +114,6 @@ public class DefaultTeamRegistrar implements TeamRegistrar {
 
     @Override
     public void unregisterTeam(int teamId) {
-        var writeLock = readWriteLock.writeLock();
         writeLock.lock();
         try {
             if (!teamIdToTeamMapping.containsKey(teamId)) {
@@ -89,66 +128,74 @@ public class DefaultTeamRegistrar implements TeamRegistrar {
 
     @Override
     public boolean isTeamRegistered(String teamName) {
-        var readLock = readWriteLock.readLock();
-        readLock.lock();
-        var isRegistered = teamNameToIdMapping.containsKey(teamName);
-        readLock.unlock();
-        return isRegistered;
+        return teamNameToIdMapping.containsKey(teamName);
     }
 
     @Override
     public boolean isTeamRegistered(int teamId) {
-        var readLock = readWriteLock.readLock();
-        readLock.lock();
-        var isRegistered = teamIdToTeamMapping.containsKey(teamId);
-        readLock.unlock();
-        return isRegistered;
+        return teamIdToTeamMapping.containsKey(teamId);
     }
 
     @Override
     public Team getTeam(String teamName) {
-        var readLock = readWriteLock.readLock();
-        readLock.lock();
-        try {
-            var team = teamNameToIdMapping.get(teamName);
-            if (isNull(team)) {
-                throw new TeamNotRegisteredException(teamName);
-            }
-            return team;
-        } finally {
-            readLock.unlock();
+        var team = teamNameToIdMapping.get(teamName);
+        if (isNull(team)) {
+            throw new TeamNotRegisteredException(teamName);
         }
+        return team;
     }
 
     @Override
     public Team getTeam(int teamId) {
-        var readLock = readWriteLock.readLock();
-        readLock.lock();
-        try {
-            var team = teamIdToTeamMapping.get(teamId);
-            if (isNull(team)) {
-                throw new TeamNotRegisteredException(teamId);
-            }
-            return team;
-        } finally {
-            readLock.unlock();
+        var team = teamIdToTeamMapping.get(teamId);
+        if (isNull(team)) {
+            throw new TeamNotRegisteredException(teamId);
         }
+        return team;
     }
 
     @Override
     public List<Team> getAllTeams() {
-        var readLock = readWriteLock.readLock();
-        readLock.lock();
-        var allMatches = new ArrayList<>(teamIdToTeamMapping.values());
-        readLock.unlock();
-        return allMatches;
+        return new ArrayList<>(teamIdToTeamMapping.values());
     }
 
-    private void verifyTeamNameValid(String teamName) {
-        Pattern pattern = Pattern.compile(VALID_TEAM_NAME_PATTERN);
-        if (isNull(teamName) || teamName.isBlank() || !pattern.matcher(teamName).matches()) {
-            throw new TeamNameInvalidException (teamName);
+    private Team addTeam(String teamName) {
+        var teamId = teamIdGenerator.nextId();
+        var team = Team.builder()
+                .id(teamId)
+                .name(teamName)
+                .build();
+        teamIdToTeamMapping.put(teamId, team);
+        teamNameToIdMapping.put(teamName, team);
+        return team;
+    }
+
+    private static void verifyTeamNameValid(String teamName) {
+        if (!isTeamNameValid(teamName)) {
+            throw new TeamNameInvalidException(teamName);
+        }
+    }
+
+    /**
+     * Accepts non-blank names of latin letters, digits, hyphens and spaces, same as {@code [a-zA-Z0-9\- ]+} pattern without its matching overhead.
+     */
+    private static boolean isTeamNameValid(String teamName) {
+        if (isNull(teamName)) {
+            return false;
+        }
+        var isBlank = true;
+        for (int i = 0; i < teamName.length(); i++) {
+            var character = teamName.charAt(i);
+            if (character == ' ') {
+                continue;
+            }
+            if (!(character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z'
+                    || character >= '0' && character <= '9' || character == '-')) {
+                return false;
+            }
+            isBlank = false;
         }
+        return !isBlank;
     }
 
 }
@@ -2,11 +2,13 @@ package com.vsarzhynskyi.scroreboard.demo.service.team;
 
 import com.vsarzhynskyi.scroreboard.demo.model.Team;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TeamRegistrar {
 
     Team registerTeam(String teamName);
+    List<Team> registerTeams(Collection<String> teamNames);
     void unregisterTeam(String teamName);
     void unregisterTeam(int teamId);
     boolean isTeamRegistered(String teamName);
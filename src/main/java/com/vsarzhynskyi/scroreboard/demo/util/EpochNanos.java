@@ -0,0 +1,31 @@
+package com.vsarzhynskyi.scroreboard.demo.util;
+
+import java.time.Instant;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Conversions between {@link Instant} and primitive count of nanoseconds since epoch,
+ * where absent timestamp is represented by {@link #NO_TIMESTAMP}.
+ */
+public final class EpochNanos {
+
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private EpochNanos() {
+    }
+
+    public static long toEpochNanos(Instant instant) {
+        return isNull(instant) ? NO_TIMESTAMP : instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    public static Instant toInstant(long epochNanos) {
+        if (epochNanos == NO_TIMESTAMP) {
+            return null;
+        }
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND), Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+}
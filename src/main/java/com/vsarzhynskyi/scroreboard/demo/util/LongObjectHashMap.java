@@ -0,0 +1,158 @@
+package com.vsarzhynskyi.scroreboard.demo.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Open addressing (linear probing) map with primitive {@code long} keys, so lookups don't box keys.
+ * Mutations should be serialized by invoker, while lookups are safe to run concurrently with them without locking:
+ * key of slot is written once before its value is published, removed entries are marked with tombstone instead of shifting,
+ * and tombstoned slot is never reused for another key, so lookup can't pair value of one key with another key.
+ * Tombstones are dropped only by rehash into fresh table, which is published as a whole.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final VarHandle VALUES_HANDLE = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object TOMBSTONE = new Object();
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+
+    private volatile Table table;
+    private int size;
+    private int usedSlots;
+
+    public LongObjectHashMap(int expectedSize) {
+        table = new Table(tableCapacityFor(expectedSize));
+    }
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        var currentTable = table;
+        var mask = currentTable.keys.length - 1;
+        var index = indexFor(key, mask);
+        while (true) {
+            var value = VALUES_HANDLE.getAcquire(currentTable.values, index);
+            if (value == null) {
+                return null;
+            }
+            if (value != TOMBSTONE && currentTable.keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        requireNonNull(value);
+        var currentTable = table;
+        var mask = currentTable.keys.length - 1;
+        var index = indexFor(key, mask);
+        while (true) {
+            var existingValue = currentTable.values[index];
+            if (existingValue == null) {
+                break;
+            }
+            if (existingValue != TOMBSTONE && currentTable.keys[index] == key) {
+                VALUES_HANDLE.setRelease(currentTable.values, index, value);
+                return (V) existingValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        // key is published by release of value, so concurrent lookup reading the value reads this key
+        currentTable.keys[index] = key;
+        VALUES_HANDLE.setRelease(currentTable.values, index, value);
+        usedSlots++;
+        size++;
+        if (usedSlots > currentTable.keys.length * MAX_LOAD_FACTOR) {
+            rehash(tableCapacityFor(size));
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        var currentTable = table;
+        var mask = currentTable.keys.length - 1;
+        var index = indexFor(key, mask);
+        while (true) {
+            var existingValue = currentTable.values[index];
+            if (existingValue == null) {
+                return null;
+            }
+            if (existingValue != TOMBSTONE && currentTable.keys[index] == key) {
+                VALUES_HANDLE.setRelease(currentTable.values, index, TOMBSTONE);
+                size--;
+                return (V) existingValue;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> valueConsumer) {
+        var currentTable = table;
+        for (int i = 0; i < currentTable.values.length; i++) {
+            var value = VALUES_HANDLE.getAcquire(currentTable.values, i);
+            if (value != null && value != TOMBSTONE) {
+                valueConsumer.accept((V) value);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        var oldTable = table;
+        var newTable = new Table(capacity);
+        var mask = capacity - 1;
+        for (int i = 0; i < oldTable.keys.length; i++) {
+            var value = oldTable.values[i];
+            if (value != null && value != TOMBSTONE) {
+                var index = indexFor(oldTable.keys[i], mask);
+                while (newTable.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newTable.keys[index] = oldTable.keys[i];
+                newTable.values[index] = value;
+            }
+        }
+        usedSlots = size;
+        table = newTable;
+    }
+
+    private static int tableCapacityFor(int expectedSize) {
+        var minCapacity = (int) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD_FACTOR) + 1;
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(minCapacity - 1) << 1);
+    }
+
+    private static int indexFor(long key, int mask) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+}
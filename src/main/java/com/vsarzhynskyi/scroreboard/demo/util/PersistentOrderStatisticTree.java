@@ -0,0 +1,323 @@
+package com.vsarzhynskyi.scroreboard.demo.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable AVL tree of distinct elements augmented with subtree sizes, so rank of element and element at rank
+ * are found in {@code O(log n)}. Insertion and removal copy only the path from root and return new tree,
+ * previous tree stays valid and shares the rest of nodes, so any published tree is safe to read without locking.
+ */
+public final class PersistentOrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private final Node<T> root;
+
+    private PersistentOrderStatisticTree(Comparator<? super T> comparator, Node<T> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    public static <T> PersistentOrderStatisticTree<T> empty(Comparator<? super T> comparator) {
+        return new PersistentOrderStatisticTree<>(requireNonNull(comparator), null);
+    }
+
+    /**
+     * Returns tree with given element, element equal to it by comparator is replaced.
+     */
+    public PersistentOrderStatisticTree<T> insert(T element) {
+        requireNonNull(element);
+        return new PersistentOrderStatisticTree<>(comparator, insert(root, element));
+    }
+
+    /**
+     * Returns tree without element equal to given one by comparator, or this tree if there is no such element.
+     */
+    public PersistentOrderStatisticTree<T> remove(T element) {
+        var updatedRoot = remove(root, element);
+        return updatedRoot == root ? this : new PersistentOrderStatisticTree<>(comparator, updatedRoot);
+    }
+
+    public PersistentOrderStatisticTree<T> clear() {
+        return isEmpty() ? this : new PersistentOrderStatisticTree<>(comparator, null);
+    }
+
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return isNull(root);
+    }
+
+    /**
+     * Returns zero-based position of element in tree order, or {@code -1} if tree doesn't contain it.
+     */
+    public int rankOf(T element) {
+        var rank = 0;
+        var node = root;
+        while (node != null) {
+            var comparison = comparator.compare(element, node.element);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    public T get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException(rank);
+        }
+        var node = root;
+        while (true) {
+            var leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} elements in tree order starting from {@code fromRank},
+     * costs {@code O(log n + limit)} regardless of tree size.
+     */
+    public List<T> range(int fromRank, int limit) {
+        if (fromRank < 0 || limit < 0) {
+            throw new IllegalArgumentException("fromRank and limit should not be negative");
+        }
+        var elements = new ArrayList<T>(Math.max(0, Math.min(limit, size() - fromRank)));
+        forEachInRange(fromRank, limit, elements::add);
+        return elements;
+    }
+
+    public List<T> toList() {
+        return range(0, size());
+    }
+
+    /**
+     * Returns unmodifiable list view of this tree in tree order, which is created in {@code O(1)},
+     * finds element by index in {@code O(log n)} and iterates all elements in {@code O(n)}.
+     */
+    public List<T> asList() {
+        return new ListView();
+    }
+
+    public void forEach(Consumer<? super T> elementConsumer) {
+        forEachInRange(0, size(), elementConsumer);
+    }
+
+    private void forEachInRange(int fromRank, int limit, Consumer<? super T> elementConsumer) {
+        if (limit == 0 || fromRank >= size()) {
+            return;
+        }
+        // path of nodes which are still to be visited after their left subtree, bounded by AVL height
+        Node<T>[] pendingNodes = newNodeArray(height(root) + 1);
+        var pendingNodesCount = 0;
+        var node = root;
+        var rank = fromRank;
+        while (node != null) {
+            var leftSize = size(node.left);
+            if (rank < leftSize) {
+                pendingNodes[pendingNodesCount++] = node;
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                pendingNodes[pendingNodesCount++] = node;
+                node = null;
+            }
+        }
+
+        var remaining = limit;
+        while (pendingNodesCount > 0 && remaining > 0) {
+            node = pendingNodes[--pendingNodesCount];
+            elementConsumer.accept(node.element);
+            remaining--;
+            node = node.right;
+            while (node != null) {
+                pendingNodes[pendingNodesCount++] = node;
+                node = node.left;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    private Node<T> insert(Node<T> node, T element) {
+        if (node == null) {
+            return new Node<>(element, null, null);
+        }
+        var comparison = comparator.compare(element, node.element);
+        if (comparison < 0) {
+            return balance(node.element, insert(node.left, element), node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.element, node.left, insert(node.right, element));
+        }
+        return new Node<>(element, node.left, node.right);
+    }
+
+    private Node<T> remove(Node<T> node, T element) {
+        if (node == null) {
+            return null;
+        }
+        var comparison = comparator.compare(element, node.element);
+        if (comparison < 0) {
+            var left = remove(node.left, element);
+            return left == node.left ? node : balance(node.element, left, node.right);
+        }
+        if (comparison > 0) {
+            var right = remove(node.right, element);
+            return right == node.right ? node : balance(node.element, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        var successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.element, node.left, removeMin(node.right));
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.element, removeMin(node.left), node.right);
+    }
+
+    private static <T> Node<T> balance(T element, Node<T> left, Node<T> right) {
+        var leftHeight = height(left);
+        var rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.element, left.left, new Node<>(element, left.right, right));
+            }
+            return new Node<>(left.right.element,
+                    new Node<>(left.element, left.left, left.right.left),
+                    new Node<>(element, left.right.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.element, new Node<>(element, left, right.left), right.right);
+            }
+            return new Node<>(right.left.element,
+                    new Node<>(element, left, right.left.left),
+                    new Node<>(right.element, right.left.right, right.right));
+        }
+        return new Node<>(element, left, right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private final class ListView extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return PersistentOrderStatisticTree.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PersistentOrderStatisticTree.this.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new ElementsIterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> elementConsumer) {
+            PersistentOrderStatisticTree.this.forEach(elementConsumer);
+        }
+    }
+
+    private final class ElementsIterator implements Iterator<T> {
+
+        // nodes which are still to be visited after their left subtree, bounded by AVL height
+        private final Node<T>[] pendingNodes = newNodeArray(height(root) + 1);
+        private int pendingNodesCount;
+
+        private ElementsIterator() {
+            pushLeftPath(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pendingNodesCount > 0;
+        }
+
+        @Override
+        public T next() {
+            if (pendingNodesCount == 0) {
+                throw new NoSuchElementException();
+            }
+            var node = pendingNodes[--pendingNodesCount];
+            pushLeftPath(node.right);
+            return node.element;
+        }
+
+        private void pushLeftPath(Node<T> node) {
+            while (node != null) {
+                pendingNodes[pendingNodesCount++] = node;
+                node = node.left;
+            }
+        }
+    }
+
+    private static final class Node<T> {
+        private final T element;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final int size;
+        private final int height;
+
+        private Node(T element, Node<T> left, Node<T> right) {
+            this.element = element;
+            this.left = left;
+            this.right = right;
+            size = size(left) + size(right) + 1;
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+}
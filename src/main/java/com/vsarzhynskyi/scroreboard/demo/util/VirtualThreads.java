@@ -0,0 +1,30 @@
+package com.vsarzhynskyi.scroreboard.demo.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors running each task in own virtual thread when running on Java 21+, while library is still
+ * compiled for Java 17, so on older runtimes it falls back to cached pool of platform threads.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            return Executors.newCachedThreadPool();
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create virtual thread per task executor", e);
+        }
+    }
+
+}
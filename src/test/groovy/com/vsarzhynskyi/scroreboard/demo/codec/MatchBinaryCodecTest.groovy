@@ -0,0 +1,113 @@
+package com.vsarzhynskyi.scroreboard.demo.codec
+
+import com.vsarzhynskyi.scroreboard.demo.exception.TeamNotRegisteredException
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.Team
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.time.Instant
+
+class MatchBinaryCodecTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def matchBinaryCodec = new MatchBinaryCodec(teamRegistrar)
+    Team homeTeam
+    Team awayTeam
+
+    def setup() {
+        homeTeam = teamRegistrar.registerTeam('United Kingdom')
+        awayTeam = teamRegistrar.registerTeam('Poland')
+    }
+
+    @Unroll
+    def 'should encode and decode #matchStatus match'() {
+        given:
+        def match = MatchDetails.builder()
+                .matchId(matchId)
+                .homeTeam(homeTeam)
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(awayTeam)
+                .awayTeamScore(awayTeamScore)
+                .matchStatus(matchStatus)
+                .matchStartTimestamp(matchStartTimestamp)
+                .lastUpdatedTimestamp(lastUpdatedTimestamp)
+                .build()
+        def buffer = ByteBuffer.allocate(MatchBinaryCodec.maxEncodedSize(1))
+
+        when:
+        matchBinaryCodec.encode(match, buffer)
+        def decodedMatch = matchBinaryCodec.decode(buffer.flip())
+
+        then:
+        decodedMatch == match
+        !buffer.hasRemaining()
+
+        where:
+        matchId           | homeTeamScore     | awayTeamScore | matchStatus             | matchStartTimestamp                                | lastUpdatedTimestamp
+        1                 | 0                 | 0             | MatchStatus.REGISTERED  | null                                               | Instant.ofEpochMilli(FIXED_EPOCH_MILLI)
+        123               | 2                 | 1             | MatchStatus.IN_PROGRESS | Instant.ofEpochMilli(FIXED_EPOCH_MILLI)            | Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusNanos(7)
+        Integer.MAX_VALUE | Integer.MAX_VALUE | 300           | MatchStatus.FINISHED    | Instant.ofEpochSecond(-1000, 1)                    | Instant.ofEpochSecond(5000)
+        5                 | 0                 | 0             | MatchStatus.UNREGISTERED | null                                              | null
+    }
+
+    def 'should encode list of matches with timestamps delta from previous match'() {
+        given:
+        def startTimestamp = Instant.ofEpochMilli(FIXED_EPOCH_MILLI)
+        def matches = (1..100).collect {
+            MatchDetails.builder()
+                    .matchId(it)
+                    .homeTeam(homeTeam)
+                    .homeTeamScore(it % 7)
+                    .awayTeam(awayTeam)
+                    .awayTeamScore(it % 3)
+                    .matchStatus(MatchStatus.IN_PROGRESS)
+                    .matchStartTimestamp(startTimestamp.plusSeconds(it))
+                    .lastUpdatedTimestamp(startTimestamp.plusSeconds(it + 60))
+                    .build()
+        }
+        def buffer = ByteBuffer.allocate(MatchBinaryCodec.maxEncodedSize(matches.size()))
+
+        when:
+        matchBinaryCodec.encodeMatches(matches, buffer)
+        def encodedSize = buffer.position()
+        def decodedMatches = matchBinaryCodec.decodeMatches(buffer.flip())
+
+        then:
+        decodedMatches == matches
+        !buffer.hasRemaining()
+        encodedSize < matches.size() * 20
+    }
+
+    def 'should fail to decode match of not registered team'() {
+        given:
+        def buffer = ByteBuffer.allocate(MatchBinaryCodec.maxEncodedSize(1))
+        matchBinaryCodec.encode(MatchDetails.builder()
+                .matchId(1)
+                .homeTeam(new Team(100, 'Atlantis'))
+                .awayTeam(awayTeam)
+                .matchStatus(MatchStatus.REGISTERED)
+                .build(), buffer)
+
+        when:
+        matchBinaryCodec.decode(buffer.flip())
+
+        then:
+        thrown(TeamNotRegisteredException)
+    }
+
+    def 'should fail to decode malformed variable length integer'() {
+        when:
+        matchBinaryCodec.decode(ByteBuffer.wrap([0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01] as byte[]))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.vsarzhynskyi.scroreboard.demo.codec
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class ScoreboardBinaryCodecTest extends Specification {
+
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def scoreboardBinaryCodec = new ScoreboardBinaryCodec(teamRegistrar)
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil', 'Germany', 'France', 'Uruguay', 'Italy'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should encode and decode scoreboard snapshot'() {
+        given:
+        def scoreboardSummary = scoreboard(7, [[2, 'Spain', 10, 'Brazil', 2], [1, 'Mexico', 0, 'Canada', 5]])
+        def buffer = ByteBuffer.allocate(ScoreboardBinaryCodec.maxEncodedSize(2))
+
+        when:
+        scoreboardBinaryCodec.encodeSnapshot(scoreboardSummary, buffer)
+        def decodedScoreboardSummary = scoreboardBinaryCodec.decode(null, buffer.flip())
+
+        then:
+        decodedScoreboardSummary == scoreboardSummary
+        decodedScoreboardSummary.toString() == '1. Spain 10 - Brazil 2\n2. Mexico 0 - Canada 5'
+        !buffer.hasRemaining()
+    }
+
+    def 'should encode changed matches of scoreboard delta only'() {
+        given:
+        def baseScoreboardSummary = scoreboard(7, [
+                [2, 'Spain', 10, 'Brazil', 2],
+                [1, 'Mexico', 0, 'Canada', 5],
+                [3, 'Germany', 2, 'France', 2],
+                [4, 'Uruguay', 1, 'Italy', 1]])
+        def scoreboardSummary = scoreboard(9, [
+                [2, 'Spain', 10, 'Brazil', 2],
+                [4, 'Uruguay', 4, 'Italy', 3],
+                [1, 'Mexico', 0, 'Canada', 5],
+                [3, 'Germany', 2, 'France', 2]])
+        def buffer = ByteBuffer.allocate(ScoreboardBinaryCodec.maxEncodedSize(4))
+
+        when:
+        scoreboardBinaryCodec.encodeDelta(baseScoreboardSummary, scoreboardSummary, buffer)
+        def encodedSize = buffer.position()
+        def decodedScoreboardSummary = scoreboardBinaryCodec.decode(baseScoreboardSummary, buffer.flip())
+
+        then:
+        decodedScoreboardSummary == scoreboardSummary
+        decodedScoreboardSummary.matches[0].is(baseScoreboardSummary.matches[0])
+        encodedSize < 20
+    }
+
+    def 'should encode score update shifting all ranks in few bytes'() {
+        given:
+        def teams = ['Mexico', 'Canada', 'Spain', 'Brazil', 'Germany', 'France', 'Uruguay', 'Italy']
+        def rows = (1..100).collect { [it, teams[it % 4 * 2], 0, teams[it % 4 * 2 + 1], 0] }
+        def baseScoreboardSummary = scoreboard(100, rows)
+        def scoreboardSummary = scoreboard(101, [[100, 'Mexico', 1, 'Canada', 0]] + rows.subList(0, 99))
+        def buffer = ByteBuffer.allocate(ScoreboardBinaryCodec.maxEncodedSize(100))
+
+        when:
+        scoreboardBinaryCodec.encodeDelta(baseScoreboardSummary, scoreboardSummary, buffer)
+        def encodedSize = buffer.position()
+        def decodedScoreboardSummary = scoreboardBinaryCodec.decode(baseScoreboardSummary, buffer.flip())
+
+        then:
+        decodedScoreboardSummary == scoreboardSummary
+        encodedSize < 20
+    }
+
+    def 'should encode delta with new and removed matches'() {
+        given:
+        def baseScoreboardSummary = scoreboard(3, [[1, 'Mexico', 0, 'Canada', 5], [2, 'Spain', 0, 'Brazil', 0]])
+        def scoreboardSummary = scoreboard(5, [[3, 'Germany', 3, 'France', 3], [1, 'Mexico', 0, 'Canada', 5]])
+        def emptyScoreboardSummary = scoreboard(6, [])
+        def buffer = ByteBuffer.allocate(ScoreboardBinaryCodec.maxEncodedSize(2))
+
+        when:
+        scoreboardBinaryCodec.encodeDelta(baseScoreboardSummary, scoreboardSummary, buffer)
+        def decodedScoreboardSummary = scoreboardBinaryCodec.decode(baseScoreboardSummary, buffer.flip())
+
+        then:
+        decodedScoreboardSummary == scoreboardSummary
+
+        when:
+        scoreboardBinaryCodec.encodeDelta(scoreboardSummary, emptyScoreboardSummary, buffer.clear())
+        decodedScoreboardSummary = scoreboardBinaryCodec.decode(decodedScoreboardSummary, buffer.flip())
+
+        then:
+        decodedScoreboardSummary == emptyScoreboardSummary
+    }
+
+    def 'should fail to decode delta on top of scoreboard of other version'() {
+        given:
+        def baseScoreboardSummary = scoreboard(3, [[1, 'Mexico', 0, 'Canada', 5]])
+        def scoreboardSummary = scoreboard(4, [[1, 'Mexico', 1, 'Canada', 5]])
+        def buffer = ByteBuffer.allocate(ScoreboardBinaryCodec.maxEncodedSize(1))
+        scoreboardBinaryCodec.encodeDelta(baseScoreboardSummary, scoreboardSummary, buffer)
+
+        when:
+        scoreboardBinaryCodec.decode(scoreboard(2, []), buffer.flip())
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private MatchesScoreboardSummary scoreboard(long version, List<List> rows) {
+        def matches = rows.withIndex().collect { row, index ->
+            MatchScoreboardPresentation.builder()
+                    .matchId(row[0] as int)
+                    .matchScoreboardRank(index + 1)
+                    .homeTeam(teamRegistrar.getTeam(row[1] as String))
+                    .homeTeamScore(row[2] as int)
+                    .awayTeam(teamRegistrar.getTeam(row[3] as String))
+                    .awayTeamScore(row[4] as int)
+                    .build()
+        }
+        new MatchesScoreboardSummary(matches, version)
+    }
+
+}
@@ -2,6 +2,7 @@ package com.vsarzhynskyi.scroreboard.demo.functional
 
 import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
 import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode
 import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
 import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
 import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
@@ -79,4 +80,36 @@ class MultiThreadedFunctionalTest extends Specification {
         }
     }
 
+    def 'should update scores of different matches in parallel in per match concurrency mode'() {
+        given:
+        def threadPool = Executors.newFixedThreadPool(20)
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def clock = Clock.system(ZoneOffset.UTC)
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock, MatchConcurrencyMode.PER_MATCH)
+        def matchIds = (1..50).collect {
+            def homeTeam = teamRegistrar.registerTeam('Team' + it)
+            def awayTeam = teamRegistrar.registerTeam('Team' + (it + 50))
+            def matchId = matchRegistrar.registerMatch(homeTeam.getId(), awayTeam.getId()).getMatchId()
+            matchRegistrar.startMatch(matchId)
+            matchId
+        }
+
+        when:
+        def futures = matchIds.collect { matchId ->
+            threadPool.submit({
+                (1..100).each { score -> matchRegistrar.updateMatchScore(matchId, score, score - 1) }
+            })
+        }
+        futures.each { it.get() }
+
+        then:
+        matchRegistrar.getActiveMatches().size() == 50
+        matchRegistrar.getActiveMatches().each {
+            activeMatch -> assert activeMatch.getHomeTeamScore() == 100 && activeMatch.getAwayTeamScore() == 99
+        }
+
+        cleanup:
+        threadPool.shutdown()
+    }
+
 }
@@ -0,0 +1,143 @@
+package com.vsarzhynskyi.scroreboard.demo.server
+
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class ScoreboardHttpServerTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(new DefaultMatchRegistrar(
+            new MatchIdGenerator(), teamRegistrar, Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)))
+    def server = ScoreboardHttpServer.start(scoreboardAwareMatchRegistrar, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+    def httpClient = HttpClient.newHttpClient()
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil', 'United Kingdom', 'Poland'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def cleanup() {
+        server.close()
+    }
+
+    def 'should register, start, update and finish match'() {
+        when:
+        def registerResponse = send('POST', '/matches?homeTeam=United+Kingdom&awayTeam=Poland')
+
+        then:
+        registerResponse.statusCode() == 201
+        registerResponse.body() == 'matchId=1\nmatchStatus=REGISTERED\nhomeTeam=United Kingdom\nhomeTeamScore=0\nawayTeam=Poland\nawayTeamScore=0\n'
+
+        when:
+        def startResponse = send('POST', '/matches/1/start')
+        def updateResponse = send('POST', '/matches/1/score?homeTeamScore=2&awayTeamScore=1')
+
+        then:
+        startResponse.statusCode() == 200
+        startResponse.body().contains('matchStatus=IN_PROGRESS')
+        updateResponse.statusCode() == 200
+        updateResponse.body().contains('homeTeamScore=2\n')
+        send('GET', '/scoreboard').body() == '1. United Kingdom 2 - Poland 1'
+
+        when:
+        def finishResponse = send('POST', '/matches/1/finish')
+        def unregisterResponse = send('DELETE', '/matches/1')
+
+        then:
+        finishResponse.statusCode() == 200
+        finishResponse.body().contains('matchStatus=FINISHED')
+        unregisterResponse.statusCode() == 200
+        !scoreboardAwareMatchRegistrar.isMatchRegistered(1)
+        send('GET', '/scoreboard').body() == ''
+    }
+
+    def 'should answer not modified scoreboard by its version'() {
+        given:
+        def matchId1 = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').getMatchId()
+        def matchId2 = scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil').getMatchId()
+        scoreboardAwareMatchRegistrar.startMatch(matchId1)
+        scoreboardAwareMatchRegistrar.startMatch(matchId2)
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId2, 1, 0)
+
+        when:
+        def scoreboardResponse = send('GET', '/scoreboard')
+        def entityTag = scoreboardResponse.headers().firstValue('ETag').get()
+
+        then:
+        scoreboardResponse.statusCode() == 200
+        scoreboardResponse.body() == '1. Spain 1 - Brazil 0\n2. Mexico 0 - Canada 0'
+        entityTag == "\"${scoreboardAwareMatchRegistrar.getScoreboardVersion()}\"".toString()
+
+        when:
+        def notModifiedResponse = send('GET', '/scoreboard', ['If-None-Match': entityTag])
+        def notModifiedTopResponse = send('GET', '/scoreboard?top=1', ['If-None-Match': "\"0\", ${entityTag}".toString()])
+
+        then:
+        notModifiedResponse.statusCode() == 304
+        notModifiedResponse.body() == ''
+        notModifiedResponse.headers().firstValue('ETag').get() == entityTag
+        notModifiedTopResponse.statusCode() == 304
+
+        when:
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId1, 3, 0)
+        def modifiedResponse = send('GET', '/scoreboard', ['If-None-Match': entityTag])
+        def modifiedTopResponse = send('GET', '/scoreboard?top=1', ['If-None-Match': entityTag])
+
+        then:
+        modifiedResponse.statusCode() == 200
+        modifiedResponse.body() == '1. Mexico 3 - Canada 0\n2. Spain 1 - Brazil 0'
+        modifiedResponse.headers().firstValue('ETag').get() != entityTag
+        modifiedTopResponse.statusCode() == 200
+        modifiedTopResponse.body() == '1. Mexico 3 - Canada 0'
+    }
+
+    @Unroll
+    def 'should respond with #expectedStatusCode on #method #path'() {
+        given:
+        scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada')
+
+        expect:
+        send(method, path).statusCode() == expectedStatusCode
+
+        where:
+        method   | path                                            || expectedStatusCode
+        'POST'   | '/matches?homeTeam=Mexico&awayTeam=Canada'      || 409
+        'POST'   | '/matches?homeTeam=Mexico&awayTeam=Atlantis'    || 404
+        'POST'   | '/matches?homeTeam=Mexico'                      || 400
+        'POST'   | '/matches/2/start'                              || 404
+        'POST'   | '/matches/1/finish'                             || 409
+        'POST'   | '/matches/one/start'                            || 400
+        'POST'   | '/matches/1/score?homeTeamScore=1'              || 400
+        'POST'   | '/matches/1/restart'                            || 404
+        'GET'    | '/matches/1/start'                              || 405
+        'POST'   | '/scoreboard'                                   || 405
+        'GET'    | '/scoreboard?top=-1'                            || 400
+        'GET'    | '/scoreboards'                                  || 404
+    }
+
+    def 'should leave JVM-wide no delay property unchanged unless opted in'() {
+        expect:
+        System.getProperty('sun.net.httpserver.nodelay') == null
+    }
+
+    private HttpResponse<String> send(String method, String path, Map<String, String> headers = [:]) {
+        def requestBuilder = HttpRequest.newBuilder(URI.create("http://localhost:${server.address.port}${path}"))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+        headers.each { name, value -> requestBuilder.header(name, value) }
+        httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString())
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.vsarzhynskyi.scroreboard.demo.service.archive
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.Team
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.retention.FinishedMatchesEvictor
+import com.vsarzhynskyi.scroreboard.demo.service.retention.FinishedMatchesRetentionPolicy
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class MatchArchiveTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    @TempDir
+    Path archiveDirectory
+
+    def mexico = new Team(1, 'Mexico')
+    def canada = new Team(2, 'Canada')
+    def spain = new Team(3, 'Spain')
+    def brazil = new Team(4, 'Brazil')
+
+    def 'should return head-to-head matches of both teams across segments, the latest first'() {
+        given:
+        def archive = MatchArchive.open(archiveDirectory)
+        archive.archive([
+                finishedMatch(1, mexico, 2, canada, 1, 10),
+                finishedMatch(2, spain, 0, brazil, 0, 20),
+                finishedMatch(3, canada, 3, mexico, 3, 30)
+        ])
+        archive.archive([
+                finishedMatch(5, mexico, 1, canada, 0, 50),
+                finishedMatch(4, canada, 0, mexico, 4, 40)
+        ])
+
+        when:
+        def headToHeadMatches = archive.getHeadToHeadMatches(canada.id, mexico.id, 10)
+
+        then:
+        headToHeadMatches*.matchId == [5, 4, 3, 1]
+        headToHeadMatches[1] == finishedMatch(4, canada, 0, mexico, 4, 40)
+        archive.getHeadToHeadMatches(mexico.id, canada.id, 2)*.matchId == [5, 4]
+        archive.getHeadToHeadMatches(mexico.id, spain.id, 10).isEmpty()
+        archive.getHeadToHeadMatches(mexico.id, 42, 10).isEmpty()
+        archive.getSegmentsCount() == 2
+        archive.getMatchesCount() == 5
+    }
+
+    def 'should return matches of team, the latest first'() {
+        given:
+        def archive = MatchArchive.open(archiveDirectory)
+        archive.archive([
+                finishedMatch(1, mexico, 2, canada, 1, 10),
+                finishedMatch(2, spain, 0, brazil, 0, 20)
+        ])
+        archive.archive([finishedMatch(3, brazil, 1, canada, 2, 30)])
+        archive.archive([finishedMatch(4, mexico, 1, spain, 1, 40)])
+
+        expect:
+        archive.getTeamMatches(canada.id, 10)*.matchId == [3, 1]
+        archive.getTeamMatches(brazil.id, 10)*.matchId == [3, 2]
+        archive.getTeamMatches(mexico.id, 1)*.matchId == [4]
+        archive.getTeamMatches(42, 10).isEmpty()
+        archive.getTeamMatches(mexico.id, 0).isEmpty()
+    }
+
+    def 'should query archive reopened from directory'() {
+        given:
+        def archive = MatchArchive.open(archiveDirectory)
+        archive.archive([finishedMatch(1, mexico, 2, canada, 1, 10)])
+        archive.archive([finishedMatch(2, canada, 0, mexico, 0, 20)])
+        Files.write(archiveDirectory.resolve('segment-0000000003.seg.tmp'), [1, 2, 3] as byte[])
+
+        when:
+        def reopenedArchive = MatchArchive.open(archiveDirectory)
+        reopenedArchive.archive([finishedMatch(3, mexico, 5, canada, 0, 30)])
+
+        then:
+        reopenedArchive.getHeadToHeadMatches(mexico.id, canada.id, 10) == [
+                finishedMatch(3, mexico, 5, canada, 0, 30),
+                finishedMatch(2, canada, 0, mexico, 0, 20),
+                finishedMatch(1, mexico, 2, canada, 1, 10)
+        ]
+        reopenedArchive.getSegmentsCount() == 3
+        !Files.exists(archiveDirectory.resolve('segment-0000000003.seg.tmp'))
+    }
+
+    def 'should archive matches evicted from match registrar'() {
+        given:
+        def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock)
+        def archive = MatchArchive.open(archiveDirectory)
+        def evictor = new FinishedMatchesEvictor(matchRegistrar,
+                FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(0).build(), archive, clock, null)
+        teamRegistrar.registerTeam('Mexico')
+        teamRegistrar.registerTeam('Canada')
+        def matchId = matchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        matchRegistrar.startMatch(matchId)
+        matchRegistrar.updateMatchScore(matchId, 3, 2)
+        def finishedMatch = matchRegistrar.finishMatch(matchId)
+
+        when:
+        evictor.evictFinishedMatches()
+
+        then:
+        archive.getTeamMatches(finishedMatch.homeTeam.id, 10) == [finishedMatch]
+        matchRegistrar.getAllMatches().isEmpty()
+    }
+
+    def 'should reject archiving of not finished match'() {
+        given:
+        def archive = MatchArchive.open(archiveDirectory)
+
+        when:
+        archive.archive([finishedMatch(1, mexico, 0, canada, 0, 10).toBuilder().matchStatus(MatchStatus.IN_PROGRESS).build()])
+
+        then:
+        thrown(IllegalArgumentException)
+        archive.getSegmentsCount() == 0
+    }
+
+    def 'should fail open of corrupted segment'() {
+        given:
+        MatchArchive.open(archiveDirectory).archive([finishedMatch(1, mexico, 2, canada, 1, 10)])
+        def segmentPath = archiveDirectory.resolve('segment-0000000001.seg')
+        def segmentBytes = Files.readAllBytes(segmentPath)
+        segmentBytes[segmentBytes.length - 1] ^= (byte) 0x01
+        Files.write(segmentPath, segmentBytes)
+
+        when:
+        MatchArchive.open(archiveDirectory)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private static MatchDetails finishedMatch(int matchId, Team homeTeam, int homeTeamScore, Team awayTeam, int awayTeamScore,
+                                              long finishedSecond) {
+        MatchDetails.builder()
+                .matchId(matchId)
+                .homeTeam(homeTeam)
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(awayTeam)
+                .awayTeamScore(awayTeamScore)
+                .matchStatus(MatchStatus.FINISHED)
+                .matchStartTimestamp(Instant.ofEpochSecond(finishedSecond - 5))
+                .lastUpdatedTimestamp(Instant.ofEpochSecond(finishedSecond))
+                .build()
+    }
+
+}
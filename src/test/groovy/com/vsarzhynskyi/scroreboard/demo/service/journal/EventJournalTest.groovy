@@ -0,0 +1,398 @@
+package com.vsarzhynskyi.scroreboard.demo.service.journal
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.channels.FileLock
+import java.nio.channels.ReadableByteChannel
+import java.nio.channels.WritableByteChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class EventJournalTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    @TempDir
+    Path journalDirectory
+
+    def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+
+    @Unroll
+    def 'should restore registrars and ID generators by replaying journal written in #syncMode mode'() {
+        given:
+        def journalPath = journalDirectory.resolve('events.journal')
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock)
+        def eventJournal = EventJournal.open(journalPath, syncMode)
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(matchRegistrar, eventJournal)
+
+        when:
+        journalingTeamRegistrar.registerTeam('Mexico')
+        journalingTeamRegistrar.registerTeam('Canada')
+        journalingTeamRegistrar.registerTeam('Spain')
+        journalingTeamRegistrar.registerTeam('Brazil')
+        journalingTeamRegistrar.registerTeam('Germany')
+        journalingTeamRegistrar.unregisterTeam('Germany')
+        def match1 = journalingMatchRegistrar.registerMatch('Mexico', 'Canada')
+        def match2 = journalingMatchRegistrar.registerMatch('Spain', 'Brazil')
+        def match3 = journalingMatchRegistrar.registerMatch('Canada', 'Spain')
+        journalingMatchRegistrar.startMatch(match1.matchId)
+        journalingMatchRegistrar.applyUpdates([
+                MatchUpdate.updateScore(match1.matchId, 0, 5),
+                MatchUpdate.start(match2.matchId),
+                MatchUpdate.updateScore(match2.matchId, 10, 2),
+                MatchUpdate.finish(match3.matchId)
+        ])
+        journalingMatchRegistrar.finishMatch(match2.matchId)
+        journalingMatchRegistrar.unregisterMatch(match2.matchId)
+        eventJournal.close()
+
+        and:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock)
+        def reopenedEventJournal = EventJournal.open(journalPath, syncMode)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar)
+
+        then:
+        replayedRecordsCount == 15
+        restoredTeamRegistrar.getAllTeams() as Set == teamRegistrar.getAllTeams() as Set
+        restoredMatchRegistrar.getAllMatches() as Set == matchRegistrar.getAllMatches() as Set
+        restoredMatchRegistrar.getActiveMatches()*.homeTeamScore == [0]
+        restoredMatchRegistrar.getActiveMatches()*.awayTeamScore == [5]
+
+        and:
+        restoredTeamRegistrar.registerTeam('Germany').id == 6
+        restoredMatchRegistrar.registerMatch('Brazil', 'Mexico').matchId == 4
+
+        cleanup:
+        reopenedEventJournal?.close()
+
+        where:
+        syncMode << JournalSyncMode.values()
+    }
+
+    def 'should drop stale feed updates of match restored by replaying journal'() {
+        given:
+        def journalPath = journalDirectory.resolve('events.journal')
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock)
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(matchRegistrar, eventJournal)
+
+        when:
+        journalingTeamRegistrar.registerTeam('Mexico')
+        journalingTeamRegistrar.registerTeam('Canada')
+        def match = journalingMatchRegistrar.registerMatch('Mexico', 'Canada')
+        journalingMatchRegistrar.startMatch(match.matchId)
+        journalingMatchRegistrar.updateMatchScoreIfNewer(match.matchId, 7, 2, 1)
+        eventJournal.close()
+
+        and:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock)
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar)
+
+        then:
+        restoredMatchRegistrar.getAllMatches() == matchRegistrar.getAllMatches()
+        restoredMatchRegistrar.getAllMatches()*.feedSequence == [7L]
+        restoredMatchRegistrar.updateMatchScoreIfNewer(match.matchId, 6, 0, 0) == null
+        restoredMatchRegistrar.updateMatchScoreIfNewer(match.matchId, 7, 0, 0) == null
+        restoredMatchRegistrar.updateMatchScoreIfNewer(match.matchId, 8, 3, 1).homeTeamScore == 3
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should truncate torn tail of journal and replay only complete records'() {
+        given:
+        def journalPath = journalDirectory.resolve('events.journal')
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.GROUP_COMMIT)
+        def teamRegistrar = new JournalingTeamRegistrar(new DefaultTeamRegistrar(new TeamIdGenerator()), eventJournal)
+
+        when:
+        teamRegistrar.registerTeam('Mexico')
+        def completeRecordsSize = eventJournal.getDurablePosition()
+        teamRegistrar.registerTeam('Canada')
+        eventJournal.close()
+        FileChannel.open(journalPath, StandardOpenOption.WRITE).withCloseable { it.truncate(completeRecordsSize + 7) }
+
+        and:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock)
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.GROUP_COMMIT)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar)
+
+        then:
+        replayedRecordsCount == 1
+        restoredTeamRegistrar.getAllTeams()*.name == ['Mexico']
+        Files.size(journalPath) == completeRecordsSize
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should write records of failed write again before records appended after it'() {
+        given:
+        def journalPath = journalDirectory.resolve('events.journal')
+        def fileChannel = new FailingWriteFileChannel(FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        def eventJournal = new EventJournal(fileChannel, JournalSyncMode.GROUP_COMMIT, 0L)
+        def teamRegistrar = new JournalingTeamRegistrar(new DefaultTeamRegistrar(new TeamIdGenerator()), eventJournal)
+
+        when:
+        fileChannel.failNextWrite = true
+        teamRegistrar.registerTeam('Mexico')
+
+        then:
+        thrown(UncheckedIOException)
+        eventJournal.getDurablePosition() == 0
+
+        when:
+        teamRegistrar.registerTeam('Canada')
+        eventJournal.close()
+
+        and:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.GROUP_COMMIT)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar,
+                new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock))
+
+        then:
+        replayedRecordsCount == 2
+        restoredTeamRegistrar.getAllTeams()*.name == ['Mexico', 'Canada']
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should reject mutations once append failed after mutation was applied'() {
+        given:
+        def fileChannel = new FailingWriteFileChannel(FileChannel.open(journalDirectory.resolve('events.journal'),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        def eventJournal = new EventJournal(fileChannel, JournalSyncMode.BATCHED, 0L)
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock), eventJournal)
+        journalingTeamRegistrar.registerTeam('Mexico')
+        journalingTeamRegistrar.registerTeam('Canada')
+
+        when: 'buffer of journal is filled, so append of the last team has to flush it'
+        fileChannel.failNextWrite = true
+        (1..18).each { journalingTeamRegistrar.registerTeam('A' * 60000 + it) }
+
+        then:
+        thrown(UncheckedIOException)
+        teamRegistrar.isTeamRegistered('A' * 60000 + 18)
+
+        when:
+        journalingMatchRegistrar.registerMatch('Mexico', 'Canada')
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.cause instanceof UncheckedIOException
+        !journalingMatchRegistrar.isMatchRegistered('Mexico', 'Canada')
+
+        when:
+        journalingTeamRegistrar.registerTeam('Spain')
+
+        then:
+        thrown(IllegalStateException)
+        !teamRegistrar.isTeamRegistered('Spain')
+
+        cleanup:
+        eventJournal?.close()
+    }
+
+    def 'should reject team which name is too long to be journaled before registering it'() {
+        given:
+        def eventJournal = EventJournal.open(journalDirectory.resolve('events.journal'), JournalSyncMode.BATCHED)
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+
+        when:
+        journalingTeamRegistrar.registerTeams(['Mexico', 'A' * 70000])
+
+        then:
+        thrown(IllegalArgumentException)
+        teamRegistrar.getAllTeams().isEmpty()
+
+        when:
+        journalingTeamRegistrar.registerTeam('Canada')
+
+        then:
+        teamRegistrar.getAllTeams()*.name == ['Canada']
+
+        cleanup:
+        eventJournal?.close()
+    }
+
+    def 'should share mutation lock between journaling team and match registrars'() {
+        given:
+        def eventJournal = EventJournal.open(journalDirectory.resolve('events.journal'), JournalSyncMode.BATCHED)
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+
+        when:
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock), eventJournal)
+
+        then:
+        journalingTeamRegistrar.@journalLock.is(eventJournal.getMutationLock())
+        journalingMatchRegistrar.@journalLock.is(eventJournal.getMutationLock())
+
+        cleanup:
+        eventJournal?.close()
+    }
+
+    def 'should stop replay on record with corrupted checksum'() {
+        given:
+        def journalPath = journalDirectory.resolve('events.journal')
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def teamRegistrar = new JournalingTeamRegistrar(new DefaultTeamRegistrar(new TeamIdGenerator()), eventJournal)
+
+        when:
+        teamRegistrar.registerTeam('Mexico')
+        teamRegistrar.registerTeam('Canada')
+        eventJournal.close()
+        def journalBytes = Files.readAllBytes(journalPath)
+        journalBytes[journalBytes.length - 6] ^= (byte) 0x01
+        Files.write(journalPath, journalBytes)
+
+        and:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar,
+                new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock))
+
+        then:
+        replayedRecordsCount == 1
+        restoredTeamRegistrar.getAllTeams()*.name == ['Mexico']
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    /**
+     * Writes part of records and fails once when requested, otherwise delegates to file channel.
+     */
+    private static class FailingWriteFileChannel extends FileChannel {
+
+        private final FileChannel fileChannel
+        boolean failNextWrite
+
+        FailingWriteFileChannel(FileChannel fileChannel) {
+            this.fileChannel = fileChannel
+        }
+
+        @Override
+        int write(ByteBuffer src, long position) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false
+                fileChannel.write(src.slice(src.position(), src.remaining().intdiv(2) as int), position)
+                throw new IOException('no space left on device')
+            }
+            fileChannel.write(src, position)
+        }
+
+        @Override
+        int read(ByteBuffer dst, long position) throws IOException {
+            fileChannel.read(dst, position)
+        }
+
+        @Override
+        int read(ByteBuffer dst) throws IOException {
+            fileChannel.read(dst)
+        }
+
+        @Override
+        long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            fileChannel.read(dsts, offset, length)
+        }
+
+        @Override
+        int write(ByteBuffer src) throws IOException {
+            fileChannel.write(src)
+        }
+
+        @Override
+        long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            fileChannel.write(srcs, offset, length)
+        }
+
+        @Override
+        long position() throws IOException {
+            fileChannel.position()
+        }
+
+        @Override
+        FileChannel position(long newPosition) throws IOException {
+            fileChannel.position(newPosition)
+            this
+        }
+
+        @Override
+        long size() throws IOException {
+            fileChannel.size()
+        }
+
+        @Override
+        FileChannel truncate(long size) throws IOException {
+            fileChannel.truncate(size)
+            this
+        }
+
+        @Override
+        void force(boolean metaData) throws IOException {
+            fileChannel.force(metaData)
+        }
+
+        @Override
+        long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            fileChannel.transferTo(position, count, target)
+        }
+
+        @Override
+        long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            fileChannel.transferFrom(src, position, count)
+        }
+
+        @Override
+        MappedByteBuffer map(FileChannel.MapMode mode, long position, long size) throws IOException {
+            fileChannel.map(mode, position, size)
+        }
+
+        @Override
+        FileLock lock(long position, long size, boolean shared) throws IOException {
+            fileChannel.lock(position, size, shared)
+        }
+
+        @Override
+        FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            fileChannel.tryLock(position, size, shared)
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            fileChannel.close()
+        }
+
+    }
+
+}
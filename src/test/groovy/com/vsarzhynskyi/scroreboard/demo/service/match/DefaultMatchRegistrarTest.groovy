@@ -5,6 +5,7 @@ import com.vsarzhynskyi.scroreboard.demo.exception.MatchInvalidUpdateException
 import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException
 import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
 import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
 import com.vsarzhynskyi.scroreboard.demo.model.Team
 import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator
 import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar
@@ -14,6 +15,7 @@ import spock.lang.Unroll
 import java.time.Clock
 import java.time.Instant
 import java.time.ZoneOffset
+import java.util.concurrent.atomic.AtomicInteger
 
 class DefaultMatchRegistrarTest extends Specification {
 
@@ -346,6 +348,49 @@ class DefaultMatchRegistrarTest extends Specification {
         updatedMatch.getAwayTeamScore() == 5
     }
 
+    def 'should update active match score by match ID in per match concurrency mode'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock, MatchConcurrencyMode.PER_MATCH)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+
+        when:
+        matchRegistrar.registerMatch(TEAM_NAME_1, TEAM_NAME_2)
+        matchRegistrar.startMatch(MATCH_ID)
+
+        then:
+        1 * teamRegistrar.getTeam(TEAM_NAME_1) >> team1
+        1 * teamRegistrar.getTeam(TEAM_NAME_2) >> team2
+        1 * matchIdGenerator.nextId() >> MATCH_ID
+        0 * _
+
+        when:
+        def updatedMatch = matchRegistrar.updateMatchScore(MATCH_ID, 2, 3)
+
+        then:
+        0 * _
+
+        and:
+        updatedMatch.matchStatus == MatchStatus.IN_PROGRESS
+        updatedMatch.getHomeTeamScore() == 2
+        updatedMatch.getAwayTeamScore() == 3
+        matchRegistrar.getActiveMatches() == [updatedMatch]
+
+        when:
+        def finishedMatch = matchRegistrar.finishMatch(MATCH_ID)
+
+        then:
+        finishedMatch.matchStatus == MatchStatus.FINISHED
+        finishedMatch.getHomeTeamScore() == 2
+        finishedMatch.getAwayTeamScore() == 3
+
+        when:
+        matchRegistrar.updateMatchScore(MATCH_ID, 3, 3)
+
+        then:
+        thrown(MatchInvalidUpdateException)
+    }
+
     def 'should update active match score by match team ID'() {
         given:
         def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
@@ -466,6 +511,169 @@ class DefaultMatchRegistrarTest extends Specification {
         1             | -3
     }
 
+    @Unroll
+    def 'should drop stale and duplicated feed updates of match score in #concurrencyMode concurrency mode'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock, concurrencyMode)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+
+        when:
+        matchRegistrar.registerMatch(TEAM_NAME_1, TEAM_NAME_2)
+
+        then:
+        1 * teamRegistrar.getTeam(TEAM_NAME_1) >> team1
+        1 * teamRegistrar.getTeam(TEAM_NAME_2) >> team2
+        1 * matchIdGenerator.nextId() >> MATCH_ID
+        0 * _
+
+        when:
+        matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 1, 1, 0)
+
+        then:
+        thrown(MatchInvalidUpdateException)
+
+        when:
+        matchRegistrar.startMatch(MATCH_ID)
+        def updatedMatch = matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 2, 1, 0)
+        def duplicatedUpdateMatch = matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 2, 1, 0)
+        def staleUpdateMatch = matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 1, 0, 0)
+        def activeMatches = matchRegistrar.getActiveMatches()
+
+        then:
+        updatedMatch.homeTeamScore == 1
+        updatedMatch.awayTeamScore == 0
+        duplicatedUpdateMatch == null
+        staleUpdateMatch == null
+        activeMatches == [updatedMatch]
+        matchRegistrar.isFeedUpdateStale(MATCH_ID, 2)
+        !matchRegistrar.isFeedUpdateStale(MATCH_ID, 3)
+        !matchRegistrar.isFeedUpdateStale(MATCH_ID + 1, 2)
+
+        when:
+        def newerUpdateMatch = matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 4, 1, 1)
+
+        then:
+        newerUpdateMatch.homeTeamScore == 1
+        newerUpdateMatch.awayTeamScore == 1
+        !matchRegistrar.getActiveMatches().is(activeMatches)
+
+        when:
+        matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 5, -1, 1)
+
+        then:
+        thrown(MatchInvalidUpdateException)
+
+        when:
+        matchRegistrar.finishMatch(MATCH_ID)
+
+        then:
+        matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 3, 2, 1) == null
+
+        when:
+        matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 5, 2, 1)
+
+        then:
+        thrown(MatchInvalidUpdateException)
+
+        where:
+        concurrencyMode << MatchConcurrencyMode.values()
+    }
+
+    @Unroll
+    def 'should apply the newest of concurrent feed updates of match score in #concurrencyMode concurrency mode'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock, concurrencyMode)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+        teamRegistrar.getTeam(TEAM_NAME_1) >> team1
+        teamRegistrar.getTeam(TEAM_NAME_2) >> team2
+        def matchId = matchRegistrar.registerMatch(TEAM_NAME_1, TEAM_NAME_2).matchId
+        matchRegistrar.startMatch(matchId)
+        def feedUpdatesCount = 2000
+        def appliedUpdatesCount = new AtomicInteger()
+
+        when:
+        def feeds = (1..4).collect { feed ->
+            Thread.start {
+                def feedSequences = (1..feedUpdatesCount).toList()
+                Collections.shuffle(feedSequences, new Random(feed))
+                feedSequences.each { feedSequence ->
+                    if (matchRegistrar.updateMatchScoreIfNewer(matchId, feedSequence, feedSequence, 0) != null) {
+                        appliedUpdatesCount.incrementAndGet()
+                    }
+                }
+            }
+        }
+        feeds*.join()
+
+        then:
+        matchRegistrar.getActiveMatches()*.homeTeamScore == [feedUpdatesCount]
+        appliedUpdatesCount.get() <= feedUpdatesCount
+
+        where:
+        concurrencyMode << MatchConcurrencyMode.values()
+    }
+
+    def 'should publish concurrent score updates of distinct matches in per match concurrency mode'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock, MatchConcurrencyMode.PER_MATCH)
+        teamRegistrar.getTeam(_ as Integer) >> { int teamId -> new Team(teamId, "Team ${teamId}") }
+        def matchIds = (0..<8).collect { matchRegistrar.registerMatch(2 * it + 1, 2 * it + 2).matchId }
+        matchIds.each { matchRegistrar.startMatch(it) }
+        def scoreUpdatesCount = 1000
+
+        when:
+        matchIds.collect { matchId ->
+            Thread.start {
+                (1..scoreUpdatesCount).each { matchRegistrar.updateMatchScoreWithoutSnapshot(matchId, it, 0) }
+            }
+        }*.join()
+
+        then:
+        matchRegistrar.getActiveMatches()*.matchId == matchIds
+        matchRegistrar.getActiveMatches()*.homeTeamScore == [scoreUpdatesCount] * matchIds.size()
+        matchRegistrar.getAllMatches()*.homeTeamScore == [scoreUpdatesCount] * matchIds.size()
+    }
+
+    def 'should apply batch of updates and return result per each update'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+        def matchUpdates = [
+                MatchUpdate.start(MATCH_ID),
+                MatchUpdate.updateScore(MATCH_ID, 1, 0),
+                MatchUpdate.updateScore(MATCH_ID, 2, -1),
+                MatchUpdate.finish(456),
+                MatchUpdate.builder().matchId(MATCH_ID).build(),
+                MatchUpdate.updateScore(MATCH_ID, 2, 0)
+        ]
+
+        when:
+        matchRegistrar.registerMatch(TEAM_NAME_1, TEAM_NAME_2)
+        def matchUpdateResults = matchRegistrar.applyUpdates(matchUpdates)
+
+        then:
+        1 * teamRegistrar.getTeam(TEAM_NAME_1) >> team1
+        1 * teamRegistrar.getTeam(TEAM_NAME_2) >> team2
+        1 * matchIdGenerator.nextId() >> MATCH_ID
+        0 * _
+
+        and:
+        matchUpdateResults*.getMatchUpdate() == matchUpdates
+        matchUpdateResults*.isSucceeded() == [true, true, false, false, false, true]
+        matchUpdateResults[0].getMatchDetails().getMatchStatus() == MatchStatus.IN_PROGRESS
+        matchUpdateResults[1].getMatchDetails().getHomeTeamScore() == 1
+        matchUpdateResults[2].getFailure() instanceof MatchInvalidUpdateException
+        matchUpdateResults[3].getFailure() instanceof MatchNotRegisteredException
+        matchUpdateResults[4].getFailure() instanceof NullPointerException
+        matchUpdateResults[5].getMatchDetails().getHomeTeamScore() == 2
+
+        and:
+        matchRegistrar.getActiveMatches() == [matchUpdateResults[5].getMatchDetails()]
+    }
+
     def 'should finish active match by match ID'() {
         given:
         def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
@@ -792,6 +1000,56 @@ class DefaultMatchRegistrarTest extends Specification {
         activeMatches.get(0).matchId == MATCH_ID
     }
 
+    @Unroll
+    def 'should reuse published matches snapshots until any match changes in #concurrencyMode concurrency mode'() {
+        given:
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock, concurrencyMode)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+
+        when:
+        matchRegistrar.registerMatch(TEAM_ID_1, TEAM_ID_2)
+        matchRegistrar.startMatch(MATCH_ID)
+        def allMatches = matchRegistrar.getAllMatches()
+        def activeMatches = matchRegistrar.getActiveMatches()
+
+        then:
+        1 * teamRegistrar.getTeam(TEAM_ID_1) >> team1
+        1 * teamRegistrar.getTeam(TEAM_ID_2) >> team2
+        1 * matchIdGenerator.nextId() >> MATCH_ID
+        0 * _
+
+        and:
+        matchRegistrar.getAllMatches().is(allMatches)
+        matchRegistrar.getActiveMatches().is(activeMatches)
+        activeMatches*.homeTeamScore == [0]
+
+        when:
+        allMatches.clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        matchRegistrar.updateMatchScore(MATCH_ID, 2, 0)
+        activeMatches = matchRegistrar.getActiveMatches()
+
+        then:
+        !activeMatches.is(matchRegistrar.getAllMatches())
+        activeMatches*.homeTeamScore == [2]
+        matchRegistrar.getAllMatches()*.homeTeamScore == [2]
+
+        when:
+        matchRegistrar.finishMatch(MATCH_ID)
+
+        then:
+        matchRegistrar.getActiveMatches().isEmpty()
+        matchRegistrar.getAllMatches()*.matchStatus == [MatchStatus.FINISHED]
+
+        where:
+        concurrencyMode << MatchConcurrencyMode.values()
+    }
+
     def 'should verify whether match is registered by match ID'() {
         given:
         def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
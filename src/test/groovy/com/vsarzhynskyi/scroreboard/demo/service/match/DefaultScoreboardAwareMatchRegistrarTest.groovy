@@ -1,12 +1,31 @@
 package com.vsarzhynskyi.scroreboard.demo.service.match
 
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException
 import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
 import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDeltaType
 import com.vsarzhynskyi.scroreboard.demo.model.Team
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.ScoreboardSubscriptionOptions
+import com.vsarzhynskyi.scroreboard.demo.service.subscription.SlowSubscriberPolicy
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.time.Clock
+import java.time.Duration
 import java.time.Instant
+import java.time.ZoneOffset
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.Flow
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
 
 class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
 
@@ -80,6 +99,7 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
                 .build()
         def startedMatchDetails = registeredMatchDetails.toBuilder()
                 .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
                 .build()
 
         when:
@@ -89,7 +109,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         then:
         1 * matchRegistrar.registerMatch(TEAM_NAME_1, TEAM_NAME_2) >> registeredMatchDetails
         1 * matchRegistrar.startMatch(MATCH_ID) >> startedMatchDetails
-        1 * matchRegistrar.getActiveMatches() >> List.of(startedMatchDetails)
         0 * _
 
         and:
@@ -154,7 +173,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         1 * matchRegistrar.registerMatch(teamId3, teamId4) >> registeredMatchDetails2
         1 * matchRegistrar.startMatch(TEAM_NAME_1, TEAM_NAME_2) >> startedMatchDetails1
         1 * matchRegistrar.startMatch(teamId3, teamId4) >> startedMatchDetails2
-        2 * matchRegistrar.getActiveMatches() >> List.of(startedMatchDetails1, startedMatchDetails2)
         0 * _
 
         and:
@@ -187,6 +205,7 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
                 .awayTeam(team2)
                 .awayTeamScore(awayTeamScore)
                 .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
                 .build()
 
         when:
@@ -194,7 +213,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
 
         then:
         1 * matchRegistrar.updateMatchScore(MATCH_ID, homeTeamScore, awayTeamScore) >> matchDetails
-        1 * matchRegistrar.getActiveMatches() >> List.of(matchDetails)
         0 * _
 
         when:
@@ -215,6 +233,63 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         matchScoreboardPresentation.getAwayTeamScore() == 3
     }
 
+    def 'should update match by feed sequence and keep scoreboard on dropped stale update'() {
+        given:
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+        def matchDetails = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(team1)
+                .homeTeamScore(2)
+                .awayTeam(team2)
+                .awayTeamScore(3)
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+
+        when:
+        def updatedMatchDetails = scoreboardAwareMatchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 7, 2, 3)
+        def scoreboardVersion = scoreboardAwareMatchRegistrar.getScoreboardVersion()
+        def staleUpdateMatchDetails = scoreboardAwareMatchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 6, 0, 0)
+
+        then:
+        1 * matchRegistrar.isFeedUpdateStale(MATCH_ID, 7) >> false
+        1 * matchRegistrar.updateMatchScoreIfNewer(MATCH_ID, 7, 2, 3) >> matchDetails
+        1 * matchRegistrar.isFeedUpdateStale(MATCH_ID, 6) >> true
+        0 * _
+
+        and:
+        updatedMatchDetails == matchDetails
+        staleUpdateMatchDetails == null
+        scoreboardAwareMatchRegistrar.getScoreboardVersion() == scoreboardVersion
+        scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. United Kingdom 2 - Poland 3'
+    }
+
+    def 'should update scores of distinct matches in underlying registrar concurrently'() {
+        given: 'underlying registrar is hand written, as invocations of mocks are serialized'
+        def blockedMatch = inProgressMatch(MATCH_ID, new Team(TEAM_ID_1, TEAM_NAME_1), new Team(TEAM_ID_2, TEAM_NAME_2), 1, 0)
+        def otherMatch = inProgressMatch(MATCH_ID + 1, new Team(3, 'Spain'), new Team(4, 'Brazil'), 2, 0)
+        def underlyingMatchRegistrar = new BlockingScoreUpdateMatchRegistrar(matchRegistrar, blockedMatch, otherMatch)
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(underlyingMatchRegistrar)
+
+        when:
+        def blockedUpdate = Thread.start { scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID, 1, 0) }
+        underlyingMatchRegistrar.blockedUpdateStarted.await()
+        def otherUpdatedMatch = scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID + 1, 2, 0)
+
+        then:
+        otherUpdatedMatch == otherMatch
+        scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Spain 2 - Brazil 0'
+
+        when:
+        underlyingMatchRegistrar.blockedUpdateReleased.countDown()
+        blockedUpdate.join()
+
+        then:
+        scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Spain 2 - Brazil 0\n2. United Kingdom 1 - Poland 0'
+    }
+
     def 'should update match by team IDs and team names and in result scoreboard updated'() {
         given:
         def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
@@ -230,6 +305,7 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
                 .awayTeam(team2)
                 .awayTeamScore(awayTeamScore1)
                 .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
                 .build()
         def matchDetails2 = MatchDetails.builder()
                 .matchId(MATCH_ID)
@@ -238,6 +314,7 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
                 .awayTeam(team2)
                 .awayTeamScore(awayTeamScore2)
                 .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
                 .build()
 
         when:
@@ -247,8 +324,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         then:
         1 * matchRegistrar.updateMatchScore(TEAM_ID_1, homeTeamScore, TEAM_ID_2, awayTeamScore1) >> matchDetails1
         1 * matchRegistrar.updateMatchScore(TEAM_NAME_1, homeTeamScore, TEAM_NAME_2, awayTeamScore2) >> matchDetails2
-        1 * matchRegistrar.getActiveMatches() >> List.of(matchDetails1)
-        1 * matchRegistrar.getActiveMatches() >> List.of(matchDetails2)
         0 * _
 
         and:
@@ -283,7 +358,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
 
         then:
         1 * matchRegistrar.finishMatch(MATCH_ID) >> matchDetails
-        1 * matchRegistrar.getActiveMatches() >> List.of()
         0 * _
 
         and:
@@ -318,7 +392,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         then:
         1 * matchRegistrar.finishMatch(TEAM_ID_1, TEAM_ID_2) >> matchDetails
         1 * matchRegistrar.finishMatch(TEAM_NAME_1, TEAM_NAME_2) >> matchDetails
-        2 * matchRegistrar.getActiveMatches() >> List.of()
         0 * _
 
         and:
@@ -496,8 +569,6 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
         def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
         def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
-        def homeTeamScore = 2
-        def awayTeamScore = 3
         def matchDetails1 = MatchDetails.builder()
                 .matchId(126)
                 .homeTeam(team1)
@@ -527,11 +598,14 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
                 .build()
 
         when:
-        scoreboardAwareMatchRegistrar.updateMatchScore(126, homeTeamScore, awayTeamScore)
+        scoreboardAwareMatchRegistrar.updateMatchScore(126, 2, 3)
+        scoreboardAwareMatchRegistrar.updateMatchScore(128, 5, 3)
+        scoreboardAwareMatchRegistrar.updateMatchScore(129, 2, 3)
 
         then:
-        1 * matchRegistrar.updateMatchScore(126, homeTeamScore, awayTeamScore)
-        1 * matchRegistrar.getActiveMatches() >> [matchDetails1, matchDetails2, matchDetails3]
+        1 * matchRegistrar.updateMatchScore(126, 2, 3) >> matchDetails1
+        1 * matchRegistrar.updateMatchScore(128, 5, 3) >> matchDetails2
+        1 * matchRegistrar.updateMatchScore(129, 2, 3) >> matchDetails3
         0 * _
 
         when:
@@ -550,4 +624,366 @@ class DefaultScoreboardAwareMatchRegistrarTest extends Specification {
         scoreboardSummary.toString() == '1. United Kingdom 5 - Poland 3\n2. United Kingdom 2 - Poland 3\n3. United Kingdom 2 - Poland 3'
     }
 
+    def 'should keep scoreboard order on score updates and remove finished matches'() {
+        given:
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def team1 = new Team(TEAM_ID_1, TEAM_NAME_1)
+        def team2 = new Team(TEAM_ID_2, TEAM_NAME_2)
+        def team3 = new Team(7, 'Canada')
+        def team4 = new Team(8, 'Netherlands')
+        def startedMatchDetails1 = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(team1)
+                .awayTeam(team2)
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+        def startedMatchDetails2 = MatchDetails.builder()
+                .matchId(189)
+                .homeTeam(team3)
+                .awayTeam(team4)
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+        def updatedMatchDetails1 = startedMatchDetails1.toBuilder()
+                .homeTeamScore(1)
+                .build()
+        def finishedMatchDetails1 = updatedMatchDetails1.toBuilder()
+                .matchStatus(MatchStatus.FINISHED)
+                .build()
+
+        when:
+        scoreboardAwareMatchRegistrar.startMatch(MATCH_ID)
+        scoreboardAwareMatchRegistrar.startMatch(189)
+        def scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.startMatch(MATCH_ID) >> startedMatchDetails1
+        1 * matchRegistrar.startMatch(189) >> startedMatchDetails2
+        0 * _
+
+        and:
+        scoreboardSummary.getMatches()*.getMatchId() == [189, MATCH_ID]
+
+        when:
+        scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID, 1, 0)
+        scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.updateMatchScore(MATCH_ID, 1, 0) >> updatedMatchDetails1
+        0 * _
+
+        and:
+        scoreboardSummary.getMatches()*.getMatchId() == [MATCH_ID, 189]
+        scoreboardSummary.getMatches()*.getMatchScoreboardRank() == [1, 2]
+
+        when:
+        scoreboardAwareMatchRegistrar.finishMatch(MATCH_ID)
+        scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.finishMatch(MATCH_ID) >> finishedMatchDetails1
+        0 * _
+
+        and:
+        scoreboardSummary.getMatches()*.getMatchId() == [189]
+        scoreboardSummary.getMatches()*.getMatchScoreboardRank() == [1]
+    }
+
+    def 'should apply batch of updates and in result scoreboard updated once'() {
+        given:
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def startedMatchDetails = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(new Team(TEAM_ID_1, TEAM_NAME_1))
+                .awayTeam(new Team(TEAM_ID_2, TEAM_NAME_2))
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+        def updatedMatchDetails = startedMatchDetails.toBuilder()
+                .awayTeamScore(1)
+                .build()
+        def matchUpdates = [MatchUpdate.start(MATCH_ID), MatchUpdate.updateScore(MATCH_ID, 0, 1), MatchUpdate.finish(456)]
+        def matchUpdateResults = [
+                MatchUpdateResult.succeeded(matchUpdates[0], startedMatchDetails),
+                MatchUpdateResult.succeeded(matchUpdates[1], updatedMatchDetails),
+                MatchUpdateResult.failed(matchUpdates[2], new MatchNotRegisteredException(456))
+        ]
+
+        when:
+        def resultMatchUpdateResults = scoreboardAwareMatchRegistrar.applyUpdates(matchUpdates)
+        def scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.applyUpdates(matchUpdates) >> matchUpdateResults
+        0 * _
+
+        and:
+        resultMatchUpdateResults == matchUpdateResults
+        scoreboardSummary.toString() == '1. United Kingdom 0 - Poland 1'
+    }
+
+    def 'should coalesce scoreboard recompute of multiple updates into single scheduled publish'() {
+        given:
+        def scoreboardRecomputeScheduler = Mock(ScheduledExecutorService)
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar,
+                new DefaultScoreboardMatchComparator(), Duration.ofMillis(50), scoreboardRecomputeScheduler)
+        def startedMatchDetails = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(new Team(TEAM_ID_1, TEAM_NAME_1))
+                .awayTeam(new Team(TEAM_ID_2, TEAM_NAME_2))
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+        def updatedMatchDetails = startedMatchDetails.toBuilder()
+                .homeTeamScore(1)
+                .build()
+        Runnable scheduledRecompute = null
+
+        when:
+        scoreboardAwareMatchRegistrar.startMatch(MATCH_ID)
+        scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID, 1, 0)
+        def staleScoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.startMatch(MATCH_ID) >> startedMatchDetails
+        1 * matchRegistrar.updateMatchScore(MATCH_ID, 1, 0) >> updatedMatchDetails
+        1 * scoreboardRecomputeScheduler.schedule(_ as Runnable, 50_000_000L, TimeUnit.NANOSECONDS) >> { args ->
+            scheduledRecompute = args[0]
+            Mock(ScheduledFuture)
+        }
+        0 * _
+
+        and:
+        staleScoreboardSummary.getMatches().isEmpty()
+
+        when:
+        scheduledRecompute.run()
+        def publishedScoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        0 * _
+
+        and:
+        publishedScoreboardSummary.toString() == '1. United Kingdom 1 - Poland 0'
+    }
+
+    def 'should get fresh scoreboard summary before scheduled publish'() {
+        given:
+        def scoreboardRecomputeScheduler = Mock(ScheduledExecutorService)
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar,
+                new DefaultScoreboardMatchComparator(), Duration.ofMillis(50), scoreboardRecomputeScheduler)
+        def startedMatchDetails = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(new Team(TEAM_ID_1, TEAM_NAME_1))
+                .awayTeam(new Team(TEAM_ID_2, TEAM_NAME_2))
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+
+        when:
+        scoreboardAwareMatchRegistrar.startMatch(MATCH_ID)
+        def freshScoreboardSummary = scoreboardAwareMatchRegistrar.getFreshMatchesScoreboardSummary()
+        def scoreboardSummary = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        then:
+        1 * matchRegistrar.startMatch(MATCH_ID) >> startedMatchDetails
+        1 * scoreboardRecomputeScheduler.schedule(_ as Runnable, 50_000_000L, TimeUnit.NANOSECONDS) >> Mock(ScheduledFuture)
+        0 * _
+
+        and:
+        freshScoreboardSummary.toString() == '1. United Kingdom 0 - Poland 0'
+        scoreboardSummary.is(freshScoreboardSummary)
+    }
+
+    def 'should publish scoreboard deltas computed on mutations to subscriber'() {
+        given:
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def team3 = new Team(3, 'Spain')
+        def team4 = new Team(4, 'Brazil')
+        def startedMatchDetails1 = MatchDetails.builder()
+                .matchId(MATCH_ID)
+                .homeTeam(new Team(TEAM_ID_1, TEAM_NAME_1))
+                .awayTeam(new Team(TEAM_ID_2, TEAM_NAME_2))
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+        def startedMatchDetails2 = MatchDetails.builder()
+                .matchId(456)
+                .homeTeam(team3)
+                .awayTeam(team4)
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI + 1))
+                .build()
+        def deltas = []
+        def subscriber = Stub(Flow.Subscriber) {
+            onSubscribe(_) >> { Flow.Subscription subscription -> subscription.request(Long.MAX_VALUE) }
+            onNext(_) >> { ScoreboardDelta delta -> deltas << delta }
+        }
+
+        when:
+        scoreboardAwareMatchRegistrar.subscribe(subscriber, ScoreboardSubscriptionOptions.builder()
+                .deliveryExecutor({ it.run() } as Executor)
+                .build())
+        scoreboardAwareMatchRegistrar.startMatch(MATCH_ID)
+        scoreboardAwareMatchRegistrar.startMatch(456)
+        scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID, 1, 0)
+        scoreboardAwareMatchRegistrar.updateMatchScore(MATCH_ID, 2, 0)
+        scoreboardAwareMatchRegistrar.finishMatch(456)
+
+        then:
+        1 * matchRegistrar.startMatch(MATCH_ID) >> startedMatchDetails1
+        1 * matchRegistrar.startMatch(456) >> startedMatchDetails2
+        1 * matchRegistrar.updateMatchScore(MATCH_ID, 1, 0) >> startedMatchDetails1.toBuilder().homeTeamScore(1).build()
+        1 * matchRegistrar.updateMatchScore(MATCH_ID, 2, 0) >> startedMatchDetails1.toBuilder().homeTeamScore(2).build()
+        1 * matchRegistrar.finishMatch(456) >> startedMatchDetails2.toBuilder().matchStatus(MatchStatus.FINISHED).build()
+        0 * _
+
+        and:
+        deltas*.deltaType == [ScoreboardDeltaType.SNAPSHOT, ScoreboardDeltaType.INSERTED, ScoreboardDeltaType.INSERTED,
+                              ScoreboardDeltaType.MOVED, ScoreboardDeltaType.SCORE_CHANGED, ScoreboardDeltaType.REMOVED]
+        deltas*.scoreboardVersion == [0L, 1L, 2L, 3L, 4L, 5L]
+        deltas*.previousRank == [0, 0, 0, 2, 1, 2]
+        deltas*.rank == [0, 1, 1, 1, 1, 0]
+        deltas[4].match.toString() == '1. United Kingdom 2 - Poland 0'
+        deltas[5].matchId == 456
+        deltas[5].match == null
+    }
+
+    def 'should not block reads while mutation waits for non-requesting subscriber with block policy'() {
+        given:
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { teamRegistrar.registerTeam(it) }
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(new DefaultMatchRegistrar(
+                new MatchIdGenerator(), teamRegistrar, Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)))
+        def matchId1 = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        def matchId2 = scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil').matchId
+        def deliveryExecutor = Executors.newSingleThreadExecutor()
+        def subscriber = new NonRequestingSubscriber()
+        scoreboardAwareMatchRegistrar.subscribe(subscriber, ScoreboardSubscriptionOptions.builder()
+                .deliveryExecutor(deliveryExecutor)
+                .maxBufferedDeltas(1)
+                .slowSubscriberPolicy(SlowSubscriberPolicy.BLOCK)
+                .build())
+        scoreboardAwareMatchRegistrar.startMatch(matchId1)
+        def blockedMutationReturned = new CountDownLatch(1)
+
+        when: 'buffer of subscriber is full, so the next mutation waits for subscriber'
+        Thread.start {
+            scoreboardAwareMatchRegistrar.startMatch(matchId2)
+            blockedMutationReturned.countDown()
+        }
+
+        then:
+        !blockedMutationReturned.await(200, TimeUnit.MILLISECONDS)
+
+        and: 'mutation is applied and released locks, so registrar is readable'
+        scoreboardAwareMatchRegistrar.getActiveMatches()*.matchId.toSet() == [matchId1, matchId2].toSet()
+        scoreboardAwareMatchRegistrar.getFreshMatchesScoreboardSummary().matches*.matchId == [matchId2, matchId1]
+        scoreboardAwareMatchRegistrar.isMatchRegistered('Spain', 'Brazil')
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        blockedMutationReturned.await(5, TimeUnit.SECONDS)
+
+        cleanup:
+        deliveryExecutor.shutdownNow()
+    }
+
+    def 'should get top matches and scoreboard page without building whole summary'() {
+        given:
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def startedMatches = (1..5).collect { matchId ->
+            MatchDetails.builder()
+                    .matchId(matchId)
+                    .homeTeam(new Team(matchId * 2, "Home Team $matchId"))
+                    .homeTeamScore(matchId)
+                    .awayTeam(new Team(matchId * 2 + 1, "Away Team $matchId"))
+                    .matchStatus(MatchStatus.IN_PROGRESS)
+                    .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                    .build()
+        }
+
+        when:
+        startedMatches.each { scoreboardAwareMatchRegistrar.startMatch(it.matchId) }
+        def topMatches = scoreboardAwareMatchRegistrar.getTopMatches(2)
+        def scoreboardPage = scoreboardAwareMatchRegistrar.getScoreboardPage(3, 20)
+
+        then:
+        startedMatches.each { startedMatch -> 1 * matchRegistrar.startMatch(startedMatch.matchId) >> startedMatch }
+        0 * _
+
+        and:
+        topMatches*.toString() == ['1. Home Team 5 5 - Away Team 5 0', '2. Home Team 4 4 - Away Team 4 0']
+        scoreboardPage.matches*.matchId == [2, 1]
+        scoreboardPage.matches*.matchScoreboardRank == [4, 5]
+        scoreboardPage.offset == 3
+        scoreboardPage.totalMatchesCount == 5
+        scoreboardPage.version == 5
+        scoreboardAwareMatchRegistrar.getScoreboardPage(5, 20).matches.isEmpty()
+    }
+
+    private static MatchDetails inProgressMatch(int matchId, Team homeTeam, Team awayTeam, int homeTeamScore, int awayTeamScore) {
+        MatchDetails.builder()
+                .matchId(matchId)
+                .homeTeam(homeTeam)
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(awayTeam)
+                .awayTeamScore(awayTeamScore)
+                .matchStatus(MatchStatus.IN_PROGRESS)
+                .matchStartTimestamp(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+                .build()
+    }
+
+    private static class NonRequestingSubscriber implements Flow.Subscriber<ScoreboardDelta> {
+
+        volatile Flow.Subscription subscription
+
+        @Override
+        void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        @Override
+        void onNext(ScoreboardDelta delta) {
+        }
+
+        @Override
+        void onError(Throwable error) {
+        }
+
+        @Override
+        void onComplete() {
+        }
+    }
+
+    private static class BlockingScoreUpdateMatchRegistrar implements MatchRegistrar {
+
+        @Delegate
+        private final MatchRegistrar matchRegistrar
+        private final MatchDetails blockedMatch
+        private final MatchDetails otherMatch
+        final blockedUpdateStarted = new CountDownLatch(1)
+        final blockedUpdateReleased = new CountDownLatch(1)
+
+        BlockingScoreUpdateMatchRegistrar(MatchRegistrar matchRegistrar, MatchDetails blockedMatch, MatchDetails otherMatch) {
+            this.matchRegistrar = matchRegistrar
+            this.blockedMatch = blockedMatch
+            this.otherMatch = otherMatch
+        }
+
+        @Override
+        MatchDetails updateMatchScore(int matchId, int homeTeamScore, int awayTeamScore) {
+            if (matchId != blockedMatch.matchId) {
+                return otherMatch
+            }
+            blockedUpdateStarted.countDown()
+            blockedUpdateReleased.await()
+            blockedMatch
+        }
+
+    }
+
 }
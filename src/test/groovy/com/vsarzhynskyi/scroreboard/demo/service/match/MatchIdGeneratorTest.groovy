@@ -19,4 +19,16 @@ class MatchIdGeneratorTest extends Specification {
         id3 == 3
     }
 
+    def 'should generate identifiers after advanced position'() {
+        given:
+        def matchIdGenerator = new MatchIdGenerator()
+
+        when:
+        matchIdGenerator.advanceTo(10)
+        matchIdGenerator.advanceTo(7)
+
+        then:
+        matchIdGenerator.nextId() == 11
+    }
+
 }
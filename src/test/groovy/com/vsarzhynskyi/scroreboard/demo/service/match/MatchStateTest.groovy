@@ -0,0 +1,102 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.Team
+import spock.lang.Specification
+
+import java.time.Instant
+
+class MatchStateTest extends Specification {
+
+    private static final REGISTERED_EPOCH_NANOS = 14900000000_000_000L
+    private static final MATCH_ID = 123
+    private static final HOME_TEAM = new Team(1, 'United Kingdom')
+    private static final AWAY_TEAM = new Team(2, 'Poland')
+
+    def 'should build registered match snapshot and reuse it until next change'() {
+        given:
+        def matchState = new MatchState(MATCH_ID, HOME_TEAM, AWAY_TEAM, REGISTERED_EPOCH_NANOS)
+
+        when:
+        def snapshot1 = matchState.toMatchDetails()
+        def snapshot2 = matchState.toMatchDetails()
+
+        then:
+        snapshot1.is(snapshot2)
+        snapshot1.matchId == MATCH_ID
+        snapshot1.homeTeam == HOME_TEAM
+        snapshot1.awayTeam == AWAY_TEAM
+        snapshot1.matchStatus == MatchStatus.REGISTERED
+        snapshot1.matchStartTimestamp == null
+        snapshot1.lastUpdatedTimestamp == Instant.ofEpochMilli(14900000000L)
+
+        when:
+        matchState.changeStatus(EnumSet.of(MatchStatus.REGISTERED), MatchStatus.IN_PROGRESS, REGISTERED_EPOCH_NANOS + 5)
+        def startedSnapshot = matchState.toMatchDetails()
+
+        then:
+        !startedSnapshot.is(snapshot1)
+        startedSnapshot.matchStatus == MatchStatus.IN_PROGRESS
+        startedSnapshot.matchStartTimestamp == Instant.ofEpochSecond(14900000, 5)
+        matchState.version == 2
+    }
+
+    def 'should update score only for match in progress'() {
+        given:
+        def matchState = new MatchState(MATCH_ID, HOME_TEAM, AWAY_TEAM, REGISTERED_EPOCH_NANOS)
+
+        expect:
+        !matchState.updateScore(1, 0, REGISTERED_EPOCH_NANOS + 1)
+        matchState.version == 0
+
+        when:
+        matchState.changeStatus(EnumSet.of(MatchStatus.REGISTERED), MatchStatus.IN_PROGRESS, REGISTERED_EPOCH_NANOS + 1)
+        def isUpdated = matchState.updateScore(2, 1, REGISTERED_EPOCH_NANOS + 2)
+
+        then:
+        isUpdated
+        matchState.toMatchDetails().homeTeamScore == 2
+        matchState.toMatchDetails().awayTeamScore == 1
+
+        when:
+        def isFinished = matchState.changeStatus(EnumSet.of(MatchStatus.IN_PROGRESS), MatchStatus.FINISHED, REGISTERED_EPOCH_NANOS + 3)
+        def isRestarted = matchState.changeStatus(EnumSet.of(MatchStatus.REGISTERED), MatchStatus.IN_PROGRESS, REGISTERED_EPOCH_NANOS + 4)
+
+        then:
+        isFinished
+        !isRestarted
+        !matchState.updateScore(3, 1, REGISTERED_EPOCH_NANOS + 5)
+        matchState.matchStatus == MatchStatus.FINISHED
+        matchState.toMatchDetails().homeTeamScore == 2
+    }
+
+    def 'should update score only with feed sequence newer than the latest accepted one'() {
+        given:
+        def matchState = new MatchState(MATCH_ID, HOME_TEAM, AWAY_TEAM, REGISTERED_EPOCH_NANOS)
+
+        expect:
+        matchState.updateScoreIfNewer(1, 1, 0, REGISTERED_EPOCH_NANOS + 1) == MatchState.FeedUpdateOutcome.INVALID_STATUS
+        matchState.feedSequence == Long.MIN_VALUE
+
+        when:
+        matchState.changeStatus(EnumSet.of(MatchStatus.REGISTERED), MatchStatus.IN_PROGRESS, REGISTERED_EPOCH_NANOS + 1)
+
+        then:
+        matchState.updateScoreIfNewer(5, 2, 1, REGISTERED_EPOCH_NANOS + 2) == MatchState.FeedUpdateOutcome.APPLIED
+        matchState.updateScoreIfNewer(5, 2, 1, REGISTERED_EPOCH_NANOS + 3) == MatchState.FeedUpdateOutcome.STALE
+        matchState.updateScoreIfNewer(4, 1, 1, REGISTERED_EPOCH_NANOS + 3) == MatchState.FeedUpdateOutcome.STALE
+        matchState.feedSequence == 5
+        matchState.version == 4
+        matchState.toMatchDetails().homeTeamScore == 2
+        matchState.toMatchDetails().lastUpdatedTimestamp == Instant.ofEpochSecond(14900000, 2)
+
+        when:
+        matchState.updateScore(0, 0, REGISTERED_EPOCH_NANOS + 4)
+
+        then:
+        matchState.updateScoreIfNewer(5, 3, 1, REGISTERED_EPOCH_NANOS + 5) == MatchState.FeedUpdateOutcome.STALE
+        matchState.updateScoreIfNewer(6, 3, 1, REGISTERED_EPOCH_NANOS + 5) == MatchState.FeedUpdateOutcome.APPLIED
+        matchState.toMatchDetails().homeTeamScore == 3
+    }
+
+}
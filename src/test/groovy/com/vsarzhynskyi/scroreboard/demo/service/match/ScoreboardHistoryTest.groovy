@@ -0,0 +1,156 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match
+
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+class ScoreboardHistoryTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def clock = new MutableClock(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock)
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should return scoreboard as of version and instant'() {
+        given:
+        def scoreboardHistory = new ScoreboardHistory(100, clock)
+        def scoreboardAwareMatchRegistrar = createScoreboardAwareMatchRegistrar(scoreboardHistory)
+        def matchId1 = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        def matchId2 = scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil').matchId
+
+        when:
+        clock.advance(Duration.ofMinutes(1))
+        scoreboardAwareMatchRegistrar.startMatch(matchId1)
+        clock.advance(Duration.ofMinutes(1))
+        scoreboardAwareMatchRegistrar.startMatch(matchId2)
+        def scoreboardAfterStart = scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString()
+        clock.advance(Duration.ofMinutes(1))
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId2, 1, 0)
+        clock.advance(Duration.ofMinutes(1))
+        scoreboardAwareMatchRegistrar.finishMatch(matchId1)
+
+        then:
+        scoreboardHistory.getRetainedVersionsCount() == 5
+        scoreboardHistory.getOldestRetainedVersion() == 0
+        scoreboardHistory.getScoreboardAt(0L).getView().size() == 0
+        scoreboardHistory.getScoreboardAt(2L).getMatchesScoreboardSummary().toString() == scoreboardAfterStart
+        scoreboardHistory.getScoreboardAt(2L).getPublishedTimestamp() == Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusSeconds(120)
+        scoreboardHistory.getScoreboardAt(3L).getMatchesScoreboardSummary().toString() == '1. Spain 1 - Brazil 0\n2. Mexico 0 - Canada 0'
+        scoreboardHistory.getScoreboardAt(42L).getVersion() == 4
+        scoreboardHistory.getLatestScoreboard().getMatchesScoreboardSummary() == scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+
+        and:
+        scoreboardHistory.getScoreboardAt(Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusSeconds(150)).getVersion() == 2
+        scoreboardHistory.getScoreboardAt(Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusSeconds(180)).getVersion() == 3
+        scoreboardHistory.getScoreboardAt(Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusSeconds(3600)).getVersion() == 4
+        scoreboardHistory.getScoreboardAt(Instant.ofEpochMilli(FIXED_EPOCH_MILLI).minusSeconds(1)) == null
+
+        and:
+        scoreboardHistory.getScoreboardAt(3L).getScoreboardPage(1, 10).getMatches()*.toString() == ['2. Mexico 0 - Canada 0']
+    }
+
+    def 'should retain only the latest versions'() {
+        given:
+        def scoreboardHistory = new ScoreboardHistory(3, clock)
+        def scoreboardAwareMatchRegistrar = createScoreboardAwareMatchRegistrar(scoreboardHistory)
+        def matchId = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        scoreboardAwareMatchRegistrar.startMatch(matchId)
+
+        when:
+        (1..5).each {
+            clock.advance(Duration.ofSeconds(1))
+            scoreboardAwareMatchRegistrar.updateMatchScore(matchId, it, 0)
+        }
+
+        then:
+        scoreboardHistory.getRetainedVersionsCount() == 3
+        scoreboardHistory.getOldestRetainedVersion() == 4
+        scoreboardHistory.getScoreboardAt(3L) == null
+        scoreboardHistory.getScoreboardAt(4L).getMatchesScoreboardSummary().toString() == '1. Mexico 3 - Canada 0'
+        scoreboardHistory.getScoreboardAt(6L).getMatchesScoreboardSummary().toString() == '1. Mexico 5 - Canada 0'
+    }
+
+    def 'should keep publish timestamps non-decreasing when clock goes backwards'() {
+        given:
+        def scoreboardHistory = new ScoreboardHistory(10, clock)
+        def scoreboardAwareMatchRegistrar = createScoreboardAwareMatchRegistrar(scoreboardHistory)
+        def matchId = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').matchId
+
+        when:
+        clock.advance(Duration.ofMinutes(1))
+        scoreboardAwareMatchRegistrar.startMatch(matchId)
+        clock.advance(Duration.ofSeconds(-30))
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId, 1, 0)
+
+        then:
+        scoreboardHistory.getScoreboardAt(2L).getPublishedTimestamp() == scoreboardHistory.getScoreboardAt(1L).getPublishedTimestamp()
+        scoreboardHistory.getScoreboardAt(Instant.ofEpochMilli(FIXED_EPOCH_MILLI).plusSeconds(60)).getVersion() == 2
+    }
+
+    def 'should record rebuilt scoreboard'() {
+        given:
+        def scoreboardHistory = new ScoreboardHistory(10, clock)
+        def matchId = matchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        matchRegistrar.startMatch(matchId)
+        def scoreboardAwareMatchRegistrar = createScoreboardAwareMatchRegistrar(scoreboardHistory)
+
+        when:
+        scoreboardAwareMatchRegistrar.rebuildScoreboard()
+
+        then:
+        scoreboardHistory.getRetainedVersionsCount() == 2
+        scoreboardHistory.getLatestScoreboard().getMatchesScoreboardSummary().toString() == '1. Mexico 0 - Canada 0'
+    }
+
+    def 'should reject non-positive max retained versions'() {
+        when:
+        new ScoreboardHistory(0, clock)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private DefaultScoreboardAwareMatchRegistrar createScoreboardAwareMatchRegistrar(ScoreboardHistory scoreboardHistory) {
+        new DefaultScoreboardAwareMatchRegistrar(matchRegistrar, new DefaultScoreboardMatchComparator(), null, null, null, scoreboardHistory)
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant
+
+        MutableClock(Instant instant) {
+            this.instant = instant
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration)
+        }
+
+        @Override
+        ZoneId getZone() {
+            ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            instant
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchScoreboardPresentation
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary
+import com.vsarzhynskyi.scroreboard.demo.model.Team
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ScoreboardRendererTest extends Specification {
+
+    def scoreboardRenderer = new ScoreboardRenderer()
+
+    def 'should render scoreboard once per version into text and UTF-8 bytes'() {
+        given:
+        def summary1 = new MatchesScoreboardSummary([
+                presentation(1, 1, 'Mexico', 0, 'Canada', 5),
+                presentation(2, 2, 'Spain', 1, 'Brazil', 1)
+        ], 1)
+        def summary2 = new MatchesScoreboardSummary([
+                presentation(2, 1, 'Spain', 3, 'Brazil', 3),
+                presentation(1, 2, 'Mexico', 0, 'Canada', 5),
+                presentation(3, 3, 'Côte d\'Ivoire', 0, 'Türkiye', 0)
+        ], 2)
+
+        when:
+        def renderedScoreboard1 = scoreboardRenderer.render(summary1)
+
+        then:
+        renderedScoreboard1.version == 1
+        renderedScoreboard1.text == summary1.toString()
+        renderedScoreboard1.text == '1. Mexico 0 - Canada 5\n2. Spain 1 - Brazil 1'
+        decode(renderedScoreboard1) == renderedScoreboard1.text
+        scoreboardRenderer.render(summary1).is(renderedScoreboard1)
+
+        when:
+        def renderedScoreboard2 = scoreboardRenderer.render(summary2)
+
+        then:
+        renderedScoreboard2.version == 2
+        renderedScoreboard2.text == summary2.toString()
+        decode(renderedScoreboard2) == renderedScoreboard2.text
+        renderedScoreboard2.utf8Bytes.remaining() == renderedScoreboard2.text.getBytes(StandardCharsets.UTF_8).length
+        scoreboardRenderer.render(summary1).is(renderedScoreboard2)
+    }
+
+    def 'should render empty scoreboard'() {
+        when:
+        def renderedScoreboard = scoreboardRenderer.render(new MatchesScoreboardSummary([], 3))
+
+        then:
+        renderedScoreboard.text == ''
+        renderedScoreboard.utf8Bytes.remaining() == 0
+    }
+
+    private static String decode(renderedScoreboard) {
+        StandardCharsets.UTF_8.decode(renderedScoreboard.utf8Bytes).toString()
+    }
+
+    private static MatchScoreboardPresentation presentation(int matchId, int rank, String homeTeamName, int homeTeamScore,
+                                                            String awayTeamName, int awayTeamScore) {
+        MatchScoreboardPresentation.builder()
+                .matchId(matchId)
+                .matchScoreboardRank(rank)
+                .homeTeam(new Team(matchId * 2, homeTeamName))
+                .homeTeamScore(homeTeamScore)
+                .awayTeam(new Team(matchId * 2 + 1, awayTeamName))
+                .awayTeamScore(awayTeamScore)
+                .build()
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match
+
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class ShardedScoreboardEngineTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+    def shardedScoreboardEngine = new ShardedScoreboardEngine<String>(teamRegistrar, new MatchIdGenerator(), clock)
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil', 'Germany', 'France', 'Uruguay', 'Italy'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should route matches to shards and merge shard scoreboards into global scoreboard'() {
+        given:
+        def matchId1 = shardedScoreboardEngine.registerMatch('World Cup', 'Mexico', 'Canada').getMatchId()
+        def matchId2 = shardedScoreboardEngine.registerMatch('World Cup', 'Spain', 'Brazil').getMatchId()
+        def matchId3 = shardedScoreboardEngine.registerMatch('Friendly', 'Germany', 'France').getMatchId()
+        def matchId4 = shardedScoreboardEngine.registerMatch('Friendly', 'Uruguay', 'Italy').getMatchId()
+        [matchId1, matchId2, matchId3, matchId4].each { shardedScoreboardEngine.startMatch(it) }
+
+        when:
+        shardedScoreboardEngine.updateMatchScore(matchId1, 0, 5)
+        shardedScoreboardEngine.updateMatchScore(matchId2, 10, 2)
+        shardedScoreboardEngine.updateMatchScore(matchId3, 2, 2)
+        shardedScoreboardEngine.updateMatchScore(matchId4, 6, 6)
+        def globalScoreboardSummary = shardedScoreboardEngine.getGlobalScoreboardSummary()
+
+        then:
+        [matchId1, matchId2, matchId3, matchId4].toSet().size() == 4
+        shardedScoreboardEngine.getShardScoreboardSummary('World Cup').toString() == '1. Spain 10 - Brazil 2\n2. Mexico 0 - Canada 5'
+        shardedScoreboardEngine.getShardScoreboardSummary('Friendly').toString() == '1. Uruguay 6 - Italy 6\n2. Germany 2 - France 2'
+        globalScoreboardSummary.toString() == '1. Uruguay 6 - Italy 6\n2. Spain 10 - Brazil 2\n3. Mexico 0 - Canada 5\n4. Germany 2 - France 2'
+        shardedScoreboardEngine.getGlobalScoreboardSummary().is(globalScoreboardSummary)
+        shardedScoreboardEngine.getGlobalTopMatches(2)*.toString() == ['1. Uruguay 6 - Italy 6', '2. Spain 10 - Brazil 2']
+
+        when:
+        shardedScoreboardEngine.finishMatch(matchId4)
+        shardedScoreboardEngine.unregisterMatch(matchId4)
+
+        then:
+        shardedScoreboardEngine.getGlobalScoreboardSummary().matches*.matchId == [matchId2, matchId1, matchId3]
+        shardedScoreboardEngine.getShard('Friendly').getAllMatches()*.matchId == [matchId3]
+    }
+
+    def 'should route matches registered and unregistered through shard registrar'() {
+        given:
+        shardedScoreboardEngine.registerMatch('World Cup', 'Mexico', 'Canada')
+        def shard = shardedScoreboardEngine.getShard('World Cup')
+        def matchId = shard.registerMatch('Spain', 'Brazil').getMatchId()
+
+        when:
+        shardedScoreboardEngine.startMatch(matchId)
+        shardedScoreboardEngine.updateMatchScore(matchId, 1, 0)
+
+        then:
+        shardedScoreboardEngine.getGlobalScoreboardSummary().toString() == '1. Spain 1 - Brazil 0'
+
+        when:
+        shard.finishMatch(matchId)
+        shard.applyUpdates([MatchUpdate.unregister(matchId)])
+        shardedScoreboardEngine.startMatch(matchId)
+
+        then:
+        thrown(MatchNotRegisteredException)
+    }
+
+    def 'should merge shard scoreboards by scoreboard comparator passed to shards by engine'() {
+        given:
+        Comparator<MatchDetails> byHomeTeamScore = Comparator.comparingInt(MatchDetails::getHomeTeamScore).reversed()
+        def engine = new ShardedScoreboardEngine<String>(teamRegistrar, new MatchIdGenerator(), clock, byHomeTeamScore)
+        def matchId1 = engine.registerMatch('World Cup', 'Mexico', 'Canada').getMatchId()
+        def matchId2 = engine.registerMatch('Friendly', 'Spain', 'Brazil').getMatchId()
+        [matchId1, matchId2].each { engine.startMatch(it) }
+
+        when:
+        engine.updateMatchScore(matchId1, 1, 9)
+        engine.updateMatchScore(matchId2, 2, 0)
+
+        then:
+        engine.getGlobalScoreboardSummary().matches*.matchId == [matchId2, matchId1]
+    }
+
+    def 'should reject shard created with scoreboard comparator other than engine one'() {
+        given:
+        def matchIdGenerator = new MatchIdGenerator()
+        def engine = new ShardedScoreboardEngine<String>(new DefaultScoreboardMatchComparator(), { shardKey, scoreboardMatchComparator ->
+            new DefaultScoreboardAwareMatchRegistrar(new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock),
+                    Comparator.comparingInt(MatchDetails::getMatchId))
+        })
+
+        when:
+        engine.registerMatch('World Cup', 'Mexico', 'Canada')
+
+        then:
+        thrown(IllegalArgumentException)
+        engine.getShard('World Cup') == null
+    }
+
+    def 'should fail to update match which is not registered in any shard'() {
+        when:
+        shardedScoreboardEngine.updateMatchScore(123, 1, 0)
+
+        then:
+        thrown(MatchNotRegisteredException)
+    }
+
+}
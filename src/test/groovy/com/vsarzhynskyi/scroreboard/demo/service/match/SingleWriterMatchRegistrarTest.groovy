@@ -0,0 +1,134 @@
+package com.vsarzhynskyi.scroreboard.demo.service.match
+
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchInvalidUpdateException
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException
+import com.vsarzhynskyi.scroreboard.demo.model.MatchStatus
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+
+class SingleWriterMatchRegistrarTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+    def matchRegistrar = new SingleWriterMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock, 4)
+
+    def cleanup() {
+        matchRegistrar.close()
+    }
+
+    def 'should apply match lifecycle through writer thread and publish matches snapshot'() {
+        given:
+        teamRegistrar.registerTeam('Mexico')
+        teamRegistrar.registerTeam('Canada')
+
+        when:
+        def registeredMatch = matchRegistrar.registerMatch('Mexico', 'Canada')
+        def startedMatch = matchRegistrar.startMatchAsync(registeredMatch.matchId).get(5, TimeUnit.SECONDS)
+        def updatedMatch = matchRegistrar.updateMatchScoreAsync(registeredMatch.matchId, 1, 2).get(5, TimeUnit.SECONDS)
+
+        then:
+        startedMatch.matchStatus == MatchStatus.IN_PROGRESS
+        updatedMatch.homeTeamScore == 1
+        updatedMatch.awayTeamScore == 2
+        matchRegistrar.getActiveMatches() == [updatedMatch]
+        matchRegistrar.isMatchRegistered('Mexico', 'Canada')
+
+        when:
+        def batchResults = matchRegistrar.applyUpdates([MatchUpdate.updateScore(registeredMatch.matchId, 2, 2),
+                                                        MatchUpdate.finish(registeredMatch.matchId)])
+
+        then:
+        batchResults*.succeeded == [true, true]
+        matchRegistrar.getActiveMatches().isEmpty()
+        matchRegistrar.getAllMatches()*.matchStatus == [MatchStatus.FINISHED]
+
+        when:
+        matchRegistrar.unregisterMatch(registeredMatch.matchId)
+
+        then:
+        matchRegistrar.getAllMatches().isEmpty()
+        !matchRegistrar.isMatchRegistered(registeredMatch.matchId)
+    }
+
+    def 'should propagate failure of command to caller'() {
+        given:
+        teamRegistrar.registerTeam('Spain')
+        teamRegistrar.registerTeam('Brazil')
+        def matchId = matchRegistrar.registerMatch('Spain', 'Brazil').matchId
+
+        when:
+        matchRegistrar.updateMatchScore(matchId, 1, 0)
+
+        then:
+        thrown(MatchInvalidUpdateException)
+
+        when:
+        matchRegistrar.finishMatchAsync(123).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof MatchNotRegisteredException
+    }
+
+    def 'should serve active matches maintained by writer without filtering all matches on read'() {
+        given:
+        teamRegistrar.registerTeam('Italy')
+        teamRegistrar.registerTeam('France')
+        teamRegistrar.registerTeam('Japan')
+        teamRegistrar.registerTeam('Chile')
+        def startedMatchId = matchRegistrar.registerMatch('Italy', 'France').matchId
+        matchRegistrar.registerMatch('Japan', 'Chile')
+
+        when:
+        def startedMatch = matchRegistrar.startMatch(startedMatchId)
+        def activeMatches = matchRegistrar.getActiveMatches()
+
+        then:
+        activeMatches == [startedMatch]
+        matchRegistrar.getActiveMatches().is(activeMatches)
+        matchRegistrar.getAllMatches().size() == 2
+    }
+
+    def 'should apply commands of concurrent producers through small ring buffer'() {
+        given:
+        def matchIds = (0..<8).collect {
+            def homeTeam = teamRegistrar.registerTeam("Home Team $it")
+            def awayTeam = teamRegistrar.registerTeam("Away Team $it")
+            def matchId = matchRegistrar.registerMatch(homeTeam.id, awayTeam.id).matchId
+            matchRegistrar.startMatch(matchId)
+            matchId
+        }
+
+        when:
+        def producers = matchIds.collect { matchId ->
+            Thread.start {
+                def futures = (1..500).collect { score -> matchRegistrar.updateMatchScoreAsync(matchId, score, 0) }
+                futures*.join()
+            }
+        }
+        producers*.join()
+
+        then:
+        matchRegistrar.getActiveMatches()*.homeTeamScore == [500] * 8
+    }
+
+    def 'should reject commands after close'() {
+        when:
+        matchRegistrar.close()
+        matchRegistrar.startMatch(1)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class LatencyHistogramTest extends Specification {
+
+    def 'should report percentiles of recorded latencies within histogram precision'() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        (1..10_000).each { histogram.record(it * 1_000L) }
+        def snapshot = histogram.snapshot()
+
+        then:
+        snapshot.count == 10_000
+        withinPrecision(snapshot.meanNanos as long, 5_000_500)
+        withinPrecision(snapshot.maxNanos, 10_000_000)
+        withinPrecision(snapshot.p50Nanos, 5_000_000)
+        withinPrecision(snapshot.p90Nanos, 9_000_000)
+        withinPrecision(snapshot.p99Nanos, 9_900_000)
+        withinPrecision(snapshot.p999Nanos, 9_990_000)
+    }
+
+    def 'should return empty snapshot without recorded latencies and after reset'() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        expect:
+        histogram.snapshot() == LatencyHistogramSnapshot.EMPTY
+
+        when:
+        histogram.record(-5)
+        histogram.record(Long.MAX_VALUE)
+
+        then:
+        histogram.snapshot().count == 2
+        histogram.snapshot().p50Nanos == 0
+        histogram.snapshot().maxNanos == Long.MAX_VALUE
+
+        when:
+        histogram.reset()
+
+        then:
+        histogram.snapshot() == LatencyHistogramSnapshot.EMPTY
+    }
+
+    @Unroll
+    def 'should put value #value into bucket with upper bound #highestBucketValue'() {
+        expect:
+        LatencyHistogram.highestBucketValue(LatencyHistogram.bucketIndex(value)) == highestBucketValue
+
+        where:
+        value          || highestBucketValue
+        0              || 0
+        63             || 63
+        64             || 65
+        127            || 127
+        128            || 131
+        1_000_000      || 1_015_807
+        Long.MAX_VALUE || Long.MAX_VALUE
+    }
+
+    private static boolean withinPrecision(long actual, long expected) {
+        Math.abs(actual - expected) <= expected.intdiv(32)
+    }
+
+}
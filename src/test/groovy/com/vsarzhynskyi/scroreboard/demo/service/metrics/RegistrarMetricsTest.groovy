@@ -0,0 +1,169 @@
+package com.vsarzhynskyi.scroreboard.demo.service.metrics
+
+import com.vsarzhynskyi.scroreboard.demo.exception.MatchNotRegisteredException
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardMatchComparator
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchConcurrencyMode
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import javax.management.openmbean.CompositeData
+import javax.management.openmbean.TabularData
+import java.lang.management.ManagementFactory
+import java.time.Clock
+import java.time.ZoneOffset
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.locks.ReentrantLock
+
+class RegistrarMetricsTest extends Specification {
+
+    def registrarMetrics = new RegistrarMetrics()
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, Clock.system(ZoneOffset.UTC),
+            MatchConcurrencyMode.GLOBAL_LOCK, registrarMetrics)
+    def scoreboardAwareMatchRegistrar = new InstrumentedScoreboardAwareMatchRegistrar(new DefaultScoreboardAwareMatchRegistrar(
+            matchRegistrar, new DefaultScoreboardMatchComparator(), null, null, registrarMetrics), registrarMetrics)
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should record operations, lock times and scoreboard recompute'() {
+        given:
+        def matchId = scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').getMatchId()
+        scoreboardAwareMatchRegistrar.startMatch(matchId)
+
+        when:
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId, 1, 0)
+        scoreboardAwareMatchRegistrar.updateMatchScore('Mexico', 2, 'Canada', 0)
+        scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+        scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary()
+        scoreboardAwareMatchRegistrar.getTopMatches(1)
+        scoreboardAwareMatchRegistrar.updateMatchScore(matchId + 1, 1, 0)
+
+        then:
+        thrown(MatchNotRegisteredException)
+
+        when:
+        def snapshot = registrarMetrics.getSnapshot()
+        def updateMatchScoreMetrics = snapshot.operations[RegistrarOperation.UPDATE_MATCH_SCORE]
+        def scoreboardSummaryMetrics = snapshot.operations[RegistrarOperation.GET_SCOREBOARD_SUMMARY]
+
+        then:
+        snapshot.operations.keySet() == RegistrarOperation.values() as Set
+        updateMatchScoreMetrics.count == 3
+        updateMatchScoreMetrics.failuresCount == 1
+        updateMatchScoreMetrics.latency.count == 3
+        updateMatchScoreMetrics.latency.maxNanos > 0
+        scoreboardSummaryMetrics.count == 2
+        scoreboardSummaryMetrics.latency == LatencyHistogramSnapshot.EMPTY
+        snapshot.operations[RegistrarOperation.GET_SCOREBOARD_PAGE].count == 1
+        snapshot.operations[RegistrarOperation.REGISTER_MATCH].count == 1
+        snapshot.operations[RegistrarOperation.FINISH_MATCH].count == 0
+
+        and: 'registrar lock is taken by register, start and each update, scoreboard lock only by start, successful updates and the first summary fetch'
+        snapshot.registrarLockHold.count == 5
+        snapshot.scoreboardLockHold.count == 4
+
+        and: 'uncontended acquisitions are not recorded as waits'
+        snapshot.registrarLockWait == LatencyHistogramSnapshot.EMPTY
+        snapshot.scoreboardLockWait == LatencyHistogramSnapshot.EMPTY
+        snapshot.scoreboardRecompute.count == 1
+
+        when:
+        registrarMetrics.reset()
+
+        then:
+        registrarMetrics.getSnapshot().operations[RegistrarOperation.UPDATE_MATCH_SCORE].count == 0
+        registrarMetrics.getSnapshot().registrarLockHold == LatencyHistogramSnapshot.EMPTY
+    }
+
+    def 'should record wait of contended lock acquisition and single hold of reentrant acquisitions'() {
+        given:
+        def reentrantLock = new ReentrantLock()
+        def lock = registrarMetrics.timedScoreboardLock(reentrantLock)
+        def waitingThread = new Thread({
+            lock.lock()
+            lock.unlock()
+        })
+
+        when:
+        lock.lock()
+        lock.lock()
+        waitingThread.start()
+        while (!reentrantLock.hasQueuedThreads()) {
+            Thread.onSpinWait()
+        }
+        Thread.sleep(50)
+        lock.unlock()
+        lock.unlock()
+        waitingThread.join()
+        def snapshot = registrarMetrics.getSnapshot()
+
+        then:
+        snapshot.scoreboardLockHold.count == 2
+        snapshot.scoreboardLockHold.maxNanos >= TimeUnit.MILLISECONDS.toNanos(50)
+        snapshot.scoreboardLockWait.count == 1
+        snapshot.scoreboardLockWait.maxNanos >= TimeUnit.MILLISECONDS.toNanos(40)
+    }
+
+    def 'should count all operations but record latency of sampled ones only'() {
+        given:
+        def sampledRegistrarMetrics = new RegistrarMetrics(1_000_000)
+        def instrumentedMatchRegistrar = new InstrumentedMatchRegistrar(matchRegistrar, sampledRegistrarMetrics)
+
+        when:
+        100.times { instrumentedMatchRegistrar.isMatchRegistered('Mexico', 'Canada') }
+        100.times {
+            try {
+                instrumentedMatchRegistrar.startMatch(it + 1)
+            } catch (MatchNotRegisteredException ignored) {
+            }
+        }
+        def operations = sampledRegistrarMetrics.getSnapshot().operations
+
+        then:
+        operations[RegistrarOperation.IS_MATCH_REGISTERED].count == 100
+        operations[RegistrarOperation.START_MATCH].count == 100
+        operations[RegistrarOperation.START_MATCH].failuresCount == 100
+        operations[RegistrarOperation.START_MATCH].latency.count < 5
+    }
+
+    def 'should reject non-positive latency sampling period'() {
+        when:
+        new RegistrarMetrics(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'should expose metrics snapshot via JMX'() {
+        given:
+        def matchId = scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil').getMatchId()
+        scoreboardAwareMatchRegistrar.startMatch(matchId)
+        def objectName = registrarMetrics.registerMBean('scoreboard')
+
+        when:
+        def snapshot = ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, 'Snapshot') as CompositeData
+        def operations = snapshot.get('operations') as TabularData
+        def startMatchMetrics = operations.get(['START_MATCH'] as Object[]).get('value') as CompositeData
+
+        then:
+        startMatchMetrics.get('count') == 1L
+        (startMatchMetrics.get('latency') as CompositeData).get('count') == 1L
+        (snapshot.get('registrarLockHold') as CompositeData).get('count') == 2L
+
+        when:
+        ManagementFactory.getPlatformMBeanServer().invoke(objectName, 'reset', new Object[0], new String[0])
+
+        then:
+        registrarMetrics.getSnapshot().operations[RegistrarOperation.START_MATCH].count == 0
+
+        cleanup:
+        registrarMetrics.unregisterMBean(objectName)
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.vsarzhynskyi.scroreboard.demo.service.replication
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.service.IdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultScoreboardAwareMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamRegistrar
+import spock.lang.Specification
+import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+class ReplicationTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+    private static final AWAIT_TIMEOUT = Duration.ofSeconds(10)
+    private static final POLLING_CONDITIONS = new PollingConditions(timeout: 10)
+
+    def matchClock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+    def replicationClock = Clock.systemUTC()
+    def leaderNodes = []
+    def replicas = []
+
+    def cleanup() {
+        replicas.each { it.follower.close() }
+        leaderNodes.each { it.leader.close() }
+    }
+
+    def 'should replicate teams, matches and scoreboard to followers'() {
+        given:
+        def leaderNode = startLeaderNode(1 << 20)
+        def replica1 = startReplica(leaderNode.leader.address)
+        def replica2 = startReplica(leaderNode.leader.address)
+
+        when:
+        leaderNode.teamRegistrar.registerTeams(['Mexico', 'Canada', 'Spain', 'Brazil', 'Germany', 'France'])
+        leaderNode.teamRegistrar.registerTeam('Poland')
+        leaderNode.teamRegistrar.unregisterTeam('Poland')
+        def match1 = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada')
+        def match2 = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil')
+        def match3 = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Germany', 'France')
+        leaderNode.scoreboardAwareMatchRegistrar.startMatch(match1.matchId)
+        leaderNode.scoreboardAwareMatchRegistrar.applyUpdates([
+                MatchUpdate.start(match2.matchId),
+                MatchUpdate.updateScore(match2.matchId, 10, 2),
+                MatchUpdate.updateScore(match1.matchId, 0, 5),
+                MatchUpdate.start(match3.matchId)
+        ])
+        leaderNode.scoreboardAwareMatchRegistrar.finishMatch(match3.matchId)
+        leaderNode.scoreboardAwareMatchRegistrar.unregisterMatch(match3.matchId)
+        leaderNode.scoreboardAwareMatchRegistrar.updateMatchScoreIfNewer(match1.matchId, 7, 1, 5)
+
+        then:
+        awaitReplicated(leaderNode, replica1)
+        awaitReplicated(leaderNode, replica2)
+        replica1.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Spain 10 - Brazil 2\n2. Mexico 1 - Canada 5'
+        replica1.matchRegistrar.isFeedUpdateStale(match1.matchId, 7)
+        !replica1.matchRegistrar.isFeedUpdateStale(match1.matchId, 8)
+        !replica1.teamRegistrar.isTeamRegistered('Poland')
+        !replica1.matchRegistrar.isMatchRegistered(match3.matchId)
+
+        and:
+        replica1.follower.getReplicationStatus().appliedSnapshotsCount == 1
+        replica1.follower.getReplicationStatus().connected
+        POLLING_CONDITIONS.eventually {
+            def followersStatus = leaderNode.leader.getFollowersStatus()
+            assert followersStatus.size() == 2
+            assert followersStatus.every { it.acknowledgedSequence == leaderNode.replicationLog.latestSequence && it.lagRecords == 0 }
+            assert replica1.follower.getReplicationStatus().lagRecords == 0
+        }
+    }
+
+    def 'should catch up follower from snapshot including state preceding replication log'() {
+        given:
+        def leaderNode = startLeaderNode(ReplicationProtocol.MAX_RECORD_SIZE)
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { leaderNode.underlyingTeamRegistrar.registerTeam(it) }
+        def match1 = leaderNode.underlyingMatchRegistrar.registerMatch('Mexico', 'Canada')
+        leaderNode.underlyingMatchRegistrar.startMatch(match1.matchId)
+        def match2 = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil')
+        leaderNode.scoreboardAwareMatchRegistrar.startMatch(match2.matchId)
+        (1..2000).each { leaderNode.scoreboardAwareMatchRegistrar.updateMatchScore(match2.matchId, it, 0) }
+        leaderNode.scoreboardAwareMatchRegistrar.rebuildScoreboard()
+
+        when:
+        def replica = startReplica(leaderNode.leader.address)
+
+        then:
+        leaderNode.replicationLog.oldestSequence > 1
+        awaitReplicated(leaderNode, replica)
+        replica.follower.getReplicationStatus().appliedSnapshotsCount == 1
+        replica.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Spain 2000 - Brazil 0\n2. Mexico 0 - Canada 0'
+
+        when:
+        leaderNode.scoreboardAwareMatchRegistrar.finishMatch(match2.matchId)
+
+        then:
+        awaitReplicated(leaderNode, replica)
+        replica.follower.getReplicationStatus().appliedSnapshotsCount == 1
+        replica.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Mexico 0 - Canada 0'
+    }
+
+    @Unroll
+    def 'should resume follower after leader restart with #updatesCount updates while it was down'() {
+        given:
+        def leaderNode = startLeaderNode(ReplicationProtocol.MAX_RECORD_SIZE)
+        def replica = startReplica(leaderNode.leader.address)
+        leaderNode.teamRegistrar.registerTeams(['Mexico', 'Canada'])
+        def match = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada')
+        leaderNode.scoreboardAwareMatchRegistrar.startMatch(match.matchId)
+        awaitReplicated(leaderNode, replica)
+
+        when:
+        def address = leaderNode.leader.address
+        leaderNode.leader.close()
+        (1..updatesCount).each { leaderNode.scoreboardAwareMatchRegistrar.updateMatchScore(match.matchId, it, 1) }
+        leaderNode.teamRegistrar.registerTeam('Spain')
+        def restartedLeader = ReplicationLeader.start(address, leaderNode.replicationLog,
+                leaderNode.underlyingTeamRegistrar, leaderNode.underlyingMatchRegistrar)
+        leaderNodes << [leader: restartedLeader]
+
+        then:
+        awaitReplicated(leaderNode, replica)
+        replica.follower.getReplicationStatus().appliedSnapshotsCount == appliedSnapshotsCount
+        replica.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == "1. Mexico ${updatesCount} - Canada 1"
+
+        where:
+        updatesCount | appliedSnapshotsCount
+        10           | 1
+        5000         | 2
+    }
+
+    def 'should replace follower state with snapshot of another leader log'() {
+        given:
+        def leaderNode = startLeaderNode(1 << 20)
+        def replica = startReplica(leaderNode.leader.address)
+        leaderNode.teamRegistrar.registerTeams(['Mexico', 'Canada', 'Spain', 'Brazil'])
+        def match1 = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada')
+        leaderNode.scoreboardAwareMatchRegistrar.startMatch(match1.matchId)
+        leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Spain', 'Brazil')
+        awaitReplicated(leaderNode, replica)
+
+        when:
+        def address = leaderNode.leader.address
+        leaderNode.leader.close()
+        def anotherLeaderNode = startLeaderNode(1 << 20, address)
+        anotherLeaderNode.teamRegistrar.registerTeams(['Brazil', 'Mexico', 'Germany'])
+        def match2 = anotherLeaderNode.scoreboardAwareMatchRegistrar.registerMatch('Germany', 'Mexico')
+        anotherLeaderNode.scoreboardAwareMatchRegistrar.startMatch(match2.matchId)
+        anotherLeaderNode.scoreboardAwareMatchRegistrar.updateMatchScore(match2.matchId, 3, 0)
+
+        then:
+        POLLING_CONDITIONS.eventually {
+            assert replica.follower.getReplicationStatus().appliedSnapshotsCount == 2
+        }
+        awaitReplicated(anotherLeaderNode, replica)
+        replica.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() == '1. Germany 3 - Mexico 0'
+        !replica.teamRegistrar.isTeamRegistered('Canada')
+    }
+
+    def 'should report failure to apply record and resume replication after reconnect'() {
+        given:
+        def leaderNode = startLeaderNode(1 << 20)
+        def replica = startReplica(leaderNode.leader.address)
+        leaderNode.teamRegistrar.registerTeams(['Mexico', 'Canada'])
+        def matchId = leaderNode.scoreboardAwareMatchRegistrar.registerMatch('Mexico', 'Canada').matchId
+        awaitReplicated(leaderNode, replica)
+
+        when:
+        replica.matchRegistrar.failNextRestore = true
+        leaderNode.scoreboardAwareMatchRegistrar.startMatch(matchId)
+
+        then:
+        awaitReplicated(leaderNode, replica)
+        replica.follower.getReplicationStatus().failuresCount == 1
+        replica.follower.getReplicationStatus().lastFailure.message == 'match restore failed'
+        replica.follower.getReplicationStatus().connected
+    }
+
+    private Map startLeaderNode(int replicationLogCapacity, InetSocketAddress address = loopbackAddress()) {
+        def underlyingTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def underlyingMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), underlyingTeamRegistrar, matchClock)
+        def replicationLog = new ReplicationLog(replicationLogCapacity, replicationClock)
+        def leaderNode = [
+                underlyingTeamRegistrar      : underlyingTeamRegistrar,
+                underlyingMatchRegistrar     : underlyingMatchRegistrar,
+                replicationLog               : replicationLog,
+                teamRegistrar                : new ReplicatingTeamRegistrar(underlyingTeamRegistrar, replicationLog),
+                scoreboardAwareMatchRegistrar: new DefaultScoreboardAwareMatchRegistrar(new ReplicatingMatchRegistrar(underlyingMatchRegistrar, replicationLog)),
+                leader                       : ReplicationLeader.start(address, replicationLog, underlyingTeamRegistrar, underlyingMatchRegistrar)
+        ]
+        leaderNodes << leaderNode
+        leaderNode
+    }
+
+    private Map startReplica(InetSocketAddress leaderAddress) {
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def matchRegistrar = new FailingRestoreMatchRegistrar(new MatchIdGenerator(), teamRegistrar, matchClock)
+        def scoreboardAwareMatchRegistrar = new DefaultScoreboardAwareMatchRegistrar(matchRegistrar)
+        def replica = [
+                teamRegistrar                : teamRegistrar,
+                matchRegistrar               : matchRegistrar,
+                scoreboardAwareMatchRegistrar: scoreboardAwareMatchRegistrar,
+                follower                     : ReplicationFollower.start(leaderAddress, teamRegistrar, matchRegistrar, scoreboardAwareMatchRegistrar, replicationClock)
+        ]
+        replicas << replica
+        replica
+    }
+
+    private static boolean awaitReplicated(Map leaderNode, Map replica) {
+        assert replica.follower.awaitAppliedSequence(leaderNode.replicationLog.latestSequence, AWAIT_TIMEOUT)
+        assert replica.teamRegistrar.getAllTeams().sort(false) { it.id } == leaderNode.underlyingTeamRegistrar.getAllTeams().sort(false) { it.id }
+        assert replica.matchRegistrar.getAllMatches().sort(false) { it.matchId } == leaderNode.underlyingMatchRegistrar.getAllMatches().sort(false) { it.matchId }
+        assert replica.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString() ==
+                leaderNode.scoreboardAwareMatchRegistrar.getMatchesScoreboardSummary().toString()
+        true
+    }
+
+    private static InetSocketAddress loopbackAddress() {
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)
+    }
+
+    /**
+     * Fails to restore the next match when requested, otherwise restores it as usual.
+     */
+    private static class FailingRestoreMatchRegistrar extends DefaultMatchRegistrar {
+
+        volatile boolean failNextRestore
+
+        FailingRestoreMatchRegistrar(IdGenerator matchIdGenerator, TeamRegistrar teamRegistrar, Clock clock) {
+            super(matchIdGenerator, teamRegistrar, clock)
+        }
+
+        @Override
+        void restoreMatch(MatchDetails matchDetails) {
+            if (failNextRestore) {
+                failNextRestore = false
+                throw new IllegalArgumentException('match restore failed')
+            }
+            super.restoreMatch(matchDetails)
+        }
+    }
+
+}
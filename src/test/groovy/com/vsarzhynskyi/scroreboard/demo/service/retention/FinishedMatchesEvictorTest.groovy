@@ -0,0 +1,349 @@
+package com.vsarzhynskyi.scroreboard.demo.service.retention
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchDetails
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdateResult
+import com.vsarzhynskyi.scroreboard.demo.service.journal.EventJournal
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalSyncMode
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.InstrumentedMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarMetrics
+import com.vsarzhynskyi.scroreboard.demo.service.metrics.RegistrarOperation
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class FinishedMatchesEvictorTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def clock = new MutableClock(Instant.ofEpochMilli(FIXED_EPOCH_MILLI))
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def matchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock)
+    def archivedMatches = []
+
+    @TempDir
+    Path tempDir
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil', 'Germany', 'France'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should evict finished matches exceeding max retained count in order they were finished'() {
+        given:
+        def evictor = createEvictor(FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(1).build())
+        def matchId1 = playMatch('Mexico', 'Canada')
+        def matchId2 = playMatch('Spain', 'Brazil')
+        def activeMatchId = matchRegistrar.registerMatch('Germany', 'France').getMatchId()
+        matchRegistrar.startMatch(activeMatchId)
+
+        when:
+        def evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId1]
+        archivedMatches*.matchId == [matchId1]
+        matchRegistrar.getFinishedMatchesCount() == 1
+        matchRegistrar.getAllMatches()*.matchId.toSet() == [matchId2, activeMatchId].toSet()
+        !matchRegistrar.isMatchRegistered('Mexico', 'Canada')
+
+        and: 'teams of evicted match could be matched again'
+        matchRegistrar.registerMatch('Mexico', 'Canada')
+
+        when:
+        evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches.isEmpty()
+        archivedMatches*.matchId == [matchId1]
+    }
+
+    def 'should evict finished matches after time to live'() {
+        given:
+        def evictor = createEvictor(FinishedMatchesRetentionPolicy.builder().timeToLive(Duration.ofHours(2)).build())
+        def matchId1 = playMatch('Mexico', 'Canada')
+        clock.advance(Duration.ofHours(1))
+        def matchId2 = playMatch('Spain', 'Brazil')
+
+        when:
+        clock.advance(Duration.ofMinutes(59))
+        def evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches.isEmpty()
+
+        when:
+        clock.advance(Duration.ofMinutes(2))
+        evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId1]
+
+        when:
+        clock.advance(Duration.ofHours(1))
+        evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId2]
+        matchRegistrar.getAllMatches().isEmpty()
+    }
+
+    def 'should retain finished matches which failed to be archived'() {
+        given:
+        def failArchive = true
+        def evictor = new FinishedMatchesEvictor(matchRegistrar,
+                FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(0).build(),
+                { List<MatchDetails> finishedMatches ->
+                    if (failArchive) {
+                        throw new UncheckedIOException(new IOException('archive is not available'))
+                    }
+                    archivedMatches.addAll(finishedMatches)
+                }, clock, null)
+        def matchId = playMatch('Mexico', 'Canada')
+
+        when:
+        evictor.evictFinishedMatches()
+
+        then:
+        thrown(UncheckedIOException)
+        matchRegistrar.isMatchRegistered(matchId)
+
+        when:
+        failArchive = false
+        def evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId]
+        archivedMatches*.matchId == [matchId]
+        !matchRegistrar.isMatchRegistered(matchId)
+    }
+
+    def 'should journal evictions applied through decorated registrar'() {
+        given:
+        def journalPath = tempDir.resolve('events.journal')
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(new DefaultTeamRegistrar(new TeamIdGenerator()), eventJournal)
+        def journaledMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), journalingTeamRegistrar, clock)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(journaledMatchRegistrar, eventJournal)
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { journalingTeamRegistrar.registerTeam(it) }
+        def evictedMatchId = journalingMatchRegistrar.registerMatch('Mexico', 'Canada').getMatchId()
+        journalingMatchRegistrar.startMatch(evictedMatchId)
+        journalingMatchRegistrar.finishMatch(evictedMatchId)
+        def activeMatchId = journalingMatchRegistrar.registerMatch('Spain', 'Brazil').getMatchId()
+        def evictor = new FinishedMatchesEvictor(journaledMatchRegistrar, journalingMatchRegistrar,
+                FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(0).build(),
+                FinishedMatchesArchiveSink.NONE, clock, null, null, { throw it })
+
+        when:
+        def evictedMatches = evictor.evictFinishedMatches()
+        eventJournal.close()
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock)
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar)
+
+        then:
+        evictedMatches*.matchId == [evictedMatchId]
+        restoredMatchRegistrar.getAllMatches()*.matchId == [activeMatchId]
+        !restoredMatchRegistrar.isMatchRegistered('Mexico', 'Canada')
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should count evictions and failures of archiving in registrar metrics'() {
+        given:
+        def failArchive = true
+        def registrarMetrics = new RegistrarMetrics()
+        def evictor = new FinishedMatchesEvictor(matchRegistrar, new InstrumentedMatchRegistrar(matchRegistrar, registrarMetrics),
+                FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(0).build(),
+                { List<MatchDetails> finishedMatches ->
+                    if (failArchive) {
+                        throw new UncheckedIOException(new IOException('archive is not available'))
+                    }
+                }, clock, null, registrarMetrics, { throw it })
+        playMatch('Mexico', 'Canada')
+
+        when:
+        evictor.evictFinishedMatches()
+
+        then:
+        thrown(UncheckedIOException)
+
+        when:
+        failArchive = false
+        evictor.evictFinishedMatches()
+        def evictionMetrics = registrarMetrics.getSnapshot().operations[RegistrarOperation.EVICT_FINISHED_MATCHES]
+
+        then:
+        evictionMetrics.count == 2
+        evictionMetrics.failuresCount == 1
+        registrarMetrics.getSnapshot().operations[RegistrarOperation.APPLY_UPDATES].count == 1
+    }
+
+    def 'should archive once match which failed to be unregistered and retry its eviction'() {
+        given:
+        def evictionFailures = []
+        def evictingMatchRegistrar = new FailingUnregisterMatchRegistrar(matchRegistrar)
+        def evictor = new FinishedMatchesEvictor(matchRegistrar, evictingMatchRegistrar,
+                FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(0).build(),
+                { archivedMatches.addAll(it) }, clock, null, null, { evictionFailures << it })
+        def matchId1 = playMatch('Mexico', 'Canada')
+        def matchId2 = playMatch('Spain', 'Brazil')
+        evictingMatchRegistrar.failingMatchId = matchId2
+
+        when:
+        def evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId1]
+        archivedMatches*.matchId == [matchId1, matchId2]
+        matchRegistrar.isMatchRegistered(matchId2)
+        evictionFailures*.cause*.message == ['journal is not available']
+
+        when:
+        evictingMatchRegistrar.failingMatchId = null
+        def matchId3 = playMatch('Germany', 'France')
+        evictedMatches = evictor.evictFinishedMatches()
+
+        then:
+        evictedMatches*.matchId == [matchId2, matchId3]
+        archivedMatches*.matchId == [matchId1, matchId2, matchId3]
+        matchRegistrar.getAllMatches().isEmpty()
+        evictionFailures.size() == 1
+    }
+
+    def 'should hand failure of background eviction to eviction failure handler'() {
+        given:
+        def evictionScheduler = Executors.newSingleThreadScheduledExecutor()
+        def evictionFailures = new LinkedBlockingQueue<RuntimeException>()
+        def evictor = new FinishedMatchesEvictor(matchRegistrar, matchRegistrar, FinishedMatchesRetentionPolicy.builder()
+                .maxRetainedFinishedMatches(0)
+                .evictionInterval(Duration.ofMillis(10))
+                .build(), { throw new UncheckedIOException(new IOException('archive is not available')) },
+                clock, evictionScheduler, null, { evictionFailures.add(it) })
+        def matchId = playMatch('Mexico', 'Canada')
+
+        when:
+        evictor.start()
+        def evictionFailure = evictionFailures.poll(5, TimeUnit.SECONDS)
+
+        then:
+        evictionFailure instanceof UncheckedIOException
+        matchRegistrar.isMatchRegistered(matchId)
+
+        cleanup:
+        evictor.close()
+        evictionScheduler.shutdownNow()
+    }
+
+    def 'should evict finished matches in background'() {
+        given:
+        def evictionScheduler = Executors.newSingleThreadScheduledExecutor()
+        def evictor = new FinishedMatchesEvictor(matchRegistrar, FinishedMatchesRetentionPolicy.builder()
+                .maxRetainedFinishedMatches(0)
+                .evictionInterval(Duration.ofMillis(10))
+                .build(), FinishedMatchesArchiveSink.NONE, clock, evictionScheduler)
+        def matchId = playMatch('Mexico', 'Canada')
+
+        when:
+        evictor.start()
+        def deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos()
+        while (matchRegistrar.isMatchRegistered(matchId) && System.nanoTime() < deadline) {
+            Thread.sleep(5)
+        }
+
+        then:
+        !matchRegistrar.isMatchRegistered(matchId)
+
+        cleanup:
+        evictor.close()
+        evictionScheduler.shutdownNow()
+    }
+
+    def 'should fail to create evictor with negative max retained finished matches'() {
+        when:
+        createEvictor(FinishedMatchesRetentionPolicy.builder().maxRetainedFinishedMatches(-1).build())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private FinishedMatchesEvictor createEvictor(FinishedMatchesRetentionPolicy retentionPolicy) {
+        new FinishedMatchesEvictor(matchRegistrar, retentionPolicy, { archivedMatches.addAll(it) }, clock, null)
+    }
+
+    private int playMatch(String homeTeamName, String awayTeamName) {
+        def matchId = matchRegistrar.registerMatch(homeTeamName, awayTeamName).getMatchId()
+        matchRegistrar.startMatch(matchId)
+        matchRegistrar.updateMatchScore(matchId, 1, 0)
+        matchRegistrar.finishMatch(matchId)
+        matchId
+    }
+
+    private static class FailingUnregisterMatchRegistrar implements MatchRegistrar {
+
+        @Delegate
+        private final MatchRegistrar matchRegistrar
+        private volatile Integer failingMatchId
+
+        FailingUnregisterMatchRegistrar(MatchRegistrar matchRegistrar) {
+            this.matchRegistrar = matchRegistrar
+        }
+
+        @Override
+        List<MatchUpdateResult> applyUpdates(List<MatchUpdate> matchUpdates) {
+            def failingMatchUpdates = matchUpdates.findAll { it.matchId == failingMatchId }
+            def matchUpdateResults = matchRegistrar.applyUpdates(matchUpdates - failingMatchUpdates).iterator()
+            matchUpdates.collect { matchUpdate ->
+                matchUpdate in failingMatchUpdates
+                        ? MatchUpdateResult.failed(matchUpdate, new UncheckedIOException(new IOException('journal is not available')))
+                        : matchUpdateResults.next()
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant
+
+        MutableClock(Instant instant) {
+            this.instant = instant
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration)
+        }
+
+        @Override
+        ZoneId getZone() {
+            ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            instant
+        }
+    }
+
+}
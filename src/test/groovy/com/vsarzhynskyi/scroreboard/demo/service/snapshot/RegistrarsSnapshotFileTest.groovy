@@ -0,0 +1,187 @@
+package com.vsarzhynskyi.scroreboard.demo.service.snapshot
+
+import com.vsarzhynskyi.scroreboard.demo.service.journal.EventJournal
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalSyncMode
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.journal.JournalingTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class RegistrarsSnapshotFileTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    @TempDir
+    Path snapshotDirectory
+
+    def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+
+    def 'should load registrars and ID generators from written snapshot'() {
+        given:
+        def snapshotPath = snapshotDirectory.resolve('registrars.snapshot')
+        def teamIdGenerator = new TeamIdGenerator()
+        def matchIdGenerator = new MatchIdGenerator()
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
+
+        when:
+        teamRegistrar.registerTeam('Mexico')
+        teamRegistrar.registerTeam('Canada')
+        teamRegistrar.registerTeam('Spain')
+        teamRegistrar.registerTeam('Brazil')
+        def match1 = matchRegistrar.registerMatch('Mexico', 'Canada')
+        def match2 = matchRegistrar.registerMatch('Spain', 'Brazil')
+        def match3 = matchRegistrar.registerMatch('Canada', 'Spain')
+        matchRegistrar.startMatch(match1.matchId)
+        matchRegistrar.updateMatchScoreIfNewer(match1.matchId, 7, 3, 1)
+        matchRegistrar.startMatch(match2.matchId)
+        matchRegistrar.finishMatch(match2.matchId)
+        matchRegistrar.unregisterMatch(match3.matchId)
+        teamRegistrar.unregisterTeam('Brazil')
+        RegistrarsSnapshotFile.write(snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, 42)
+
+        and:
+        def restoredTeamIdGenerator = new TeamIdGenerator()
+        def restoredMatchIdGenerator = new MatchIdGenerator()
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(restoredTeamIdGenerator)
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(restoredMatchIdGenerator, restoredTeamRegistrar, clock)
+        def journalPosition = RegistrarsSnapshotFile.load(snapshotPath,
+                restoredTeamRegistrar, restoredTeamIdGenerator, restoredMatchRegistrar, restoredMatchIdGenerator)
+
+        then:
+        journalPosition == 42
+        restoredTeamRegistrar.getAllTeams() as Set == teamRegistrar.getAllTeams() as Set
+        restoredMatchRegistrar.getAllMatches() as Set == matchRegistrar.getAllMatches() as Set
+        restoredMatchRegistrar.getActiveMatches()*.matchId == [match1.matchId]
+        restoredMatchRegistrar.isFeedUpdateStale(match1.matchId, 7)
+        !restoredMatchRegistrar.isFeedUpdateStale(match1.matchId, 8)
+
+        and:
+        restoredTeamRegistrar.registerTeam('Brazil').id == 5
+        restoredMatchRegistrar.registerMatch('Mexico', 'Spain').matchId == 4
+        !Files.exists(snapshotDirectory.resolve('registrars.snapshot.tmp'))
+    }
+
+    def 'should restore state from snapshot and journal records appended after it'() {
+        given:
+        def snapshotPath = snapshotDirectory.resolve('registrars.snapshot')
+        def journalPath = snapshotDirectory.resolve('events.journal')
+        def teamIdGenerator = new TeamIdGenerator()
+        def matchIdGenerator = new MatchIdGenerator()
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(matchRegistrar, eventJournal)
+
+        when:
+        journalingTeamRegistrar.registerTeam('Mexico')
+        journalingTeamRegistrar.registerTeam('Canada')
+        def match = journalingMatchRegistrar.registerMatch('Mexico', 'Canada')
+        journalingMatchRegistrar.startMatch(match.matchId)
+        RegistrarsSnapshotFile.write(snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, eventJournal)
+        journalingMatchRegistrar.updateMatchScore(match.matchId, 1, 0)
+        journalingTeamRegistrar.registerTeam('Spain')
+        eventJournal.close()
+
+        and:
+        def restoredTeamIdGenerator = new TeamIdGenerator()
+        def restoredMatchIdGenerator = new MatchIdGenerator()
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(restoredTeamIdGenerator)
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(restoredMatchIdGenerator, restoredTeamRegistrar, clock)
+        def journalPosition = RegistrarsSnapshotFile.load(snapshotPath,
+                restoredTeamRegistrar, restoredTeamIdGenerator, restoredMatchRegistrar, restoredMatchIdGenerator)
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar, journalPosition)
+
+        then:
+        replayedRecordsCount == 2
+        restoredTeamRegistrar.getAllTeams() as Set == teamRegistrar.getAllTeams() as Set
+        restoredMatchRegistrar.getAllMatches() == matchRegistrar.getAllMatches()
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should write snapshot as consistent cut of journal while matches are updated concurrently'() {
+        given:
+        def snapshotPath = snapshotDirectory.resolve('registrars.snapshot')
+        def journalPath = snapshotDirectory.resolve('events.journal')
+        def teamIdGenerator = new TeamIdGenerator()
+        def matchIdGenerator = new MatchIdGenerator()
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
+        def eventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def journalingTeamRegistrar = new JournalingTeamRegistrar(teamRegistrar, eventJournal)
+        def journalingMatchRegistrar = new JournalingMatchRegistrar(matchRegistrar, eventJournal)
+        def updatesCount = 20_000
+
+        when: 'each journaled update increments home team score, so score in snapshot counts updates preceding its position'
+        journalingTeamRegistrar.registerTeam('Mexico')
+        journalingTeamRegistrar.registerTeam('Canada')
+        def match = journalingMatchRegistrar.registerMatch('Mexico', 'Canada')
+        journalingMatchRegistrar.startMatch(match.matchId)
+        def updater = Thread.start {
+            for (int homeTeamScore = 1; homeTeamScore <= updatesCount; homeTeamScore++) {
+                journalingMatchRegistrar.updateMatchScore(match.matchId, homeTeamScore, 0)
+            }
+        }
+        while (matchRegistrar.getActiveMatches()[0].homeTeamScore < updatesCount / 2) {
+            Thread.onSpinWait()
+        }
+        RegistrarsSnapshotFile.write(snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, eventJournal)
+        updater.join()
+        eventJournal.close()
+
+        and:
+        def restoredTeamIdGenerator = new TeamIdGenerator()
+        def restoredMatchIdGenerator = new MatchIdGenerator()
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(restoredTeamIdGenerator)
+        def restoredMatchRegistrar = new DefaultMatchRegistrar(restoredMatchIdGenerator, restoredTeamRegistrar, clock)
+        def journalPosition = RegistrarsSnapshotFile.load(snapshotPath,
+                restoredTeamRegistrar, restoredTeamIdGenerator, restoredMatchRegistrar, restoredMatchIdGenerator)
+        def snapshotHomeTeamScore = restoredMatchRegistrar.getActiveMatches()[0].homeTeamScore
+        def reopenedEventJournal = EventJournal.open(journalPath, JournalSyncMode.BATCHED)
+        def replayedRecordsCount = reopenedEventJournal.replay(restoredTeamRegistrar, restoredMatchRegistrar, journalPosition)
+
+        then:
+        replayedRecordsCount == updatesCount - snapshotHomeTeamScore
+        restoredMatchRegistrar.getAllMatches() == matchRegistrar.getAllMatches()
+
+        cleanup:
+        reopenedEventJournal?.close()
+    }
+
+    def 'should fail load of corrupted snapshot'() {
+        given:
+        def snapshotPath = snapshotDirectory.resolve('registrars.snapshot')
+        def teamIdGenerator = new TeamIdGenerator()
+        def matchIdGenerator = new MatchIdGenerator()
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+        def matchRegistrar = new DefaultMatchRegistrar(matchIdGenerator, teamRegistrar, clock)
+        teamRegistrar.registerTeam('Mexico')
+        RegistrarsSnapshotFile.write(snapshotPath, teamRegistrar, teamIdGenerator, matchRegistrar, matchIdGenerator, 0)
+        def snapshotBytes = Files.readAllBytes(snapshotPath)
+        snapshotBytes[snapshotBytes.length - 1] ^= (byte) 0x01
+        Files.write(snapshotPath, snapshotBytes)
+
+        when:
+        def restoredTeamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        RegistrarsSnapshotFile.load(snapshotPath, restoredTeamRegistrar, new TeamIdGenerator(),
+                new DefaultMatchRegistrar(new MatchIdGenerator(), restoredTeamRegistrar, clock), new MatchIdGenerator())
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.vsarzhynskyi.scroreboard.demo.service.standings
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchUpdate
+import com.vsarzhynskyi.scroreboard.demo.model.TeamStanding
+import com.vsarzhynskyi.scroreboard.demo.service.match.DefaultMatchRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.match.MatchIdGenerator
+import com.vsarzhynskyi.scroreboard.demo.service.team.DefaultTeamRegistrar
+import com.vsarzhynskyi.scroreboard.demo.service.team.TeamIdGenerator
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class LeagueStandingsTest extends Specification {
+
+    private static final FIXED_EPOCH_MILLI = 14900000000L
+
+    def clock = Clock.fixed(Instant.ofEpochMilli(FIXED_EPOCH_MILLI), ZoneOffset.UTC)
+    def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+    def leagueStandings = new LeagueStandings()
+    def matchRegistrar = new StandingsMatchRegistrar(
+            new DefaultMatchRegistrar(new MatchIdGenerator(), teamRegistrar, clock), leagueStandings)
+
+    def setup() {
+        ['Mexico', 'Canada', 'Spain', 'Brazil'].each { teamRegistrar.registerTeam(it) }
+    }
+
+    def 'should rank teams by points, goal difference and goals scored of finished matches'() {
+        when:
+        playMatch('Mexico', 1, 'Canada', 0)
+        playMatch('Spain', 3, 'Brazil', 0)
+        playMatch('Canada', 2, 'Spain', 2)
+        playMatch('Brazil', 2, 'Mexico', 1)
+
+        then:
+        leagueStandings.getStandings()*.team*.name == ['Spain', 'Mexico', 'Brazil', 'Canada']
+        leagueStandings.getStandings()[0] == TeamStanding.builder()
+                .position(1)
+                .team(teamRegistrar.getTeam('Spain'))
+                .playedMatches(2)
+                .wins(1)
+                .draws(1)
+                .losses(0)
+                .goalsFor(5)
+                .goalsAgainst(2)
+                .points(4)
+                .build()
+        leagueStandings.getStandings()[1].goalDifference == 0
+        leagueStandings.getStandings()[2].goalDifference == -2
+        leagueStandings.getTeamStanding(teamRegistrar.getTeam('Canada').id).position == 4
+        leagueStandings.getLiveStandings() == leagueStandings.getStandings()
+    }
+
+    def 'should count matches in progress in live standings only'() {
+        given:
+        playMatch('Mexico', 1, 'Canada', 0)
+        def matchId = matchRegistrar.registerMatch('Spain', 'Brazil').matchId
+
+        when:
+        matchRegistrar.startMatch(matchId)
+
+        then:
+        leagueStandings.getStandings()*.team*.name == ['Mexico', 'Canada']
+        leagueStandings.getLiveStandings()*.team*.name == ['Mexico', 'Spain', 'Brazil', 'Canada']
+        leagueStandings.getLiveStandings()*.points == [3, 1, 1, 0]
+
+        when:
+        matchRegistrar.updateMatchScore(matchId, 0, 4)
+
+        then:
+        leagueStandings.getLiveStandings()*.team*.name == ['Brazil', 'Mexico', 'Canada', 'Spain']
+        leagueStandings.getLiveTeamStanding(teamRegistrar.getTeam('Brazil').id).playedMatches == 1
+        leagueStandings.getTeamStanding(teamRegistrar.getTeam('Brazil').id) == null
+
+        when:
+        matchRegistrar.updateMatchScore(matchId, 2, 1)
+        matchRegistrar.finishMatch(matchId)
+
+        then:
+        leagueStandings.getStandings()*.team*.name == ['Spain', 'Mexico', 'Brazil', 'Canada']
+        leagueStandings.getLiveStandings() == leagueStandings.getStandings()
+    }
+
+    def 'should keep result of unregistered finished match'() {
+        given:
+        def finishedMatchId = playMatch('Mexico', 1, 'Canada', 0)
+
+        when:
+        matchRegistrar.unregisterMatch(finishedMatchId)
+
+        then:
+        leagueStandings.getStandings()*.team*.name == ['Mexico', 'Canada']
+        leagueStandings.getLiveStandings() == leagueStandings.getStandings()
+    }
+
+    def 'should apply successful updates of batch'() {
+        given:
+        def matchId = matchRegistrar.registerMatch('Mexico', 'Canada').matchId
+
+        when:
+        matchRegistrar.applyUpdates([
+                MatchUpdate.start(matchId),
+                MatchUpdate.updateScore(matchId, 0, 1),
+                MatchUpdate.start(matchId),
+                MatchUpdate.finish(matchId)
+        ])
+
+        then:
+        leagueStandings.getStandings()*.team*.name == ['Canada', 'Mexico']
+        leagueStandings.getStandings()*.points == [3, 0]
+        leagueStandings.getLiveStandings() == leagueStandings.getStandings()
+    }
+
+    def 'should keep standings equal to full recomputation under random transitions'() {
+        given:
+        def random = new Random(42)
+        def teamIds = (1..40).collect { teamRegistrar.registerTeam("Team $it").id }
+        def finishedMatches = []
+        def liveMatchIds = []
+        def playingTeamIds = [] as Set
+
+        when:
+        2000.times {
+            if (liveMatchIds.isEmpty() || random.nextInt(4) == 0) {
+                def homeTeamId = teamIds[random.nextInt(teamIds.size())]
+                def awayTeamId = teamIds[random.nextInt(teamIds.size())]
+                if (homeTeamId != awayTeamId && !playingTeamIds.contains(homeTeamId) && !playingTeamIds.contains(awayTeamId)
+                        && !matchRegistrar.isMatchRegistered(homeTeamId, awayTeamId)
+                        && !matchRegistrar.isMatchRegistered(awayTeamId, homeTeamId)) {
+                    def matchId = matchRegistrar.registerMatch(homeTeamId, awayTeamId).matchId
+                    matchRegistrar.startMatch(matchId)
+                    liveMatchIds << matchId
+                    playingTeamIds.addAll([homeTeamId, awayTeamId])
+                }
+            } else {
+                def matchId = liveMatchIds[random.nextInt(liveMatchIds.size())]
+                if (random.nextInt(3) == 0) {
+                    def finishedMatch = matchRegistrar.finishMatch(matchId)
+                    finishedMatches << finishedMatch
+                    liveMatchIds.remove((Object) matchId)
+                    playingTeamIds.removeAll([finishedMatch.homeTeam.id, finishedMatch.awayTeam.id])
+                    if (random.nextBoolean()) {
+                        matchRegistrar.unregisterMatch(matchId)
+                    }
+                } else {
+                    matchRegistrar.updateMatchScore(matchId, random.nextInt(5), random.nextInt(5))
+                }
+            }
+        }
+
+        then:
+        !finishedMatches.isEmpty()
+        leagueStandings.getStandings() == recomputeStandings(finishedMatches)
+        leagueStandings.getLiveStandings() == recomputeStandings(finishedMatches + matchRegistrar.getActiveMatches())
+    }
+
+    private int playMatch(String homeTeamName, int homeTeamScore, String awayTeamName, int awayTeamScore) {
+        def matchId = matchRegistrar.registerMatch(homeTeamName, awayTeamName).matchId
+        matchRegistrar.startMatch(matchId)
+        matchRegistrar.updateMatchScore(matchId, homeTeamScore, awayTeamScore)
+        matchRegistrar.finishMatch(matchId)
+        matchId
+    }
+
+    private static List<TeamStanding> recomputeStandings(matches) {
+        def standings = [:].withDefault { [played: 0, wins: 0, draws: 0, losses: 0, goalsFor: 0, goalsAgainst: 0, points: 0] }
+        def teams = [:]
+        matches.each { match ->
+            [[match.homeTeam, match.homeTeamScore, match.awayTeamScore], [match.awayTeam, match.awayTeamScore, match.homeTeamScore]].each {
+                def (team, teamScore, opponentScore) = it
+                teams[team.id] = team
+                def standing = standings[team.id]
+                standing.played++
+                standing.goalsFor += teamScore
+                standing.goalsAgainst += opponentScore
+                if (teamScore > opponentScore) {
+                    standing.wins++
+                    standing.points += 3
+                } else if (teamScore == opponentScore) {
+                    standing.draws++
+                    standing.points += 1
+                } else {
+                    standing.losses++
+                }
+            }
+        }
+        def rankedTeamIds = standings.keySet().sort { teamId1, teamId2 ->
+            def standing1 = standings[teamId1]
+            def standing2 = standings[teamId2]
+            standing2.points <=> standing1.points
+                    ?: (standing2.goalsFor - standing2.goalsAgainst) <=> (standing1.goalsFor - standing1.goalsAgainst)
+                    ?: standing2.goalsFor <=> standing1.goalsFor
+                    ?: teamId1 <=> teamId2
+        }
+        rankedTeamIds.withIndex().collect { teamId, index ->
+            def standing = standings[teamId]
+            TeamStanding.builder()
+                    .position(index + 1)
+                    .team(teams[teamId])
+                    .playedMatches(standing.played)
+                    .wins(standing.wins)
+                    .draws(standing.draws)
+                    .losses(standing.losses)
+                    .goalsFor(standing.goalsFor)
+                    .goalsAgainst(standing.goalsAgainst)
+                    .points(standing.points)
+                    .build()
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.vsarzhynskyi.scroreboard.demo.service.subscription
+
+import com.vsarzhynskyi.scroreboard.demo.model.MatchesScoreboardSummary
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDelta
+import com.vsarzhynskyi.scroreboard.demo.model.ScoreboardDeltaType
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.Flow
+import java.util.concurrent.TimeUnit
+
+class ScoreboardDeltaPublisherTest extends Specification {
+
+    private static final Executor DIRECT_EXECUTOR = { it.run() } as Executor
+
+    def scoreboardVersion = 0L
+    def publisher = new ScoreboardDeltaPublisher({
+        ScoreboardDelta.snapshot(new MatchesScoreboardSummary([], scoreboardVersion))
+    })
+
+    def 'should deliver snapshot first and then deltas within requested demand'() {
+        given:
+        def subscriber = new RecordingSubscriber()
+        publisher.subscribe(subscriber, options(8, SlowSubscriberPolicy.BLOCK))
+
+        when:
+        subscriber.subscription.request(2)
+        publishDeltas(3)
+
+        then:
+        subscriber.deltas*.deltaType == [ScoreboardDeltaType.SNAPSHOT, ScoreboardDeltaType.SCORE_CHANGED]
+        subscriber.deltas*.scoreboardVersion == [0L, 1L]
+
+        when:
+        subscriber.subscription.request(10)
+
+        then:
+        subscriber.deltas*.scoreboardVersion == [0L, 1L, 2L, 3L]
+    }
+
+    def 'should drop buffered deltas of slow subscriber and resync it from snapshot'() {
+        given:
+        def subscriber = new RecordingSubscriber()
+        publisher.subscribe(subscriber, options(4, SlowSubscriberPolicy.DROP_TO_SNAPSHOT))
+        subscriber.subscription.request(1)
+
+        when:
+        publishDeltas(10)
+
+        then:
+        subscriber.deltas*.scoreboardVersion == [0L]
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+        publishDeltas(2)
+
+        then:
+        subscriber.deltas*.deltaType == [ScoreboardDeltaType.SNAPSHOT, ScoreboardDeltaType.SNAPSHOT,
+                                         ScoreboardDeltaType.SCORE_CHANGED, ScoreboardDeltaType.SCORE_CHANGED]
+        subscriber.deltas*.scoreboardVersion == [0L, 10L, 11L, 12L]
+    }
+
+    def 'should block publisher until slow subscriber frees buffer'() {
+        given:
+        def deliveryExecutor = Executors.newSingleThreadExecutor()
+        def subscriber = new RecordingSubscriber()
+        publisher.subscribe(subscriber, ScoreboardSubscriptionOptions.builder()
+                .deliveryExecutor(deliveryExecutor)
+                .maxBufferedDeltas(2)
+                .slowSubscriberPolicy(SlowSubscriberPolicy.BLOCK)
+                .build())
+        subscriber.subscription.request(1)
+        waitForDeltas(subscriber, 1)
+        def published = new CountDownLatch(1)
+
+        when:
+        Thread.start {
+            publishDeltas(5)
+            published.countDown()
+        }
+
+        then:
+        !published.await(200, TimeUnit.MILLISECONDS)
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        published.await(5, TimeUnit.SECONDS)
+        waitForDeltas(subscriber, 6)
+        subscriber.deltas*.scoreboardVersion == [0L, 1L, 2L, 3L, 4L, 5L]
+
+        cleanup:
+        deliveryExecutor.shutdownNow()
+    }
+
+    def 'should stop delivery on cancel and fail on non-positive demand'() {
+        given:
+        def subscriber1 = new RecordingSubscriber()
+        def subscriber2 = new RecordingSubscriber()
+        publisher.subscribe(subscriber1, options(4, SlowSubscriberPolicy.BLOCK))
+        publisher.subscribe(subscriber2, options(4, SlowSubscriberPolicy.BLOCK))
+
+        when:
+        subscriber1.subscription.request(Long.MAX_VALUE)
+        subscriber1.subscription.cancel()
+        subscriber2.subscription.request(0)
+        publishDeltas(10)
+
+        then:
+        subscriber1.deltas*.scoreboardVersion == [0L]
+        subscriber2.deltas.isEmpty()
+        subscriber2.error instanceof IllegalArgumentException
+        !publisher.hasSubscribers()
+    }
+
+    private void publishDeltas(int count) {
+        count.times {
+            scoreboardVersion++
+            publisher.publish(ScoreboardDelta.builder()
+                    .scoreboardVersion(scoreboardVersion)
+                    .deltaType(ScoreboardDeltaType.SCORE_CHANGED)
+                    .matchId(1)
+                    .previousRank(1)
+                    .rank(1)
+                    .build())
+        }
+    }
+
+    private static ScoreboardSubscriptionOptions options(int maxBufferedDeltas, SlowSubscriberPolicy slowSubscriberPolicy) {
+        ScoreboardSubscriptionOptions.builder()
+                .deliveryExecutor(DIRECT_EXECUTOR)
+                .maxBufferedDeltas(maxBufferedDeltas)
+                .slowSubscriberPolicy(slowSubscriberPolicy)
+                .build()
+    }
+
+    private static boolean waitForDeltas(RecordingSubscriber subscriber, int count) {
+        def deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (subscriber.deltas.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+        subscriber.deltas.size() == count
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<ScoreboardDelta> {
+        Flow.Subscription subscription
+        List<ScoreboardDelta> deltas = Collections.synchronizedList([])
+        Throwable error
+
+        @Override
+        void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription
+        }
+
+        @Override
+        void onNext(ScoreboardDelta delta) {
+            deltas.add(delta)
+        }
+
+        @Override
+        void onError(Throwable error) {
+            this.error = error
+        }
+
+        @Override
+        void onComplete() {
+        }
+    }
+
+}
@@ -268,4 +268,73 @@ class DefaultTeamRegistrarTest extends Specification {
         fetchedTeams.collect({ it.name }).toSet() == [TEAM_NAME, 'Slovenia', 'Austria'] as Set
     }
 
+    def 'should register teams in bulk'() {
+        given:
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+
+        when:
+        def registeredTeams = teamRegistrar.registerTeams([TEAM_NAME, 'Slovenia'])
+
+        then:
+        1 * teamIdGenerator.nextId() >> 3
+        1 * teamIdGenerator.nextId() >> 4
+        0 * _
+
+        and:
+        registeredTeams.collect { [it.id, it.name] } == [[3, TEAM_NAME], [4, 'Slovenia']]
+        teamRegistrar.getTeam('Slovenia').is(registeredTeams[1])
+        teamRegistrar.getTeam(3).is(registeredTeams[0])
+    }
+
+    def 'should validate large bulk of team names in parallel'() {
+        given:
+        def teamRegistrar = new DefaultTeamRegistrar(new TeamIdGenerator())
+        def teamNames = (1..20_000).collect { "Club ${it}".toString() }
+
+        when:
+        def registeredTeams = teamRegistrar.registerTeams(teamNames)
+
+        then:
+        registeredTeams*.name == teamNames
+        registeredTeams*.id == (1..20_000).toList()
+
+        when:
+        teamRegistrar.registerTeams(['Club ?'] + (1..20_000).collect { "Academy ${it}".toString() } + [null])
+
+        then:
+        def exception = thrown(TeamNameInvalidException)
+        exception.message.contains('Club ?')
+        !teamRegistrar.isTeamRegistered('Academy 1')
+    }
+
+    @Unroll
+    def 'should register none of teams in bulk if any of them is #reason'() {
+        given:
+        def teamRegistrar = new DefaultTeamRegistrar(teamIdGenerator)
+
+        when:
+        teamRegistrar.registerTeam(TEAM_NAME)
+
+        then:
+        1 * teamIdGenerator.nextId() >> TEAM_ID
+        0 * _
+
+        when:
+        teamRegistrar.registerTeams(teamNames)
+
+        then:
+        thrown(expectedException)
+        0 * _
+
+        and:
+        teamRegistrar.getAllTeams()*.name == [TEAM_NAME]
+
+        where:
+        reason               | teamNames                           || expectedException
+        'invalid'            | ['Slovenia', 'Team ++ Team']        || TeamNameInvalidException
+        'null'               | ['Slovenia', null]                  || TeamNameInvalidException
+        'registered'         | ['Slovenia', TEAM_NAME]             || TeamAlreadyRegisteredException
+        'duplicated in bulk' | ['Slovenia', 'Austria', 'Slovenia'] || TeamAlreadyRegisteredException
+    }
+
 }
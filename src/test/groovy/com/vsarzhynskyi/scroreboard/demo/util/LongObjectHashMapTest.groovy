@@ -0,0 +1,118 @@
+package com.vsarzhynskyi.scroreboard.demo.util
+
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+
+class LongObjectHashMapTest extends Specification {
+
+    def 'should put, get and remove values by primitive keys'() {
+        given:
+        def map = new LongObjectHashMap<String>()
+
+        when:
+        def previousValue = map.put(1L << 32 | 2L, 'match-1')
+        map.put(2L << 32 | 1L, 'match-2')
+
+        then:
+        previousValue == null
+        map.size() == 2
+        map.get(1L << 32 | 2L) == 'match-1'
+        map.get(2L << 32 | 1L) == 'match-2'
+        !map.containsKey(3L)
+
+        when:
+        previousValue = map.put(1L << 32 | 2L, 'match-3')
+
+        then:
+        previousValue == 'match-1'
+        map.size() == 2
+        map.get(1L << 32 | 2L) == 'match-3'
+
+        when:
+        def removedValue = map.remove(1L << 32 | 2L)
+
+        then:
+        removedValue == 'match-3'
+        map.size() == 1
+        map.get(1L << 32 | 2L) == null
+        map.get(2L << 32 | 1L) == 'match-2'
+        map.remove(1L << 32 | 2L) == null
+    }
+
+    def 'should keep all entries on growth and after removed slots are dropped by rehash'() {
+        given:
+        def map = new LongObjectHashMap<Long>(4)
+
+        when:
+        (0L..<10_000L).each { map.put(it, it) }
+        (0L..<10_000L).findAll { it % 2 == 0 }.each { map.remove(it) }
+        (10_000L..<15_000L).each { map.put(it, it) }
+
+        then:
+        map.size() == 10_000
+        (0L..<15_000L).every { key ->
+            key < 10_000L && key % 2 == 0 ? map.get(key) == null : map.get(key) == key
+        }
+    }
+
+    def 'should not reuse removed slot for another key'() {
+        given:
+        def map = new LongObjectHashMap<Long>()
+        def mask = map.@table.keys.length - 1
+        def removedKey = 1L
+        def collidingKey = (2L..<10_000L).find { LongObjectHashMap.indexFor(it, mask) == LongObjectHashMap.indexFor(removedKey, mask) }
+        map.put(removedKey, removedKey)
+        def removedSlot = (0..mask).find { map.@table.values[it] == removedKey }
+
+        when:
+        map.remove(removedKey)
+        map.put(collidingKey, collidingKey)
+
+        then:
+        map.@table.keys[removedSlot] == removedKey
+        map.get(collidingKey) == collidingKey
+        map.get(removedKey) == null
+    }
+
+    def 'should never return value of another key on lookups concurrent with removes and puts'() {
+        given:
+        def map = new LongObjectHashMap<Long>(64)
+        def keysCount = 64L
+        (0L..<keysCount).each { map.put(it, it) }
+        def writerFinished = new AtomicBoolean()
+        def mismatchedLookupsCount = new AtomicLong()
+
+        when:
+        def readers = (1..2).collect {
+            Thread.start {
+                while (!writerFinished.get()) {
+                    for (def key = 0L; key < keysCount * 2; key++) {
+                        def value = map.get(key)
+                        if (value != null && value != key) {
+                            mismatchedLookupsCount.incrementAndGet()
+                        }
+                    }
+                }
+            }
+        }
+        def writer = Thread.start {
+            def random = new Random(42)
+            200_000.times {
+                def key = (long) random.nextInt((int) keysCount * 2)
+                if (map.remove(key) == null) {
+                    map.put(key, key)
+                }
+            }
+            writerFinished.set(true)
+        }
+        writer.join()
+        readers*.join()
+
+        then:
+        mismatchedLookupsCount.get() == 0
+        (0L..<keysCount * 2).every { key -> map.get(key) == null || map.get(key) == key }
+    }
+
+}
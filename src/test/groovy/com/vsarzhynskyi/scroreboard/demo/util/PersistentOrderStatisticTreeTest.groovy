@@ -0,0 +1,89 @@
+package com.vsarzhynskyi.scroreboard.demo.util
+
+import spock.lang.Specification
+
+class PersistentOrderStatisticTreeTest extends Specification {
+
+    def 'should keep order, ranks and ranges consistent with sorted set'() {
+        given:
+        def random = new Random(42)
+        def tree = PersistentOrderStatisticTree.<Integer> empty(Comparator.naturalOrder())
+        def expectedElements = new TreeSet<Integer>()
+
+        when:
+        10_000.times {
+            def element = random.nextInt(2_000)
+            if (random.nextBoolean()) {
+                tree = tree.insert(element)
+                expectedElements.add(element)
+            } else {
+                tree = tree.remove(element)
+                expectedElements.remove(element)
+            }
+        }
+        def expectedList = expectedElements as List
+
+        then:
+        tree.size() == expectedElements.size()
+        tree.toList() == expectedList
+        (0..<2_000).every { tree.rankOf(it) == expectedList.indexOf(it) }
+        (0..<expectedList.size()).every { tree.get(it) == expectedList[it] }
+        tree.range(100, 25) == expectedList.subList(100, 125)
+        tree.range(expectedList.size() - 3, 10) == expectedList.subList(expectedList.size() - 3, expectedList.size())
+        tree.range(expectedList.size(), 10).isEmpty()
+        tree.asList() == expectedList
+        tree.asList().iterator().collect() == expectedList
+        tree.asList()[expectedList.size() - 1] == expectedList.last()
+    }
+
+    def 'should keep previous versions unchanged after insert and remove'() {
+        given:
+        def emptyTree = PersistentOrderStatisticTree.<String> empty(Comparator.naturalOrder())
+
+        when:
+        def tree1 = emptyTree.insert('b').insert('d')
+        def tree2 = tree1.insert('a').insert('c')
+        def tree3 = tree2.remove('d')
+        def tree4 = tree3.clear()
+
+        then:
+        emptyTree.isEmpty()
+        tree1.toList() == ['b', 'd']
+        tree2.toList() == ['a', 'b', 'c', 'd']
+        tree3.toList() == ['a', 'b', 'c']
+        tree3.remove('x').is(tree3)
+        tree4.isEmpty()
+        tree2.rankOf('c') == 2
+        tree1.rankOf('c') == -1
+    }
+
+    def 'should expose unmodifiable list view of tree'() {
+        given:
+        def tree = PersistentOrderStatisticTree.<String> empty(Comparator.naturalOrder()).insert('b').insert('a')
+        def list = tree.asList()
+
+        when:
+        tree.insert('c')
+        list.add('c')
+
+        then:
+        list == ['a', 'b']
+        thrown(UnsupportedOperationException)
+
+        and:
+        PersistentOrderStatisticTree.<String> empty(Comparator.naturalOrder()).asList().isEmpty()
+        !PersistentOrderStatisticTree.<String> empty(Comparator.naturalOrder()).asList().iterator().hasNext()
+    }
+
+    def 'should fail to get element at rank out of bounds'() {
+        given:
+        def tree = PersistentOrderStatisticTree.<Integer> empty(Comparator.naturalOrder()).insert(1)
+
+        when:
+        tree.get(1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+}